@@ -0,0 +1,25 @@
+package com.bankingSystem.config;
+
+import com.bankingSystem.service.AccountArchiver;
+import com.bankingSystem.service.FxRateProvider;
+import com.bankingSystem.service.TransactionArchiver;
+import com.bankingSystem.service.impl.HoldServiceImpl;
+import com.bankingSystem.service.impl.StandingOrderServiceImpl;
+import com.bankingSystem.service.impl.TransferSagaServiceImpl;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// These beans start their schedulers in the constructor. With spring.main.lazy-initialization (the
+// faststart profile) the archivers are injected nowhere and the sweepers would only start with the
+// first request to their controller, so they are created at startup whatever the setting.
+@Configuration
+public class BackgroundJobsConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBackgroundJobs() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                HoldServiceImpl.class, TransferSagaServiceImpl.class, StandingOrderServiceImpl.class,
+                AccountArchiver.class, TransactionArchiver.class, FxRateProvider.class);
+    }
+}
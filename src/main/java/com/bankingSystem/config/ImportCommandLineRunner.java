@@ -0,0 +1,54 @@
+package com.bankingSystem.config;
+
+import com.bankingSystem.controller.AccountImportController;
+import com.bankingSystem.dto.ImportReport;
+import com.bankingSystem.service.AccountImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// CLI import:
+//   java -jar app.jar --spring.main.web-application-type=none --import.file=customers.csv [--import.id=legacy-1]
+// Without import.id the checkpoint is named after a hash of the file's content.
+@Component
+public class ImportCommandLineRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportCommandLineRunner.class);
+
+    private final AccountImportService importService;
+
+    public ImportCommandLineRunner(AccountImportService importService) {
+        this.importService = importService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!args.containsOption("import.file")) return;
+
+        Path file = Path.of(args.getOptionValues("import.file").get(0));
+        String importId;
+        if (args.containsOption("import.id")) {
+            importId = args.getOptionValues("import.id").get(0);
+        } else {
+            try (InputStream in = Files.newInputStream(file)) {
+                importId = AccountImportController.contentId(in);
+            }
+        }
+
+        try (InputStream in = Files.newInputStream(file)) {
+            ImportReport report = importService.importAccounts(importId, in,
+                    AccountImportController.formatOf(file.getFileName().toString()));
+            log.info("Import '{}' finished: read={}, imported={}, failed={}, skipped={}, checkpoint={}, {}ms",
+                    importId, report.getRowsRead(), report.getImported(), report.getFailed(),
+                    report.getSkipped(), report.getCheckpointLine(), report.getElapsedMillis());
+            report.getErrors().forEach(e -> log.warn("Import '{}': line {}: {}", importId, e.line(), e.message()));
+        }
+    }
+}
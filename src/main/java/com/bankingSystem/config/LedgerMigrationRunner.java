@@ -0,0 +1,23 @@
+package com.bankingSystem.config;
+
+import com.bankingSystem.service.LedgerMigration;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// CLI ledger migration, run with no other instance serving traffic:
+//   java -jar app.jar --spring.main.web-application-type=none --migrate.ledger
+@Component
+public class LedgerMigrationRunner implements ApplicationRunner {
+
+    private final LedgerMigration migration;
+
+    public LedgerMigrationRunner(LedgerMigration migration) {
+        this.migration = migration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("migrate.ledger")) migration.migrate();
+    }
+}
@@ -0,0 +1,55 @@
+package com.bankingSystem.config;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(MongoTuningProperties.class)
+public class MongoConfig {
+
+    static final String JOURNAL_COLLECTION = "transactions";
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(MongoTuningProperties props) {
+        MongoTuningProperties.Pool pool = props.getPool();
+        return settings -> settings
+                .applyToConnectionPoolSettings(p -> p
+                        .maxSize(pool.getMaxSize())
+                        .minSize(pool.getMinSize())
+                        .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnecting(pool.getMaxConnecting())
+                        .maxConnectionIdleTime(pool.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS))
+                .addCommandListener(new SlowCommandListener(props.getSlowCommandThreshold()));
+    }
+
+    // transaction records (including monthly partitions) are the journal, the system of record
+    // for every balance; they have their own setting but default to majority like everything else
+    @Bean
+    public WriteConcernResolver writeConcernResolver(MongoTuningProperties props) {
+        var money = props.getWriteConcern().money();
+        var journal = props.getWriteConcern().journal();
+        return action -> {
+            String collection = action.getCollectionName();
+            boolean isJournal = collection != null
+                    && (collection.equals(JOURNAL_COLLECTION) || collection.startsWith(JOURNAL_COLLECTION + "_"));
+            return isJournal ? journal : money;
+        };
+    }
+
+    // replaces Boot's default template only to plug in the resolver
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory factory, MongoConverter converter,
+                                       WriteConcernResolver writeConcernResolver) {
+        MongoTemplate template = new MongoTemplate(factory, converter);
+        template.setWriteConcernResolver(writeConcernResolver);
+        return template;
+    }
+}
@@ -0,0 +1,144 @@
+package com.bankingSystem.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// banking.mongo.*: connection pool, per-operation write concerns and the history read preference
+@ConfigurationProperties(prefix = "banking.mongo")
+public class MongoTuningProperties {
+
+    private final Pool pool = new Pool();
+    private final WriteConcerns writeConcern = new WriteConcerns();
+    private String historyReadPreference = "secondaryPreferred";
+    private Duration slowCommandThreshold = Duration.ofMillis(100);
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public WriteConcerns getWriteConcern() {
+        return writeConcern;
+    }
+
+    public String getHistoryReadPreference() {
+        return historyReadPreference;
+    }
+
+    public void setHistoryReadPreference(String historyReadPreference) {
+        this.historyReadPreference = historyReadPreference;
+    }
+
+    public ReadPreference historyReadPreference() {
+        return ReadPreference.valueOf(historyReadPreference);
+    }
+
+    public Duration getSlowCommandThreshold() {
+        return slowCommandThreshold;
+    }
+
+    public void setSlowCommandThreshold(Duration slowCommandThreshold) {
+        this.slowCommandThreshold = slowCommandThreshold;
+    }
+
+    public static class Pool {
+
+        private int maxSize = 100;
+        private int minSize = 0;
+        // how long a request waits for a free connection before failing
+        private Duration maxWaitTime = Duration.ofSeconds(2);
+        // connections being opened at the same time
+        private int maxConnecting = 2;
+        private Duration maxIdleTime = Duration.ofMinutes(5);
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(int minSize) {
+            this.minSize = minSize;
+        }
+
+        public Duration getMaxWaitTime() {
+            return maxWaitTime;
+        }
+
+        public void setMaxWaitTime(Duration maxWaitTime) {
+            this.maxWaitTime = maxWaitTime;
+        }
+
+        public int getMaxConnecting() {
+            return maxConnecting;
+        }
+
+        public void setMaxConnecting(int maxConnecting) {
+            this.maxConnecting = maxConnecting;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+    }
+
+    public static class WriteConcerns {
+
+        // accounts, transfer sagas, balance stripes: anything that moves money
+        private String money = "majority";
+        // transaction records: the journal every balance is derived from
+        private String journal = "majority";
+        private Duration timeout = Duration.ofSeconds(5);
+
+        public String getMoney() {
+            return money;
+        }
+
+        public void setMoney(String money) {
+            this.money = money;
+        }
+
+        public String getJournal() {
+            return journal;
+        }
+
+        public void setJournal(String journal) {
+            this.journal = journal;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public WriteConcern money() {
+            return parse(money);
+        }
+
+        public WriteConcern journal() {
+            return parse(journal);
+        }
+
+        private WriteConcern parse(String name) {
+            WriteConcern wc = WriteConcern.valueOf(name);
+            if (wc == null) throw new IllegalArgumentException("Unknown write concern '" + name + "'");
+            return wc.withWTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
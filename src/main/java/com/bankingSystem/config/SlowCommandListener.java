@@ -0,0 +1,38 @@
+package com.bankingSystem.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Logs MongoDB commands that take longer than the threshold; latency histograms per command come
+// from the Micrometer command listener that actuator registers alongside this one.
+public class SlowCommandListener implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowCommandListener.class);
+
+    private final long thresholdNanos;
+
+    public SlowCommandListener(Duration threshold) {
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (nanos >= thresholdNanos) {
+            log.warn("Mongo: slow {} on '{}' took {}ms", event.getCommandName(), event.getDatabaseName(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        log.warn("Mongo: {} failed after {}ms: {}", event.getCommandName(),
+                event.getElapsedTime(TimeUnit.MILLISECONDS), event.getThrowable().getMessage());
+    }
+}
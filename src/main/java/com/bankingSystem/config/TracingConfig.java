@@ -0,0 +1,53 @@
+package com.bankingSystem.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Spans per request (Spring MVC), per controller and service method (@Observed) and per Mongo
+// command (below). Whether a trace is recorded is decided once at its root by
+// management.tracing.sampling.probability; unsampled traces still carry ids into the logs.
+@Configuration
+public class TracingConfig {
+
+    static final String MONGO_COMMAND = "spring.data.mongodb.command";
+
+    // Below an unsampled root every span would be dropped anyway, so the inner observations are not
+    // created at all: no span, timer or MDC work, which is most of their cost. Per-call timings stay
+    // available from http.server.requests and mongodb.driver.commands.
+    @Bean
+    public ObservationPredicate skipInsideUnsampledTraces(Tracer tracer) {
+        return (name, context) -> {
+            if (!name.startsWith("banking.") && !name.equals(MONGO_COMMAND)) return true;
+            Span current = tracer.currentSpan();
+            return current == null || !Boolean.FALSE.equals(current.context().sampled());
+        };
+    }
+
+    // the context provider hands the caller's observation to the driver, so command spans nest
+    // under the service span that issued them
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry registry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(registry))
+                .addCommandListener(new MongoObservationCommandListener(registry));
+    }
+
+    // picked up by Boot's OpenTelemetry setup and fed through its batch span processor
+    @Bean
+    @ConditionalOnProperty("banking.tracing.export-file")
+    public FileSpanExporter fileSpanExporter(@Value("${banking.tracing.export-file}") String file) throws IOException {
+        return new FileSpanExporter(Path.of(file));
+    }
+}
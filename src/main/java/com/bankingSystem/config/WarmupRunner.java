@@ -0,0 +1,145 @@
+package com.bankingSystem.config;
+
+import com.bankingSystem.exception.AccountNotFoundException;
+import com.bankingSystem.exception.InvalidAccountNumberException;
+import com.bankingSystem.exception.InvalidAmountException;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Posting;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.service.AccountService;
+import com.bankingSystem.util.IdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+// Exercises the service hot paths before the instance reports itself ready.
+// Runners complete before Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC, so
+// /actuator/health/readiness stays DOWN until the JIT and connection pool are warm.
+// Only reads an account number that cannot exist and never writes to MongoDB, unless
+// banking.warmup.training is set: the AppCDS training run (mvn -Pfast-start package) points at a
+// throwaway database, moves money between two accounts it creates there so the success paths are
+// loaded and compiled too, and exits once the warmup is done.
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    // valid format, but the warmup never expects it to be found
+    static final String PROBE_ACCOUNT = "ZZZ0000";
+
+    private final AccountService service;
+    private final ObjectMapper mapper;
+    private final ApplicationContext context;
+    // replaced in tests
+    IntConsumer exit = System::exit;
+
+    @Value("${banking.warmup.enabled:false}")
+    private boolean enabled;
+    @Value("${banking.warmup.iterations:2000}")
+    private int iterations;
+    @Value("${banking.warmup.budget-ms:10000}")
+    private long budgetMillis;
+    @Value("${banking.warmup.training:false}")
+    private boolean training;
+
+    public WarmupRunner(AccountService service, ObjectMapper mapper, ApplicationContext context) {
+        this.service = service;
+        this.mapper = mapper;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        String[] pair = training ? trainingAccounts() : null;
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        boolean useDb = true;
+        int done = 0;
+
+        Account sample = new Account(PROBE_ACCOUNT, "Warmup");
+        sample.setBalance(100.0);
+        Transaction sampleTxn = new Transaction(IdGenerator.generateTransactionId(), "DEPOSIT", 1.0,
+                "SUCCESS", PROBE_ACCOUNT, null);
+        sampleTxn.setPostings(Posting.move(Posting.EXTERNAL, PROBE_ACCOUNT, 1.0, Account.DEFAULT_CURRENCY));
+
+        while (done < iterations && System.nanoTime() < deadline) {
+            // validation and rejection paths of the money-movement methods (no DB access)
+            expect(InvalidAccountNumberException.class, () -> service.deposit("bad", 1.0));
+            expect(InvalidAmountException.class, () -> service.withdraw(PROBE_ACCOUNT, -1.0));
+            expect(InvalidAmountException.class, () -> service.transfer(PROBE_ACCOUNT, PROBE_ACCOUNT, 1.0));
+
+            // read path through the driver, stopped after the first failure so an
+            // unreachable MongoDB does not eat the whole budget in server-selection timeouts
+            if (useDb) {
+                try {
+                    expect(AccountNotFoundException.class, () -> service.getAccount(PROBE_ACCOUNT));
+                    service.getTransactions(PROBE_ACCOUNT);
+                } catch (RuntimeException e) {
+                    log.warn("Warmup: MongoDB unavailable, continuing without DB warmup: {}", e.getMessage());
+                    useDb = false;
+                }
+            }
+
+            // success paths, only against the training database
+            if (pair != null) {
+                try {
+                    service.deposit(pair[0], 2.0);
+                    service.withdraw(pair[0], 1.0);
+                    service.transfer(pair[0], pair[1], 1.0);
+                    service.transfer(pair[1], pair[0], 1.0);
+                    sample = service.getAccount(pair[0]);
+                    // paged, so the read stays the same size as the history grows
+                    sampleTxn = service.getTransactionPage(pair[0], null, 20).getItems().get(0);
+                } catch (RuntimeException e) {
+                    log.warn("Warmup: training writes failed, continuing without them: {}", e.getMessage());
+                    pair = null;
+                }
+            }
+
+            try {
+                mapper.writeValueAsBytes(sample);
+                mapper.writeValueAsBytes(List.of(sampleTxn));
+            } catch (Exception e) {
+                log.warn("Warmup: serialisation failed: {}", e.getMessage());
+                break;
+            }
+            IdGenerator.generateAccountNumber("Warmup");
+            done++;
+        }
+
+        log.info("Warmup: {} iterations in {}ms", done, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        // -XX:ArchiveClassesAtExit dumps the archive when the JVM exits
+        if (training) exit.accept(SpringApplication.exit(context));
+    }
+
+    private String[] trainingAccounts() {
+        try {
+            return new String[]{service.createAccount("Warmup A").getAccountNumber(),
+                    service.createAccount("Warmup B").getAccountNumber()};
+        } catch (RuntimeException e) {
+            log.warn("Warmup: cannot create training accounts, skipping the success paths: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void expect(Class<? extends RuntimeException> type, Runnable call) {
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            if (!type.isInstance(e)) throw e;
+        }
+    }
+}
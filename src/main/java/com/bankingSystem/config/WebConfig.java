@@ -0,0 +1,49 @@
+package com.bankingSystem.config;
+
+import com.bankingSystem.interceptor.LoadShedder;
+import com.bankingSystem.interceptor.RateLimitInterceptor;
+import com.bankingSystem.interceptor.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${banking.ratelimit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${banking.ratelimit.client.permits-per-second:100}")
+    private double clientRate;
+    @Value("${banking.ratelimit.client.burst:200}")
+    private int clientBurst;
+
+    @Value("${banking.ratelimit.account.permits-per-second:20}")
+    private double accountRate;
+    @Value("${banking.ratelimit.account.burst:40}")
+    private int accountBurst;
+
+    @Value("${banking.ratelimit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${banking.shed.low-priority.max-in-flight:100}")
+    private int lowPriorityMaxInFlight;
+    @Value("${banking.shed.max-in-flight:180}")
+    private int maxInFlight;
+    @Value("${banking.shed.latency-ms:250}")
+    private long latencyThresholdMillis;
+    @Value("${banking.shed.latency-half-life-ms:1000}")
+    private long latencyHalfLifeMillis;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!rateLimitEnabled) return;
+
+        registry.addInterceptor(new RateLimitInterceptor(
+                        new RateLimiter(clientRate, clientBurst, maxKeys),
+                        new RateLimiter(accountRate, accountBurst, maxKeys),
+                        new LoadShedder(lowPriorityMaxInFlight, maxInFlight, latencyThresholdMillis, latencyHalfLifeMillis)))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -1,19 +1,28 @@
 package com.bankingSystem.controller;
 
+import com.bankingSystem.dto.AccountSummary;
 import com.bankingSystem.dto.AmountRequest;
 import com.bankingSystem.dto.CreateAccountRequest;
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.dto.MultiAccountView;
+import com.bankingSystem.dto.StatusRequest;
 import com.bankingSystem.dto.TransferRequest;
 import com.bankingSystem.model.Account;
+import com.bankingSystem.model.ArchivedAccount;
 import com.bankingSystem.model.Transaction;
 import com.bankingSystem.service.AccountService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
+// the span covers the handler only: body parsing and validation fall between it and the request span
+@Observed(name = "banking.api")
 @RestController
 @RequestMapping("/api/accounts")
 public class AccountController {
@@ -28,7 +37,7 @@ public class AccountController {
     //acc creation
     @PostMapping
     public ResponseEntity<Account> create(@Valid @RequestBody CreateAccountRequest req) {
-        Account created = service.createAccount(req.getHolderName());
+        Account created = service.createAccount(req.getHolderName(), req.getCurrency());
         log.info("Created account: accountNumber='{}', holder='{}'", created.getAccountNumber(), req.getHolderName());
         return ResponseEntity.status(201).body(created);  // Explicit
     }
@@ -41,6 +50,23 @@ public class AccountController {
         return ResponseEntity.status(200).body(account); // Explicit
     }
 
+    // MULTI-ACCOUNT VIEW: GET /api/accounts?ids=ASH1234,ANN5678&recent=10 - 200 OK
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiAccountView> getMany(
+            @RequestParam List<String> ids,
+            @RequestParam(defaultValue = "10") int recent) {
+
+        MultiAccountView view = service.getAccounts(ids, recent);
+        log.info("Fetched {} accounts ({} not found)", view.getAccounts().size(), view.getNotFound().size());
+        return ResponseEntity.status(200).body(view);
+    }
+
+    // slim view without transactionIds: GET /{accNo}?view=summary
+    @GetMapping(value = "/{accNo}", params = "view=summary")
+    public ResponseEntity<AccountSummary> getSummary(@PathVariable String accNo) {
+        return ResponseEntity.status(200).body(AccountSummary.from(get(accNo).getBody()));
+    }
+
     // UPDATE HOLDER NAME - 200 OK
     @PutMapping("/{accNo}")
     public ResponseEntity<Account> updateHolderName(
@@ -52,14 +78,31 @@ public class AccountController {
         return ResponseEntity.status(200).body(updated); // Explicit
     }
 
-    // DELETE ACCOUNT - 204 No Content
+    // DELETE (CLOSE) ACCOUNT - 204 No Content
     @DeleteMapping("/{accNo}")
     public ResponseEntity<Void> delete(@PathVariable String accNo) {
         service.deleteAccount(accNo);
-        log.info("Deleted account: accountNumber='{}'", accNo);
+        log.info("Closed account: accountNumber='{}'", accNo);
         return ResponseEntity.status(204).build(); // Explicit
     }
 
+    // CHANGE STATUS (freeze / unfreeze / close) - 200 OK
+    @PutMapping("/{accNo}/status")
+    public ResponseEntity<Account> changeStatus(
+            @PathVariable String accNo,
+            @Valid @RequestBody StatusRequest req) {
+
+        Account updated = service.changeStatus(accNo, req.getStatus());
+        log.info("Changed status: accountNumber='{}', status={}", accNo, req.getStatus());
+        return ResponseEntity.status(200).body(updated);
+    }
+
+    // ARCHIVED ACCOUNT SUMMARY - 200 OK
+    @GetMapping("/{accNo}/archive")
+    public ResponseEntity<ArchivedAccount> getArchived(@PathVariable String accNo) {
+        return ResponseEntity.status(200).body(service.getArchivedAccount(accNo));
+    }
+
     // DEPOSIT - 200 OK
     @PutMapping("/{accNo}/deposit")
     public ResponseEntity<Account> deposit(
@@ -71,6 +114,14 @@ public class AccountController {
         return ResponseEntity.status(200).body(updated); // Explicit
     }
 
+    @PutMapping(value = "/{accNo}/deposit", params = "view=summary")
+    public ResponseEntity<AccountSummary> depositSummary(
+            @PathVariable String accNo,
+            @Valid @RequestBody AmountRequest req) {
+
+        return ResponseEntity.status(200).body(AccountSummary.from(deposit(accNo, req).getBody()));
+    }
+
     // WITHDRAW - 200 OK
     @PutMapping("/{accNo}/withdraw")
     public ResponseEntity<Account> withdraw(
@@ -82,6 +133,14 @@ public class AccountController {
         return ResponseEntity.status(200).body(updated); // Explicit
     }
 
+    @PutMapping(value = "/{accNo}/withdraw", params = "view=summary")
+    public ResponseEntity<AccountSummary> withdrawSummary(
+            @PathVariable String accNo,
+            @Valid @RequestBody AmountRequest req) {
+
+        return ResponseEntity.status(200).body(AccountSummary.from(withdraw(accNo, req).getBody()));
+    }
+
     // TRANSFER - 200 OK
     @PostMapping("/transfer")
     public ResponseEntity<String> transfer(@Valid @RequestBody TransferRequest req) {
@@ -91,6 +150,17 @@ public class AccountController {
         return ResponseEntity.status(200).body("Transfer Successful"); // Explicit
     }
 
+    // STRIPE HOT ACCOUNT - 200 OK
+    @PutMapping("/{accNo}/stripes")
+    public ResponseEntity<Account> enableStriping(
+            @PathVariable String accNo,
+            @RequestParam int count) {
+
+        Account updated = service.enableStriping(accNo, count);
+        log.info("Striped account: accountNumber='{}', stripes={}", accNo, count);
+        return ResponseEntity.status(200).body(updated);
+    }
+
     // TRANSACTION HISTORY - 200 OK
     @GetMapping("/{accNo}/transactions")
     public ResponseEntity<List<Transaction>> getTxn(@PathVariable String accNo) {
@@ -98,6 +168,41 @@ public class AccountController {
         log.info("Fetched {} transactions for account '{}'", txns.size(), accNo);
         return ResponseEntity.status(200).body(txns); // Explicit
     }
+
+    // TRANSACTION HISTORY IN RANGE [from, to) - 200 OK
+    @GetMapping(value = "/{accNo}/transactions", params = {"from", "to"})
+    public ResponseEntity<List<Transaction>> getTxnRange(
+            @PathVariable String accNo,
+            @RequestParam Instant from,
+            @RequestParam Instant to) {
+
+        List<Transaction> txns = service.getTransactions(accNo, from, to);
+        log.info("Fetched {} transactions for account '{}' between {} and {}", txns.size(), accNo, from, to);
+        return ResponseEntity.status(200).body(txns);
+    }
+
+    // TRANSACTION HISTORY AFTER A WATERMARK (oldest first) - 200 OK
+    @GetMapping(value = "/{accNo}/transactions", params = "since")
+    public ResponseEntity<List<Transaction>> getTxnSince(
+            @PathVariable String accNo,
+            @RequestParam Instant since) {
+
+        List<Transaction> txns = service.getTransactionsSince(accNo, since);
+        log.info("Fetched {} transactions for account '{}' after {}", txns.size(), accNo, since);
+        return ResponseEntity.status(200).body(txns);
+    }
+
+    // TRANSACTION HISTORY PAGE (newest first) - 200 OK
+    @GetMapping(value = "/{accNo}/transactions", params = "limit")
+    public ResponseEntity<HistoryPage> getTxnPage(
+            @PathVariable String accNo,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+
+        HistoryPage page = service.getTransactionPage(accNo, cursor, limit);
+        log.info("Fetched page of {} transactions for account '{}'", page.getItems().size(), accNo);
+        return ResponseEntity.status(200).body(page);
+    }
 }
 
 
@@ -0,0 +1,34 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.BalanceEvent;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.service.AccountService;
+import com.bankingSystem.service.BalanceNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/accounts")
+public class AccountEventsController {
+
+    private final AccountService service;
+    private final BalanceNotifier notifier;
+    private static final Logger log = LoggerFactory.getLogger(AccountEventsController.class);
+
+    public AccountEventsController(AccountService service, BalanceNotifier notifier) {
+        this.service = service;
+        this.notifier = notifier;
+    }
+
+    // BALANCE EVENTS - text/event-stream, starts with the current balance
+    @GetMapping(value = "/{accNo}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String accNo) {
+        Account acc = service.getAccount(accNo);
+        SseEmitter emitter = notifier.subscribe(accNo, BalanceEvent.of(accNo, acc.getBalance(), null));
+        log.info("Subscribed to balance events: accountNumber='{}', subscribers={}", accNo, notifier.subscriberCount());
+        return emitter;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.ImportReport;
+import com.bankingSystem.exception.InvalidRequestException;
+import com.bankingSystem.service.AccountImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@RestController
+@RequestMapping("/api/accounts/import")
+public class AccountImportController {
+
+    private final AccountImportService importService;
+    private static final Logger log = LoggerFactory.getLogger(AccountImportController.class);
+
+    public AccountImportController(AccountImportService importService) {
+        this.importService = importService;
+    }
+
+    // BULK IMPORT (CSV / NDJSON) - 200 OK with per-row report
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReport> importAccounts(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String importId,
+            @RequestParam(required = false) AccountImportService.Format format) throws IOException {
+
+        if (file.isEmpty()) throw new InvalidRequestException("Import file is empty");
+
+        String name = file.getOriginalFilename() == null ? "upload" : file.getOriginalFilename();
+        // without an explicit id the content names the checkpoint: a different file under the same
+        // name must not skip rows it never committed
+        String id;
+        if (importId != null && !importId.isBlank()) {
+            id = importId;
+        } else {
+            try (InputStream in = file.getInputStream()) {
+                id = contentId(in);
+            }
+        }
+        AccountImportService.Format fmt = format != null ? format : formatOf(name);
+
+        try (InputStream in = file.getInputStream()) {
+            ImportReport report = importService.importAccounts(id, in, fmt);
+            log.info("Imported accounts: importId='{}', imported={}, failed={}", id, report.getImported(), report.getFailed());
+            return ResponseEntity.status(200).body(report);
+        }
+    }
+
+    public static String contentId(InputStream in) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            sha256.update(buffer, 0, n);
+        }
+        return "sha256-" + HexFormat.of().formatHex(sha256.digest());
+    }
+
+    public static AccountImportService.Format formatOf(String fileName) {
+        String lower = fileName.toLowerCase();
+        return lower.endsWith(".ndjson") || lower.endsWith(".jsonl") || lower.endsWith(".json")
+                ? AccountImportService.Format.NDJSON
+                : AccountImportService.Format.CSV;
+    }
+}
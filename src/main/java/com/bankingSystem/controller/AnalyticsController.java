@@ -0,0 +1,79 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.DailyTotal;
+import com.bankingSystem.dto.LedgerCheck;
+import com.bankingSystem.dto.TypeTotal;
+import com.bankingSystem.service.AnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final AnalyticsService analyticsService;
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsController.class);
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    // DAILY TOTALS - 200 OK
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailyTotal>> daily(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? today() : to;
+        LocalDate start = from == null ? end.minusDays(DEFAULT_DAYS - 1) : from;
+        List<DailyTotal> days = analyticsService.getDailyTotals(start, end);
+        log.info("Fetched daily totals: {}..{}, {} days with activity", start, end, days.size());
+        return ResponseEntity.status(200).body(days);
+    }
+
+    // TYPE BREAKDOWN - 200 OK
+    @GetMapping("/types")
+    public ResponseEntity<List<TypeTotal>> types(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? today() : to;
+        LocalDate start = from == null ? end.minusDays(DEFAULT_DAYS - 1) : from;
+        List<TypeTotal> types = analyticsService.getTypeBreakdown(start, end);
+        log.info("Fetched type breakdown: {}..{}, {} types", start, end, types.size());
+        return ResponseEntity.status(200).body(types);
+    }
+
+    // TOP ACCOUNTS BY VOLUME - 200 OK
+    @GetMapping("/top-accounts")
+    public ResponseEntity<List<AccountVolume>> topAccounts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDate end = to == null ? today() : to;
+        LocalDate start = from == null ? end.minusDays(DEFAULT_DAYS - 1) : from;
+        List<AccountVolume> top = analyticsService.getTopAccounts(start, end, limit);
+        log.info("Fetched top accounts: {}..{}, limit={}", start, end, limit);
+        return ResponseEntity.status(200).body(top);
+    }
+
+    // LEDGER CHECK - 200 OK (an unbalanced ledger is reported in the body, not as an error)
+    @GetMapping("/ledger")
+    public ResponseEntity<LedgerCheck> ledger() {
+        LedgerCheck check = analyticsService.checkLedger();
+        log.info("Fetched ledger check: balanced={}, unposted={}", check.isBalanced(), check.getUnposted());
+        return ResponseEntity.status(200).body(check);
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,112 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.AccountSummary;
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Transaction;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+
+// ETags for account and history reads. The tag is derived from the data (balance, last transaction
+// id, ...) rather than from the serialised bytes, so when If-None-Match matches the response goes
+// out as 304 before the body is ever serialised.
+@ControllerAdvice(assignableTypes = AccountController.class)
+public class ConditionalGetAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request.getMethod() != HttpMethod.GET || body == null) return body;
+
+        String etag = etagOf(body);
+        if (etag == null) return body;
+
+        response.getHeaders().setETag(etag);
+        response.getHeaders().setCacheControl("no-cache");
+        if (matches(request, etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return null;
+        }
+        return body;
+    }
+
+    // weak tags: CBOR and JSON renderings of the same data are equivalent
+    static String etagOf(Object body) {
+        Fingerprint f = new Fingerprint();
+        if (body instanceof Account acc) {
+            List<String> ids = acc.getTransactionIds();
+            f.add("account").add(acc.getAccountNumber()).add(acc.getHolderName()).add(acc.getBalance())
+                    .add(acc.getStatus()).add(acc.getStripeCount())
+                    .add(ids == null ? 0 : ids.size()).add(ids == null || ids.isEmpty() ? null : ids.get(ids.size() - 1))
+                    .add(acc.getHeldAmount());
+            // a hold placed and another voided can leave the held amount where it was
+            acc.getHolds().forEach(h -> f.add(h.getHoldId()).add(h.getAmount()));
+        } else if (body instanceof AccountSummary s) {
+            f.add("summary").add(s.getAccountNumber()).add(s.getHolderName()).add(s.getBalance())
+                    .add(s.getAvailableBalance()).add(s.getStatus());
+        } else if (body instanceof HistoryPage page) {
+            f.add("page").add(page.getNextCursor());
+            page.getItems().forEach(t -> f.add(t.getId()));
+        } else if (body instanceof List<?> list && list.stream().allMatch(Transaction.class::isInstance)) {
+            f.add("history");
+            list.forEach(t -> f.add(((Transaction) t).getId()).add(((Transaction) t).getStatus()));
+        } else {
+            return null;
+        }
+        return "W/\"" + f.hex() + "\"";
+    }
+
+    private static boolean matches(ServerHttpRequest request, String etag) {
+        try {
+            return matches(request.getHeaders().getIfNoneMatch(), etag);
+        } catch (IllegalArgumentException e) {
+            // malformed If-None-Match: answer with the full response
+            return false;
+        }
+    }
+
+    static boolean matches(List<String> ifNoneMatch, String etag) {
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch) {
+            if (candidate.equals("*")) return true;
+            String c = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (c.equals(opaque)) return true;
+        }
+        return false;
+    }
+
+    // 64-bit FNV-1a over the string forms of the parts
+    private static final class Fingerprint {
+        private long hash = 0xcbf29ce484222325L;
+
+        Fingerprint add(Object part) {
+            String s = String.valueOf(part);
+            for (int i = 0; i < s.length(); i++) {
+                hash ^= s.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= 0x1f;  // separator, so ("ab","c") differs from ("a","bc")
+            hash *= 0x100000001b3L;
+            return this;
+        }
+
+        String hex() {
+            return Long.toHexString(hash);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.AmountRequest;
+import com.bankingSystem.dto.HoldRequest;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Hold;
+import com.bankingSystem.service.HoldService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/accounts/{accNo}/holds")
+public class HoldController {
+
+    private final HoldService holdService;
+    private static final Logger log = LoggerFactory.getLogger(HoldController.class);
+
+    public HoldController(HoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    // PLACE HOLD - 201 Created
+    @PostMapping
+    public ResponseEntity<Hold> place(@PathVariable String accNo, @Valid @RequestBody HoldRequest req) {
+        Hold hold = holdService.placeHold(accNo, req.getAmount(), req.getTtlSeconds());
+        log.info("Placed hold: account='{}', hold='{}', amount={}", accNo, hold.getHoldId(), req.getAmount());
+        return ResponseEntity.status(201)
+                .header(HttpHeaders.LOCATION, "/api/accounts/" + accNo + "/holds/" + hold.getHoldId())
+                .body(hold);
+    }
+
+    // OPEN HOLDS - 200 OK
+    @GetMapping
+    public ResponseEntity<List<Hold>> list(@PathVariable String accNo) {
+        return ResponseEntity.status(200).body(holdService.getHolds(accNo));
+    }
+
+    // CAPTURE (full without a body, partial with an amount) - 200 OK
+    @PostMapping("/{holdId}/capture")
+    public ResponseEntity<Account> capture(
+            @PathVariable String accNo,
+            @PathVariable String holdId,
+            @RequestBody(required = false) AmountRequest req) {
+
+        Account updated = holdService.capture(accNo, holdId, req == null ? null : req.getAmount());
+        log.info("Captured hold: account='{}', hold='{}', newBalance={}", accNo, holdId, updated.getBalance());
+        return ResponseEntity.status(200).body(updated);
+    }
+
+    // VOID - 200 OK
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Account> voidHold(@PathVariable String accNo, @PathVariable String holdId) {
+        Account updated = holdService.voidHold(accNo, holdId);
+        log.info("Voided hold: account='{}', hold='{}'", accNo, holdId);
+        return ResponseEntity.status(200).body(updated);
+    }
+}
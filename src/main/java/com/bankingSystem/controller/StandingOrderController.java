@@ -0,0 +1,51 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.StandingOrderRequest;
+import com.bankingSystem.model.StandingOrder;
+import com.bankingSystem.service.StandingOrderService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/standing-orders")
+public class StandingOrderController {
+
+    private final StandingOrderService orderService;
+    private static final Logger log = LoggerFactory.getLogger(StandingOrderController.class);
+
+    public StandingOrderController(StandingOrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    // CREATE STANDING ORDER - 201 Created
+    @PostMapping
+    public ResponseEntity<StandingOrder> create(@Valid @RequestBody StandingOrderRequest req) {
+        StandingOrder order = orderService.createOrder(req.getSourceAccount(), req.getDestinationAccount(),
+                req.getAmount(), req.getFrequency(), req.getFirstRunAt());
+        log.info("Created standing order: id='{}' from='{}' to='{}' amount={} frequency={}",
+                order.getOrderId(), req.getSourceAccount(), req.getDestinationAccount(), req.getAmount(), req.getFrequency());
+        return ResponseEntity.status(201)
+                .header(HttpHeaders.LOCATION, "/api/standing-orders/" + order.getOrderId())
+                .body(order);
+    }
+
+    // GET STANDING ORDER - 200 OK
+    @GetMapping("/{id}")
+    public ResponseEntity<StandingOrder> get(@PathVariable String id) {
+        StandingOrder order = orderService.getOrder(id);
+        log.info("Fetched standing order: id='{}', next due {}", id, order.getDueAt());
+        return ResponseEntity.status(200).body(order);
+    }
+
+    // CANCEL STANDING ORDER - 200 OK
+    @DeleteMapping("/{id}")
+    public ResponseEntity<StandingOrder> cancel(@PathVariable String id) {
+        StandingOrder order = orderService.cancelOrder(id);
+        log.info("Cancelled standing order: id='{}'", id);
+        return ResponseEntity.status(200).body(order);
+    }
+}
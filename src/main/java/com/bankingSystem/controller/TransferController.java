@@ -0,0 +1,42 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.TransferRequest;
+import com.bankingSystem.model.TransferSaga;
+import com.bankingSystem.service.TransferSagaService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+public class TransferController {
+
+    private final TransferSagaService sagaService;
+    private static final Logger log = LoggerFactory.getLogger(TransferController.class);
+
+    public TransferController(TransferSagaService sagaService) {
+        this.sagaService = sagaService;
+    }
+
+    // ASYNC TRANSFER - 202 Accepted, poll the Location for the outcome
+    @PostMapping(value = "/accounts/transfer", params = "async=true")
+    public ResponseEntity<TransferSaga> transferAsync(@Valid @RequestBody TransferRequest req) {
+        TransferSaga saga = sagaService.startTransfer(req.getSourceAccount(), req.getDestinationAccount(), req.getAmount());
+        log.info("Accepted transfer: id='{}' from='{}' to='{}' amount={}",
+                saga.getTransferId(), req.getSourceAccount(), req.getDestinationAccount(), req.getAmount());
+        return ResponseEntity.status(202)
+                .header(HttpHeaders.LOCATION, "/api/transfers/" + saga.getTransferId())
+                .body(saga);
+    }
+
+    // TRANSFER STATUS - 200 OK
+    @GetMapping("/transfers/{id}")
+    public ResponseEntity<TransferSaga> status(@PathVariable String id) {
+        TransferSaga saga = sagaService.getTransfer(id);
+        log.info("Fetched transfer: id='{}', state={}", id, saga.getState());
+        return ResponseEntity.status(200).body(saga);
+    }
+}
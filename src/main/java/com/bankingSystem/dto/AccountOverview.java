@@ -0,0 +1,28 @@
+package com.bankingSystem.dto;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Transaction;
+
+import java.util.List;
+
+// one account of a multi-account view: the summary plus its latest transactions, newest first
+public class AccountOverview {
+
+    private AccountSummary account;
+    private List<Transaction> recentTransactions;
+
+    public AccountOverview() {}
+
+    public AccountOverview(Account account, List<Transaction> recentTransactions) {
+        this.account = AccountSummary.from(account);
+        this.recentTransactions = recentTransactions;
+    }
+
+    public AccountSummary getAccount() {
+        return account;
+    }
+
+    public List<Transaction> getRecentTransactions() {
+        return recentTransactions;
+    }
+}
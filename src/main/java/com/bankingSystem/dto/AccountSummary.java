@@ -0,0 +1,54 @@
+package com.bankingSystem.dto;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+
+import java.time.Instant;
+
+// slim response projection of Account - everything except the transactionIds list
+public class AccountSummary {
+
+    private String accountNumber;
+    private String holderName;
+    private Double balance;
+    private Double availableBalance;
+    private String currency;
+    private AccountStatus status;
+    private Instant createdAt;
+
+    public AccountSummary() {}
+
+    public static AccountSummary from(Account acc) {
+        AccountSummary s = new AccountSummary();
+        s.accountNumber = acc.getAccountNumber();
+        s.holderName = acc.getHolderName();
+        s.balance = acc.getBalance();
+        s.availableBalance = acc.getAvailableBalance();
+        s.currency = acc.getCurrency();
+        s.status = acc.getStatus();
+        s.createdAt = acc.getCreatedAt();
+        return s;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    public String getHolderName() {
+        return holderName;
+    }
+    public Double getBalance() {
+        return balance;
+    }
+    public Double getAvailableBalance() {
+        return availableBalance;
+    }
+    public String getCurrency() {
+        return currency;
+    }
+    public AccountStatus getStatus() {
+        return status;
+    }
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
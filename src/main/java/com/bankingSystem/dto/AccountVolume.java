@@ -0,0 +1,32 @@
+package com.bankingSystem.dto;
+
+// transactions in one currency an account took part in (either side) and their summed amount
+public class AccountVolume {
+
+    private String accountNumber;
+    private String currency;
+    private long count;
+    private double amount;
+
+    public AccountVolume() {}
+
+    public AccountVolume(String accountNumber, String currency, long count, double amount) {
+        this.accountNumber = accountNumber;
+        this.currency = currency;
+        this.count = count;
+        this.amount = amount;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    public String getCurrency() {
+        return currency;
+    }
+    public long getCount() {
+        return count;
+    }
+    public double getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,60 @@
+package com.bankingSystem.dto;
+
+import com.bankingSystem.model.Transaction;
+
+import java.time.Instant;
+
+// pushed to /events subscribers after every committed balance change (and once on subscribe)
+public class BalanceEvent {
+
+    private String accountNumber;
+    private Double balance;
+    private String transactionId;
+    private String type;
+    private Double amount;
+    private Instant timestamp;
+
+    public BalanceEvent() {}
+
+    public static BalanceEvent of(String accountNumber, Double balance, Transaction txn) {
+        BalanceEvent e = new BalanceEvent();
+        e.accountNumber = accountNumber;
+        e.balance = balance;
+        if (txn != null) {
+            e.transactionId = txn.getTransactionId();
+            e.type = txn.getType();
+            // a transfer entry is shared by both accounts: each sees the size of its own side
+            Double change = txn.amountFor(accountNumber);
+            e.amount = change == null ? txn.getAmount() : Math.abs(change);
+            e.timestamp = txn.getTimestamp();
+        } else {
+            e.timestamp = Instant.now();
+        }
+        return e;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public Double getBalance() {
+        return balance;
+    }
+
+    // null for the snapshot sent on subscribe
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+}
@@ -1,6 +1,7 @@
 package com.bankingSystem.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 
 //just a clean way to receive user input
 public class CreateAccountRequest {
@@ -8,6 +9,13 @@ public class CreateAccountRequest {
     @NotBlank(message = "Name is required")
     private String holderName;
 
+    // ISO 4217 code, optional: new accounts default to USD
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Currency must be a 3-letter ISO code")
+    private String currency;
+
     public String getHolderName() { return holderName; }
     public void setHolderName(String holderName) { this.holderName = holderName; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
 }
@@ -0,0 +1,25 @@
+package com.bankingSystem.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// transaction totals of one UTC day, per type
+public class DailyTotal {
+
+    private LocalDate day;
+    private List<TypeTotal> types;
+
+    public DailyTotal() {}
+
+    public DailyTotal(LocalDate day, List<TypeTotal> types) {
+        this.day = day;
+        this.types = types;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+    public List<TypeTotal> getTypes() {
+        return types;
+    }
+}
@@ -0,0 +1,28 @@
+package com.bankingSystem.dto;
+
+import com.bankingSystem.model.Transaction;
+
+import java.util.List;
+
+// one page of transaction history, newest first; pass nextCursor back to get the following page
+public class HistoryPage {
+
+    private List<Transaction> items;
+    private String nextCursor;
+
+    public HistoryPage() {}
+
+    public HistoryPage(List<Transaction> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getItems() {
+        return items;
+    }
+
+    // null on the last page
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bankingSystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class HoldRequest {
+
+    @NotNull(message = "Amount is required")
+    private Double amount;
+
+    // optional, defaults to banking.holds.default-ttl-seconds
+    private Long ttlSeconds;
+
+    public Double getAmount() {
+        return amount;
+    }
+    public void setAmount(Double amount) {
+        this.amount = amount;
+    }
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
@@ -0,0 +1,78 @@
+package com.bankingSystem.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// outcome of a bulk account import; row errors are capped so a bad file cannot exhaust memory
+public class ImportReport {
+
+    public static final int MAX_ERRORS = 1000;
+
+    private String importId;
+    private long rowsRead;
+    private long skipped;
+    private long imported;
+    private long failed;
+    private long checkpointLine;
+    private long elapsedMillis;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public ImportReport() {}
+
+    public ImportReport(String importId) {
+        this.importId = importId;
+    }
+
+    public synchronized void rowRead() {
+        rowsRead++;
+    }
+
+    public synchronized void rowSkipped() {
+        skipped++;
+    }
+
+    public synchronized void rowsImported(int count) {
+        imported += count;
+    }
+
+    public synchronized void rowFailed(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+    public synchronized long getRowsRead() {
+        return rowsRead;
+    }
+    public synchronized long getSkipped() {
+        return skipped;
+    }
+    public synchronized long getImported() {
+        return imported;
+    }
+    public synchronized long getFailed() {
+        return failed;
+    }
+    public synchronized long getCheckpointLine() {
+        return checkpointLine;
+    }
+    public synchronized void setCheckpointLine(long checkpointLine) {
+        this.checkpointLine = checkpointLine;
+    }
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    public synchronized List<RowError> getErrors() {
+        return Collections.unmodifiableList(new ArrayList<>(errors));
+    }
+
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,30 @@
+package com.bankingSystem.dto;
+
+import java.util.List;
+
+// response of GET /api/analytics/ledger: balanced when every currency's postings sum to zero;
+// unposted counts records written before the ledger that the migration has not converted yet
+public class LedgerCheck {
+
+    private boolean balanced;
+    private List<PostingTotal> totals;
+    private long unposted;
+
+    public LedgerCheck() {}
+
+    public LedgerCheck(boolean balanced, List<PostingTotal> totals, long unposted) {
+        this.balanced = balanced;
+        this.totals = totals;
+        this.unposted = unposted;
+    }
+
+    public boolean isBalanced() {
+        return balanced;
+    }
+    public List<PostingTotal> getTotals() {
+        return totals;
+    }
+    public long getUnposted() {
+        return unposted;
+    }
+}
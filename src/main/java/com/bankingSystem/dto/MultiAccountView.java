@@ -0,0 +1,25 @@
+package com.bankingSystem.dto;
+
+import java.util.List;
+
+// response of GET /api/accounts?ids=...: found accounts in request order, unknown numbers listed apart
+public class MultiAccountView {
+
+    private List<AccountOverview> accounts;
+    private List<String> notFound;
+
+    public MultiAccountView() {}
+
+    public MultiAccountView(List<AccountOverview> accounts, List<String> notFound) {
+        this.accounts = accounts;
+        this.notFound = notFound;
+    }
+
+    public List<AccountOverview> getAccounts() {
+        return accounts;
+    }
+
+    public List<String> getNotFound() {
+        return notFound;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bankingSystem.dto;
+
+import java.math.BigDecimal;
+
+// number and decimal sum of the postings in one currency; zero when the ledger balances
+public class PostingTotal {
+
+    private String currency;
+    private long postings;
+    private BigDecimal sum;
+
+    public PostingTotal() {}
+
+    public PostingTotal(String currency, long postings, BigDecimal sum) {
+        this.currency = currency;
+        this.postings = postings;
+        this.sum = sum;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+    public long getPostings() {
+        return postings;
+    }
+    public BigDecimal getSum() {
+        return sum;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bankingSystem.dto;
+
+import com.bankingSystem.model.StandingOrder;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+public class StandingOrderRequest {
+
+    @NotBlank(message = "Source account is required")
+    private String sourceAccount;
+
+    @NotBlank(message = "Destination account is required")
+    private String destinationAccount;
+
+    @NotNull(message = "Amount is required")
+    @Min(value = 1, message = "Amount must be at least 1")
+    private Double amount;
+
+    @NotNull(message = "Frequency is required")
+    private StandingOrder.Frequency frequency;
+
+    // optional, defaults to now
+    private Instant firstRunAt;
+
+
+    public String getSourceAccount() {
+        return sourceAccount;
+    }
+    public void setSourceAccount(String sourceAccount) {
+        this.sourceAccount = sourceAccount;
+    }
+    public String getDestinationAccount() {
+        return destinationAccount;
+    }
+    public void setDestinationAccount(String destinationAccount) {
+        this.destinationAccount = destinationAccount;
+    }
+    public Double getAmount() {
+        return amount;
+    }
+    public void setAmount(Double amount) {
+        this.amount = amount;
+    }
+    public StandingOrder.Frequency getFrequency() {
+        return frequency;
+    }
+    public void setFrequency(StandingOrder.Frequency frequency) {
+        this.frequency = frequency;
+    }
+    public Instant getFirstRunAt() {
+        return firstRunAt;
+    }
+    public void setFirstRunAt(Instant firstRunAt) {
+        this.firstRunAt = firstRunAt;
+    }
+}
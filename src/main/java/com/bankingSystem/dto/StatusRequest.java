@@ -0,0 +1,17 @@
+package com.bankingSystem.dto;
+
+import com.bankingSystem.model.AccountStatus;
+import jakarta.validation.constraints.NotNull;
+
+public class StatusRequest {
+
+    @NotNull(message = "Status is required")
+    private AccountStatus status;
+
+    public AccountStatus getStatus() {
+        return status;
+    }
+    public void setStatus(AccountStatus status) {
+        this.status = status;
+    }
+}
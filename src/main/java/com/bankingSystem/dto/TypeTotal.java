@@ -0,0 +1,32 @@
+package com.bankingSystem.dto;
+
+// number and sum of the transactions of one type in one currency
+public class TypeTotal {
+
+    private String type;
+    private String currency;
+    private long count;
+    private double amount;
+
+    public TypeTotal() {}
+
+    public TypeTotal(String type, String currency, long count, double amount) {
+        this.type = type;
+        this.currency = currency;
+        this.count = count;
+        this.amount = amount;
+    }
+
+    public String getType() {
+        return type;
+    }
+    public String getCurrency() {
+        return currency;
+    }
+    public long getCount() {
+        return count;
+    }
+    public double getAmount() {
+        return amount;
+    }
+}
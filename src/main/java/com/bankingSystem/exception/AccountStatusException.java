@@ -0,0 +1,6 @@
+package com.bankingSystem.exception;
+
+// the account's lifecycle status does not allow the operation (frozen, closed, ...)
+public class AccountStatusException extends RuntimeException {
+    public AccountStatusException(String msg) { super(msg); }
+}
@@ -0,0 +1,5 @@
+package com.bankingSystem.exception;
+
+public class HoldNotFoundException extends RuntimeException {
+    public HoldNotFoundException(String msg) { super(msg); }
+}
@@ -0,0 +1,5 @@
+package com.bankingSystem.exception;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String msg) { super(msg); }
+}
@@ -0,0 +1,5 @@
+package com.bankingSystem.exception;
+
+public class StandingOrderNotFoundException extends RuntimeException {
+    public StandingOrderNotFoundException(String msg) { super(msg); }
+}
@@ -0,0 +1,5 @@
+package com.bankingSystem.exception;
+
+public class TransactionBlockedException extends RuntimeException {
+    public TransactionBlockedException(String msg) { super(msg); }
+}
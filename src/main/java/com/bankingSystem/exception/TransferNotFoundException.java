@@ -0,0 +1,5 @@
+package com.bankingSystem.exception;
+
+public class TransferNotFoundException extends RuntimeException {
+    public TransferNotFoundException(String msg) { super(msg); }
+}
@@ -0,0 +1,73 @@
+package com.bankingSystem.interceptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Priority-aware admission: low-priority requests are shed as soon as the service looks
+// overloaded (too many requests in flight or latency above the threshold), high-priority
+// requests only when the hard in-flight limit is reached. The latency average decays while no
+// request completes: otherwise, with low priority shed and little else admitted, it would keep
+// low priority out long after the overload is gone.
+public class LoadShedder {
+
+    public enum Priority { HIGH, LOW }
+
+    private final int lowPriorityMaxInFlight;
+    private final int maxInFlight;
+    private final long latencyThresholdNanos;
+    private final long halfLifeNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // exponentially weighted moving average of request latency (alpha = 1/8)
+    private final AtomicLong ewmaLatencyNanos = new AtomicLong();
+    private volatile long lastSampleAt = System.nanoTime();
+
+    public LoadShedder(int lowPriorityMaxInFlight, int maxInFlight, long latencyThresholdMillis, long halfLifeMillis) {
+        this.lowPriorityMaxInFlight = lowPriorityMaxInFlight;
+        this.maxInFlight = maxInFlight;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.halfLifeNanos = TimeUnit.MILLISECONDS.toNanos(halfLifeMillis);
+    }
+
+    public boolean tryAdmit(Priority priority) {
+        int limit = priority == Priority.HIGH ? maxInFlight : lowPriorityMaxInFlight;
+        if (priority == Priority.LOW && latencyNanos() > latencyThresholdNanos) {
+            return false;
+        }
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void complete(long latencyNanos) {
+        inFlight.decrementAndGet();
+        long now = System.nanoTime();
+        long idle = now - lastSampleAt;
+        lastSampleAt = now;
+        ewmaLatencyNanos.accumulateAndGet(latencyNanos, (avg, sample) -> {
+            long decayed = decay(avg, idle);
+            return decayed + ((sample - decayed) >> 3);
+        });
+    }
+
+    private long latencyNanos() {
+        return decay(ewmaLatencyNanos.get(), System.nanoTime() - lastSampleAt);
+    }
+
+    // halves every halfLife without a completed request
+    private long decay(long avg, long idleNanos) {
+        if (idleNanos <= 0 || halfLifeNanos <= 0) return avg;
+        return (long) (avg * Math.pow(0.5, (double) idleNanos / halfLifeNanos));
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(latencyNanos());
+    }
+}
@@ -0,0 +1,121 @@
+package com.bankingSystem.interceptor;
+
+import com.bankingSystem.exception.TooManyRequestsException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Set;
+
+// Runs in front of every /api handler: the per-client bucket, the per-account bucket for debits
+// (withdrawals, hold placement and capture), then priority-aware load shedding. Reads and credits
+// are left to the client bucket: they do not contend on an account's available balance, and a
+// hot striped account takes its credits through the stripes.
+// Rejections are thrown as TooManyRequestsException and rendered as 429 by GlobalExceptionHandler.
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String PRIORITY_HEADER = "X-Priority";
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitInterceptor.class);
+    private static final String STARTED_AT = RateLimitInterceptor.class.getName() + ".startedAt";
+
+    private static final Set<String> DEBITS = Set.of(
+            "/api/accounts/{accNo}/withdraw",
+            "/api/accounts/{accNo}/holds",
+            "/api/accounts/{accNo}/holds/{holdId}/capture");
+    // background work, shed first whatever the method
+    private static final Set<String> BULK = Set.of("/api/accounts/import");
+
+    private final RateLimiter clientLimiter;
+    private final RateLimiter accountLimiter;
+    private final LoadShedder shedder;
+
+    public RateLimitInterceptor(RateLimiter clientLimiter, RateLimiter accountLimiter, LoadShedder shedder) {
+        this.clientLimiter = clientLimiter;
+        this.accountLimiter = accountLimiter;
+        this.shedder = shedder;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        // the request was already checked and admitted on its initial dispatch
+        if (request.getDispatcherType() == DispatcherType.ASYNC) return true;
+
+        String client = clientOf(request);
+        if (!clientLimiter.tryAcquire(client)) {
+            throw new TooManyRequestsException("Rate limit exceeded for client",
+                    clientLimiter.retryAfterSeconds(client));
+        }
+
+        String accNo = isDebit(request) ? accountOf(request) : null;
+        if (accNo != null && !accountLimiter.tryAcquire(accNo)) {
+            throw new TooManyRequestsException("Rate limit exceeded for account",
+                    accountLimiter.retryAfterSeconds(accNo));
+        }
+
+        // admission last: once admitted the request counts as in flight until afterCompletion
+        LoadShedder.Priority priority = priorityOf(request);
+        if (!shedder.tryAdmit(priority)) {
+            log.warn("Shedding {} priority request {} (inFlight={}, latency={}ms)",
+                    priority, request.getRequestURI(), shedder.getInFlight(), shedder.getLatencyMillis());
+            throw new TooManyRequestsException("Service overloaded, retry later", 1);
+        }
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    // long-lived async responses (SSE streams) stop counting as in flight once the handler returns
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        Object startedAt = request.getAttribute(STARTED_AT);
+        if (startedAt != null) {
+            request.removeAttribute(STARTED_AT);
+            shedder.complete(System.nanoTime() - (Long) startedAt);
+        }
+    }
+
+    // money movement is HIGH, reads (which clients can retry or serve from cache) and bulk work are
+    // LOW. X-Priority can only lower this: "high" from a caller would let it jump the shedder
+    private LoadShedder.Priority priorityOf(HttpServletRequest request) {
+        if ("low".equalsIgnoreCase(request.getHeader(PRIORITY_HEADER))) return LoadShedder.Priority.LOW;
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        return read || BULK.contains(patternOf(request)) ? LoadShedder.Priority.LOW : LoadShedder.Priority.HIGH;
+    }
+
+    private boolean isDebit(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) && DEBITS.contains(patternOf(request));
+    }
+
+    private String patternOf(HttpServletRequest request) {
+        // a String, or a PathPattern whose toString is the pattern
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
+    // the remote address: a client id header is unauthenticated, and a fresh value per request
+    // would get a fresh bucket
+    private String clientOf(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private String accountOf(HttpServletRequest request) {
+        Object vars = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return vars instanceof Map ? ((Map<String, String>) vars).get("accNo") : null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.bankingSystem.interceptor;
+
+import com.bankingSystem.util.TokenBucket;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// One token bucket per key (client id or account number), created on first use.
+public class RateLimiter {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(double permitsPerSecond, int burst, int maxKeys) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxKeys = maxKeys;
+    }
+
+    public boolean tryAcquire(String key) {
+        if (buckets.size() > maxKeys) {
+            evictIdle();
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(permitsPerSecond, burst)).tryAcquire();
+    }
+
+    public long retryAfterSeconds(String key) {
+        TokenBucket bucket = buckets.get(key);
+        long nanos = bucket == null ? 0 : bucket.nanosUntilPermit();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    // fully refilled buckets hold no information, dropping them keeps memory bounded
+    void evictIdle() {
+        buckets.values().removeIf(TokenBucket::isIdle);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
@@ -6,18 +6,30 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Document(collection = "accounts")
 public class Account {
 
+    // currency of accounts created before multi-currency support
+    public static final String DEFAULT_CURRENCY = "USD";
+
     @Id
     private String id;
     private String accountNumber;
     private String holderName;
     private Double balance;
-    private String status;
+    private String currency;
+    private AccountStatus status;
     private Instant createdAt;
+    private Instant closedAt;
     private List<String> transactionIds = new ArrayList<>();
+    // open authorisation holds and their total; only changed by atomic updates in the repository,
+    // which also keep balance - heldAmount from going negative when a hold is placed
+    private List<Hold> holds = new ArrayList<>();
+    private Double heldAmount;
+    // > 1 when the balance is striped across balance_stripes documents (hot accounts)
+    private Integer stripeCount;
 
     public Account() {}
 
@@ -25,7 +37,8 @@ public class Account {
         this.accountNumber = accountNumber;
         this.holderName = holderName;
         this.balance = 0.0;
-        this.status = "ACTIVE";
+        this.currency = DEFAULT_CURRENCY;
+        this.status = AccountStatus.ACTIVE;
         this.createdAt = Instant.now();
     }
 
@@ -52,15 +65,56 @@ public class Account {
     public void setBalance(Double balance) {
         this.balance = balance;
     }
-    public String getStatus() {
-        return status;
+    public Double getHeldAmount() {
+        return heldAmount == null ? 0.0 : heldAmount;
+    }
+    public void setHeldAmount(Double heldAmount) {
+        this.heldAmount = heldAmount;
+    }
+    // what withdrawals, transfers and new holds may use
+    public Double getAvailableBalance() {
+        return getBalance() - getHeldAmount();
+    }
+    public List<Hold> getHolds() {
+        return holds;
+    }
+    public Optional<Hold> findHold(String holdId) {
+        return holds.stream().filter(h -> h.getHoldId().equals(holdId)).findFirst();
+    }
+    public String getCurrency() {
+        return currency == null ? DEFAULT_CURRENCY : currency;
+    }
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    // documents written before statuses were enforced may have none
+    public AccountStatus getStatus() {
+        return status == null ? AccountStatus.ACTIVE : status;
+    }
+    public void setStatus(AccountStatus status) {
+        this.status = status;
     }
     public Instant getCreatedAt() {
         return createdAt;
     }
+    public Instant getClosedAt() {
+        return closedAt;
+    }
+    public void setClosedAt(Instant closedAt) {
+        this.closedAt = closedAt;
+    }
     public List<String> getTransactionIds() {
         return transactionIds;
     }
+    public Integer getStripeCount() {
+        return stripeCount;
+    }
+    public void setStripeCount(Integer stripeCount) {
+        this.stripeCount = stripeCount;
+    }
+    public boolean isStriped() {
+        return stripeCount != null && stripeCount > 1;
+    }
 
 
 
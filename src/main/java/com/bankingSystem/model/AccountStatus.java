@@ -0,0 +1,38 @@
+package com.bankingSystem.model;
+
+import java.util.Set;
+
+// Account lifecycle:
+//
+//   ACTIVE <-> FROZEN
+//      |         |
+//      v         v
+//        CLOSED -> ARCHIVED (background job, moves the account to archived_accounts)
+//
+// FROZEN accounts still receive credits; CLOSED accounts only take reversals of earlier entries
+// and ARCHIVED accounts (sealed while the archiver moves them out) take nothing.
+public enum AccountStatus {
+    ACTIVE, FROZEN, CLOSED, ARCHIVED;
+
+    // for conditional updates that check the status again on the stored document
+    public static final Set<AccountStatus> DEBITABLE = Set.of(ACTIVE);
+    public static final Set<AccountStatus> CREDITABLE = Set.of(ACTIVE, FROZEN);
+    public static final Set<AccountStatus> REVERSIBLE = Set.of(ACTIVE, FROZEN, CLOSED);
+
+    public boolean allowsDebit() {
+        return this == ACTIVE;
+    }
+
+    public boolean allowsCredit() {
+        return this == ACTIVE || this == FROZEN;
+    }
+
+    public boolean canMoveTo(AccountStatus next) {
+        return switch (this) {
+            case ACTIVE -> next == FROZEN || next == CLOSED;
+            case FROZEN -> next == ACTIVE || next == CLOSED;
+            case CLOSED -> next == ARCHIVED;
+            case ARCHIVED -> false;
+        };
+    }
+}
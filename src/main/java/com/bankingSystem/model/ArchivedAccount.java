@@ -0,0 +1,101 @@
+package com.bankingSystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// A closed account after archival: the account fields plus a summary of every entry that moved
+// money on it. Single-account entries (deposits, withdrawals, reversals) are moved out to
+// archived_transactions; transfer entries are shared with the other account and stay live.
+// archivedAt stays null until the move has finished.
+@Document(collection = "archived_accounts")
+public class ArchivedAccount {
+
+    @Id
+    private String id;
+    private String accountNumber;
+    private String holderName;
+    private Double closingBalance;
+    private AccountStatus status;
+    private Instant createdAt;
+    private Instant closedAt;
+    private Instant archivedAt;
+
+    private long transactionCount;
+    private double totalCredits;
+    private double totalDebits;
+    private Instant firstTransactionAt;
+    private Instant lastTransactionAt;
+
+    public ArchivedAccount() {}
+
+    public ArchivedAccount(Account acc) {
+        this.accountNumber = acc.getAccountNumber();
+        this.holderName = acc.getHolderName();
+        this.closingBalance = acc.getBalance();
+        this.status = AccountStatus.ARCHIVED;
+        this.createdAt = acc.getCreatedAt();
+        this.closedAt = acc.getClosedAt();
+    }
+
+    // folds one entry into the summary by this account's side of it; memos are skipped
+    public void include(Transaction txn) {
+        Double change = txn.amountFor(accountNumber);
+        if (change == null) return;
+        transactionCount++;
+        if (change < 0) {
+            totalDebits -= change;
+        } else {
+            totalCredits += change;
+        }
+        Instant at = txn.getTimestamp();
+        if (at != null) {
+            if (firstTransactionAt == null || at.isBefore(firstTransactionAt)) firstTransactionAt = at;
+            if (lastTransactionAt == null || at.isAfter(lastTransactionAt)) lastTransactionAt = at;
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    public String getHolderName() {
+        return holderName;
+    }
+    public Double getClosingBalance() {
+        return closingBalance;
+    }
+    public AccountStatus getStatus() {
+        return status;
+    }
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    public Instant getClosedAt() {
+        return closedAt;
+    }
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+    public void setArchivedAt(Instant archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+    public double getTotalDebits() {
+        return totalDebits;
+    }
+    public Instant getFirstTransactionAt() {
+        return firstTransactionAt;
+    }
+    public Instant getLastTransactionAt() {
+        return lastTransactionAt;
+    }
+}
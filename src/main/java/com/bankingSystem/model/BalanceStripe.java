@@ -0,0 +1,40 @@
+package com.bankingSystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// One slot of a striped account's balance; the account balance is the sum of its stripes.
+@Document(collection = "balance_stripes")
+public class BalanceStripe {
+
+    @Id
+    private String id;
+    private String accountNumber;
+    private int slot;
+    private Double balance;
+    // slot 0 only: false until the account's balance has been moved in (missing on stripes
+    // created before the hand-off was split, which were opened when created)
+    private Boolean opened;
+
+    public BalanceStripe() {}
+
+    public static String idOf(String accountNumber, int slot) {
+        return accountNumber + "#" + slot;
+    }
+
+    public String getId() {
+        return id;
+    }
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    public int getSlot() {
+        return slot;
+    }
+    public Double getBalance() {
+        return balance;
+    }
+    public Boolean getOpened() {
+        return opened;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bankingSystem.model;
+
+import java.time.Instant;
+
+// An authorisation hold, embedded in its account's holds array. Placing one reserves the amount
+// (it counts against the available balance, the balance itself is untouched); capturing debits
+// up to the held amount and releases the rest; voiding or expiry releases all of it.
+public class Hold {
+
+    private String holdId;
+    private Double amount;
+    private Instant createdAt;
+    private Instant expiresAt;
+
+    public Hold() {}
+
+    public Hold(String holdId, Double amount, Instant createdAt, Instant expiresAt) {
+        this.holdId = holdId;
+        this.amount = amount;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public String getHoldId() {
+        return holdId;
+    }
+    public Double getAmount() {
+        return amount;
+    }
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
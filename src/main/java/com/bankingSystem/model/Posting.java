@@ -0,0 +1,66 @@
+package com.bankingSystem.model;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One side of a journal entry: a signed amount on one account, negative for a debit (money out),
+// positive for a credit. The postings of an entry sum to zero per currency. Money entering or
+// leaving the bank, in flight between the steps of a multi-step transfer, or changing currency
+// is posted against one of the contra accounts below, so every entry balances on its own.
+public class Posting {
+
+    // cash in and out of the bank (deposits, withdrawals, captured holds)
+    public static final String EXTERNAL = "EXTERNAL";
+    // between the debit and the credit of a saga, standing order or striped transfer
+    public static final String TRANSIT = "TRANSIT";
+    // the bank's position in each currency from conversions
+    public static final String FX = "FX";
+
+    private String account;
+    private double amount;
+    private String currency;
+
+    public Posting() {}
+
+    public Posting(String account, double amount, String currency) {
+        this.account = account;
+        this.amount = amount;
+        this.currency = currency;
+    }
+
+    // `amount` moves from one account to the other, same currency on both sides
+    public static List<Posting> move(String from, String to, double amount, String currency) {
+        return List.of(new Posting(from, -amount, currency), new Posting(to, amount, currency));
+    }
+
+    // `amount` leaves `from` in its currency and `credited` arrives in `to` in the other, through FX
+    public static List<Posting> convert(String from, double amount, String fromCurrency,
+                                        String to, double credited, String toCurrency) {
+        return List.of(
+                new Posting(from, -amount, fromCurrency),
+                new Posting(FX, amount, fromCurrency),
+                new Posting(FX, -credited, toCurrency),
+                new Posting(to, credited, toCurrency));
+    }
+
+    // summed as decimals: 0.1 + 0.2 - 0.3 is zero here, not 5.5e-17
+    public static boolean balanced(List<Posting> postings) {
+        Map<String, BigDecimal> sums = new HashMap<>();
+        for (Posting p : postings) {
+            sums.merge(p.currency, BigDecimal.valueOf(p.amount), BigDecimal::add);
+        }
+        return sums.values().stream().allMatch(sum -> sum.signum() == 0);
+    }
+
+    public String getAccount() {
+        return account;
+    }
+    public double getAmount() {
+        return amount;
+    }
+    public String getCurrency() {
+        return currency;
+    }
+}
@@ -0,0 +1,170 @@
+package com.bankingSystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+// A recurring transfer. Occurrences are numbered from the first run (sequence 0, 1, 2, ...) and
+// their times are derived from firstRunAt, so monthly orders do not drift after short months.
+// dueAt is when the scheduler should pick the order up next: the current occurrence, or a
+// retry time after a failed attempt.
+@Document(collection = "standing_orders")
+public class StandingOrder {
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY;
+
+        public Instant occurrence(Instant first, long sequence) {
+            ZonedDateTime utc = first.atZone(ZoneOffset.UTC);
+            ZonedDateTime next = switch (this) {
+                case DAILY -> utc.plusDays(sequence);
+                case WEEKLY -> utc.plusWeeks(sequence);
+                case MONTHLY -> utc.plusMonths(sequence);
+            };
+            return next.toInstant();
+        }
+    }
+
+    public enum Status { ACTIVE, CANCELLED }
+
+    @Id
+    private String id;
+    private String orderId;
+    private String sourceAccount;
+    private String destinationAccount;
+    private Double amount;
+    private Frequency frequency;
+    private Status status;
+
+    private Instant firstRunAt;
+    private long sequence;
+    private Instant occurrence;
+    private Instant dueAt;
+
+    // failed attempts of the current occurrence
+    private int attempts;
+    private long runs;
+    private long skipped;
+    private String lastError;
+    private Instant lastRunAt;
+
+    // set while a scheduler node holds the order in its queue
+    private String leaseOwner;
+    private Instant leaseUntil;
+
+    private Instant createdAt;
+
+    public StandingOrder() {}
+
+    public StandingOrder(String orderId, String sourceAccount, String destinationAccount, Double amount,
+                         Frequency frequency, Instant firstRunAt) {
+        this.orderId = orderId;
+        this.sourceAccount = sourceAccount;
+        this.destinationAccount = destinationAccount;
+        this.amount = amount;
+        this.frequency = frequency;
+        this.status = Status.ACTIVE;
+        this.firstRunAt = firstRunAt;
+        this.occurrence = firstRunAt;
+        this.dueAt = firstRunAt;
+        this.createdAt = Instant.now();
+    }
+
+    // moves to the first occurrence after now; missed occurrences (e.g. after downtime) are not replayed
+    public void advance(Instant now) {
+        do {
+            sequence++;
+            occurrence = frequency.occurrence(firstRunAt, sequence);
+        } while (!occurrence.isAfter(now));
+        dueAt = occurrence;
+        attempts = 0;
+    }
+
+    public String getId() {
+        return id;
+    }
+    public String getOrderId() {
+        return orderId;
+    }
+    public String getSourceAccount() {
+        return sourceAccount;
+    }
+    public String getDestinationAccount() {
+        return destinationAccount;
+    }
+    public Double getAmount() {
+        return amount;
+    }
+    public Frequency getFrequency() {
+        return frequency;
+    }
+    public Status getStatus() {
+        return status;
+    }
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    public Instant getFirstRunAt() {
+        return firstRunAt;
+    }
+    public long getSequence() {
+        return sequence;
+    }
+    public Instant getOccurrence() {
+        return occurrence;
+    }
+    public Instant getDueAt() {
+        return dueAt;
+    }
+    public void setDueAt(Instant dueAt) {
+        this.dueAt = dueAt;
+    }
+    public int getAttempts() {
+        return attempts;
+    }
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    public long getRuns() {
+        return runs;
+    }
+    public void setRuns(long runs) {
+        this.runs = runs;
+    }
+    public long getSkipped() {
+        return skipped;
+    }
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+    public String getLastError() {
+        return lastError;
+    }
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    public Instant getLastRunAt() {
+        return lastRunAt;
+    }
+    public void setLastRunAt(Instant lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -3,8 +3,13 @@ package com.bankingSystem.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 
+// A journal entry. Entries written since the double-entry ledger carry balanced postings and a
+// transfer is a single entry seen from both accounts; postings is null on records written
+// before it that the ledger migration has not reached yet.
 @Document(collection = "transactions")
 public class Transaction {
 
@@ -13,10 +18,16 @@ public class Transaction {
     private String transactionId;
     private String type;
     private Double amount;
+    // currency of amount; on a converted credit, rate is the source -> account currency rate used
+    private String currency;
+    private BigDecimal fxRate;
     private Instant timestamp;
     private String status;
     private String sourceAccount;
     private String destinationAccount;
+    private List<Posting> postings;
+    // legacy leg ids the ledger migration folded into this entry, cleared once they are deleted
+    private List<String> migratedFrom;
 
     public Transaction() {}
 
@@ -95,4 +106,54 @@ public class Transaction {
     public void setDestinationAccount(String destinationAccount) {
         this.destinationAccount = destinationAccount;
     }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getFxRate() {
+        return fxRate;
+    }
+
+    public void setFxRate(BigDecimal fxRate) {
+        this.fxRate = fxRate;
+    }
+
+    public List<Posting> getPostings() {
+        return postings;
+    }
+
+    public void setPostings(List<Posting> postings) {
+        this.postings = postings;
+    }
+
+    public List<String> getMigratedFrom() {
+        return migratedFrom;
+    }
+
+    public void setMigratedFrom(List<String> migratedFrom) {
+        this.migratedFrom = migratedFrom;
+    }
+
+    // signed change this entry made to accNo's balance, in the account's currency; null when it
+    // moved no money on that account (a transfer memo, or another account's entry)
+    public Double amountFor(String accNo) {
+        if (postings == null) return legacyAmountFor(accNo);
+        Double sum = null;
+        for (Posting p : postings) {
+            if (p.getAccount().equals(accNo)) sum = (sum == null ? 0.0 : sum) + p.getAmount();
+        }
+        return sum;
+    }
+
+    // pre-ledger records: single-account legs signed by type, two-sided TRANSFER records were memos
+    private Double legacyAmountFor(String accNo) {
+        if (amount == null || sourceAccount != null && destinationAccount != null) return null;
+        if (!accNo.equals(sourceAccount) && !accNo.equals(destinationAccount)) return null;
+        return "WITHDRAW".equals(type) || "CAPTURE".equals(type) ? -amount : amount;
+    }
 }
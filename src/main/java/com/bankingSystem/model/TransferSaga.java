@@ -0,0 +1,138 @@
+package com.bankingSystem.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Persisted state of an asynchronous transfer. Every step is saved before the next one starts,
+// so after a restart the saga resumes from its last recorded state.
+//
+//   PENDING -> DEBITED -> CREDITED -> COMPLETED
+//      |          |
+//      v          v
+//   FAILED    COMPENSATING -> COMPENSATED
+@Document(collection = "transfer_sagas")
+public class TransferSaga {
+
+    public enum State {
+        PENDING, DEBITED, CREDITED, COMPLETED, COMPENSATING, COMPENSATED, FAILED;
+
+        public boolean isTerminal() {
+            return this == COMPLETED || this == COMPENSATED || this == FAILED;
+        }
+    }
+
+    @Id
+    private String id;
+    private String transferId;
+    private String sourceAccount;
+    private String destinationAccount;
+    private Double amount;
+    // source account currency, captured by the debit step; the credit is converted from it
+    private String currency;
+    private State state;
+    private String failureReason;
+
+    // transaction ids are fixed up front so a replayed step can tell it was already applied
+    private String debitTxnId;
+    private String creditTxnId;
+    private String transferTxnId;
+    private String compensationTxnId;
+
+    // set while a node is driving the saga, so recovery elsewhere leaves it alone
+    private String leaseOwner;
+    private Instant leaseUntil;
+
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    public TransferSaga() {}
+
+    public TransferSaga(String transferId, String sourceAccount, String destinationAccount, Double amount) {
+        this.transferId = transferId;
+        this.sourceAccount = sourceAccount;
+        this.destinationAccount = destinationAccount;
+        this.amount = amount;
+        this.state = State.PENDING;
+        this.createdAt = Instant.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+    public String getTransferId() {
+        return transferId;
+    }
+    public String getSourceAccount() {
+        return sourceAccount;
+    }
+    public String getDestinationAccount() {
+        return destinationAccount;
+    }
+    public Double getAmount() {
+        return amount;
+    }
+    public State getState() {
+        return state;
+    }
+    public void setState(State state) {
+        this.state = state;
+        this.updatedAt = Instant.now();
+    }
+    public String getFailureReason() {
+        return failureReason;
+    }
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+    public String getDebitTxnId() {
+        return debitTxnId;
+    }
+    public void setDebitTxnId(String debitTxnId) {
+        this.debitTxnId = debitTxnId;
+    }
+    public String getCreditTxnId() {
+        return creditTxnId;
+    }
+    public void setCreditTxnId(String creditTxnId) {
+        this.creditTxnId = creditTxnId;
+    }
+    public String getTransferTxnId() {
+        return transferTxnId;
+    }
+    public void setTransferTxnId(String transferTxnId) {
+        this.transferTxnId = transferTxnId;
+    }
+    public String getCompensationTxnId() {
+        return compensationTxnId;
+    }
+    public void setCompensationTxnId(String compensationTxnId) {
+        this.compensationTxnId = compensationTxnId;
+    }
+    public String getCurrency() {
+        return currency;
+    }
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -1,11 +1,22 @@
 package com.bankingSystem.repository;
 
 import com.bankingSystem.model.Account;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import com.bankingSystem.model.AccountStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface AccountRepository extends MongoRepository<Account, String> {
+public interface AccountRepository extends ListCrudRepository<Account, String>, AccountRepositoryCustom {
     Optional<Account> findByAccountNumber(String accountNumber);
     boolean existsByAccountNumber(String accountNumber);
+    List<Account> findByStatusInAndClosedAtBefore(Collection<AccountStatus> statuses, Instant before, Limit limit);
+
+    // one $in query for multi-account views; the transactionIds list is left on the server
+    @Query(value = "{ 'accountNumber': { $in: ?0 } }", fields = "{ 'transactionIds': 0 }")
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
 }
@@ -0,0 +1,64 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.ArchivedAccount;
+import com.bankingSystem.model.Hold;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Archive of closed accounts, kept out of the accounts collection and its indexes, and every
+// change to a live account after it was created. Each of those is one atomic conditional update
+// of the fields it changes, never a save of a loaded copy (which would undo concurrent changes);
+// an empty result means the condition did not hold (or the account does not exist).
+public interface AccountRepositoryCustom {
+
+    Optional<ArchivedAccount> findArchived(String accountNumber);
+
+    boolean existsArchived(String accountNumber);
+
+    // Moves a closed account to archived_accounts, its deposits, withdrawals and reversals to
+    // archived_transactions and removes it from accounts. The archive record summarises every
+    // entry of the account; transfer entries stay, the other account's history still needs
+    // them. The account is first sealed (CLOSED -> ARCHIVED, only with a zero balance and no
+    // holds); if that matches nothing it is left alone and an IllegalStateException is thrown.
+    // Safe to re-run after a failure part way, with the account as found in ARCHIVED.
+    ArchivedAccount archive(Account acc);
+
+    void ensureHoldIndexes();
+
+    // adds delta to the balance and appends txnId (unless null) if it is not there yet and the
+    // status is one of statuses (null: any); a debit (delta < 0) only applies while
+    // balance - heldAmount covers it. Never matches a striped account, whose stored balance is
+    // frozen once it is marked (the stripes hold the balance from then on).
+    Optional<Account> applyChange(String accountNumber, double delta, String txnId, Collection<AccountStatus> statuses);
+
+    // moves the account from `from` to `to`, setting closedAt unless null; closing also needs no
+    // open holds and a zero balance (striped balances are not on the document, the caller checks them)
+    Optional<Account> changeStatus(String accountNumber, AccountStatus from, AccountStatus to, Instant closedAt);
+
+    // renames an account that is not closed
+    Optional<Account> updateHolderName(String accountNumber, String holderName);
+
+    // marks an ACTIVE account that is not striped yet as striped; the returned balance is the
+    // last one the account document will have
+    Optional<Account> markStriped(String accountNumber, int stripeCount);
+
+    // reserves hold.amount if the account is ACTIVE, not striped and balance - heldAmount covers it
+    Optional<Account> placeHold(String accountNumber, Hold hold);
+
+    // removes the hold, debits amount (<= held) and appends txnId, releasing the rest of the hold
+    Optional<Account> captureHold(String accountNumber, String holdId, double held, double amount, String txnId);
+
+    // removes the hold and releases the held amount
+    Optional<Account> releaseHold(String accountNumber, String holdId, double held);
+
+    // accounts with a hold expired at now (only accountNumber and holds are loaded), up to limit
+    List<Account> findWithExpiredHolds(Instant now, int limit);
+
+    // drops the ids from the account's transactionIds (ledger migration)
+    void pullTransactionIds(String accountNumber, Collection<String> txnIds);
+}
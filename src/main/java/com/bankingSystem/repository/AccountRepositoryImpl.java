@@ -0,0 +1,277 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.ArchivedAccount;
+import com.bankingSystem.model.Hold;
+import com.bankingSystem.model.Transaction;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Spring Data picks this up as the implementation of AccountRepositoryCustom.
+public class AccountRepositoryImpl implements AccountRepositoryCustom {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountRepositoryImpl.class);
+
+    // outside the "transactions" prefix, so moved records get the money write concern
+    static final String TXN_ARCHIVE_COLLECTION = "archived_transactions";
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongo;
+    private final boolean partitioned;
+    private final int chunkSize;
+
+    public AccountRepositoryImpl(MongoTemplate mongo,
+                                 @Value("${banking.txn.partitioning.enabled:false}") boolean partitioned,
+                                 @Value("${banking.accounts.archive.chunk-size:1000}") int chunkSize) {
+        this.mongo = mongo;
+        this.partitioned = partitioned;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Optional<ArchivedAccount> findArchived(String accountNumber) {
+        return Optional.ofNullable(mongo.findOne(new Query(where("accountNumber").is(accountNumber)), ArchivedAccount.class));
+    }
+
+    @Override
+    public boolean existsArchived(String accountNumber) {
+        return mongo.exists(new Query(where("accountNumber").is(accountNumber)), ArchivedAccount.class);
+    }
+
+    @Override
+    public ArchivedAccount archive(Account acc) {
+        String accNo = acc.getAccountNumber();
+
+        // seal first: CLOSED -> ARCHIVED only while nothing is left on it (a reversal may have
+        // credited the closed account since it was loaded). ARCHIVED takes no money movement, so
+        // the summary below reads a document that can no longer change. An account already
+        // ARCHIVED is a run that stopped part way and is picked up where it was.
+        Account sealed = acc.getStatus() == AccountStatus.ARCHIVED
+                ? mongo.findOne(new Query(where("accountNumber").is(accNo)), Account.class)
+                : changeStatus(accNo, AccountStatus.CLOSED, AccountStatus.ARCHIVED, null).orElse(null);
+        if (sealed == null) {
+            throw new IllegalStateException("Account " + accNo + " changed since it was closed, not archived");
+        }
+        List<String> collections = transactionCollections();
+
+        // the summary is built once, before anything moves: a re-run finds the record and skips this
+        ArchivedAccount archived = findArchived(accNo).orElse(null);
+        if (archived == null) {
+            archived = new ArchivedAccount(sealed);
+            // a record whose balance change was rejected is retracted by its writer, the account's
+            // ids say which records counted (striped accounts keep no ids)
+            Set<String> applied = sealed.isStriped() ? null : new HashSet<>(sealed.getTransactionIds());
+            for (String collection : collections) {
+                try (Stream<Transaction> txns = mongo.stream(involving(accNo), Transaction.class, collection)) {
+                    ArchivedAccount summary = archived;
+                    txns.filter(t -> applied == null || applied.contains(t.getTransactionId())).forEach(summary::include);
+                }
+            }
+            archived = mongo.insert(archived);
+        }
+
+        long moved = 0;
+        for (String collection : collections) {
+            moved += moveTransactions(accNo, collection);
+        }
+
+        archived.setArchivedAt(Instant.now());
+        archived = mongo.save(archived);
+        mongo.remove(new Query(where("accountNumber").is(accNo).and("status").is(AccountStatus.ARCHIVED.name())), Account.class);
+        log.info("Archive: account '{}' archived, {} transactions moved", accNo, moved);
+        return archived;
+    }
+
+    // chunk by chunk: copy (upsert, so a repeated chunk is harmless), then delete the originals
+    private long moveTransactions(String accNo, String collection) {
+        long moved = 0;
+        while (true) {
+            List<Transaction> chunk = mongo.find(singleAccount(accNo).limit(chunkSize), Transaction.class, collection);
+            if (chunk.isEmpty()) return moved;
+
+            BulkOperations copy = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class, TXN_ARCHIVE_COLLECTION);
+            List<String> ids = new ArrayList<>(chunk.size());
+            for (Transaction t : chunk) {
+                copy.replaceOne(new Query(where("_id").is(t.getId())), t, FindAndReplaceOptions.options().upsert());
+                ids.add(t.getId());
+            }
+            copy.execute();
+            mongo.remove(new Query(where("_id").in(ids)), collection);
+            moved += chunk.size();
+        }
+    }
+
+    // every entry on either side of the account; transfer entries are summarised but not moved
+    static Query involving(String accNo) {
+        return new Query(new Criteria().orOperator(
+                where("sourceAccount").is(accNo),
+                where("destinationAccount").is(accNo)));
+    }
+
+    // deposits, withdrawals and reversals of the account: records with only one side set
+    static Query singleAccount(String accNo) {
+        return new Query(new Criteria().orOperator(
+                where("sourceAccount").is(accNo).and("destinationAccount").is(null),
+                where("destinationAccount").is(accNo).and("sourceAccount").is(null)));
+    }
+
+    private List<String> transactionCollections() {
+        return TransactionRepositoryImpl.collections(mongo, partitioned);
+    }
+
+    // the expiry sweep reads only accounts that have holds
+    @Override
+    public void ensureHoldIndexes() {
+        mongo.indexOps(Account.class).ensureIndex(new Index()
+                .on("holds.expiresAt", Sort.Direction.ASC)
+                .sparse()
+                .named("holds_expiresAt"));
+    }
+
+    // $inc instead of saving the loaded document, so concurrent changes to one account add up
+    // rather than the last save winning; the id filter makes a replayed step a no-op
+    @Override
+    public Optional<Account> applyChange(String accountNumber, double delta, String txnId, Collection<AccountStatus> statuses) {
+        List<Criteria> conditions = new ArrayList<>(5);
+        conditions.add(where("accountNumber").is(accountNumber));
+        conditions.add(where("stripeCount").not().gt(1));
+        if (statuses != null) conditions.add(statusIn(statuses));
+        if (txnId != null) conditions.add(where("transactionIds").ne(txnId));
+        if (delta < 0) conditions.add(covers(-delta));
+        Update update = new Update();
+        if (delta != 0) update.inc("balance", delta);
+        if (txnId != null) update.push("transactionIds", txnId);
+        return Optional.ofNullable(mongo.findAndModify(new Query(new Criteria().andOperator(conditions)),
+                update, RETURN_NEW, Account.class));
+    }
+
+    @Override
+    public Optional<Account> changeStatus(String accountNumber, AccountStatus from, AccountStatus to, Instant closedAt) {
+        List<Criteria> conditions = new ArrayList<>(4);
+        conditions.add(where("accountNumber").is(accountNumber));
+        conditions.add(statusIn(List.of(from)));
+        if (to == AccountStatus.CLOSED || to == AccountStatus.ARCHIVED) {
+            // no holds (empty or, on old documents, missing) and nothing left on the balance
+            conditions.add(where("holds.0").exists(false));
+            conditions.add(new Criteria().orOperator(where("balance").is(0.0), where("stripeCount").gt(1)));
+        }
+        Update update = new Update().set("status", to.name());
+        if (closedAt != null) update.set("closedAt", closedAt);
+        return Optional.ofNullable(mongo.findAndModify(new Query(new Criteria().andOperator(conditions)),
+                update, RETURN_NEW, Account.class));
+    }
+
+    @Override
+    public Optional<Account> updateHolderName(String accountNumber, String holderName) {
+        Query query = new Query(where("accountNumber").is(accountNumber).and("status").ne(AccountStatus.CLOSED.name()));
+        return Optional.ofNullable(mongo.findAndModify(query, new Update().set("holderName", holderName), RETURN_NEW, Account.class));
+    }
+
+    @Override
+    public Optional<Account> markStriped(String accountNumber, int stripeCount) {
+        Query query = new Query(new Criteria().andOperator(
+                where("accountNumber").is(accountNumber),
+                statusIn(List.of(AccountStatus.ACTIVE)),
+                where("stripeCount").not().gt(1),
+                // a capture debits the document balance, which stops counting once striped
+                where("holds.0").exists(false)));
+        return Optional.ofNullable(mongo.findAndModify(query, new Update().set("stripeCount", stripeCount), RETURN_NEW, Account.class));
+    }
+
+    @Override
+    public Optional<Account> placeHold(String accountNumber, Hold hold) {
+        // the available balance is checked by the filter on the document itself, so concurrent
+        // holds and debits can never reserve more than the balance
+        Query query = new Query(new Criteria().andOperator(
+                where("accountNumber").is(accountNumber),
+                statusIn(List.of(AccountStatus.ACTIVE)),
+                where("stripeCount").not().gt(1),
+                covers(hold.getAmount())));
+        Update update = new Update().inc("heldAmount", hold.getAmount()).push("holds", hold);
+        return Optional.ofNullable(mongo.findAndModify(query, update, RETURN_NEW, Account.class));
+    }
+
+    @Override
+    public Optional<Account> captureHold(String accountNumber, String holdId, double held, double amount, String txnId) {
+        // a debit like any other: only while the status allows it, and never on the document
+        // balance of a striped account
+        Query query = new Query(new Criteria().andOperator(
+                where("accountNumber").is(accountNumber),
+                where("holds.holdId").is(holdId),
+                statusIn(AccountStatus.DEBITABLE),
+                where("stripeCount").not().gt(1)));
+        Update update = withoutHold(holdId, held).inc("balance", -amount).push("transactionIds", txnId);
+        return Optional.ofNullable(mongo.findAndModify(query, update, RETURN_NEW, Account.class));
+    }
+
+    @Override
+    public Optional<Account> releaseHold(String accountNumber, String holdId, double held) {
+        return Optional.ofNullable(mongo.findAndModify(withHold(accountNumber, holdId), withoutHold(holdId, held), RETURN_NEW, Account.class));
+    }
+
+    @Override
+    public List<Account> findWithExpiredHolds(Instant now, int limit) {
+        Query query = new Query(where("holds.expiresAt").lte(now)).limit(limit);
+        query.fields().include("accountNumber", "holds");
+        return mongo.find(query, Account.class);
+    }
+
+    @Override
+    public void pullTransactionIds(String accountNumber, Collection<String> txnIds) {
+        mongo.updateFirst(new Query(where("accountNumber").is(accountNumber)),
+                new Update().pullAll("transactionIds", txnIds.toArray()), Account.class);
+    }
+
+    // documents written before statuses were enforced have none, and count as ACTIVE
+    private static Criteria statusIn(Collection<AccountStatus> statuses) {
+        List<String> names = new ArrayList<>(statuses.size() + 1);
+        for (AccountStatus status : statuses) names.add(status.name());
+        if (statuses.contains(AccountStatus.ACTIVE)) names.add(null);
+        return where("status").in(names);
+    }
+
+    // balance - heldAmount >= amount, evaluated on the stored document
+    private static Criteria covers(double amount) {
+        AggregationExpression available = ArithmeticOperators.Subtract.valueOf("balance")
+                .subtract(ConditionalOperators.ifNull("heldAmount").then(0));
+        return Criteria.expr(ComparisonOperators.Gte.valueOf(available).greaterThanEqualToValue(amount));
+    }
+
+    // matching on the hold id makes capture, void and expiry mutually exclusive: whichever runs
+    // first removes the hold and the others find nothing
+    private static Query withHold(String accountNumber, String holdId) {
+        return new Query(where("accountNumber").is(accountNumber).and("holds.holdId").is(holdId));
+    }
+
+    private static Update withoutHold(String holdId, double held) {
+        return new Update().pull("holds", new Document("holdId", holdId)).inc("heldAmount", -held);
+    }
+}
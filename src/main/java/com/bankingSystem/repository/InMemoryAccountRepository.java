@@ -0,0 +1,173 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.ArchivedAccount;
+import com.bankingSystem.model.Hold;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryAccountRepository extends InMemoryRepository<Account> implements AccountRepository {
+
+    private final Map<String, ArchivedAccount> archived = new ConcurrentHashMap<>();
+
+    public InMemoryAccountRepository(ObjectMapper mapper,
+                                     @Value("${banking.inmemory.latency-micros:0}") long latencyMicros,
+                                     @Value("${banking.inmemory.jitter-micros:0}") long jitterMicros) {
+        super(Account.class, Account::getId, Account::getAccountNumber, mapper, latencyMicros, jitterMicros);
+    }
+
+    @Override
+    public Optional<Account> findByAccountNumber(String accountNumber) {
+        return findByNaturalKey(accountNumber);
+    }
+
+    @Override
+    public boolean existsByAccountNumber(String accountNumber) {
+        return existsByNaturalKey(accountNumber);
+    }
+
+    @Override
+    public List<Account> findByAccountNumberIn(Collection<String> accountNumbers) {
+        return findAllByNaturalKeys(accountNumbers);
+    }
+
+    @Override
+    public List<Account> findByStatusInAndClosedAtBefore(Collection<AccountStatus> statuses, Instant before, Limit limit) {
+        roundTrip();
+        return scan(a -> statuses.contains(a.getStatus()) && a.getClosedAt() != null && a.getClosedAt().isBefore(before))
+                .limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+                .toList();
+    }
+
+    @Override
+    public Optional<ArchivedAccount> findArchived(String accountNumber) {
+        roundTrip();
+        return Optional.ofNullable(archived.get(accountNumber));
+    }
+
+    @Override
+    public boolean existsArchived(String accountNumber) {
+        roundTrip();
+        return archived.containsKey(accountNumber);
+    }
+
+    // transactions live in another repository here, so nothing is pruned or summarised
+    @Override
+    public ArchivedAccount archive(Account acc) {
+        String accNo = acc.getAccountNumber();
+        Account sealed = acc.getStatus() == AccountStatus.ARCHIVED
+                ? findByAccountNumber(accNo).orElse(null)
+                : changeStatus(accNo, AccountStatus.CLOSED, AccountStatus.ARCHIVED, null).orElse(null);
+        if (sealed == null) {
+            throw new IllegalStateException("Account " + accNo + " changed since it was closed, not archived");
+        }
+        ArchivedAccount record = new ArchivedAccount(sealed);
+        record.setArchivedAt(Instant.now());
+        archived.put(accNo, record);
+        delete(sealed);
+        return record;
+    }
+
+    @Override
+    public void ensureHoldIndexes() {}
+
+    @Override
+    public Optional<Account> applyChange(String accountNumber, double delta, String txnId, Collection<AccountStatus> statuses) {
+        return modify(accountNumber, acc -> {
+            if (acc.isStriped()) return null;
+            if (statuses != null && !statuses.contains(acc.getStatus())) return null;
+            if (txnId != null && acc.getTransactionIds().contains(txnId)) return null;
+            if (delta < 0 && acc.getAvailableBalance() < -delta) return null;
+            acc.setBalance(acc.getBalance() + delta);
+            if (txnId != null) acc.getTransactionIds().add(txnId);
+            return acc;
+        });
+    }
+
+    @Override
+    public Optional<Account> changeStatus(String accountNumber, AccountStatus from, AccountStatus to, Instant closedAt) {
+        return modify(accountNumber, acc -> {
+            if (acc.getStatus() != from) return null;
+            if ((to == AccountStatus.CLOSED || to == AccountStatus.ARCHIVED) && (!acc.getHolds().isEmpty() || (!acc.isStriped() && acc.getBalance() != 0))) return null;
+            acc.setStatus(to);
+            if (closedAt != null) acc.setClosedAt(closedAt);
+            return acc;
+        });
+    }
+
+    @Override
+    public Optional<Account> updateHolderName(String accountNumber, String holderName) {
+        return modify(accountNumber, acc -> {
+            if (acc.getStatus() == AccountStatus.CLOSED) return null;
+            acc.setHolderName(holderName);
+            return acc;
+        });
+    }
+
+    @Override
+    public Optional<Account> markStriped(String accountNumber, int stripeCount) {
+        return modify(accountNumber, acc -> {
+            if (acc.getStatus() != AccountStatus.ACTIVE || acc.isStriped() || !acc.getHolds().isEmpty()) return null;
+            acc.setStripeCount(stripeCount);
+            return acc;
+        });
+    }
+
+    @Override
+    public Optional<Account> placeHold(String accountNumber, Hold hold) {
+        return modify(accountNumber, acc -> {
+            if (acc.getStatus() != AccountStatus.ACTIVE || acc.isStriped() || acc.getAvailableBalance() < hold.getAmount()) return null;
+            acc.getHolds().add(hold);
+            acc.setHeldAmount(acc.getHeldAmount() + hold.getAmount());
+            return acc;
+        });
+    }
+
+    @Override
+    public Optional<Account> captureHold(String accountNumber, String holdId, double held, double amount, String txnId) {
+        return modify(accountNumber, acc -> {
+            if (!AccountStatus.DEBITABLE.contains(acc.getStatus()) || acc.isStriped()) return null;
+            if (!acc.getHolds().removeIf(h -> h.getHoldId().equals(holdId))) return null;
+            acc.setHeldAmount(acc.getHeldAmount() - held);
+            acc.setBalance(acc.getBalance() - amount);
+            acc.getTransactionIds().add(txnId);
+            return acc;
+        });
+    }
+
+    @Override
+    public Optional<Account> releaseHold(String accountNumber, String holdId, double held) {
+        return modify(accountNumber, acc -> {
+            if (!acc.getHolds().removeIf(h -> h.getHoldId().equals(holdId))) return null;
+            acc.setHeldAmount(acc.getHeldAmount() - held);
+            return acc;
+        });
+    }
+
+    @Override
+    public List<Account> findWithExpiredHolds(Instant now, int limit) {
+        roundTrip();
+        return scan(a -> a.getHolds().stream().anyMatch(h -> h.isExpired(now))).limit(limit).toList();
+    }
+
+    @Override
+    public void pullTransactionIds(String accountNumber, Collection<String> txnIds) {
+        modify(accountNumber, acc -> {
+            acc.getTransactionIds().removeAll(txnIds);
+            return acc;
+        });
+    }
+}
@@ -0,0 +1,211 @@
+package com.bankingSystem.repository;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+// Base for the "inmemory" profile repositories: a concurrent map of documents keyed by id, with
+// an optional unique natural key (account number, transaction id, ...) indexed alongside it.
+// Documents are copied on the way in and out, so callers never share instances the way they
+// would not share them with MongoDB. Every call waits latency +/- jitter to stand in for the
+// network round trip. The repositories are plain CRUD plus their own queries (no paging, sorting
+// or query by example), so there is nothing here the in-memory profile cannot do.
+public abstract class InMemoryRepository<T> implements ListCrudRepository<T, String> {
+
+    private final Class<T> type;
+    private final Function<T, String> idOf;
+    private final Field idField;
+    private final Function<T, String> naturalKeyOf;
+    private final ObjectMapper mapper;
+    private final long latencyNanos;
+    private final long jitterNanos;
+
+    protected final Map<String, T> documents = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByNaturalKey = new ConcurrentHashMap<>();
+
+    protected InMemoryRepository(Class<T> type, Function<T, String> idOf,
+                                 Function<T, String> naturalKeyOf, ObjectMapper mapper,
+                                 long latencyMicros, long jitterMicros) {
+        this.type = type;
+        this.idOf = idOf;
+        // entities only expose a getter for @Id; MongoDB sets the field directly and so do we
+        this.idField = Objects.requireNonNull(ReflectionUtils.findField(type, "id"), "no id field on " + type);
+        ReflectionUtils.makeAccessible(idField);
+        this.naturalKeyOf = naturalKeyOf;
+        this.mapper = mapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.latencyNanos = latencyMicros * 1_000;
+        this.jitterNanos = jitterMicros * 1_000;
+    }
+
+    // called with the stored copy after every insert/replace and before every removal
+    protected void indexed(T doc) {}
+
+    protected void unindexed(T doc) {}
+
+    protected void roundTrip() {
+        long nanos = latencyNanos;
+        if (jitterNanos > 0) nanos += ThreadLocalRandom.current().nextLong(-jitterNanos, jitterNanos + 1);
+        if (nanos > 0) LockSupport.parkNanos(nanos);
+    }
+
+    protected T copy(T doc) {
+        return mapper.convertValue(doc, type);
+    }
+
+    protected Optional<T> findByNaturalKey(String key) {
+        roundTrip();
+        String id = idsByNaturalKey.get(key);
+        T doc = id == null ? null : documents.get(id);
+        return Optional.ofNullable(doc).map(this::copy);
+    }
+
+    // several keys in one round trip, like an $in query; missing keys are skipped
+    protected List<T> findAllByNaturalKeys(Collection<String> keys) {
+        roundTrip();
+        List<T> found = new ArrayList<>();
+        for (String key : keys) {
+            String id = idsByNaturalKey.get(key);
+            T doc = id == null ? null : documents.get(id);
+            if (doc != null) found.add(copy(doc));
+        }
+        return found;
+    }
+
+    protected boolean existsByNaturalKey(String key) {
+        roundTrip();
+        return idsByNaturalKey.containsKey(key);
+    }
+
+    // copies of every stored document matching the filter, without simulated latency
+    protected Stream<T> scan(Predicate<T> filter) {
+        return documents.values().stream().filter(filter).map(this::copy);
+    }
+
+    // atomic read-modify-write of one document, the stand-in for a conditional update: change gets
+    // a copy and returns it modified, or null to leave the document alone (condition not met)
+    protected Optional<T> modify(String naturalKey, UnaryOperator<T> change) {
+        roundTrip();
+        String id = idsByNaturalKey.get(naturalKey);
+        if (id == null) return Optional.empty();
+        List<T> result = new ArrayList<>(1);
+        documents.computeIfPresent(id, (k, doc) -> {
+            T next = change.apply(copy(doc));
+            if (next == null) return doc;
+            T stored = copy(next);
+            unindexed(doc);
+            indexed(stored);
+            result.add(next);
+            return stored;
+        });
+        return result.stream().findFirst();
+    }
+
+    private <S extends T> S store(S entity) {
+        if (idOf.apply(entity) == null) ReflectionUtils.setField(idField, entity, new ObjectId().toHexString());
+        T stored = copy(entity);
+        T previous = documents.put(idOf.apply(stored), stored);
+        if (previous != null) unindexed(previous);
+        String key = naturalKeyOf == null ? null : naturalKeyOf.apply(stored);
+        if (key != null) idsByNaturalKey.put(key, idOf.apply(stored));
+        indexed(stored);
+        return entity;
+    }
+
+    private void remove(String id) {
+        T removed = documents.remove(id);
+        if (removed == null) return;
+        String key = naturalKeyOf == null ? null : naturalKeyOf.apply(removed);
+        if (key != null) idsByNaturalKey.remove(key, id);
+        unindexed(removed);
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        roundTrip();
+        return store(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        roundTrip();
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) saved.add(store(entity));
+        return saved;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        roundTrip();
+        return Optional.ofNullable(documents.get(id)).map(this::copy);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        roundTrip();
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        roundTrip();
+        return scan(d -> true).toList();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        roundTrip();
+        List<T> found = new ArrayList<>();
+        for (String id : ids) {
+            T doc = documents.get(id);
+            if (doc != null) found.add(copy(doc));
+        }
+        return found;
+    }
+
+    @Override
+    public long count() {
+        roundTrip();
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        roundTrip();
+        remove(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        roundTrip();
+        ids.forEach(this::remove);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        roundTrip();
+        entities.forEach(e -> remove(idOf.apply(e)));
+    }
+
+    @Override
+    public void deleteAll() {
+        roundTrip();
+        new ArrayList<>(documents.keySet()).forEach(this::remove);
+    }
+}
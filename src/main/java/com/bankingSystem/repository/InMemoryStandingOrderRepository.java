@@ -0,0 +1,66 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.StandingOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryStandingOrderRepository extends InMemoryRepository<StandingOrder> implements StandingOrderRepository {
+
+    public InMemoryStandingOrderRepository(ObjectMapper mapper,
+                                           @Value("${banking.inmemory.latency-micros:0}") long latencyMicros,
+                                           @Value("${banking.inmemory.jitter-micros:0}") long jitterMicros) {
+        super(StandingOrder.class, StandingOrder::getId, StandingOrder::getOrderId, mapper, latencyMicros, jitterMicros);
+    }
+
+    @Override
+    public Optional<StandingOrder> findByOrderId(String orderId) {
+        return findByNaturalKey(orderId);
+    }
+
+    @Override
+    public void ensureIndexes() {}
+
+    // synchronized stands in for the conditional updates of the MongoDB version; the
+    // single saveAll at the end is the one simulated round trip per batch
+    @Override
+    public synchronized List<StandingOrder> claimDue(Instant until, int limit, String owner, Instant leaseUntil, Instant now) {
+        List<StandingOrder> due = scan(o -> o.getStatus() == StandingOrder.Status.ACTIVE
+                && !o.getDueAt().isAfter(until)
+                && (o.getLeaseUntil() == null || o.getLeaseUntil().isBefore(now)))
+                .sorted(Comparator.comparing(StandingOrder::getDueAt))
+                .limit(limit)
+                .toList();
+        for (StandingOrder o : due) {
+            o.setLeaseOwner(owner);
+            o.setLeaseUntil(leaseUntil);
+        }
+        saveAll(due);
+        return due;
+    }
+
+    @Override
+    public synchronized int recordOutcomes(List<StandingOrder> orders) {
+        List<StandingOrder> written = new ArrayList<>();
+        for (StandingOrder o : orders) {
+            StandingOrder stored = documents.get(o.getId());
+            if (stored == null || o.getLeaseOwner() == null || !o.getLeaseOwner().equals(stored.getLeaseOwner())) continue;
+            StandingOrder updated = copy(o);
+            updated.setStatus(stored.getStatus());
+            updated.setLeaseOwner(null);
+            updated.setLeaseUntil(null);
+            written.add(updated);
+        }
+        saveAll(written);
+        return written.size();
+    }
+}
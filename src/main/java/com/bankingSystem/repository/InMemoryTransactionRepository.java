@@ -0,0 +1,219 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.dto.PostingTotal;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Posting;
+import com.bankingSystem.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Keeps an id index per account (either side) so history reads cost what an indexed query would,
+// not a scan of every stored transaction. Partitioning and archival do not apply in memory.
+@Repository
+@Profile("inmemory")
+public class InMemoryTransactionRepository extends InMemoryRepository<Transaction> implements TransactionRepository {
+
+    private final Map<String, Set<String>> idsByAccount = new ConcurrentHashMap<>();
+
+    public InMemoryTransactionRepository(ObjectMapper mapper,
+                                         @Value("${banking.inmemory.latency-micros:0}") long latencyMicros,
+                                         @Value("${banking.inmemory.jitter-micros:0}") long jitterMicros) {
+        super(Transaction.class, Transaction::getId, Transaction::getTransactionId, mapper, latencyMicros, jitterMicros);
+    }
+
+    @Override
+    protected void indexed(Transaction txn) {
+        for (String accNo : accountsOf(txn)) {
+            idsByAccount.computeIfAbsent(accNo, k -> ConcurrentHashMap.newKeySet()).add(txn.getId());
+        }
+    }
+
+    @Override
+    protected void unindexed(Transaction txn) {
+        for (String accNo : accountsOf(txn)) {
+            Set<String> ids = idsByAccount.get(accNo);
+            if (ids != null) ids.remove(txn.getId());
+        }
+    }
+
+    private static List<String> accountsOf(Transaction txn) {
+        List<String> accounts = new ArrayList<>(2);
+        if (txn.getSourceAccount() != null) accounts.add(txn.getSourceAccount());
+        if (txn.getDestinationAccount() != null) accounts.add(txn.getDestinationAccount());
+        return accounts;
+    }
+
+    // copies of the account's transactions on the given side (null = either side)
+    private Stream<Transaction> involving(String accNo, String side) {
+        Set<String> ids = idsByAccount.getOrDefault(accNo, Set.of());
+        return ids.stream()
+                .map(documents::get)
+                .filter(Objects::nonNull)
+                .filter(t -> side == null
+                        || (side.equals("sourceAccount") ? accNo.equals(t.getSourceAccount()) : accNo.equals(t.getDestinationAccount())))
+                .map(this::copy);
+    }
+
+    @Override
+    public List<Transaction> findBySourceAccountOrDestinationAccount(String source, String dest) {
+        roundTrip();
+        if (source.equals(dest)) return involving(source, null).toList();
+        Map<String, Transaction> byId = new LinkedHashMap<>();
+        Stream.concat(involving(source, "sourceAccount"), involving(dest, "destinationAccount"))
+                .forEach(t -> byId.putIfAbsent(t.getId(), t));
+        return new ArrayList<>(byId.values());
+    }
+
+    @Override
+    public boolean existsByTransactionId(String transactionId) {
+        return existsByNaturalKey(transactionId);
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        return false;
+    }
+
+    @Override
+    public void append(List<Transaction> txns) {
+        saveAll(txns);
+    }
+
+    @Override
+    public List<Transaction> findHistory(String accNo, Instant from, Instant to) {
+        roundTrip();
+        return involving(accNo, null)
+                .filter(t -> (from == null || !t.getTimestamp().isBefore(from)) && (to == null || t.getTimestamp().isBefore(to)))
+                .sorted(Comparator.comparing(Transaction::getTimestamp))
+                .toList();
+    }
+
+    @Override
+    public int archivePartitionsBefore(YearMonth cutoff) {
+        return 0;
+    }
+
+    @Override
+    public List<Transaction> findUnposted(String type, int limit) {
+        roundTrip();
+        return scan(t -> t.getPostings() == null && (type == null || type.equals(t.getType()))).limit(limit).toList();
+    }
+
+    @Override
+    public List<Transaction> findUnfinishedMerges(int limit) {
+        roundTrip();
+        return scan(t -> t.getMigratedFrom() != null && !t.getMigratedFrom().isEmpty()).limit(limit).toList();
+    }
+
+    @Override
+    public List<Transaction> findByTransactionIds(Collection<String> txnIds) {
+        return findAllByNaturalKeys(txnIds);
+    }
+
+    @Override
+    public void updatePostings(Transaction txn) {
+        modify(txn.getTransactionId(), stored -> {
+            stored.setPostings(txn.getPostings());
+            stored.setFxRate(txn.getFxRate());
+            stored.setMigratedFrom(txn.getMigratedFrom());
+            return stored;
+        });
+    }
+
+    @Override
+    public long deleteByTransactionIds(Collection<String> txnIds) {
+        List<Transaction> found = findAllByNaturalKeys(txnIds);
+        deleteAll(found);
+        return found.size();
+    }
+
+    @Override
+    public HistoryPage findHistoryPage(String accNo, String cursor, int limit) {
+        roundTrip();
+        Transaction after = null;
+        if (cursor != null) {
+            TransactionHistoryReaderImpl.Cursor c = TransactionHistoryReaderImpl.Cursor.decode(cursor);
+            after = new Transaction();
+            after.setId(c.id());
+            after.setTimestamp(c.timestamp());
+        }
+
+        List<Stream<Transaction>> scans = new ArrayList<>();
+        for (String side : TransactionHistoryReaderImpl.SIDES) {
+            Transaction bound = after;
+            scans.add(involving(accNo, side)
+                    .filter(t -> bound == null || TransactionHistoryReaderImpl.NEWEST_FIRST.compare(t, bound) > 0)
+                    .sorted(TransactionHistoryReaderImpl.NEWEST_FIRST));
+        }
+        return TransactionHistoryReaderImpl.merge(scans, limit);
+    }
+
+    // full scans: the in-memory store has no timestamp index
+    @Override
+    public List<DayTypeTotal> totalsByDayAndType(Instant from, Instant to) {
+        roundTrip();
+        Map<LocalDate, Map<String, DayTypeTotal>> byDay = new TreeMap<>();
+        scan(t -> inRange(t, from, to)).forEach(t -> byDay
+                .computeIfAbsent(LocalDate.ofInstant(t.getTimestamp(), ZoneOffset.UTC), d -> new TreeMap<>())
+                .merge(t.getType() + "|" + currencyOf(t),
+                        new DayTypeTotal(LocalDate.ofInstant(t.getTimestamp(), ZoneOffset.UTC), t.getType(), currencyOf(t), 1, t.getAmount()),
+                        (a, b) -> new DayTypeTotal(a.day(), a.type(), a.currency(), a.count() + b.count(), a.amount() + b.amount())));
+        return byDay.values().stream().flatMap(m -> m.values().stream()).toList();
+    }
+
+    @Override
+    public List<AccountVolume> topAccountsByVolume(Instant from, Instant to, int limit) {
+        roundTrip();
+        Map<String, AccountVolume> byAccount = new HashMap<>();
+        scan(t -> inRange(t, from, to)).forEach(t -> {
+            for (String accNo : accountsOf(t)) {
+                byAccount.merge(accNo + "|" + currencyOf(t), new AccountVolume(accNo, currencyOf(t), 1, t.getAmount()),
+                        (a, b) -> new AccountVolume(accNo, a.getCurrency(), a.getCount() + b.getCount(), a.getAmount() + b.getAmount()));
+            }
+        });
+        return byAccount.values().stream()
+                .sorted(Comparator.comparingDouble(AccountVolume::getAmount).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static String currencyOf(Transaction t) {
+        return t.getCurrency() == null ? Account.DEFAULT_CURRENCY : t.getCurrency();
+    }
+
+    @Override
+    public List<PostingTotal> postingTotals() {
+        roundTrip();
+        Map<String, PostingTotal> byCurrency = new TreeMap<>();
+        scan(t -> t.getPostings() != null).forEach(t -> {
+            for (Posting p : t.getPostings()) {
+                byCurrency.merge(p.getCurrency(), new PostingTotal(p.getCurrency(), 1, BigDecimal.valueOf(p.getAmount())),
+                        (a, b) -> new PostingTotal(a.getCurrency(), a.getPostings() + 1, a.getSum().add(b.getSum())));
+            }
+        });
+        return new ArrayList<>(byCurrency.values());
+    }
+
+    @Override
+    public long countUnposted() {
+        roundTrip();
+        return scan(t -> t.getPostings() == null).count();
+    }
+
+    private static boolean inRange(Transaction t, Instant from, Instant to) {
+        return !t.getTimestamp().isBefore(from) && t.getTimestamp().isBefore(to);
+    }
+}
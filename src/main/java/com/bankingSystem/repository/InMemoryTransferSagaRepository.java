@@ -0,0 +1,73 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.TransferSaga;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryTransferSagaRepository extends InMemoryRepository<TransferSaga> implements TransferSagaRepository {
+
+    public InMemoryTransferSagaRepository(ObjectMapper mapper,
+                                          @Value("${banking.inmemory.latency-micros:0}") long latencyMicros,
+                                          @Value("${banking.inmemory.jitter-micros:0}") long jitterMicros) {
+        super(TransferSaga.class, TransferSaga::getId, TransferSaga::getTransferId, mapper, latencyMicros, jitterMicros);
+    }
+
+    @Override
+    public Optional<TransferSaga> findByTransferId(String transferId) {
+        return findByNaturalKey(transferId);
+    }
+
+    @Override
+    public List<TransferSaga> findByStateIn(Collection<TransferSaga.State> states) {
+        roundTrip();
+        return scan(s -> states.contains(s.getState())).toList();
+    }
+
+    @Override
+    public void ensureIndexes() {}
+
+    @Override
+    public List<TransferSaga> findUnclaimed(Collection<TransferSaga.State> states, String afterId, int limit, Instant now) {
+        roundTrip();
+        return scan(s -> states.contains(s.getState()) && unleased(s, now)
+                && (afterId == null || s.getId().compareTo(afterId) > 0))
+                .sorted(Comparator.comparing(TransferSaga::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Optional<TransferSaga> claim(String transferId, String owner, Instant leaseUntil, Instant now) {
+        return modify(transferId, s -> {
+            if (s.getState().isTerminal() || !(unleased(s, now) || owner.equals(s.getLeaseOwner()))) return null;
+            s.setLeaseOwner(owner);
+            s.setLeaseUntil(leaseUntil);
+            return s;
+        });
+    }
+
+    @Override
+    public Optional<TransferSaga> recordStep(TransferSaga saga, Instant leaseUntil) {
+        return modify(saga.getTransferId(), s -> {
+            if (saga.getLeaseOwner() == null || !saga.getLeaseOwner().equals(s.getLeaseOwner())) return null;
+            TransferSaga next = copy(saga);
+            next.setLeaseOwner(saga.getState().isTerminal() ? null : saga.getLeaseOwner());
+            next.setLeaseUntil(saga.getState().isTerminal() ? null : leaseUntil);
+            return next;
+        });
+    }
+
+    private static boolean unleased(TransferSaga s, Instant now) {
+        return s.getLeaseUntil() == null || s.getLeaseUntil().isBefore(now);
+    }
+}
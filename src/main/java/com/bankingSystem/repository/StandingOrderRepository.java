@@ -0,0 +1,10 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.StandingOrder;
+import org.springframework.data.repository.ListCrudRepository;
+
+import java.util.Optional;
+
+public interface StandingOrderRepository extends ListCrudRepository<StandingOrder, String>, StandingOrderRepositoryCustom {
+    Optional<StandingOrder> findByOrderId(String orderId);
+}
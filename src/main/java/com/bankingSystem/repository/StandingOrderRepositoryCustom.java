@@ -0,0 +1,21 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.StandingOrder;
+
+import java.time.Instant;
+import java.util.List;
+
+// Batch operations for the standing-order scheduler, one round trip per batch rather than per order.
+public interface StandingOrderRepositoryCustom {
+
+    // the {status, dueAt} index the due scan runs on
+    void ensureIndexes();
+
+    // leases up to limit active orders due by until (earliest first) that no node currently holds;
+    // the returned copies carry the lease so their outcome can be recorded against it
+    List<StandingOrder> claimDue(Instant until, int limit, String owner, Instant leaseUntil, Instant now);
+
+    // writes the scheduling fields of each order and releases its lease, skipping orders whose
+    // lease has since been taken over by another node; returns how many were written
+    int recordOutcomes(List<StandingOrder> orders);
+}
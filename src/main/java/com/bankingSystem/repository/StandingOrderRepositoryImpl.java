@@ -0,0 +1,86 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.StandingOrder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Spring Data picks this up as the implementation of StandingOrderRepositoryCustom.
+public class StandingOrderRepositoryImpl implements StandingOrderRepositoryCustom {
+
+    static final String COLLECTION = "standing_orders";
+
+    private final MongoTemplate mongo;
+
+    public StandingOrderRepositoryImpl(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    // the due scan reads {status, dueAt} in order and stops at the batch limit
+    @Override
+    public void ensureIndexes() {
+        mongo.indexOps(COLLECTION).ensureIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("dueAt", Sort.Direction.ASC)
+                .named("status_dueAt"));
+    }
+
+    @Override
+    public List<StandingOrder> claimDue(Instant until, int limit, String owner, Instant leaseUntil, Instant now) {
+        Criteria unleased = new Criteria().orOperator(where("leaseUntil").is(null), where("leaseUntil").lt(now));
+        Query due = new Query(new Criteria().andOperator(
+                where("status").is(StandingOrder.Status.ACTIVE),
+                where("dueAt").lte(until),
+                unleased))
+                .with(Sort.by("dueAt"))
+                .limit(limit);
+        due.fields().include("_id");
+        List<String> ids = mongo.find(due, StandingOrder.class).stream().map(StandingOrder::getId).toList();
+        if (ids.isEmpty()) return List.of();
+
+        // a concurrent claimer may win some of these; the lease condition makes the update skip them
+        Query claim = new Query(new Criteria().andOperator(where("_id").in(ids), unleased));
+        mongo.updateMulti(claim, new Update().set("leaseOwner", owner).set("leaseUntil", leaseUntil), StandingOrder.class);
+
+        return mongo.find(new Query(where("_id").in(ids).and("leaseOwner").is(owner)), StandingOrder.class).stream()
+                .sorted(Comparator.comparing(StandingOrder::getDueAt))
+                .toList();
+    }
+
+    @Override
+    public int recordOutcomes(List<StandingOrder> orders) {
+        if (orders.isEmpty()) return 0;
+        BulkOperations bulk = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, StandingOrder.class);
+        for (StandingOrder o : orders) {
+            bulk.updateOne(
+                    new Query(where("_id").is(o.getId()).and("leaseOwner").is(o.getLeaseOwner())),
+                    outcome(o));
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    // status is left alone so a cancel that lands while the order is running still sticks
+    static Update outcome(StandingOrder o) {
+        return new Update()
+                .set("sequence", o.getSequence())
+                .set("occurrence", o.getOccurrence())
+                .set("dueAt", o.getDueAt())
+                .set("attempts", o.getAttempts())
+                .set("runs", o.getRuns())
+                .set("skipped", o.getSkipped())
+                .set("lastError", o.getLastError())
+                .set("lastRunAt", o.getLastRunAt())
+                .unset("leaseOwner")
+                .unset("leaseUntil");
+    }
+}
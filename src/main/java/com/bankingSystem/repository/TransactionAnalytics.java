@@ -0,0 +1,29 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.PostingTotal;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+// Aggregations over the transaction records, run inside MongoDB: the totals over a timestamp
+// range [from, to), the ledger checks over every live record. Archived months are not included.
+// Amounts are summed per currency, never across currencies; records from before multi-currency
+// support count as Account.DEFAULT_CURRENCY.
+public interface TransactionAnalytics {
+
+    record DayTypeTotal(LocalDate day, String type, String currency, long count, double amount) {}
+
+    // count and sum per UTC day, type and currency
+    List<DayTypeTotal> totalsByDayAndType(Instant from, Instant to);
+
+    // (account, currency) pairs with the highest summed amount, counting both sides of a transfer
+    List<AccountVolume> topAccountsByVolume(Instant from, Instant to, int limit);
+
+    // count and decimal sum of all postings per currency
+    List<PostingTotal> postingTotals();
+
+    // records written before the ledger, without postings
+    long countUnposted();
+}
@@ -0,0 +1,147 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.config.MongoTuningProperties;
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.PostingTotal;
+import com.bankingSystem.model.Account;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Every pipeline starts with a timestamp range $match, which runs on the timestamp index; with
+// partitioning the overlapping monthly collections are pulled in with $unionWith (each with the same
+// $match) so one pipeline - and one $group - covers the whole range. Groups and sorts may spill to
+// disk on large ranges instead of failing at the 100 MB stage limit. The ledger checks have no range:
+// they read every live collection, and sum postings as decimals so the total of a balanced ledger
+// is exactly zero rather than a floating-point residue.
+public class TransactionAnalyticsImpl implements TransactionAnalytics {
+
+    // the currency of amount; older records have none and are in the default currency
+    private static final AggregationExpression CURRENCY =
+            ConditionalOperators.ifNull("currency").then(Account.DEFAULT_CURRENCY);
+
+    private final MongoTemplate mongo;
+    private final boolean partitioned;
+    private final AggregationOptions options;
+
+    public TransactionAnalyticsImpl(MongoTemplate mongo,
+                                    @Value("${banking.txn.partitioning.enabled:false}") boolean partitioned,
+                                    @Value("${banking.analytics.max-time-ms:30000}") long maxTimeMs,
+                                    MongoTuningProperties tuning) {
+        this.mongo = mongo;
+        this.partitioned = partitioned;
+        this.options = AggregationOptions.builder()
+                .allowDiskUse(true)
+                .maxTime(Duration.ofMillis(maxTimeMs))
+                .readPreference(tuning.historyReadPreference())
+                .build();
+    }
+
+    @Override
+    public List<DayTypeTotal> totalsByDayAndType(Instant from, Instant to) {
+        Aggregation pipeline = pipeline(from, to,
+                project("type", "amount").and(DateOperators.dateOf("timestamp").toString("%Y-%m-%d")).as("day")
+                        .and(CURRENCY).as("currency"),
+                group("day", "type", "currency").count().as("count").sum("amount").as("amount"));
+
+        List<DayTypeTotal> totals = new ArrayList<>();
+        for (Document row : mongo.aggregate(pipeline, TransactionRepositoryImpl.BASE_COLLECTION, Document.class)) {
+            Document key = row.get("_id", Document.class);
+            totals.add(new DayTypeTotal(LocalDate.parse(key.getString("day")), key.getString("type"), key.getString("currency"),
+                    number(row, "count").longValue(), number(row, "amount").doubleValue()));
+        }
+        return totals;
+    }
+
+    @Override
+    public List<AccountVolume> topAccountsByVolume(Instant from, Instant to, int limit) {
+        Aggregation pipeline = pipeline(from, to,
+                project("amount").and(CURRENCY).as("currency")
+                        .andArrayOf(Fields.field("sourceAccount"), Fields.field("destinationAccount")).as("accounts"),
+                unwind("accounts"),
+                match(where("accounts").ne(null)),
+                group("accounts", "currency").count().as("count").sum("amount").as("amount"),
+                sort(Sort.Direction.DESC, "amount"),
+                limit(limit));
+
+        List<AccountVolume> top = new ArrayList<>();
+        for (Document row : mongo.aggregate(pipeline, TransactionRepositoryImpl.BASE_COLLECTION, Document.class)) {
+            Document key = row.get("_id", Document.class);
+            top.add(new AccountVolume(key.getString("accounts"), key.getString("currency"),
+                    number(row, "count").longValue(), number(row, "amount").doubleValue()));
+        }
+        return top;
+    }
+
+    @Override
+    public List<PostingTotal> postingTotals() {
+        Aggregation pipeline = everything(match(where("postings.0").exists(true)),
+                unwind("postings"),
+                project().and("postings.currency").as("currency")
+                        .and(ConvertOperators.valueOf("postings.amount").convertToDecimal()).as("amount"),
+                group("currency").count().as("postings").sum("amount").as("sum"),
+                sort(Sort.Direction.ASC, "_id"));
+
+        List<PostingTotal> totals = new ArrayList<>();
+        for (Document row : mongo.aggregate(pipeline, TransactionRepositoryImpl.BASE_COLLECTION, Document.class)) {
+            Object sum = row.get("sum");
+            totals.add(new PostingTotal(row.getString("_id"), number(row, "postings").longValue(),
+                    sum instanceof Decimal128 d ? d.bigDecimalValue() : BigDecimal.ZERO));
+        }
+        return totals;
+    }
+
+    @Override
+    public long countUnposted() {
+        Aggregation pipeline = everything(match(where("postings").exists(false)), group().count().as("count"));
+        Document row = mongo.aggregate(pipeline, TransactionRepositoryImpl.BASE_COLLECTION, Document.class).getUniqueMappedResult();
+        return row == null ? 0 : number(row, "count").longValue();
+    }
+
+    Aggregation pipeline(Instant from, Instant to, AggregationOperation... stages) {
+        MatchOperation range = match(where("timestamp").gte(from).lt(to));
+        List<AggregationOperation> ops = new ArrayList<>();
+        ops.add(range);
+        if (partitioned) {
+            for (String name : TransactionRepositoryImpl.partitions(mongo)) {
+                if (TransactionRepositoryImpl.overlaps(TransactionRepositoryImpl.monthOf(name), from, to)) {
+                    ops.add(UnionWithOperation.unionWith(name).pipeline(range));
+                }
+            }
+        }
+        ops.addAll(List.of(stages));
+        return newAggregation(ops).withOptions(options);
+    }
+
+    // the base collection and every monthly partition, each filtered by the same $match
+    Aggregation everything(MatchOperation filter, AggregationOperation... stages) {
+        List<AggregationOperation> ops = new ArrayList<>();
+        ops.add(filter);
+        if (partitioned) {
+            for (String name : TransactionRepositoryImpl.partitions(mongo)) {
+                ops.add(UnionWithOperation.unionWith(name).pipeline(filter));
+            }
+        }
+        ops.addAll(List.of(stages));
+        return newAggregation(ops).withOptions(options);
+    }
+
+    // $sum yields int, long or double depending on the inputs
+    private static Number number(Document row, String field) {
+        Object value = row.get(field);
+        return value instanceof Number n ? n : 0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.dto.HistoryPage;
+
+// Keyset-paged history that avoids the $or query: one ordered index scan per side
+// (sourceAccount, destinationAccount) and per collection, merged lazily by timestamp.
+// Archived months continue the history once the live collections run out.
+public interface TransactionHistoryReader {
+
+    // cursor is null for the first page
+    HistoryPage findHistoryPage(String accNo, String cursor, int limit);
+}
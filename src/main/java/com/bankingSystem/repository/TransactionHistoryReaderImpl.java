@@ -0,0 +1,184 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.config.MongoTuningProperties;
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.exception.InvalidRequestException;
+import com.bankingSystem.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ReadPreference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+public class TransactionHistoryReaderImpl implements TransactionHistoryReader {
+
+    static final String[] SIDES = {"sourceAccount", "destinationAccount"};
+
+    // newest first, _id breaks timestamp ties so the order (and the cursor) is total
+    static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getTimestamp, Comparator.reverseOrder())
+            .thenComparing(Transaction::getId, Comparator.reverseOrder());
+
+    private final MongoTemplate mongo;
+    private final ObjectMapper mapper;
+    private final boolean partitioned;
+    private final Path archiveDir;
+    private final ReadPreference readPreference;
+
+    public TransactionHistoryReaderImpl(MongoTemplate mongo, ObjectMapper mapper,
+                                        @Value("${banking.txn.partitioning.enabled:false}") boolean partitioned,
+                                        @Value("${banking.txn.partitioning.archive-dir:transaction-archive}") String archiveDir,
+                                        MongoTuningProperties tuning) {
+        this.mongo = mongo;
+        this.mapper = mapper;
+        this.partitioned = partitioned;
+        this.archiveDir = Path.of(archiveDir);
+        this.readPreference = tuning.historyReadPreference();
+    }
+
+    @Override
+    public HistoryPage findHistoryPage(String accNo, String cursor, int limit) {
+        Cursor after = cursor == null ? null : Cursor.decode(cursor);
+
+        List<Stream<Transaction>> scans = new ArrayList<>();
+        try {
+            // each scan is bounded by limit + 1: no single side can contribute more than a page
+            for (String collection : TransactionRepositoryImpl.collections(mongo, partitioned)) {
+                for (String side : SIDES) {
+                    Query query = scanQuery(side, accNo, after, limit + 1).withReadPreference(readPreference);
+                    scans.add(mongo.stream(query, Transaction.class, collection));
+                }
+            }
+            return merge(scans, partitioned ? archived(accNo, after, limit + 1) : List.of(), limit);
+        } finally {
+            scans.forEach(Stream::close);
+        }
+    }
+
+    static HistoryPage merge(List<Stream<Transaction>> scans, int limit) {
+        return merge(scans, List.of(), limit);
+    }
+
+    // k-way merge of already-ordered scans; stops pulling as soon as the page is full. Archived
+    // months (newest first) join the merge only once it gets down to their end, so a page that
+    // the live collections fill reads no archive at all
+    static HistoryPage merge(List<Stream<Transaction>> scans, List<ArchivedMonth> archived, int limit) {
+        PriorityQueue<Head> heads = new PriorityQueue<>((a, b) -> NEWEST_FIRST.compare(a.txn, b.txn));
+        for (Stream<Transaction> scan : scans) {
+            Iterator<Transaction> it = scan.iterator();
+            if (it.hasNext()) heads.add(new Head(it.next(), it));
+        }
+        Deque<ArchivedMonth> unread = new ArrayDeque<>(archived);
+
+        List<Transaction> page = new ArrayList<>(limit);
+        String lastId = null;
+        while (page.size() < limit && !open(heads, unread).isEmpty()) {
+            Transaction next = pop(heads);
+            // a record on both sides of the same account comes out of two scans back to back
+            if (next.getId().equals(lastId)) continue;
+            page.add(next);
+            lastId = next.getId();
+        }
+        while (!heads.isEmpty() && heads.peek().txn.getId().equals(lastId)) {
+            pop(heads);
+        }
+
+        // an unread archive may be empty for this account, in which case the next page is too
+        boolean more = !heads.isEmpty() || !unread.isEmpty();
+        String nextCursor = !more || page.isEmpty() ? null : Cursor.of(page.get(page.size() - 1)).encode();
+        return new HistoryPage(page, nextCursor);
+    }
+
+    // reads the archived months that may hold something newer than the current head
+    private static PriorityQueue<Head> open(PriorityQueue<Head> heads, Deque<ArchivedMonth> unread) {
+        while (!unread.isEmpty() && (heads.isEmpty() || heads.peek().txn.getTimestamp().isBefore(unread.peek().end()))) {
+            Iterator<Transaction> it = unread.poll().records().get().iterator();
+            if (it.hasNext()) heads.add(new Head(it.next(), it));
+        }
+        return heads;
+    }
+
+    // the archive files, newest month first, skipping months that are all newer than the cursor.
+    // An archive has no index, so reading one scans the whole file; they are cold by definition
+    private List<ArchivedMonth> archived(String accNo, Cursor after, int limit) {
+        List<ArchivedMonth> months = new ArrayList<>();
+        for (Path file : TransactionRepositoryImpl.archives(archiveDir)) {
+            YearMonth month = TransactionRepositoryImpl.archiveMonth(file);
+            Instant start = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+            if (after != null && after.timestamp.isBefore(start)) continue;
+            Instant end = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+            months.add(new ArchivedMonth(end, () -> TransactionRepositoryImpl.readArchive(mapper, file, accNo, null, null).stream()
+                    .filter(t -> after == null || after.precedes(t))
+                    .sorted(NEWEST_FIRST)
+                    .limit(limit)
+                    .toList()));
+        }
+        Collections.reverse(months);
+        return months;
+    }
+
+    private static Transaction pop(PriorityQueue<Head> heads) {
+        Head head = heads.poll();
+        if (head.rest.hasNext()) heads.add(new Head(head.rest.next(), head.rest));
+        return head.txn;
+    }
+
+    static Query scanQuery(String side, String accNo, Cursor after, int limit) {
+        Criteria criteria = where(side).is(accNo);
+        if (after != null) {
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    where("timestamp").lt(after.timestamp),
+                    new Criteria().andOperator(where("timestamp").is(after.timestamp), where("id").lt(after.id))));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "id"))
+                .limit(limit);
+    }
+
+    private record Head(Transaction txn, Iterator<Transaction> rest) {}
+
+    // an archived month: everything in it is older than end, and records reads it on demand
+    record ArchivedMonth(Instant end, Supplier<List<Transaction>> records) {}
+
+    record Cursor(Instant timestamp, String id) {
+
+        static Cursor of(Transaction txn) {
+            return new Cursor(txn.getTimestamp(), txn.getId());
+        }
+
+        // whether txn comes after this cursor in NEWEST_FIRST order, as scanQuery selects
+        boolean precedes(Transaction txn) {
+            return txn.getTimestamp().isBefore(timestamp)
+                    || (txn.getTimestamp().equals(timestamp) && txn.getId().compareTo(id) < 0);
+        }
+
+        String encode() {
+            String raw = timestamp + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new Cursor(Instant.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+            } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+                throw new InvalidRequestException("Invalid history cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bankingSystem.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+// Builds the per-side history indexes, the analytics timestamp index and the unique transactionId
+// index on the base collection once the app is up, off the startup path: on a large collection the
+// build can take a while and reads fall back to slower plans meanwhile.
+@Component
+public class TransactionIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionIndexInitializer.class);
+
+    private final MongoTemplate mongo;
+
+    public TransactionIndexInitializer(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread t = new Thread(this::ensureIndexes, "txn-index-init");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    void ensureIndexes() {
+        try {
+            TransactionRepositoryImpl.ensureIndexes(mongo, TransactionRepositoryImpl.BASE_COLLECTION);
+            log.info("TransactionIndexInitializer: transaction indexes ready");
+        } catch (RuntimeException e) {
+            log.error("TransactionIndexInitializer: could not ensure transaction indexes: {}", e.getMessage());
+        }
+    }
+}
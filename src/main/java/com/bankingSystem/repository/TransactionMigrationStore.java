@@ -0,0 +1,24 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+
+// Record-level operations for the ledger migration, across the base collection and every
+// monthly partition (archived months are left as they are).
+public interface TransactionMigrationStore {
+
+    // records without postings, of the given type (null: any), up to limit
+    List<Transaction> findUnposted(String type, int limit);
+
+    // entries whose folded legs (migratedFrom) have not been deleted yet, up to limit
+    List<Transaction> findUnfinishedMerges(int limit);
+
+    List<Transaction> findByTransactionIds(Collection<String> txnIds);
+
+    // rewrites postings, fxRate and migratedFrom of the record with txn's id in place
+    void updatePostings(Transaction txn);
+
+    long deleteByTransactionIds(Collection<String> txnIds);
+}
@@ -0,0 +1,79 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+public class TransactionMigrationStoreImpl implements TransactionMigrationStore {
+
+    private final MongoTemplate mongo;
+    private final boolean partitioned;
+
+    public TransactionMigrationStoreImpl(MongoTemplate mongo,
+                                         @Value("${banking.txn.partitioning.enabled:false}") boolean partitioned) {
+        this.mongo = mongo;
+        this.partitioned = partitioned;
+    }
+
+    @Override
+    public List<Transaction> findUnposted(String type, int limit) {
+        Criteria criteria = where("postings").exists(false);
+        if (type != null) criteria = criteria.and("type").is(type);
+        return find(criteria, limit);
+    }
+
+    @Override
+    public List<Transaction> findUnfinishedMerges(int limit) {
+        return find(where("migratedFrom.0").exists(true), limit);
+    }
+
+    @Override
+    public List<Transaction> findByTransactionIds(Collection<String> txnIds) {
+        return find(where("transactionId").in(txnIds), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void updatePostings(Transaction txn) {
+        Update update = new Update().set("postings", txn.getPostings()).set("fxRate", txn.getFxRate());
+        if (txn.getMigratedFrom() == null) {
+            update.unset("migratedFrom");
+        } else {
+            update.set("migratedFrom", txn.getMigratedFrom());
+        }
+        Query byId = new Query(where("_id").is(txn.getId()));
+        for (String collection : collections()) {
+            if (mongo.updateFirst(byId, update, Transaction.class, collection).getMatchedCount() > 0) return;
+        }
+    }
+
+    @Override
+    public long deleteByTransactionIds(Collection<String> txnIds) {
+        long deleted = 0;
+        for (String collection : collections()) {
+            deleted += mongo.remove(new Query(where("transactionId").in(txnIds)), collection).getDeletedCount();
+        }
+        return deleted;
+    }
+
+    private List<Transaction> find(Criteria criteria, int limit) {
+        List<Transaction> found = new ArrayList<>();
+        for (String collection : collections()) {
+            if (found.size() >= limit) break;
+            found.addAll(mongo.find(new Query(criteria).limit(limit - found.size()), Transaction.class, collection));
+        }
+        return found;
+    }
+
+    private List<String> collections() {
+        return TransactionRepositoryImpl.collections(mongo, partitioned);
+    }
+}
@@ -1,10 +1,8 @@
 package com.bankingSystem.repository;
 
 import com.bankingSystem.model.Transaction;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.ListCrudRepository;
 
-import java.util.List;
-
-public interface TransactionRepository extends MongoRepository<Transaction, String> {
-    List<Transaction> findBySourceAccountOrDestinationAccount(String source, String dest);
+public interface TransactionRepository extends ListCrudRepository<Transaction, String>, TransactionRepositoryCustom,
+        TransactionHistoryReader, TransactionAnalytics, TransactionMigrationStore {
 }
@@ -0,0 +1,34 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.Transaction;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+// Time-partitioned storage behind TransactionRepository (banking.txn.partitioning.enabled).
+// When partitioning is on, records live in monthly collections (transactions_yyyyMM) and cold
+// months are archived to gzip NDJSON files; when it is off everything stays in "transactions".
+public interface TransactionRepositoryCustom {
+
+    boolean isPartitioned();
+
+    // inserts each record into the partition of its timestamp
+    void append(List<Transaction> txns);
+
+    // every record in the base collection with the account on either side, read with
+    // banking.mongo.history-read-preference
+    List<Transaction> findBySourceAccountOrDestinationAccount(String source, String dest);
+
+    // history of an account in [from, to) - either bound may be null - oldest first,
+    // touching only the partitions and archive files that overlap the range. With no bound at
+    // all only the hot months are read; older months need a range.
+    List<Transaction> findHistory(String accNo, Instant from, Instant to);
+
+    // whether a record with this id exists in the base collection or any live partition
+    // (archived months are not searched)
+    boolean existsByTransactionId(String transactionId);
+
+    // moves every partition older than cutoff to the archive directory, returns how many
+    int archivePartitionsBefore(YearMonth cutoff);
+}
@@ -0,0 +1,314 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.config.MongoTuningProperties;
+import com.bankingSystem.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ReadPreference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Spring Data picks this up as the implementation of TransactionRepositoryCustom.
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRepositoryImpl.class);
+
+    static final String BASE_COLLECTION = "transactions";
+    static final String PARTITION_PREFIX = BASE_COLLECTION + "_";
+    static final String ARCHIVE_SUFFIX = ".ndjson.gz";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final MongoTemplate mongo;
+    private final ObjectMapper mapper;
+    private final boolean partitioned;
+    private final int hotMonths;
+    private final Path archiveDir;
+    private final ReadPreference historyReadPreference;
+
+    // partitions whose indexes have been ensured by this node
+    private final Set<String> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    public TransactionRepositoryImpl(MongoTemplate mongo, ObjectMapper mapper,
+                                     @Value("${banking.txn.partitioning.enabled:false}") boolean partitioned,
+                                     @Value("${banking.txn.partitioning.hot-months:3}") int hotMonths,
+                                     @Value("${banking.txn.partitioning.archive-dir:transaction-archive}") String archiveDir,
+                                     MongoTuningProperties tuning) {
+        this.mongo = mongo;
+        this.mapper = mapper;
+        this.partitioned = partitioned;
+        this.hotMonths = Math.max(1, hotMonths);
+        this.archiveDir = Path.of(archiveDir);
+        this.historyReadPreference = tuning.historyReadPreference();
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    @Override
+    public void append(List<Transaction> txns) {
+        if (!partitioned) {
+            mongo.insert(txns, Transaction.class);
+            return;
+        }
+        Map<String, List<Transaction>> byPartition = new HashMap<>();
+        for (Transaction t : txns) {
+            if (t.getTimestamp() == null) t.setTimestamp(Instant.now());
+            byPartition.computeIfAbsent(partitionOf(t.getTimestamp()), k -> new ArrayList<>()).add(t);
+        }
+        byPartition.forEach((collection, batch) -> {
+            ensurePartition(collection);
+            mongo.insert(batch, collection);
+        });
+    }
+
+    @Override
+    public List<Transaction> findBySourceAccountOrDestinationAccount(String source, String dest) {
+        Query query = Query.query(new Criteria().orOperator(
+                        where("sourceAccount").is(source), where("destinationAccount").is(dest)))
+                .withReadPreference(historyReadPreference);
+        return mongo.find(query, Transaction.class, BASE_COLLECTION);
+    }
+
+    @Override
+    public List<Transaction> findHistory(String accNo, Instant from, Instant to) {
+        Criteria account = new Criteria().orOperator(
+                where("sourceAccount").is(accNo), where("destinationAccount").is(accNo));
+        Criteria criteria = account;
+        if (from != null || to != null) {
+            Criteria time = where("timestamp");
+            if (from != null) time = time.gte(from);
+            if (to != null) time = time.lt(to);
+            criteria = new Criteria().andOperator(account, time);
+        }
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "timestamp"))
+                .withReadPreference(historyReadPreference);
+
+        List<Transaction> result = new ArrayList<>(mongo.find(query, Transaction.class, BASE_COLLECTION));
+        if (!partitioned) {
+            return result;
+        }
+
+        if (from == null && to == null) {
+            // no range asked for: the hot months only, by name - no collection listing, no archives
+            YearMonth month = YearMonth.now(ZoneOffset.UTC);
+            for (int i = 0; i < hotMonths; i++, month = month.minusMonths(1)) {
+                result.addAll(mongo.find(query, Transaction.class, PARTITION_PREFIX + MONTH.format(month)));
+            }
+            result.sort(Comparator.comparing(Transaction::getTimestamp));
+            return result;
+        }
+
+        for (String collection : partitions(mongo)) {
+            if (overlaps(monthOf(collection), from, to)) {
+                result.addAll(mongo.find(query, Transaction.class, collection));
+            }
+        }
+        for (Path archive : archives(archiveDir)) {
+            if (overlaps(archiveMonth(archive), from, to)) {
+                result.addAll(readArchive(mapper, archive, accNo, from, to));
+            }
+        }
+        result.sort(Comparator.comparing(Transaction::getTimestamp));
+        return result;
+    }
+
+    @Override
+    public boolean existsByTransactionId(String transactionId) {
+        Query query = Query.query(where("transactionId").is(transactionId));
+        if (mongo.exists(query, BASE_COLLECTION)) return true;
+        if (!partitioned) return false;
+        // newest first: the steps that ask are usually minutes old
+        List<String> partitions = partitions(mongo);
+        Collections.reverse(partitions);
+        for (String collection : partitions) {
+            if (mongo.exists(query, collection)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int archivePartitionsBefore(YearMonth cutoff) {
+        if (!partitioned) return 0;
+
+        int archived = 0;
+        for (String collection : partitions(mongo)) {
+            if (!monthOf(collection).isBefore(cutoff)) continue;
+            try {
+                archive(collection);
+                archived++;
+            } catch (IOException | RuntimeException e) {
+                log.error("Archive: partition '{}' not archived: {}", collection, e.getMessage());
+            }
+        }
+        return archived;
+    }
+
+    // write to a temp file, check the count, move into place, and only then drop the collection.
+    // A month archived before (records written late with an old timestamp, or a run that stopped
+    // before the drop) is merged: the new file also carries every record of the old one.
+    private void archive(String collection) throws IOException {
+        Files.createDirectories(archiveDir);
+        Path target = archiveDir.resolve(collection + ARCHIVE_SUFFIX);
+        Path tmp = Files.createTempFile(archiveDir, collection, ".tmp");
+        long written = 0;
+        long kept = 0;
+
+        try (Stream<Transaction> records = mongo.stream(new Query(), Transaction.class, collection);
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8))) {
+            Set<String> ids = new HashSet<>();
+            Iterator<Transaction> it = records.iterator();
+            while (it.hasNext()) {
+                Transaction t = it.next();
+                ids.add(t.getId());
+                out.write(mapper.writeValueAsString(t));
+                out.write('\n');
+                written++;
+            }
+            if (Files.exists(target)) kept = copyMissing(target, ids, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        long expected = mongo.count(new Query(), collection);
+        if (written != expected) {
+            Files.deleteIfExists(tmp);
+            throw new IOException("wrote " + written + " of " + expected + " records");
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        mongo.dropCollection(collection);
+        knownPartitions.remove(collection);
+        log.info("Archive: partition '{}' ({} records, {} already archived) moved to {}", collection, written, kept, target);
+    }
+
+    // copies the records of an existing archive that are not among ids, returns how many
+    private long copyMissing(Path archive, Set<String> ids, Writer out) throws IOException {
+        long copied = 0;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (ids.contains(mapper.readValue(line, Transaction.class).getId())) continue;
+                out.write(line);
+                out.write('\n');
+                copied++;
+            }
+        }
+        return copied;
+    }
+
+    static List<Transaction> readArchive(ObjectMapper mapper, Path file, String accNo, Instant from, Instant to) {
+        List<Transaction> matches = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                // cheap substring test before paying for JSON parsing
+                if (!line.contains(accNo)) continue;
+                Transaction t = mapper.readValue(line, Transaction.class);
+                boolean involved = accNo.equals(t.getSourceAccount()) || accNo.equals(t.getDestinationAccount());
+                boolean inRange = (from == null || !t.getTimestamp().isBefore(from))
+                        && (to == null || t.getTimestamp().isBefore(to));
+                if (involved && inRange) matches.add(t);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive " + file, e);
+        }
+        return matches;
+    }
+
+    // the archived months in archiveDir, oldest first
+    static List<Path> archives(Path archiveDir) {
+        if (!Files.isDirectory(archiveDir)) return List.of();
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            return files.filter(p -> archiveMonth(p) != null).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static YearMonth archiveMonth(Path archive) {
+        String name = archive.getFileName().toString();
+        return name.endsWith(ARCHIVE_SUFFIX) ? monthOf(name.substring(0, name.length() - ARCHIVE_SUFFIX.length())) : null;
+    }
+
+    // the live monthly partitions, oldest first. Every reader that has to cover all the records
+    // lists them here rather than by name, so months written late are not missed
+    static List<String> partitions(MongoTemplate mongo) {
+        List<String> partitions = new ArrayList<>();
+        for (String name : mongo.getCollectionNames()) {
+            if (monthOf(name) != null) partitions.add(name);
+        }
+        Collections.sort(partitions);
+        return partitions;
+    }
+
+    // the base collection followed by the live partitions, if partitioning is on
+    static List<String> collections(MongoTemplate mongo, boolean partitioned) {
+        List<String> collections = new ArrayList<>();
+        collections.add(BASE_COLLECTION);
+        if (partitioned) collections.addAll(partitions(mongo));
+        return collections;
+    }
+
+    private void ensurePartition(String collection) {
+        if (knownPartitions.contains(collection)) return;
+        ensureIndexes(mongo, collection);
+        knownPartitions.add(collection);
+    }
+
+    // one index per side, in the order TransactionHistoryReaderImpl scans them, one on timestamp
+    // for the range $match that starts every TransactionAnalyticsImpl pipeline, and a unique one on
+    // transactionId for the lookups and deletes by id (existsByTransactionId, retract, migration).
+    // The unique index goes last: should old data hold a duplicate, the others are still built.
+    static void ensureIndexes(MongoTemplate mongo, String collection) {
+        for (String side : TransactionHistoryReaderImpl.SIDES) {
+            mongo.indexOps(collection).ensureIndex(new Index()
+                    .on(side, Sort.Direction.ASC)
+                    .on("timestamp", Sort.Direction.DESC)
+                    .on("_id", Sort.Direction.DESC));
+        }
+        mongo.indexOps(collection).ensureIndex(new Index().on("timestamp", Sort.Direction.ASC));
+        mongo.indexOps(collection).ensureIndex(new Index().on("transactionId", Sort.Direction.ASC).unique());
+    }
+
+    static String partitionOf(Instant timestamp) {
+        return PARTITION_PREFIX + MONTH.format(timestamp.atZone(ZoneOffset.UTC));
+    }
+
+    static YearMonth monthOf(String name) {
+        if (!name.startsWith(PARTITION_PREFIX)) return null;
+        String suffix = name.substring(PARTITION_PREFIX.length());
+        if (!suffix.matches("\\d{6}")) return null;
+        return YearMonth.parse(suffix, MONTH);
+    }
+
+    static boolean overlaps(YearMonth month, Instant from, Instant to) {
+        Instant start = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant end = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        return (to == null || start.isBefore(to)) && (from == null || end.isAfter(from));
+    }
+}
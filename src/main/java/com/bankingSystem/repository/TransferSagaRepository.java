@@ -0,0 +1,13 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.TransferSaga;
+import org.springframework.data.repository.ListCrudRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransferSagaRepository extends ListCrudRepository<TransferSaga, String>, TransferSagaRepositoryCustom {
+    Optional<TransferSaga> findByTransferId(String transferId);
+    List<TransferSaga> findByStateIn(Collection<TransferSaga.State> states);
+}
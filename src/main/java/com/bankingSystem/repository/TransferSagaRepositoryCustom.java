@@ -0,0 +1,27 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.TransferSaga;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Leases for the saga workers, so two nodes never drive the same saga: a node claims a saga before
+// running it, and every step it records is conditional on still holding the lease.
+public interface TransferSagaRepositoryCustom {
+
+    // the unique transferId index and the {state, _id} index the recovery scan pages through
+    void ensureIndexes();
+
+    // up to limit sagas in one of states that no node currently holds, in _id order after afterId
+    // (null for the first page)
+    List<TransferSaga> findUnclaimed(Collection<TransferSaga.State> states, String afterId, int limit, Instant now);
+
+    // leases an unfinished saga to owner unless another node holds it; the returned copy carries the lease
+    Optional<TransferSaga> claim(String transferId, String owner, Instant leaseUntil, Instant now);
+
+    // writes the state of the step just taken and renews the lease, or releases it once the saga is
+    // finished; empty if the lease has since been taken over by another node
+    Optional<TransferSaga> recordStep(TransferSaga saga, Instant leaseUntil);
+}
@@ -0,0 +1,80 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.TransferSaga;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Spring Data picks this up as the implementation of TransferSagaRepositoryCustom.
+public class TransferSagaRepositoryImpl implements TransferSagaRepositoryCustom {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+    static final List<TransferSaga.State> UNFINISHED = Arrays.stream(TransferSaga.State.values())
+            .filter(s -> !s.isTerminal()).toList();
+
+    private final MongoTemplate mongo;
+
+    public TransferSagaRepositoryImpl(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    @Override
+    public void ensureIndexes() {
+        mongo.indexOps(TransferSaga.class).ensureIndex(new Index().on("transferId", Sort.Direction.ASC).unique());
+        mongo.indexOps(TransferSaga.class).ensureIndex(new Index()
+                .on("state", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("state_id"));
+    }
+
+    @Override
+    public List<TransferSaga> findUnclaimed(Collection<TransferSaga.State> states, String afterId, int limit, Instant now) {
+        Criteria criteria = new Criteria().andOperator(where("state").in(states), unleased(now));
+        if (afterId != null) criteria = new Criteria().andOperator(criteria, where("id").gt(afterId));
+        return mongo.find(new Query(criteria).with(Sort.by("id")).limit(limit), TransferSaga.class);
+    }
+
+    @Override
+    public Optional<TransferSaga> claim(String transferId, String owner, Instant leaseUntil, Instant now) {
+        Query query = new Query(new Criteria().andOperator(
+                where("transferId").is(transferId),
+                where("state").in(UNFINISHED),
+                new Criteria().orOperator(unleased(now), where("leaseOwner").is(owner))));
+        Update update = new Update().set("leaseOwner", owner).set("leaseUntil", leaseUntil);
+        return Optional.ofNullable(mongo.findAndModify(query, update, RETURN_NEW, TransferSaga.class));
+    }
+
+    @Override
+    public Optional<TransferSaga> recordStep(TransferSaga saga, Instant leaseUntil) {
+        Query query = new Query(where("id").is(saga.getId()).and("leaseOwner").is(saga.getLeaseOwner()));
+        return Optional.ofNullable(mongo.findAndModify(query, step(saga, leaseUntil), RETURN_NEW, TransferSaga.class));
+    }
+
+    static Update step(TransferSaga saga, Instant leaseUntil) {
+        Update update = new Update()
+                .set("state", saga.getState())
+                .set("currency", saga.getCurrency())
+                .set("failureReason", saga.getFailureReason())
+                .set("updatedAt", saga.getUpdatedAt());
+        if (saga.getState().isTerminal()) {
+            return update.unset("leaseOwner").unset("leaseUntil");
+        }
+        return update.set("leaseUntil", leaseUntil);
+    }
+
+    private static Criteria unleased(Instant now) {
+        return new Criteria().orOperator(where("leaseUntil").is(null), where("leaseUntil").lt(now));
+    }
+}
@@ -0,0 +1,89 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.repository.AccountRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Archives accounts that have been CLOSED for longer than archive-after-days: the account and its
+// history move to the archived_* collections, a batch per run. A failed account is logged and
+// picked up again on the next run, the repository's moves are safe to repeat; so is an account
+// left ARCHIVED (sealed) by a run that stopped part way. A striped account is only archived while
+// its stripes are empty.
+@Component
+public class AccountArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountArchiver.class);
+
+    private static final List<AccountStatus> DUE = List.of(AccountStatus.CLOSED, AccountStatus.ARCHIVED);
+
+    private final AccountRepository accRepo;
+    private final StripedBalanceStore stripes;
+    private final Duration retention;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+
+    public AccountArchiver(AccountRepository accRepo, StripedBalanceStore stripes,
+                           @Value("${banking.accounts.archive-after-days:30}") long archiveAfterDays,
+                           @Value("${banking.accounts.archive-interval-minutes:60}") long intervalMinutes,
+                           @Value("${banking.accounts.archive-batch-size:100}") int batchSize) {
+        this.accRepo = accRepo;
+        this.stripes = stripes;
+        this.retention = Duration.ofDays(Math.max(0, archiveAfterDays));
+        this.batchSize = Math.max(1, batchSize);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "account-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        log.info("AccountArchiver: archiving accounts closed for {} days, every {}m", retention.toDays(), intervalMinutes);
+    }
+
+    public int archiveClosedAccounts(Instant now) {
+        List<Account> due = accRepo.findByStatusInAndClosedAtBefore(DUE, now.minus(retention), Limit.of(batchSize));
+
+        int archived = 0;
+        for (Account acc : due) {
+            try {
+                // stripes only take reversals once closed, but those would be lost with the account
+                if (acc.isStriped() && acc.getStatus() == AccountStatus.CLOSED && stripes.freshBalance(acc.getAccountNumber()) != 0) {
+                    log.error("AccountArchiver: account='{}' has money on its stripes since it was closed, not archived", acc.getAccountNumber());
+                    continue;
+                }
+                accRepo.archive(acc);
+                archived++;
+            } catch (RuntimeException e) {
+                log.error("AccountArchiver: account='{}' not archived, will retry: {}", acc.getAccountNumber(), e.getMessage());
+            }
+        }
+        if (!due.isEmpty()) log.info("Service: archived {} of {} closed accounts", archived, due.size());
+        return archived;
+    }
+
+    private void runSafely() {
+        try {
+            archiveClosedAccounts(Instant.now());
+        } catch (RuntimeException e) {
+            log.error("AccountArchiver: run failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.dto.ImportReport;
+
+import java.io.InputStream;
+
+public interface AccountImportService {
+
+    enum Format { CSV, NDJSON }
+
+    // importId names the checkpoint: re-running the same id skips rows already committed
+    ImportReport importAccounts(String importId, InputStream input, Format format);
+
+}
@@ -1,16 +1,25 @@
 package com.bankingSystem.service;
 
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.dto.MultiAccountView;
 import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.ArchivedAccount;
 import com.bankingSystem.model.Transaction;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface AccountService {
 
     Account createAccount(String name);
 
+    Account createAccount(String name, String currency);
+
     Account getAccount(String accNo);
 
+    MultiAccountView getAccounts(List<String> accNos, int recent);
+
     Account deposit(String accNo, Double amt);
 
     Account withdraw(String accNo, Double amt);
@@ -19,8 +28,20 @@ public interface AccountService {
 
     void deleteAccount(String accNo);
 
+    Account changeStatus(String accNo, AccountStatus status);
+
+    ArchivedAccount getArchivedAccount(String accNo);
+
     void transfer(String src, String dest, Double amt);
 
     List<Transaction> getTransactions(String accNo);
 
+    List<Transaction> getTransactions(String accNo, Instant from, Instant to);
+
+    HistoryPage getTransactionPage(String accNo, String cursor, int limit);
+
+    List<Transaction> getTransactionsSince(String accNo, Instant watermark);
+
+    Account enableStriping(String accNo, int stripeCount);
+
 }
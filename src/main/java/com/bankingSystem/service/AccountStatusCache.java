@@ -0,0 +1,51 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.AccountStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Accounts recently seen in a status other than ACTIVE. Money movements consult it before screening
+// and before loading anything, so requests against a known frozen or closed account fail without a
+// read. It is only a shortcut: the status on the loaded document is still checked, so a missing or
+// expired entry (e.g. a freeze made on another node) costs the early exit, never correctness.
+@Component
+public class AccountStatusCache {
+
+    private static final int SWEEP_SIZE = 10_000;
+
+    private final Map<String, Entry> restricted = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public AccountStatusCache(@Value("${banking.accounts.status-cache-ttl-seconds:5}") long ttlSeconds) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    // called with the status of every account document the service loads or saves
+    public void record(String accNo, AccountStatus status) {
+        if (status == AccountStatus.ACTIVE) {
+            restricted.remove(accNo);
+            return;
+        }
+        long now = System.nanoTime();
+        restricted.put(accNo, new Entry(status, now + ttlNanos));
+        if (restricted.size() > SWEEP_SIZE) {
+            restricted.values().removeIf(e -> e.expiresAt() - now < 0);
+        }
+    }
+
+    // the cached non-ACTIVE status, or null if none is known
+    public AccountStatus restrictedStatus(String accNo) {
+        Entry e = restricted.get(accNo);
+        if (e == null) return null;
+        if (e.expiresAt() - System.nanoTime() < 0) {
+            restricted.remove(accNo, e);
+            return null;
+        }
+        return e.status();
+    }
+
+    private record Entry(AccountStatus status, long expiresAt) {}
+}
@@ -0,0 +1,23 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.DailyTotal;
+import com.bankingSystem.dto.LedgerCheck;
+import com.bankingSystem.dto.TypeTotal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Transaction analytics over whole UTC days, from and to inclusive.
+public interface AnalyticsService {
+
+    List<DailyTotal> getDailyTotals(LocalDate from, LocalDate to);
+
+    List<TypeTotal> getTypeBreakdown(LocalDate from, LocalDate to);
+
+    List<AccountVolume> getTopAccounts(LocalDate from, LocalDate to, int limit);
+
+    // the double-entry invariant over all live records: postings sum to zero in every currency
+    LedgerCheck checkLedger();
+
+}
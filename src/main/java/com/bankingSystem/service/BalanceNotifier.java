@@ -0,0 +1,306 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.dto.BalanceEvent;
+import com.bankingSystem.exception.TooManyRequestsException;
+import com.bankingSystem.model.Transaction;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-process fan-out of balance changes to SSE subscribers. Each subscriber has a small bounded
+// buffer drained by a shared dispatcher pool, so no thread is parked per connection and publishers
+// never wait on a client. A subscriber whose buffer is full is evicted (its stream is closed and
+// the client reconnects and gets a fresh snapshot) rather than slowing everyone else down.
+// SseEmitter.send blocks while the client's socket is full, so a send has a deadline: a sweep
+// evicts subscribers stuck in a send for longer than send-timeout-millis and adds a dispatcher
+// for as long as that send keeps its thread, so stalled clients cannot take every dispatcher.
+// Only the subscriber's drain task touches its emitter, completing it included.
+@Component
+public class BalanceNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceNotifier.class);
+    private static final Object HEARTBEAT = new Object();
+    // extra dispatchers for stalled sends, per configured dispatcher
+    private static final int MAX_STALLED_PER_DISPATCHER = 4;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicInteger stalled = new AtomicInteger();
+
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final int dispatchers;
+    // subscribers with a send in progress, for the stall sweep
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public BalanceNotifier(@Value("${banking.events.max-subscribers:100000}") int maxSubscribers,
+                           @Value("${banking.events.buffer-size:16}") int bufferSize,
+                           @Value("${banking.events.dispatchers:4}") int dispatchers,
+                           @Value("${banking.events.timeout-minutes:30}") long timeoutMinutes,
+                           @Value("${banking.events.heartbeat-seconds:15}") long heartbeatSeconds,
+                           @Value("${banking.events.send-timeout-millis:5000}") long sendTimeoutMillis) {
+        this(maxSubscribers, bufferSize, timeoutMinutes, sendTimeoutMillis,
+                Executors.newFixedThreadPool(dispatchers, daemon("balance-events")));
+        if (heartbeatSeconds > 0) {
+            heartbeat.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        }
+        if (sendTimeoutMillis > 0) {
+            long every = Math.max(100, Math.min(1000, sendTimeoutMillis / 2));
+            heartbeat.scheduleAtFixedRate(this::sweepStalled, every, every, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    BalanceNotifier(int maxSubscribers, int bufferSize, long timeoutMinutes, ExecutorService dispatcher) {
+        this(maxSubscribers, bufferSize, timeoutMinutes, 0, dispatcher);
+    }
+
+    BalanceNotifier(int maxSubscribers, int bufferSize, long timeoutMinutes, long sendTimeoutMillis, ExecutorService dispatcher) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.dispatcher = dispatcher;
+        this.dispatchers = dispatcher instanceof ThreadPoolExecutor pool ? pool.getCorePoolSize() : 0;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("balance-events-heartbeat"));
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    public SseEmitter subscribe(String accNo, BalanceEvent snapshot) {
+        return subscribe(accNo, snapshot, new SseEmitter(timeoutMillis));
+    }
+
+    public SseEmitter subscribe(String accNo, BalanceEvent snapshot, SseEmitter emitter) {
+        if (count.incrementAndGet() > maxSubscribers) {
+            count.decrementAndGet();
+            throw new TooManyRequestsException("Too many event subscribers", 5);
+        }
+        Subscriber sub = new Subscriber(accNo, emitter, bufferSize);
+        subscribers.compute(accNo, (k, subs) -> {
+            if (subs == null) subs = ConcurrentHashMap.newKeySet();
+            subs.add(sub);
+            return subs;
+        });
+
+        emitter.onCompletion(() -> remove(sub));
+        emitter.onTimeout(() -> remove(sub));
+        emitter.onError(e -> remove(sub));
+
+        offer(sub, snapshot);
+        return emitter;
+    }
+
+    // cheap when nobody listens: one map lookup, no event object
+    public void publish(String accNo, Double balance, Transaction txn) {
+        Set<Subscriber> subs = subscribers.get(accNo);
+        if (subs == null || subs.isEmpty()) return;
+
+        BalanceEvent event = BalanceEvent.of(accNo, balance, txn);
+        for (Subscriber sub : subs) offer(sub, event);
+    }
+
+    public int subscriberCount() {
+        return count.get();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    // dispatchers currently held by a send that missed its deadline
+    public int stalledSendCount() {
+        return stalled.get();
+    }
+
+    private void offer(Subscriber sub, Object event) {
+        if (sub.closed) return;
+        if (!sub.buffer.offer(event)) {
+            evict(sub);
+            return;
+        }
+        schedule(sub);
+    }
+
+    private void schedule(Subscriber sub) {
+        if (sub.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(sub));
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                sub.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber sub) {
+        do {
+            Object event;
+            while (!sub.closed && (event = sub.buffer.poll()) != null) {
+                synchronized (sub) {
+                    sub.sendStarted = System.nanoTime();
+                    sending.add(sub);
+                }
+                try {
+                    if (event == HEARTBEAT) {
+                        sub.emitter.send(SseEmitter.event().comment("ping"));
+                    } else {
+                        BalanceEvent e = (BalanceEvent) event;
+                        sub.emitter.send(SseEmitter.event().name("balance").id(e.getTransactionId()).data(e));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // client went away; the emitter's completion callback may never fire
+                    remove(sub);
+                    return;
+                } finally {
+                    sent(sub);
+                }
+            }
+            if (sub.closed) {
+                // evicted: the flag stays set, nothing is dispatched for this subscriber again
+                complete(sub);
+                return;
+            }
+            sub.scheduled.set(false);
+            // an offer or an eviction may have landed between the last poll and clearing the flag
+        } while ((sub.closed || !sub.buffer.isEmpty()) && sub.scheduled.compareAndSet(false, true));
+    }
+
+    private void sent(Subscriber sub) {
+        boolean wasStalled;
+        synchronized (sub) {
+            sending.remove(sub);
+            sub.sendStarted = 0;
+            wasStalled = sub.stalled;
+            sub.stalled = false;
+        }
+        if (wasStalled) {
+            stalled.decrementAndGet();
+            resize();
+        }
+    }
+
+    private void complete(Subscriber sub) {
+        if (!sub.completed.compareAndSet(false, true)) return;
+        try {
+            sub.emitter.complete();
+        } catch (RuntimeException e) {
+            log.debug("BalanceNotifier: completing stream for account='{}' failed: {}", sub.accNo, e.getMessage());
+        }
+    }
+
+    // the drain completes the stream: completing it here would wait behind a send in progress
+    private void evict(Subscriber sub) {
+        if (!remove(sub)) return;
+        evictions.increment();
+        log.warn("Service: Evicted slow event subscriber for account='{}'", sub.accNo);
+        schedule(sub);
+    }
+
+    // evicts subscribers whose send has been blocked past the deadline, including those already
+    // evicted for a full buffer, which still hold their dispatcher until the send returns
+    void sweepStalled() {
+        try {
+            long now = System.nanoTime();
+            for (Subscriber sub : sending) {
+                synchronized (sub) {
+                    long started = sub.sendStarted;
+                    if (started == 0 || now - started <= sendTimeoutNanos || sub.stalled) continue;
+                    sub.stalled = true;
+                }
+                if (remove(sub)) {
+                    evictions.increment();
+                    log.warn("Service: Evicted event subscriber for account='{}', send blocked for over {}ms",
+                            sub.accNo, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                }
+                stalled.incrementAndGet();
+                resize();
+            }
+        } catch (RuntimeException e) {
+            log.error("BalanceNotifier: stall sweep failed: {}", e.getMessage());
+        }
+    }
+
+    // a stalled send keeps its thread until the socket write gives up, so the pool grows by one
+    // per stalled send meanwhile; bounded, past that stalled clients only delay the others
+    private synchronized void resize() {
+        if (!(dispatcher instanceof ThreadPoolExecutor pool)) return;
+        int size = dispatchers + Math.min(stalled.get(), dispatchers * MAX_STALLED_PER_DISPATCHER);
+        if (size > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(size);
+            pool.setCorePoolSize(size);
+        } else if (size < pool.getCorePoolSize()) {
+            pool.setCorePoolSize(size);
+            pool.setMaximumPoolSize(size);
+        }
+    }
+
+    private boolean remove(Subscriber sub) {
+        if (sub.closed) return false;
+        sub.closed = true;
+        boolean[] removed = {false};
+        // compute keeps the empty-set cleanup atomic with a concurrent subscribe on the same account
+        subscribers.computeIfPresent(sub.accNo, (k, subs) -> {
+            removed[0] = subs.remove(sub);
+            return subs.isEmpty() ? null : subs;
+        });
+        if (removed[0]) count.decrementAndGet();
+        return removed[0];
+    }
+
+    void heartbeat() {
+        try {
+            subscribers.values().forEach(subs -> subs.forEach(sub -> offer(sub, HEARTBEAT)));
+        } catch (RuntimeException e) {
+            log.error("BalanceNotifier: heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    private static final class Subscriber {
+        final String accNo;
+        final SseEmitter emitter;
+        final BlockingQueue<Object> buffer;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean completed = new AtomicBoolean();
+        // guarded by the subscriber: a send in progress since sendStarted, past its deadline
+        long sendStarted;
+        boolean stalled;
+        volatile boolean closed;
+
+        Subscriber(String accNo, SseEmitter emitter, int bufferSize) {
+            this.accNo = accNo;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.exception.InvalidRequestException;
+import com.bankingSystem.model.Account;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// FX rates for cross-currency transfers. The rates in use are an immutable table behind a volatile
+// reference: conversions read it without locks or I/O, and a refresh builds a complete new table
+// off the request path and swaps it in with one write, so a conversion never sees half an update.
+// Rates come from banking.fx.rates-location (classpath:, file: or http:, a stand-in for a rate
+// feed); a refresh that fails keeps the previous table.
+@Component
+public class FxRateProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateProvider.class);
+
+    // rate is null when no conversion was needed
+    public record Conversion(double amount, BigDecimal rate) {
+        public boolean converted() {
+            return rate != null;
+        }
+    }
+
+    private final Resource source;
+    private final ScheduledExecutorService scheduler;
+    private volatile RateTable table;
+
+    public FxRateProvider(@Value("${banking.fx.rates-location:classpath:fx-rates.properties}") String location,
+                          @Value("${banking.fx.refresh-seconds:60}") long refreshSeconds) {
+        this.source = new DefaultResourceLoader().getResource(location);
+        this.table = RateTable.baseOnly(Account.DEFAULT_CURRENCY);
+        refresh();
+
+        if (refreshSeconds > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "fx-refresh");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::refresh, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    // amount in `from` converted to `to`, rounded half-even to the target currency's minor unit
+    public Conversion convert(double amount, String from, String to) {
+        if (from.equals(to)) return new Conversion(amount, null);
+        RateTable current = table;
+        BigDecimal rate = current.rate(from, to);
+        BigDecimal converted = BigDecimal.valueOf(amount).multiply(rate)
+                .setScale(current.scale(to), RoundingMode.HALF_EVEN);
+        return new Conversion(converted.doubleValue(), rate);
+    }
+
+    public boolean supports(String currency) {
+        return table.supports(currency);
+    }
+
+    public Instant asOf() {
+        return table.asOf;
+    }
+
+    public boolean refresh() {
+        try (InputStream in = source.getInputStream()) {
+            Properties props = new Properties();
+            props.load(in);
+            RateTable next = RateTable.parse(props);
+            table = next;
+            log.info("FxRateProvider: loaded {} currencies (base {}, as of {})", next.scales.size(), next.base, next.asOf);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("FxRateProvider: refresh from '{}' failed, keeping rates as of {}: {}", source, table.asOf, e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+
+    // Rates quoted against one base currency ("units of X per 1 base"), expanded into every cross
+    // rate when the table is built so a conversion is two map lookups and one multiplication.
+    static final class RateTable {
+
+        final String base;
+        final Instant asOf;
+        final Map<String, Integer> scales;
+        final Map<String, Map<String, BigDecimal>> cross;
+
+        private RateTable(String base, Instant asOf, Map<String, BigDecimal> quotes) {
+            this.base = base;
+            this.asOf = asOf;
+            Map<String, Integer> scales = new HashMap<>();
+            Map<String, Map<String, BigDecimal>> cross = new HashMap<>();
+            for (Map.Entry<String, BigDecimal> from : quotes.entrySet()) {
+                int digits = Currency.getInstance(from.getKey()).getDefaultFractionDigits();
+                scales.put(from.getKey(), digits < 0 ? 2 : digits);
+                Map<String, BigDecimal> row = new HashMap<>();
+                for (Map.Entry<String, BigDecimal> to : quotes.entrySet()) {
+                    row.put(to.getKey(), to.getValue().divide(from.getValue(), MathContext.DECIMAL64));
+                }
+                cross.put(from.getKey(), Map.copyOf(row));
+            }
+            this.scales = Map.copyOf(scales);
+            this.cross = Map.copyOf(cross);
+        }
+
+        static RateTable baseOnly(String base) {
+            return new RateTable(base, Instant.EPOCH, Map.of(base, BigDecimal.ONE));
+        }
+
+        // base=USD, as-of=2024-06-01T00:00:00Z, then one CODE=rate line per currency
+        static RateTable parse(Properties props) {
+            String base = props.getProperty("base");
+            if (base == null) throw new IllegalArgumentException("base currency missing");
+            String asOf = props.getProperty("as-of");
+
+            Map<String, BigDecimal> quotes = new HashMap<>();
+            quotes.put(base, BigDecimal.ONE);
+            for (String key : props.stringPropertyNames()) {
+                if (key.equals("base") || key.equals("as-of")) continue;
+                Currency.getInstance(key); // rejects anything that is not an ISO 4217 code
+                BigDecimal rate = new BigDecimal(props.getProperty(key).trim());
+                if (rate.signum() <= 0) throw new IllegalArgumentException("rate for " + key + " must be positive");
+                if (!key.equals(base)) quotes.put(key, rate);
+            }
+            return new RateTable(base, asOf == null ? Instant.now() : Instant.parse(asOf), quotes);
+        }
+
+        boolean supports(String currency) {
+            return cross.containsKey(currency);
+        }
+
+        BigDecimal rate(String from, String to) {
+            Map<String, BigDecimal> row = cross.get(from);
+            BigDecimal rate = row == null ? null : row.get(to);
+            if (rate == null) throw new InvalidRequestException("No FX rate for " + from + " -> " + to);
+            return rate;
+        }
+
+        int scale(String currency) {
+            return scales.get(currency);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Hold;
+
+import java.util.List;
+
+public interface HoldService {
+
+    Hold placeHold(String accNo, Double amount, Long ttlSeconds);
+
+    List<Hold> getHolds(String accNo);
+
+    Account capture(String accNo, String holdId, Double amount);
+
+    Account voidHold(String accNo, String holdId);
+
+}
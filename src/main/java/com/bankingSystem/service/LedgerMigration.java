@@ -0,0 +1,148 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Posting;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.AccountRepository;
+import com.bankingSystem.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Converts records written before the double-entry ledger. A legacy synchronous transfer is three
+// records: WITHDRAW on the source, DEPOSIT on the destination, and a TRANSFER memo appended right
+// after them to both accounts. Those triples are folded into the TRANSFER record (one entry with
+// the postings, the legs deleted and pulled from the accounts); every other legacy record gets the
+// postings of what it did, against EXTERNAL. A TRANSFER whose legs cannot be matched stays a memo.
+//
+// Each step is safe to repeat: the entry is written first with migratedFrom naming its legs, and
+// the legs are only deleted afterwards, by a pass that every run starts with. Meant to run with
+// the application otherwise idle (see LedgerMigrationRunner): a balance update in flight could
+// save an account document read before its ids were pulled.
+@Component
+public class LedgerMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerMigration.class);
+
+    public record Report(long merged, long memos, long posted) {}
+
+    private final TransactionRepository txnRepo;
+    private final AccountRepository accRepo;
+    private final int batchSize;
+
+    public LedgerMigration(TransactionRepository txnRepo, AccountRepository accRepo,
+                           @Value("${banking.ledger.migration-batch-size:500}") int batchSize) {
+        this.txnRepo = txnRepo;
+        this.accRepo = accRepo;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public Report migrate() {
+        finishMerges();
+
+        // transfers first: their legs must still be unposted to be recognised
+        long merged = 0;
+        long memos = 0;
+        for (List<Transaction> batch; !(batch = txnRepo.findUnposted("TRANSFER", batchSize)).isEmpty(); ) {
+            for (Transaction transfer : batch) {
+                if (merge(transfer)) {
+                    merged++;
+                } else {
+                    transfer.setPostings(List.of());
+                    txnRepo.updatePostings(transfer);
+                    memos++;
+                }
+            }
+            finishMerges();
+        }
+
+        long posted = 0;
+        for (List<Transaction> batch; !(batch = txnRepo.findUnposted(null, batchSize)).isEmpty(); ) {
+            for (Transaction txn : batch) {
+                txn.setPostings(legacyPostings(txn));
+                txnRepo.updatePostings(txn);
+                posted++;
+            }
+        }
+
+        log.info("LedgerMigration: {} transfers merged, {} left as memos, {} records posted", merged, memos, posted);
+        return new Report(merged, memos, posted);
+    }
+
+    private boolean merge(Transaction transfer) {
+        Account source = accRepo.findByAccountNumber(transfer.getSourceAccount()).orElse(null);
+        Account destination = accRepo.findByAccountNumber(transfer.getDestinationAccount()).orElse(null);
+        if (source == null || destination == null) return false;
+
+        String debitId = previous(source.getTransactionIds(), transfer.getTransactionId());
+        String creditId = previous(destination.getTransactionIds(), transfer.getTransactionId());
+        if (debitId == null || creditId == null) return false;
+
+        Map<String, Transaction> legs = new HashMap<>();
+        txnRepo.findByTransactionIds(List.of(debitId, creditId)).forEach(t -> legs.put(t.getTransactionId(), t));
+        Transaction debit = legs.get(debitId);
+        Transaction credit = legs.get(creditId);
+        if (!isLeg(debit, "WITHDRAW", source.getAccountNumber()) || !isLeg(credit, "DEPOSIT", destination.getAccountNumber())
+                || !debit.getAmount().equals(transfer.getAmount())) {
+            return false;
+        }
+
+        String from = currencyOf(debit);
+        String to = currencyOf(credit);
+        if (from.equals(to)) {
+            if (!credit.getAmount().equals(transfer.getAmount())) return false;
+            transfer.setPostings(Posting.move(source.getAccountNumber(), destination.getAccountNumber(), transfer.getAmount(), from));
+        } else {
+            transfer.setPostings(Posting.convert(source.getAccountNumber(), transfer.getAmount(), from,
+                    destination.getAccountNumber(), credit.getAmount(), to));
+        }
+        transfer.setFxRate(credit.getFxRate());
+        transfer.setMigratedFrom(List.of(debitId, creditId));
+        txnRepo.updatePostings(transfer);
+        return true;
+    }
+
+    // deletes the legs of merged entries and drops them from both accounts, then clears the marker
+    private void finishMerges() {
+        for (List<Transaction> batch; !(batch = txnRepo.findUnfinishedMerges(batchSize)).isEmpty(); ) {
+            for (Transaction entry : batch) {
+                txnRepo.deleteByTransactionIds(entry.getMigratedFrom());
+                accRepo.pullTransactionIds(entry.getSourceAccount(), entry.getMigratedFrom());
+                accRepo.pullTransactionIds(entry.getDestinationAccount(), entry.getMigratedFrom());
+                entry.setMigratedFrom(null);
+                txnRepo.updatePostings(entry);
+            }
+        }
+    }
+
+    // the id appended to the account just before txnId
+    private static String previous(List<String> ids, String txnId) {
+        int index = ids.lastIndexOf(txnId);
+        return index > 0 ? ids.get(index - 1) : null;
+    }
+
+    private static boolean isLeg(Transaction txn, String type, String accNo) {
+        return txn != null && txn.getPostings() == null && type.equals(txn.getType())
+                && accNo.equals(txn.getSourceAccount()) && txn.getDestinationAccount() == null;
+    }
+
+    static List<Posting> legacyPostings(Transaction txn) {
+        String accNo = txn.getSourceAccount() != null ? txn.getSourceAccount() : txn.getDestinationAccount();
+        Double change = accNo == null ? null : txn.amountFor(accNo);
+        if (change == null) return List.of();
+        String currency = currencyOf(txn);
+        return change < 0
+                ? Posting.move(accNo, Posting.EXTERNAL, -change, currency)
+                : Posting.move(Posting.EXTERNAL, accNo, change, currency);
+    }
+
+    // records from before multi-currency accounts carry no currency
+    private static String currencyOf(Transaction txn) {
+        return txn.getCurrency() != null ? txn.getCurrency() : Account.DEFAULT_CURRENCY;
+    }
+}
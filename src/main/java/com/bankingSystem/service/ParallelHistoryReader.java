@@ -0,0 +1,93 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.TransactionRepository;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latest transactions of many accounts at once, for multi-account views. History is one keyset
+// page query per account, so they are spread over a pool shared by all requests: each request
+// runs at most `parallelism` queries at a time (its own thread is one of them), and one large view
+// cannot take every connection. The caller's tracing context travels with each query.
+@Component
+public class ParallelHistoryReader {
+
+    private final TransactionRepository txnRepo;
+    private final int parallelism;
+    private final ExecutorService pool;
+
+    public ParallelHistoryReader(TransactionRepository txnRepo,
+                                 @Value("${banking.accounts.multi-get.threads:16}") int threads,
+                                 @Value("${banking.accounts.multi-get.parallelism:8}") int parallelism) {
+        this.txnRepo = txnRepo;
+        this.parallelism = Math.max(1, parallelism);
+        AtomicLong seq = new AtomicLong();
+        // snapshot of the submitting thread's context (the global registry's accessors) per task
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        this.pool = ContextExecutorService.wrap(Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "history-reader-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }), snapshots::captureAll);
+    }
+
+    // newest first, at most perAccount each; keys in the order given
+    public Map<String, List<Transaction>> latest(List<String> accNos, int perAccount) {
+        int n = accNos.size();
+        @SuppressWarnings("unchecked")
+        List<Transaction>[] results = new List[n];
+        AtomicInteger next = new AtomicInteger();
+
+        // workers pull the next account until none are left; a failure stops the others early
+        Runnable worker = () -> {
+            try {
+                for (int i = next.getAndIncrement(); i < n; i = next.getAndIncrement()) {
+                    results[i] = txnRepo.findHistoryPage(accNos.get(i), null, perAccount).getItems();
+                }
+            } catch (RuntimeException e) {
+                next.set(n);
+                throw e;
+            }
+        };
+
+        List<Future<?>> helpers = new ArrayList<>();
+        for (int h = 1; h < Math.min(parallelism, n); h++) helpers.add(pool.submit(worker));
+        worker.run();
+        for (Future<?> helper : helpers) await(helper);
+
+        Map<String, List<Transaction>> latest = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) latest.put(accNos.get(i), results[i]);
+        return latest;
+    }
+
+    private void await(Future<?> helper) {
+        try {
+            helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading transaction history", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+// Single-flight front for the hot read paths (account lookup and history).
+// Only used for reads that are handed straight back to the caller - anything that
+// mutates the loaded Account must load its own copy.
+@Component
+public class ReadCoalescer implements MeterBinder {
+
+    private final SingleFlight<String, Account> accountReads = new SingleFlight<>();
+    private final SingleFlight<String, List<Transaction>> historyReads = new SingleFlight<>();
+
+    public Account account(String accNo, Supplier<Account> loader) {
+        return accountReads.execute(accNo, loader);
+    }
+
+    public List<Transaction> history(String accNo, Supplier<List<Transaction>> loader) {
+        return historyReads.execute(accNo, loader);
+    }
+
+    public SingleFlight<String, Account> getAccountReads() {
+        return accountReads;
+    }
+
+    public SingleFlight<String, List<Transaction>> getHistoryReads() {
+        return historyReads;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "account", accountReads);
+        bind(registry, "history", historyReads);
+    }
+
+    private void bind(MeterRegistry registry, String read, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("banking.reads.calls", flight, SingleFlight::getCalls)
+                .tag("read", read)
+                .description("Lookups requested by callers")
+                .register(registry);
+        FunctionCounter.builder("banking.reads.queries", flight, SingleFlight::getExecutions)
+                .tag("read", read)
+                .description("Lookups that actually went to MongoDB")
+                .register(registry);
+        Gauge.builder("banking.reads.coalescing.ratio", flight, SingleFlight::getCoalescingRatio)
+                .tag("read", read)
+                .description("Share of lookups served by another caller's in-flight query")
+                .register(registry);
+    }
+}
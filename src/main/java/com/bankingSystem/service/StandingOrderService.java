@@ -0,0 +1,15 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.StandingOrder;
+
+import java.time.Instant;
+
+public interface StandingOrderService {
+
+    StandingOrder createOrder(String src, String dest, Double amt, StandingOrder.Frequency frequency, Instant firstRunAt);
+
+    StandingOrder getOrder(String orderId);
+
+    StandingOrder cancelOrder(String orderId);
+
+}
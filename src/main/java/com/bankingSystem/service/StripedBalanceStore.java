@@ -0,0 +1,152 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.BalanceStripe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Sub-balance striping for hot accounts. A striped account's balance lives in K
+// balance_stripes documents instead of the account document:
+//   credit - atomic $inc on one random stripe, so concurrent credits rarely touch the same document
+//   debit  - conditional $inc on as many stripes as needed to cover the amount (richest first);
+//            if the stripes cannot cover it the partial takes are put back
+//   read   - sum of the stripes, cached for aggregate-ttl-ms; a credit adds to the cached sum
+@Component
+public class StripedBalanceStore {
+
+    private static final Logger log = LoggerFactory.getLogger(StripedBalanceStore.class);
+    private static final int DEBIT_ATTEMPTS = 3;
+
+    private final MongoTemplate mongo;
+    private final long aggregateTtlNanos;
+    private final ConcurrentHashMap<String, CachedTotal> totals = new ConcurrentHashMap<>();
+    private final AtomicBoolean indexed = new AtomicBoolean();
+
+    public StripedBalanceStore(MongoTemplate mongo,
+                               @Value("${banking.stripes.aggregate-ttl-ms:200}") long aggregateTtlMillis) {
+        this.mongo = mongo;
+        this.aggregateTtlNanos = TimeUnit.MILLISECONDS.toNanos(aggregateTtlMillis);
+    }
+
+    // Creates empty stripes, slot 0 not yet opened. Safe to repeat: existing stripes are left alone.
+    public void create(String accNo, int stripes) {
+        ensureIndex();
+        for (int slot = 0; slot < stripes; slot++) {
+            Update update = new Update()
+                    .setOnInsert("accountNumber", accNo)
+                    .setOnInsert("slot", slot)
+                    .setOnInsert("balance", 0.0);
+            if (slot == 0) update.setOnInsert("opened", false);
+            mongo.upsert(Query.query(where("_id").is(BalanceStripe.idOf(accNo, slot))), update, BalanceStripe.class);
+        }
+        totals.remove(accNo);
+    }
+
+    // Adds the account's final stored balance to slot 0, once; false if it was already opened.
+    // Credits and debits may have landed in the stripes meanwhile, so this increments.
+    public boolean open(String accNo, double openingBalance) {
+        boolean opened = mongo.updateFirst(
+                Query.query(where("_id").is(BalanceStripe.idOf(accNo, 0)).and("opened").is(false)),
+                new Update().inc("balance", openingBalance).set("opened", true), BalanceStripe.class).getModifiedCount() == 1;
+        totals.remove(accNo);
+        return opened;
+    }
+
+    // false (and nothing credited) if the chosen stripe does not exist
+    public boolean credit(String accNo, int stripes, double amt) {
+        int slot = ThreadLocalRandom.current().nextInt(stripes);
+        boolean applied = mongo.updateFirst(Query.query(where("_id").is(BalanceStripe.idOf(accNo, slot))),
+                new Update().inc("balance", amt), BalanceStripe.class).getMatchedCount() == 1;
+        // the credit is known to be in the stripes, so the cached sum stays valid with it added
+        if (applied) totals.computeIfPresent(accNo, (k, c) -> new CachedTotal(c.total + amt, c.expiresAt));
+        return applied;
+    }
+
+    // returns false (and leaves the stripes unchanged) if the total cannot cover amt
+    public boolean debit(String accNo, double amt) {
+        List<double[]> taken = new ArrayList<>();    // {slot, amount}
+        double need = amt;
+
+        for (int attempt = 0; attempt < DEBIT_ATTEMPTS && need > 0; attempt++) {
+            for (BalanceStripe stripe : load(accNo)) {
+                if (need <= 0) break;
+                double take = Math.min(stripe.getBalance(), need);
+                if (take <= 0) continue;
+
+                boolean applied = mongo.updateFirst(
+                        Query.query(where("_id").is(stripe.getId()).and("balance").gte(take)),
+                        new Update().inc("balance", -take), BalanceStripe.class).getModifiedCount() == 1;
+                if (applied) {
+                    taken.add(new double[]{stripe.getSlot(), take});
+                    need -= take;
+                }
+            }
+        }
+        totals.remove(accNo);
+
+        if (need > 1e-9) {
+            for (double[] t : taken) {
+                mongo.updateFirst(Query.query(where("_id").is(BalanceStripe.idOf(accNo, (int) t[0]))),
+                        new Update().inc("balance", t[1]), BalanceStripe.class);
+            }
+            log.info("Stripes: debit of {} on account='{}' not covered", amt, accNo);
+            return false;
+        }
+        return true;
+    }
+
+    public double balance(String accNo) {
+        CachedTotal cached = totals.get(accNo);
+        long now = System.nanoTime();
+        if (cached != null && now < cached.expiresAt) {
+            return cached.total;
+        }
+        double total = freshBalance(accNo);
+        totals.put(accNo, new CachedTotal(total, now + aggregateTtlNanos));
+        return total;
+    }
+
+    public double freshBalance(String accNo) {
+        double total = 0;
+        for (BalanceStripe stripe : load(accNo)) total += stripe.getBalance();
+        return total;
+    }
+
+    private List<BalanceStripe> load(String accNo) {
+        ensureIndex();
+        Query query = Query.query(where("accountNumber").is(accNo)).with(Sort.by(Sort.Direction.DESC, "balance"));
+        return mongo.find(query, BalanceStripe.class);
+    }
+
+    // once per node, on first use: every stripe read is by account, richest first. Retried on the
+    // next call if MongoDB refused it
+    private void ensureIndex() {
+        if (!indexed.compareAndSet(false, true)) return;
+        try {
+            mongo.indexOps(BalanceStripe.class).ensureIndex(new Index()
+                    .on("accountNumber", Sort.Direction.ASC)
+                    .on("balance", Sort.Direction.DESC)
+                    .named("accountNumber_balance"));
+        } catch (RuntimeException e) {
+            indexed.set(false);
+            log.warn("Stripes: could not ensure the stripe index: {}", e.getMessage());
+        }
+    }
+
+    private record CachedTotal(double total, long expiresAt) {}
+}
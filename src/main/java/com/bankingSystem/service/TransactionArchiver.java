@@ -0,0 +1,65 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Moves monthly transaction partitions older than hot-months out of MongoDB into gzip archives.
+// Only runs when partitioning is enabled; a failed month is logged and retried on the next run.
+@Component
+public class TransactionArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+
+    private final TransactionRepository txnRepo;
+    private final int hotMonths;
+    private final ScheduledExecutorService scheduler;
+
+    public TransactionArchiver(TransactionRepository txnRepo,
+                               @Value("${banking.txn.partitioning.hot-months:3}") int hotMonths,
+                               @Value("${banking.txn.partitioning.archive-interval-hours:24}") long intervalHours) {
+        this.txnRepo = txnRepo;
+        this.hotMonths = Math.max(1, hotMonths);
+
+        if (txnRepo.isPartitioned()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "txn-archiver");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::runSafely, intervalHours, intervalHours, TimeUnit.HOURS);
+            log.info("TransactionArchiver: keeping {} hot months, archiving every {}h", this.hotMonths, intervalHours);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public int archiveColdPartitions() {
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(hotMonths - 1L);
+        int archived = txnRepo.archivePartitionsBefore(cutoff);
+        log.info("Service: archived {} transaction partitions before {}", archived, cutoff);
+        return archived;
+    }
+
+    private void runSafely() {
+        try {
+            archiveColdPartitions();
+        } catch (RuntimeException e) {
+            log.error("TransactionArchiver: run failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+}
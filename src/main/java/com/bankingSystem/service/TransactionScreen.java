@@ -0,0 +1,17 @@
+package com.bankingSystem.service;
+
+// Pre-commit check run on every deposit, withdrawal and transfer before anything is written.
+// Implementations must be cheap (in-memory only) - they run on the request thread.
+public interface TransactionScreen {
+
+    enum Decision { ALLOW, FLAG, BLOCK }
+
+    enum Direction { CREDIT, DEBIT }
+
+    Decision screen(String accNo, Direction direction, double amount);
+
+    // the screened operation did not happen (declined, not found, failed), so it should not
+    // count towards anything screen() recorded for it
+    default void release(String accNo, Direction direction, double amount) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+// Group commit for transaction records: inserts from concurrent requests are collected for up to
+// window-ms (or until max-batch records are waiting) and written with one insertMany.
+// write() only returns once the caller's own record has been acknowledged by MongoDB.
+// A window of 0 disables grouping and saves every record directly. With partitioning enabled
+// records are appended to their monthly collection instead of the base one.
+@Component
+public class TransactionWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionWriter.class);
+
+    private final TransactionRepository txnRepo;
+    private final long windowNanos;
+    private final int maxBatch;
+
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public TransactionWriter(TransactionRepository txnRepo,
+                             @Value("${banking.txn.group-commit.window-ms:2}") long windowMs,
+                             @Value("${banking.txn.group-commit.max-batch:256}") int maxBatch) {
+        this.txnRepo = txnRepo;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatch = Math.max(1, maxBatch);
+
+        if (windowMs > 0) {
+            // bounded so producers block (backpressure) if MongoDB falls behind
+            this.queue = new ArrayBlockingQueue<>(this.maxBatch * 16);
+            this.flusher = new Thread(this::run, "txn-group-commit");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+            log.info("TransactionWriter: group commit enabled window={}ms maxBatch={}", windowMs, this.maxBatch);
+        } else {
+            this.queue = null;
+            this.flusher = null;
+        }
+    }
+
+    public Transaction write(Transaction txn) {
+        if (flusher == null || !running) {
+            return writeDirect(txn);
+        }
+
+        PendingWrite pending = new PendingWrite(txn);
+        try {
+            // bounded wait, so a producer does not sit on a full queue the flusher has stopped draining
+            while (!queue.offer(pending, 100, TimeUnit.MILLISECONDS)) {
+                if (!running) return writeDirect(txn);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing transaction " + txn.getTransactionId(), e);
+        }
+        // queued just as shutdown began: if the flusher has not taken it, nothing will, so write
+        // it here; otherwise the flusher (or the shutdown drain) completes it
+        if (!running && queue.remove(pending)) {
+            return writeDirect(txn);
+        }
+
+        try {
+            return pending.ack.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private Transaction writeDirect(Transaction txn) {
+        if (txnRepo.isPartitioned()) {
+            txnRepo.append(List.of(txn));
+            return txn;
+        }
+        return txnRepo.save(txn);
+    }
+
+    // Takes back a record written by write() whose balance change did not happen. Runs after
+    // write() returned, so the record is already stored wherever it was appended.
+    public void retract(String txnId) {
+        txnRepo.deleteByTransactionIds(List.of(txnId));
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // shutdown: loop drains whatever is still queued
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<Transaction> txns = new ArrayList<>(batch.size());
+        for (PendingWrite w : batch) txns.add(w.txn);
+
+        try {
+            if (txnRepo.isPartitioned()) {
+                txnRepo.append(txns);
+            } else {
+                txnRepo.saveAll(txns);
+            }
+            log.debug("TransactionWriter: flushed {} transactions", txns.size());
+            for (PendingWrite w : batch) w.ack.complete(w.txn);
+        } catch (RuntimeException e) {
+            // an ordered insert stops at the first bad record, with the ones before it already
+            // stored: settle each record on its own so one bad record fails only its own caller
+            log.warn("TransactionWriter: batch insert of {} transactions failed, writing them one by one: {}",
+                    txns.size(), e.getMessage());
+            for (PendingWrite w : batch) flushOne(w);
+        }
+    }
+
+    private void flushOne(PendingWrite w) {
+        try {
+            if (!txnRepo.existsByTransactionId(w.txn.getTransactionId())) {
+                writeDirect(w.txn);
+            }
+            w.ack.complete(w.txn);
+        } catch (RuntimeException e) {
+            log.error("TransactionWriter: insert of transaction {} failed", w.txn.getTransactionId(), e);
+            w.ack.completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) return;
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // whatever the flusher did not get to in time: fail it rather than leave its caller waiting
+        List<PendingWrite> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) {
+            log.error("TransactionWriter: {} transactions still queued at shutdown, failing them", left.size());
+            IllegalStateException stopped = new IllegalStateException("Transaction writer shut down");
+            for (PendingWrite w : left) w.ack.completeExceptionally(stopped);
+        }
+    }
+
+    private static final class PendingWrite {
+        final Transaction txn;
+        final CompletableFuture<Transaction> ack = new CompletableFuture<>();
+
+        PendingWrite(Transaction txn) {
+            this.txn = txn;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.TransferSaga;
+
+public interface TransferSagaService {
+
+    TransferSaga startTransfer(String src, String dest, Double amt);
+
+    TransferSaga getTransfer(String transferId);
+
+}
@@ -0,0 +1,406 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.dto.ImportReport;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.ArchivedAccount;
+import com.bankingSystem.service.AccountImportService;
+import com.bankingSystem.util.IdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Streaming bulk onboarding:
+//   reader (caller thread) -> parse + validate -> batches -> bounded queue -> inserter pool
+// The bounded queue is the backpressure: the reader blocks while inserters are behind.
+// Each batch gets account numbers checked against MongoDB (and the unique index as the final
+// guard) and is written with one unordered insertMany; rows rejected by MongoDB are retried with
+// new numbers on duplicate key, otherwise reported. The checkpoint file records the line ranges of
+// committed batches (one "first-last" per line), so a re-run with the same import id skips every
+// committed batch, including those that finished ahead of an earlier one that failed. A checkpoint
+// that cannot be written stops the import, as a re-run would otherwise import the batch again.
+@Service
+public class AccountImportServiceImpl implements AccountImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountImportServiceImpl.class);
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int ALLOCATION_ROUNDS = 5;
+    private static final int INSERT_ATTEMPTS = 3;
+
+    private final MongoTemplate mongo;
+    private final ObjectMapper mapper;
+    private final int batchSize;
+    private final int inserters;
+    private final int queueBatches;
+    private final Path checkpointDir;
+    private volatile boolean indexEnsured;
+
+    public AccountImportServiceImpl(MongoTemplate mongo, ObjectMapper mapper,
+                                    @Value("${banking.import.batch-size:5000}") int batchSize,
+                                    @Value("${banking.import.inserters:4}") int inserters,
+                                    @Value("${banking.import.queue-batches:8}") int queueBatches,
+                                    @Value("${banking.import.checkpoint-dir:import-checkpoints}") String checkpointDir) {
+        this.mongo = mongo;
+        this.mapper = mapper;
+        this.batchSize = batchSize;
+        this.inserters = inserters;
+        this.queueBatches = queueBatches;
+        this.checkpointDir = Path.of(checkpointDir);
+    }
+
+    @Override
+    public ImportReport importAccounts(String importId, InputStream input, Format format) {
+
+        long start = System.nanoTime();
+        ensureUniqueIndex();
+
+        ImportReport report = new ImportReport(importId);
+        Checkpoint checkpoint = new Checkpoint(importId, readCheckpoint(importId), report);
+        log.info("Import '{}': starting ({}), {} committed ranges", importId, format, checkpoint.done.size());
+
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueBatches);
+        ExecutorService pool = Executors.newFixedThreadPool(inserters);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < inserters; i++) {
+            workers.add(pool.submit(() -> consume(queue, report, checkpoint)));
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long line = 0;
+            Batch batch = new Batch(1);
+            String raw;
+            while ((raw = reader.readLine()) != null && !checkpoint.aborted) {
+                line++;
+                if (checkpoint.covers(line)) {
+                    report.rowSkipped();
+                    continue;
+                }
+                if (raw.isBlank() || (format == Format.CSV && line == 1 && raw.trim().equalsIgnoreCase("holderName"))) {
+                    continue;
+                }
+                report.rowRead();
+
+                String name;
+                try {
+                    name = format == Format.CSV ? parseCsv(raw) : parseNdjson(raw);
+                } catch (IOException | RuntimeException e) {
+                    report.rowFailed(line, "Unparseable row: " + e.getMessage());
+                    continue;
+                }
+                String invalid = validate(name);
+                if (invalid != null) {
+                    report.rowFailed(line, invalid);
+                    continue;
+                }
+
+                batch.add(line, name.trim());
+                if (batch.rows.size() >= batchSize) {
+                    batch.lastLine = line;
+                    queue.put(batch);
+                    batch = new Batch(line + 1);
+                }
+            }
+            batch.lastLine = line;
+            if (batch.lastLine >= batch.firstLine) queue.put(batch);
+        } catch (IOException e) {
+            log.error("Import '{}': input read failed", importId, e);
+            report.rowFailed(-1, "Input read failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            checkpoint.aborted = true;
+        } finally {
+            for (int i = 0; i < inserters; i++) {
+                try {
+                    queue.put(Batch.END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            for (Future<?> w : workers) {
+                try {
+                    w.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    log.error("Import '{}': inserter failed", importId, e);
+                }
+            }
+            pool.shutdown();
+        }
+
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Import '{}': {} imported, {} failed, {} skipped in {}ms", importId,
+                report.getImported(), report.getFailed(), report.getSkipped(), report.getElapsedMillis());
+        return report;
+    }
+
+    private void consume(BlockingQueue<Batch> queue, ImportReport report, Checkpoint checkpoint) {
+        while (true) {
+            Batch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch == Batch.END) return;
+            if (checkpoint.aborted) continue;   // keep draining so the reader never blocks
+
+            try {
+                insert(batch.rows, report, 1);
+            } catch (RuntimeException e) {
+                // infrastructure failure: stop, and leave the checkpoint before this batch
+                log.error("Import '{}': batch {}-{} failed, aborting", report.getImportId(), batch.firstLine, batch.lastLine, e);
+                report.rowFailed(batch.firstLine, "Batch up to line " + batch.lastLine + " not imported: " + e.getMessage());
+                checkpoint.aborted = true;
+                continue;
+            }
+            try {
+                checkpoint.completed(batch);
+            } catch (UncheckedIOException e) {
+                // the batch is in, but a re-run would not know it and import its rows a second time
+                // under new numbers: stop before more batches depend on a checkpoint that is not there
+                log.error("Import '{}': batch {}-{} imported but not checkpointed, aborting", report.getImportId(),
+                        batch.firstLine, batch.lastLine, e);
+                report.rowFailed(batch.firstLine, "Batch up to line " + batch.lastLine
+                        + " imported but the checkpoint could not be written, fix it before re-running: " + e.getMessage());
+                checkpoint.aborted = true;
+            }
+        }
+    }
+
+    private void insert(List<Row> rows, ImportReport report, int attempt) {
+        if (rows.isEmpty()) return;
+        List<Account> accounts = allocate(rows);
+
+        try {
+            mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Account.class).insert(accounts).execute();
+            report.rowsImported(accounts.size());
+        } catch (BulkOperationException e) {
+            report.rowsImported(e.getResult().getInsertedCount());
+            List<Row> retry = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                Row row = rows.get(error.getIndex());
+                if (error.getCode() == DUPLICATE_KEY && attempt < INSERT_ATTEMPTS) {
+                    retry.add(row);
+                } else {
+                    report.rowFailed(row.line, error.getCode() == DUPLICATE_KEY
+                            ? "No free account number for prefix " + row.name.substring(0, 3).toUpperCase()
+                            : error.getMessage());
+                }
+            }
+            insert(retry, report, attempt + 1);
+        }
+    }
+
+    // candidate numbers unique within the batch, then re-drawn until none exists in MongoDB, live or archived
+    List<Account> allocate(List<Row> rows) {
+        Set<String> taken = new HashSet<>();
+        String[] numbers = new String[rows.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = draw(rows.get(i).name, taken);
+        }
+
+        for (int round = 0; round < ALLOCATION_ROUNDS; round++) {
+            Query query = Query.query(where("accountNumber").in(Arrays.asList(numbers)));
+            query.fields().include("accountNumber");
+            Set<String> existing = new HashSet<>();
+            for (Account a : mongo.find(query, Account.class)) existing.add(a.getAccountNumber());
+            // archived accounts keep their number, as in createAccount
+            for (ArchivedAccount a : mongo.find(query, ArchivedAccount.class)) existing.add(a.getAccountNumber());
+            if (existing.isEmpty()) break;
+
+            for (int i = 0; i < numbers.length; i++) {
+                if (existing.contains(numbers[i])) numbers[i] = draw(rows.get(i).name, taken);
+            }
+        }
+
+        List<Account> accounts = new ArrayList<>(numbers.length);
+        for (int i = 0; i < numbers.length; i++) {
+            accounts.add(new Account(numbers[i], rows.get(i).name));
+        }
+        return accounts;
+    }
+
+    private String draw(String name, Set<String> taken) {
+        String candidate = IdGenerator.generateAccountNumber(name);
+        for (int i = 0; i < 20 && !taken.add(candidate); i++) {
+            candidate = IdGenerator.generateAccountNumber(name);
+        }
+        return candidate;
+    }
+
+    static String validate(String name) {
+        if (name == null || name.isBlank()) return "Name is required";
+        String trimmed = name.trim();
+        // account numbers are the first three letters of the name + 4 digits
+        if (trimmed.length() < 3 || !trimmed.substring(0, 3).toUpperCase().matches("[A-Z]{3}")) {
+            return "Name must start with three letters";
+        }
+        return null;
+    }
+
+    static String parseCsv(String raw) {
+        String line = raw.trim();
+        if (line.startsWith("\"")) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 1; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        sb.append('"');
+                        i++;
+                    } else {
+                        return sb.toString();
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw new IllegalArgumentException("unterminated quote");
+        }
+        int comma = line.indexOf(',');
+        return comma < 0 ? line : line.substring(0, comma);
+    }
+
+    private String parseNdjson(String raw) throws IOException {
+        return mapper.readTree(raw).path("holderName").asText(null);
+    }
+
+    private void ensureUniqueIndex() {
+        if (indexEnsured) return;
+        try {
+            mongo.indexOps(Account.class).ensureIndex(new Index().on("accountNumber", Sort.Direction.ASC).unique());
+            indexEnsured = true;
+        } catch (RuntimeException e) {
+            log.warn("Import: could not ensure unique index on accountNumber: {}", e.getMessage());
+        }
+    }
+
+    // committed ranges, first line -> last line; a bare number (older checkpoints) is 1 to it
+    private TreeMap<Long, Long> readCheckpoint(String importId) {
+        Path file = checkpointFile(importId);
+        TreeMap<Long, Long> ranges = new TreeMap<>();
+        try {
+            if (!Files.exists(file)) return ranges;
+            for (String range : Files.readAllLines(file)) {
+                if (range.isBlank()) continue;
+                int dash = range.indexOf('-');
+                if (dash < 0) {
+                    ranges.put(1L, Long.parseLong(range.trim()));
+                } else {
+                    ranges.put(Long.parseLong(range.substring(0, dash).trim()), Long.parseLong(range.substring(dash + 1).trim()));
+                }
+            }
+            return ranges;
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Import '{}': unreadable checkpoint, starting from the top", importId);
+            return new TreeMap<>();
+        }
+    }
+
+    private Path checkpointFile(String importId) {
+        return checkpointDir.resolve(importId.replaceAll("[^A-Za-z0-9._-]", "_") + ".checkpoint");
+    }
+
+    static final class Row {
+        final long line;
+        final String name;
+
+        Row(long line, String name) {
+            this.line = line;
+            this.name = name;
+        }
+    }
+
+    private static final class Batch {
+        static final Batch END = new Batch(-1);
+
+        final long firstLine;
+        long lastLine;
+        final List<Row> rows = new ArrayList<>();
+
+        Batch(long firstLine) {
+            this.firstLine = firstLine;
+        }
+
+        void add(long line, String name) {
+            rows.add(new Row(line, name));
+        }
+    }
+
+    // Inserters finish batches out of order; every committed batch is recorded as its line range
+    // (adjacent ranges merged), so a batch that failed behind later ones is the only one redone.
+    // The reported checkpoint line is the end of the range from line 1.
+    private final class Checkpoint {
+        private final String importId;
+        private final ImportReport report;
+        private final TreeMap<Long, Long> done;
+        volatile boolean aborted;
+
+        Checkpoint(String importId, TreeMap<Long, Long> done, ImportReport report) {
+            this.importId = importId;
+            this.done = done;
+            this.report = report;
+            report.setCheckpointLine(prefix());
+        }
+
+        synchronized boolean covers(long line) {
+            Map.Entry<Long, Long> range = done.floorEntry(line);
+            return range != null && range.getValue() >= line;
+        }
+
+        synchronized void completed(Batch batch) {
+            long first = batch.firstLine;
+            long last = batch.lastLine;
+            Map.Entry<Long, Long> before = done.floorEntry(first - 1);
+            if (before != null && before.getValue() >= first - 1) {
+                first = before.getKey();
+                last = Math.max(last, before.getValue());
+                done.remove(before.getKey());
+            }
+            Long after;
+            while ((after = done.ceilingKey(first)) != null && after <= last + 1) {
+                last = Math.max(last, done.remove(after));
+            }
+            done.put(first, last);
+            write();
+            report.setCheckpointLine(prefix());
+        }
+
+        private long prefix() {
+            Long end = done.get(1L);
+            return end == null ? 0 : end;
+        }
+
+        private void write() {
+            StringBuilder ranges = new StringBuilder();
+            done.forEach((first, last) -> ranges.append(first).append('-').append(last).append('\n'));
+            try {
+                Files.createDirectories(checkpointDir);
+                Path tmp = Files.createTempFile(checkpointDir, "checkpoint", ".tmp");
+                Files.writeString(tmp, ranges);
+                Files.move(tmp, checkpointFile(importId), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("could not write checkpoint " + ranges.toString().trim(), e);
+            }
+        }
+    }
+}
@@ -1,41 +1,114 @@
 package com.bankingSystem.service.impl;
 
+import com.bankingSystem.dto.AccountOverview;
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.dto.MultiAccountView;
 import com.bankingSystem.exception.*;
 import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.ArchivedAccount;
+import com.bankingSystem.model.Posting;
 import com.bankingSystem.model.Transaction;
 import com.bankingSystem.repository.AccountRepository;
 import com.bankingSystem.repository.TransactionRepository;
 import com.bankingSystem.service.AccountService;
+import com.bankingSystem.service.AccountStatusCache;
+import com.bankingSystem.service.FxRateProvider;
+import com.bankingSystem.service.ParallelHistoryReader;
+import com.bankingSystem.service.BalanceNotifier;
+import com.bankingSystem.service.ReadCoalescer;
+import com.bankingSystem.service.StripedBalanceStore;
+import com.bankingSystem.service.TransactionScreen;
+import com.bankingSystem.service.TransactionWriter;
 import com.bankingSystem.util.IdGenerator;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+// one span per call from outside the class (calls between its own methods are not proxied)
+@Observed(name = "banking.service")
 @Service
 public class AccountServiceImpl implements AccountService {
 
     private static final Logger log = LoggerFactory.getLogger(AccountServiceImpl.class);
+    private static final int MAX_STRIPES = 64;
+    private static final int MAX_NUMBER_ATTEMPTS = 10;
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_MULTI_GET = 200;
 
 
     private final AccountRepository accRepo;
     private final TransactionRepository txnRepo;
-
-    public AccountServiceImpl(AccountRepository accRepo, TransactionRepository txnRepo) {
+    private final ReadCoalescer reads;
+    private final TransactionWriter txnWriter;
+    private final TransactionScreen[] screens;
+    private final StripedBalanceStore stripes;
+    private final BalanceNotifier notifier;
+    private final AccountStatusCache statusCache;
+    private final FxRateProvider fx;
+    private final ParallelHistoryReader history;
+    private final Duration sinceOverlap;
+
+    public AccountServiceImpl(AccountRepository accRepo, TransactionRepository txnRepo,
+                              ReadCoalescer reads, TransactionWriter txnWriter,
+                              List<TransactionScreen> screens, StripedBalanceStore stripes,
+                              BalanceNotifier notifier, AccountStatusCache statusCache,
+                              FxRateProvider fx, ParallelHistoryReader history,
+                              @Value("${banking.history.since-overlap-millis:5000}") long sinceOverlapMillis) {
         this.accRepo = accRepo;
         this.txnRepo = txnRepo;
+        this.reads = reads;
+        this.txnWriter = txnWriter;
+        this.screens = screens.toArray(new TransactionScreen[0]);
+        this.stripes = stripes;
+        this.notifier = notifier;
+        this.statusCache = statusCache;
+        this.fx = fx;
+        this.history = history;
+        this.sinceOverlap = Duration.ofMillis(Math.max(0, sinceOverlapMillis));
     }
 
     @Override
     public Account createAccount(String name) {
+        return createAccount(name, null);
+    }
+
+    @Override
+    public Account createAccount(String name, String currency) {
 
         log.info("Service: Creating account for holder='{}'", name);
 
+        if (currency != null && !fx.supports(currency)) {
+            throw new InvalidRequestException("Unsupported currency: " + currency);
+        }
+
         String accNo = IdGenerator.generateAccountNumber(name);
+        // archived accounts keep their number
+        for (int attempt = 1; accRepo.existsByAccountNumber(accNo) || accRepo.existsArchived(accNo); attempt++) {
+            if (attempt == MAX_NUMBER_ATTEMPTS) {
+                // the prefix is crowded: saving a number that is taken would make a duplicate
+                log.error("Service: No free account number for holder='{}' after {} attempts", name, attempt);
+                throw new InvalidRequestException("No free account number for prefix " + accNo.substring(0, 3));
+            }
+            accNo = IdGenerator.generateAccountNumber(name);
+        }
         log.info("Service: Generated account number='{}' for holder='{}'", accNo, name);
 
         Account acc = new Account(accNo, name);
+        if (currency != null) acc.setCurrency(currency);
         Account saved = accRepo.save(acc);
         log.info("Service: Account saved in DB with accountNumber='{}'", saved.getAccountNumber());
 
@@ -43,16 +116,71 @@ public class AccountServiceImpl implements AccountService {
     }
 
     private void validateAccountNumberFormat(String accNo) {
-        // Account number must be: 3 letters + 4 digits  e.g. ASH1234
-        if (accNo == null || !accNo.matches("^[A-Z]{3}[0-9]{4}$")) {
+        if (!isAccountNumber(accNo)) {
             throw new InvalidAccountNumberException("Invalid account number format");
         }
-        log.info("Service: Account number '{}' passed validation.", accNo);
+    }
 
+    // 3 letters + 4 digits e.g. ASH1234; checked by hand, String.matches compiles a Pattern per call
+    public static boolean isAccountNumber(String accNo) {
+        if (accNo == null || accNo.length() != 7) return false;
+        for (int i = 0; i < 7; i++) {
+            char c = accNo.charAt(i);
+            if (i < 3 ? c < 'A' || c > 'Z' : c < '0' || c > '9') return false;
+        }
+        return true;
     }
 
 
 
+    // pre-commit risk stage: runs before any DB access, BLOCK aborts the operation. Screens
+    // count the attempt as they pass it, so an operation that does not go through afterwards
+    // has to hand it back with unscreen
+    private void screen(String accNo, TransactionScreen.Direction direction, double amt) {
+        for (int i = 0; i < screens.length; i++) {
+            TransactionScreen s = screens[i];
+            TransactionScreen.Decision decision = s.screen(accNo, direction, amt);
+            if (decision == TransactionScreen.Decision.BLOCK) {
+                log.error("Service: {} of {} on account='{}' blocked by {}", direction, amt, accNo, s.getClass().getSimpleName());
+                for (int j = 0; j < i; j++) screens[j].release(accNo, direction, amt);
+                throw new TransactionBlockedException("Transaction blocked by risk checks");
+            }
+            if (decision == TransactionScreen.Decision.FLAG) {
+                log.warn("Service: {} of {} on account='{}' flagged by {}", direction, amt, accNo, s.getClass().getSimpleName());
+            }
+        }
+    }
+
+    void unscreen(String accNo, TransactionScreen.Direction direction, double amt) {
+        for (TransactionScreen s : screens) s.release(accNo, direction, amt);
+    }
+
+    // for a transfer that passed validateTransfer but was not made
+    void unscreenTransfer(String src, String dest, double amt) {
+        unscreen(src, TransactionScreen.Direction.DEBIT, amt);
+        unscreen(dest, TransactionScreen.Direction.CREDIT, amt);
+    }
+
+    // early exit for an account already known to be frozen or closed - no read needed
+    private void checkCachedStatus(String accNo, TransactionScreen.Direction direction) {
+        AccountStatus known = statusCache.restrictedStatus(accNo);
+        if (known != null) requireAllows(accNo, known, direction);
+    }
+
+    // the authoritative check, on the document the operation has loaded anyway
+    private void requireStatus(Account acc, TransactionScreen.Direction direction) {
+        statusCache.record(acc.getAccountNumber(), acc.getStatus());
+        requireAllows(acc.getAccountNumber(), acc.getStatus(), direction);
+    }
+
+    private static void requireAllows(String accNo, AccountStatus status, TransactionScreen.Direction direction) {
+        boolean allowed = direction == TransactionScreen.Direction.DEBIT ? status.allowsDebit() : status.allowsCredit();
+        if (!allowed) {
+            log.error("Service: {} on account='{}' rejected, account is {}", direction, accNo, status);
+            throw new AccountStatusException("Account is " + status);
+        }
+    }
+
     @Override
     public Account getAccount(String accNo) {
 
@@ -60,47 +188,90 @@ public class AccountServiceImpl implements AccountService {
 
         validateAccountNumberFormat(accNo);
 
-        Account acc = accRepo.findByAccountNumber(accNo)
-                .orElseThrow(() -> new AccountNotFoundException("Account Not Found"));
+        // concurrent lookups of the same account share one query and one (read-only) result
+        Account acc = reads.account(accNo, () -> {
+            Account found = findAccount(accNo);
+            if (found.isStriped()) found.setBalance(stripes.balance(accNo));
+            return found;
+        });
 
         log.info("Service: Account='{}' found with balance={}", accNo, acc.getBalance());
 
         return acc;
     }
 
+    // many accounts in one $in query, then their latest transactions fetched side by side
     @Override
-    public Account deposit(String accNo, Double amt) {
+    public MultiAccountView getAccounts(List<String> accNos, int recent) {
 
-        log.info("Service: Deposit request: account='{}', amount={}", accNo, amt);
+        log.info("Service: Fetching {} accounts with {} recent transactions each", accNos.size(), recent);
 
-        validateAccountNumberFormat(accNo);
-        if (amt == null || amt <= 0) throw new InvalidAmountException("Invalid Amount");
+        List<String> wanted = accNos.stream().distinct().toList();
+        if (wanted.isEmpty() || wanted.size() > MAX_MULTI_GET) {
+            throw new InvalidRequestException("Between 1 and " + MAX_MULTI_GET + " account numbers per request");
+        }
+        if (recent < 0 || recent > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Recent transactions must be between 0 and " + MAX_PAGE_SIZE);
+        }
+        wanted.forEach(this::validateAccountNumberFormat);
 
-        Account acc = getAccount(accNo);
+        Map<String, Account> found = new HashMap<>();
+        for (Account acc : accRepo.findByAccountNumberIn(wanted)) {
+            if (acc.isStriped()) acc.setBalance(stripes.balance(acc.getAccountNumber()));
+            found.put(acc.getAccountNumber(), acc);
+        }
+        List<String> present = wanted.stream().filter(found::containsKey).toList();
+        Map<String, List<Transaction>> latest = recent == 0 || present.isEmpty()
+                ? Map.of() : history.latest(present, recent);
 
-        double newBalance = acc.getBalance() + amt;
-        log.info("Service: New balance after deposit = {}", newBalance);
+        List<AccountOverview> accounts = new ArrayList<>(present.size());
+        for (String accNo : present) {
+            accounts.add(new AccountOverview(found.get(accNo), latest.getOrDefault(accNo, List.of())));
+        }
+        List<String> notFound = wanted.stream().filter(a -> !found.containsKey(a)).toList();
 
-        acc.setBalance(newBalance);
+        log.info("Service: Fetched {} accounts, {} not found", accounts.size(), notFound.size());
 
-        Transaction txn = new Transaction(
-                IdGenerator.generateTransactionId(),
-                "DEPOSIT",
-                amt,
-                "SUCCESS",
-                accNo,
-                null
-        );
+        return new MultiAccountView(accounts, notFound);
+    }
 
-        txnRepo.save(txn);
-        log.info("Service: Deposit transaction created txnId='{}'", txn.getTransactionId());
+    // private copy for callers that modify and save the account
+    private Account loadAccount(String accNo) {
+        validateAccountNumberFormat(accNo);
+        return load(accNo);
+    }
 
-        acc.getTransactionIds().add(txn.getTransactionId());
+    // loadAccount for a number the caller has already validated
+    private Account load(String accNo) {
+        Account acc = findAccount(accNo);
+        // striped balances are authoritative in the stripes; the stored field is ignored
+        if (acc.isStriped()) acc.setBalance(stripes.freshBalance(accNo));
+        return acc;
+    }
 
-        Account updated = accRepo.save(acc);
-        log.info("Service: Account updated after deposit account='{}'", accNo);
+    private Account findAccount(String accNo) {
+        return accRepo.findByAccountNumber(accNo)
+                .orElseThrow(() -> new AccountNotFoundException("Account Not Found"));
+    }
 
-        return updated;
+    @Override
+    public Account deposit(String accNo, Double amt) {
+
+        log.info("Service: Deposit request: account='{}', amount={}", accNo, amt);
+
+        validateCredit(accNo, amt);
+
+        try {
+            Account acc = load(accNo);
+            requireStatus(acc, TransactionScreen.Direction.CREDIT);
+            if (acc.isStriped()) {
+                return credit(acc, new FxRateProvider.Conversion(amt, null), IdGenerator.generateTransactionId(), "DEPOSIT");
+            }
+            return book(acc, "DEPOSIT", amt);
+        } catch (RuntimeException e) {
+            unscreen(accNo, TransactionScreen.Direction.CREDIT, amt);
+            throw e;
+        }
     }
 
     @Override
@@ -108,125 +279,428 @@ public class AccountServiceImpl implements AccountService {
 
         log.info("Service: Withdraw request: account='{}', amount={}", accNo, amt);
 
-        validateAccountNumberFormat(accNo);
-        if (amt == null || amt <= 0) throw new InvalidAmountException("Invalid Amount");
+        validateDebit(accNo, amt);
+
+        try {
+            Account acc = load(accNo);
+            requireStatus(acc, TransactionScreen.Direction.DEBIT);
+            if (acc.isStriped()) {
+                return debit(acc, amt, IdGenerator.generateTransactionId());
+            }
+
+            if (acc.getAvailableBalance() < amt) {
+                log.error("Service: Insufficient balance for account='{}'", accNo);
+                throw new InsufficientBalanceException("Insufficient Balance");
+            }
+            return book(acc, "WITHDRAW", amt);
+        } catch (RuntimeException e) {
+            unscreen(accNo, TransactionScreen.Direction.DEBIT, amt);
+            throw e;
+        }
+    }
+
+    // The single-account write behind deposits and withdrawals, on a loaded and checked account:
+    // one journal entry against EXTERNAL, then one conditional balance update. The update checks
+    // the status and available balance again on the stored document, so concurrent requests
+    // neither overwrite each other's balance nor overdraw the account between the check and the
+    // write. The entry goes first (as in every other money movement) and is taken back if the
+    // update does not happen, so a balance never moves without its record.
+    private Account book(Account acc, String type, double amt) {
+        String accNo = acc.getAccountNumber();
+        String currency = acc.getCurrency();
+        boolean credit = "DEPOSIT".equals(type);
+        String txnId = IdGenerator.generateTransactionId();
+
+        Transaction txn = new Transaction(txnId, type, amt, "SUCCESS", accNo, null);
+        txn.setCurrency(currency);
+        txn.setPostings(credit
+                ? Posting.move(Posting.EXTERNAL, accNo, amt, currency)
+                : Posting.move(accNo, Posting.EXTERNAL, amt, currency));
+        txnWriter.write(txn);
+        Account updated = credit
+                ? applyRecorded(accNo, amt, txnId, TransactionScreen.Direction.CREDIT)
+                : applyRecorded(accNo, -amt, txnId, TransactionScreen.Direction.DEBIT);
+        notifier.publish(accNo, updated.getBalance(), txn);
+
+        log.info("Service: {} txnId='{}' applied to account='{}'", type, txn.getTransactionId(), accNo);
+        return updated;
+    }
 
-        Account acc = getAccount(accNo);
 
-        if (acc.getBalance() < amt) {
-            log.error("Service: Insufficient balance for account='{}'", accNo);
-            throw new InsufficientBalanceException("Insufficient Balance");
+    @Override
+    public void transfer(String src, String dest, Double amt) {
+
+        log.info("Service: Transfer request: from='{}' to='{}' amount={}", src, dest, amt);
+
+        validateTransfer(src, dest, amt);
+
+        try {
+            transferValidated(src, dest, amt);
+        } catch (RuntimeException e) {
+            unscreenTransfer(src, dest, amt);
+            throw e;
         }
+    }
+
+    private void transferValidated(String src, String dest, double amt) {
+        Account source = load(src);
+        Account destination = load(dest);
+        requireStatus(source, TransactionScreen.Direction.DEBIT);
+        requireStatus(destination, TransactionScreen.Direction.CREDIT);
 
-        double newBalance = acc.getBalance() - amt;
-        log.info("Service: New balance after withdrawal = {}", newBalance);
+        if (source.getAvailableBalance() < amt) {
+            log.error("Service: Insufficient balance for transfer from='{}'", src);
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
 
-        acc.setBalance(newBalance);
+        // FX stage: amt is in the source currency, the destination is credited in its own.
+        // Converted before anything is written, so a missing rate fails the whole transfer.
+        FxRateProvider.Conversion credit = fx.convert(amt, source.getCurrency(), destination.getCurrency());
+
+        if (source.isStriped() || destination.isStriped()) {
+            // fresh ids, so none of the steps needs to check whether it already ran
+            debit(source, amt, IdGenerator.generateTransactionId());
+            credit(destination, credit, IdGenerator.generateTransactionId(), "DEPOSIT");
+            recordTransfer(source, destination, amt, IdGenerator.generateTransactionId(), false);
+            log.info("Service: Striped transfer completed from='{}' to='{}' amount={}", src, dest, amt);
+            return;
+        }
 
-        Transaction txn = new Transaction(
-                IdGenerator.generateTransactionId(),
-                "WITHDRAW",
+        // the journal entry first, then the debit (conditional on the available balance) and the
+        // credit as one atomic update each; an entry whose changes did not both happen is taken back
+        String txnId = IdGenerator.generateTransactionId();
+        Transaction entry = new Transaction(
+                txnId,
+                "TRANSFER",
                 amt,
                 "SUCCESS",
-                accNo,
-                null
+                src,
+                dest
         );
+        entry.setCurrency(source.getCurrency());
+        entry.setFxRate(credit.rate());
+        entry.setPostings(credit.converted()
+                ? Posting.convert(src, amt, source.getCurrency(), dest, credit.amount(), destination.getCurrency())
+                : Posting.move(src, dest, amt, source.getCurrency()));
+        txnWriter.write(entry);
+
+        Account debited = applyRecorded(src, -amt, txnId, TransactionScreen.Direction.DEBIT);
+        Account credited;
+        try {
+            credited = applyRecorded(dest, credit.amount(), txnId, TransactionScreen.Direction.CREDIT, false);
+        } catch (RuntimeException e) {
+            // the destination was closed or archived after it was loaded: give the money back, and
+            // only then take the entry back, so the debit is never left without its entry
+            log.error("Service: Transfer txnId='{}' to account='{}' failed, refunding account='{}'", txnId, dest, src);
+            accRepo.applyChange(src, amt, null, null);
+            accRepo.pullTransactionIds(src, List.of(txnId));
+            txnWriter.retract(txnId);
+            throw e;
+        }
 
-        txnRepo.save(txn);
-        log.info("Service: Withdrawal transaction created txnId='{}'", txn.getTransactionId());
+        notifier.publish(src, debited.getBalance(), entry);
+        notifier.publish(dest, credited.getBalance(), entry);
 
-        acc.getTransactionIds().add(txn.getTransactionId());
+        log.info("Service: Transfer txnId='{}' completed from='{}' to='{}'", entry.getTransactionId(), src, dest);
+    }
 
-        Account updated = accRepo.save(acc);
-        log.info("Service: Account updated after withdrawal account='{}'", accNo);
 
-        return updated;
+    // why a conditional update matched nothing, from the account as read afterwards (null if gone):
+    // the account is gone, its status no longer allows the change or the available balance no
+    // longer covers the debit
+    private RuntimeException rejected(String accNo, Account acc, TransactionScreen.Direction direction) {
+        // an account being archived is as good as gone
+        if (acc == null || acc.getStatus() == AccountStatus.ARCHIVED) return new AccountNotFoundException("Account Not Found");
+        if (acc.isStriped()) return new AccountStatusException("Account was striped meanwhile, try again");
+        AccountStatus status = acc.getStatus();
+        if (direction != null && (direction == TransactionScreen.Direction.DEBIT ? !status.allowsDebit() : !status.allowsCredit())) {
+            log.error("Service: {} on account='{}' rejected, account is {}", direction, accNo, status);
+            return new AccountStatusException("Account is " + status);
+        }
+        log.error("Service: Insufficient balance for account='{}'", accNo);
+        return new InsufficientBalanceException("Insufficient Balance");
     }
 
+    // checks for deposits, the counterpart of validateDebit
+    private void validateCredit(String accNo, Double amt) {
+        validateAccountNumberFormat(accNo);
+        if (amt == null || amt <= 0) throw new InvalidAmountException("Invalid Amount");
+        checkCachedStatus(accNo, TransactionScreen.Direction.CREDIT);
+        screen(accNo, TransactionScreen.Direction.CREDIT, amt);
+    }
 
-    @Override
-    public void transfer(String src, String dest, Double amt) {
-
-        log.info("Service: Transfer request: from='{}' to='{}' amount={}", src, dest, amt);
+    // checks shared by withdrawals and hold placement
+    void validateDebit(String accNo, Double amt) {
+        validateAccountNumberFormat(accNo);
+        if (amt == null || amt <= 0) throw new InvalidAmountException("Invalid Amount");
+        checkCachedStatus(accNo, TransactionScreen.Direction.DEBIT);
+        screen(accNo, TransactionScreen.Direction.DEBIT, amt);
+    }
 
+    // checks shared by the synchronous transfer and the transfer saga
+    void validateTransfer(String src, String dest, Double amt) {
         validateAccountNumberFormat(src);
         validateAccountNumberFormat(dest);
 
         if (amt == null || amt <= 0) throw new InvalidAmountException("Invalid Amount");
         if (src.equals(dest)) throw new InvalidAmountException("Source and Destination cannot be same");
+        checkCachedStatus(src, TransactionScreen.Direction.DEBIT);
+        checkCachedStatus(dest, TransactionScreen.Direction.CREDIT);
+        screen(src, TransactionScreen.Direction.DEBIT, amt);
+        try {
+            screen(dest, TransactionScreen.Direction.CREDIT, amt);
+        } catch (TransactionBlockedException e) {
+            unscreen(src, TransactionScreen.Direction.DEBIT, amt);
+            throw e;
+        }
+    }
 
-        Account source = getAccount(src);
+    // Idempotent saga steps: the caller fixes txnId up front, and a step whose txnId was
+    // already applied before a restart is skipped. Striped accounts do not keep
+    // transactionIds (that would contend on the account document again), so for them
+    // the transaction record itself is the marker - which is why it is written before the
+    // stripes move. Requests with a freshly generated id go straight to debit/credit.
 
-        if (source.getBalance() < amt) {
-            log.error("Service: Insufficient balance for transfer from='{}'", src);
+    Account applyDebit(String accNo, double amt, String txnId) {
+        return applyDebit(loadAccount(accNo), amt, txnId);
+    }
+
+    Account applyCredit(String accNo, double amt, String txnId, String type) {
+        return applyCredit(accNo, amt, null, txnId, type);
+    }
+
+    // amt is in `currency` and converted to the account's currency if they differ (null: already in it)
+    Account applyCredit(String accNo, double amt, String currency, String txnId, String type) {
+        Account acc = loadAccount(accNo);
+        // checked before converting: a replayed credit must not depend on today's rate table
+        if (alreadyApplied(acc, txnId)) return acc;
+        return credit(acc, fx.convert(amt, currency == null ? acc.getCurrency() : currency, acc.getCurrency()), txnId, type);
+    }
+
+    private Account applyDebit(Account acc, double amt, String txnId) {
+        if (alreadyApplied(acc, txnId)) return acc;
+        return debit(acc, amt, txnId);
+    }
+
+    private Account debit(Account acc, double amt, String txnId) {
+        requireStatus(acc, TransactionScreen.Direction.DEBIT);
+        String accNo = acc.getAccountNumber();
+
+        if (!acc.isStriped() && acc.getAvailableBalance() < amt) {
+            log.error("Service: Insufficient balance for debit from='{}'", accNo);
             throw new InsufficientBalanceException("Insufficient balance");
         }
+        Transaction txn = new Transaction(txnId, "WITHDRAW", amt, "SUCCESS", accNo, null);
+        txn.setCurrency(acc.getCurrency());
+        // the credit step posts the other side, so this leg balances against TRANSIT
+        txn.setPostings(Posting.move(accNo, Posting.TRANSIT, amt, acc.getCurrency()));
+        txnWriter.write(txn);
+        // a debit the stripes cannot cover takes its record back; an error halfway keeps it, so
+        // a retry of the step counts it as applied rather than debiting twice
+        if (acc.isStriped() && !stripes.debit(accNo, amt)) {
+            txnWriter.retract(txnId);
+            log.error("Service: Insufficient balance for debit from='{}'", accNo);
+            throw new InsufficientBalanceException("Insufficient balance");
+        }
+        Account updated = post(acc, -amt, txn, TransactionScreen.Direction.DEBIT);
+        notifier.publish(acc.getAccountNumber(), updated.getBalance(), txn);
+        return updated;
+    }
 
-        log.info("Service: Withdrawing {} from '{}'", amt, src);
-        source.setBalance(source.getBalance() - amt);
-        Transaction withdrawTxn = new Transaction(
-                IdGenerator.generateTransactionId(),
-                "WITHDRAW",
-                amt,
-                "SUCCESS",
-                src,
-                null
-        );
-        txnRepo.save(withdrawTxn);
-        source.getTransactionIds().add(withdrawTxn.getTransactionId());
-        accRepo.save(source);
-
-        log.info("Service: Depositing {} to '{}'", amt, dest);
-        Account destination = getAccount(dest);
-        destination.setBalance(destination.getBalance() + amt);
-        Transaction depositTxn = new Transaction(
-                IdGenerator.generateTransactionId(),
-                "DEPOSIT",
-                amt,
-                "SUCCESS",
-                dest,
-                null
-        );
-        txnRepo.save(depositTxn);
-        destination.getTransactionIds().add(depositTxn.getTransactionId());
-        accRepo.save(destination);
+    private Account credit(Account acc, FxRateProvider.Conversion credit, String txnId, String type) {
+        // a reversal returns money that left this account, whatever its status is now
+        if (!"REVERSAL".equals(type)) requireStatus(acc, TransactionScreen.Direction.CREDIT);
+
+        double amt = credit.amount();
+        Transaction txn = new Transaction(txnId, type, amt, "SUCCESS", acc.getAccountNumber(), null);
+        txn.setCurrency(acc.getCurrency());
+        txn.setFxRate(credit.rate());
+        txn.setPostings(Posting.move(Posting.TRANSIT, acc.getAccountNumber(), amt, acc.getCurrency()));
+        txnWriter.write(txn);
+        if (acc.isStriped() && !stripes.credit(acc.getAccountNumber(), acc.getStripeCount(), amt)) {
+            txnWriter.retract(txnId);
+            log.error("Service: Credit to account='{}' failed, balance stripe missing", acc.getAccountNumber());
+            throw new IllegalStateException("Balance stripes of account " + acc.getAccountNumber() + " are incomplete");
+        }
+        Account updated = post(acc, amt, txn, "REVERSAL".equals(type) ? null : TransactionScreen.Direction.CREDIT);
+        notifier.publish(acc.getAccountNumber(), updated.getBalance(), txn);
+        return updated;
+    }
 
-        log.info("Service: Creating transfer transaction record");
-        Transaction transferTxn = new Transaction(
-                IdGenerator.generateTransactionId(),
-                "TRANSFER",
-                amt,
-                "SUCCESS",
-                src,
-                dest
-        );
-        txnRepo.save(transferTxn);
+    void recordTransfer(String src, String dest, double amt, String txnId) {
+        Account source = loadAccount(src);
+        Account destination = loadAccount(dest);
+        recordTransfer(source, destination, amt, txnId, alreadyApplied(source, txnId));
+    }
+
+    private void recordTransfer(Account source, Account destination, double amt, String txnId, boolean recorded) {
+        String src = source.getAccountNumber();
+        String dest = destination.getAccountNumber();
+        if (!recorded) {
+            Transaction txn = new Transaction(txnId, "TRANSFER", amt, "SUCCESS", src, dest);
+            txn.setCurrency(source.getCurrency());
+            // memo: the debit and credit legs already carry the postings
+            txn.setPostings(List.of());
+            txnWriter.write(txn);
+            appendId(source, txnId);
+        }
+        if (!destination.isStriped() && !destination.getTransactionIds().contains(txnId)) {
+            appendId(destination, txnId);
+        }
+    }
 
-        source.getTransactionIds().add(transferTxn.getTransactionId());
-        destination.getTransactionIds().add(transferTxn.getTransactionId());
+    private boolean alreadyApplied(Account acc, String txnId) {
+        return acc.isStriped()
+                ? txnRepo.existsByTransactionId(txnId)
+                : acc.getTransactionIds().contains(txnId);
+    }
 
-        accRepo.save(source);
-        accRepo.save(destination);
+    // The balance change of a step whose record is already written. The record goes first so a
+    // step interrupted in between is redone in full; the update applies the change at most once.
+    // Striped balances have already moved in the stripes. direction is null for a reversal, which
+    // applies whatever the status is now, short of ARCHIVED.
+    private Account post(Account acc, double delta, Transaction txn, TransactionScreen.Direction direction) {
+        if (acc.isStriped()) {
+            acc.setBalance(acc.getBalance() + delta);
+            return acc;
+        }
+        return applyRecorded(acc.getAccountNumber(), delta, txn.getTransactionId(), direction);
+    }
 
-        log.info("Service: Transfer completed successfully from='{}' to='{}' amount={}", src, dest, amt);
+    // The conditional balance update behind a journal entry that is already written. If it
+    // matches nothing, or fails without having applied, the entry is taken back and the request
+    // fails; if the reload cannot tell either, the entry stays for reconciliation to find.
+    private Account applyRecorded(String accNo, double delta, String txnId, TransactionScreen.Direction direction) {
+        return applyRecorded(accNo, delta, txnId, direction, true);
     }
 
+    // retract false leaves the entry to a caller that has other changes to undo first
+    private Account applyRecorded(String accNo, double delta, String txnId, TransactionScreen.Direction direction,
+                                  boolean retract) {
+        Set<AccountStatus> statuses = direction == null ? AccountStatus.REVERSIBLE
+                : direction == TransactionScreen.Direction.DEBIT ? AccountStatus.DEBITABLE : AccountStatus.CREDITABLE;
+        RuntimeException failure = null;
+        try {
+            Optional<Account> updated = accRepo.applyChange(accNo, delta, txnId, statuses);
+            if (updated.isPresent()) return updated.get();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        Account current = accRepo.findByAccountNumber(accNo).orElse(null);
+        // a concurrent run of the same step, or an update that failed after applying, got there first
+        if (current != null && current.getTransactionIds().contains(txnId)) return current;
+        if (retract) txnWriter.retract(txnId);
+        if (failure != null) throw failure;
+        throw rejected(accNo, current, direction);
+    }
+
+    private void appendId(Account acc, String txnId) {
+        if (!acc.isStriped()) accRepo.applyChange(acc.getAccountNumber(), 0, txnId, AccountStatus.REVERSIBLE);
+    }
+
+    @Override
+    public Account enableStriping(String accNo, int stripeCount) {
+
+        log.info("Service: Striping request: account='{}', stripes={}", accNo, stripeCount);
+
+        if (stripeCount < 2 || stripeCount > MAX_STRIPES) {
+            throw new InvalidRequestException("Stripe count must be between 2 and " + MAX_STRIPES);
+        }
+        validateAccountNumberFormat(accNo);
+        // the stored balance, not the stripes' sum
+        Account acc = findAccount(accNo);
+        if (acc.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountStatusException("Account is " + acc.getStatus());
+        }
+        if (!acc.isStriped() && !acc.getHolds().isEmpty()) {
+            // a capture debits the document balance, which stops counting once striped
+            throw new InvalidRequestException("Account has open holds, capture or void them first");
+        }
+
+        if (acc.isStriped()) {
+            // a run that stopped after marking the account finishes opening the stripes
+            if (!stripes.open(accNo, acc.getBalance())) {
+                throw new InvalidRequestException("Account is already striped");
+            }
+        } else {
+            // Empty stripes first (ignored until the account is marked), then the mark, which ends
+            // balance updates on the account document; only then does its final balance move into
+            // slot 0. Deposits landing in between go to the document or, once marked, to the stripes.
+            stripes.create(accNo, stripeCount);
+            acc = accRepo.markStriped(accNo, stripeCount)
+                    .orElseThrow(() -> new AccountStatusException("Account changed meanwhile, try again"));
+            stripes.open(accNo, acc.getBalance());
+        }
+        acc.setBalance(stripes.freshBalance(accNo));
+        log.info("Service: Account='{}' balance striped across {} stripes", accNo, acc.getStripeCount());
+
+        return acc;
+    }
 
     @Override
     public Account updateHolderName(String accNo, String newHolderName) {
-        Account acc = getAccount(accNo);
-        acc.setHolderName(newHolderName);
-        return accRepo.save(acc);
+        validateAccountNumberFormat(accNo);
+        Account updated = accRepo.updateHolderName(accNo, newHolderName)
+                .orElseThrow(() -> new AccountStatusException("Account is " + findAccount(accNo).getStatus()));
+        if (updated.isStriped()) updated.setBalance(stripes.freshBalance(accNo));
+        return updated;
     }
 
+    // soft delete: the account is closed and later archived by AccountArchiver
     @Override
     public void deleteAccount(String accNo) {
+        changeStatus(accNo, AccountStatus.CLOSED);
+    }
+
+    @Override
+    public Account changeStatus(String accNo, AccountStatus target) {
+
+        log.info("Service: Status change request: account='{}', status={}", accNo, target);
+
+        if (target == null) throw new InvalidRequestException("Status is required");
+        if (target == AccountStatus.ARCHIVED) {
+            throw new InvalidRequestException("Closed accounts are archived automatically");
+        }
+
+        // checked on a loaded copy for a precise error, then applied only if the stored account
+        // still is what was checked; a deposit or hold in between means checking again
+        for (int attempt = 1; ; attempt++) {
+            Account acc = loadAccount(accNo);
+            AccountStatus current = acc.getStatus();
+            if (current == target) return acc;
+            if (!current.canMoveTo(target)) {
+                throw new AccountStatusException("Account is " + current + ", cannot become " + target);
+            }
+            if (target == AccountStatus.CLOSED && acc.getBalance() != 0) {
+                throw new InvalidRequestException("Account balance must be zero to close");
+            }
+            if (target == AccountStatus.CLOSED && !acc.getHolds().isEmpty()) {
+                throw new InvalidRequestException("Account has open holds");
+            }
+
+            Instant closedAt = target == AccountStatus.CLOSED ? Instant.now() : null;
+            Optional<Account> updated = accRepo.changeStatus(accNo, current, target, closedAt);
+            if (updated.isPresent()) {
+                statusCache.record(accNo, target);
+                log.info("Service: Account='{}' is now {}", accNo, target);
+                Account changed = updated.get();
+                if (changed.isStriped()) changed.setBalance(acc.getBalance());
+                return changed;
+            }
+            if (attempt == MAX_UPDATE_ATTEMPTS) {
+                throw new AccountStatusException("Account keeps changing, try again");
+            }
+        }
+    }
+
+    @Override
+    public ArchivedAccount getArchivedAccount(String accNo) {
 
         validateAccountNumberFormat(accNo);
 
-        Account acc = getAccount(accNo);
-        // simple soft delete or hard delete; here we'll hard delete
-        accRepo.delete(acc);
+        return accRepo.findArchived(accNo)
+                .orElseThrow(() -> new AccountNotFoundException("Archived account not found"));
     }
 
 
@@ -235,7 +709,51 @@ public class AccountServiceImpl implements AccountService {
 
         validateAccountNumberFormat(accNo);
 
-        return txnRepo.findBySourceAccountOrDestinationAccount(accNo, accNo);
+        if (txnRepo.isPartitioned()) {
+            return reads.history(accNo, () -> txnRepo.findHistory(accNo, null, null));
+        }
+        return reads.history(accNo, () -> txnRepo.findBySourceAccountOrDestinationAccount(accNo, accNo));
+    }
+
+    // range reads only touch the monthly partitions/archives overlapping [from, to)
+    @Override
+    public List<Transaction> getTransactions(String accNo, Instant from, Instant to) {
+
+        validateAccountNumberFormat(accNo);
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("'from' must be before 'to'");
+        }
+
+        return txnRepo.findHistory(accNo, from, to);
+    }
+
+    @Override
+    public HistoryPage getTransactionPage(String accNo, String cursor, int limit) {
+
+        validateAccountNumberFormat(accNo);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        return txnRepo.findHistoryPage(accNo, cursor, limit);
+    }
+
+    // Incremental polling. Timestamps are taken when an entry is created, not when it becomes
+    // visible (the writer commits in groups, instances' clocks differ), so an entry stamped just
+    // before the client's watermark can show up after the poll that returned it. The read starts
+    // sinceOverlap before the watermark; the client drops what it already has by transactionId.
+    @Override
+    public List<Transaction> getTransactionsSince(String accNo, Instant watermark) {
+
+        validateAccountNumberFormat(accNo);
+
+        Instant from = watermark.minus(sinceOverlap);
+        Set<String> seen = new HashSet<>();
+        return txnRepo.findHistory(accNo, from, null).stream()
+                .filter(t -> t.getTimestamp().isAfter(from))
+                // a record being moved to its monthly partition can be read from both collections
+                .filter(t -> seen.add(t.getTransactionId()))
+                .toList();
     }
 
 }
@@ -0,0 +1,255 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.DailyTotal;
+import com.bankingSystem.dto.LedgerCheck;
+import com.bankingSystem.dto.PostingTotal;
+import com.bankingSystem.dto.TypeTotal;
+import com.bankingSystem.exception.InvalidRequestException;
+import com.bankingSystem.repository.TransactionAnalytics.DayTypeTotal;
+import com.bankingSystem.repository.TransactionRepository;
+import com.bankingSystem.service.AnalyticsService;
+import com.bankingSystem.util.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Daily totals and type breakdowns come from a rollup of (day, type, currency) totals kept in memory.
+// It covers one contiguous interval [coveredFrom, watermark): a request reaching further back
+// aggregates only the missing stretch, and each request aggregates only what was written since the
+// watermark, so a 90-day window costs a full aggregation once and small increments afterwards. The
+// watermark trails now by a lag so records still in a group-commit batch are not missed; the last lag
+// seconds are aggregated live on each request. Intervals never overlap, so partial days simply add up.
+// The aggregations run outside the lock: a request answers from its own results and folds them into
+// the rollup only if no other request moved the same edge meanwhile.
+//
+// Top accounts need per-account totals, which are too many to keep; those pipelines run in MongoDB
+// and the result of each window is cached for a short time.
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
+
+    private static final int MAX_TOP_ACCOUNTS = 100;
+    private static final int MAX_CACHED_WINDOWS = 256;
+
+    private final TransactionRepository txnRepo;
+    private final int maxDays;
+    private final Duration lag;
+    private final Duration topAccountsTtl;
+    private final long targetMs;
+
+    // guarded by this
+    private final TreeMap<LocalDate, Map<Key, Totals>> rollup = new TreeMap<>();
+    private Instant coveredFrom;
+    private Instant watermark;
+
+    private final Map<Window, CachedTop> topAccounts = new ConcurrentHashMap<>();
+    private final SingleFlight<Window, List<AccountVolume>> topAccountQueries = new SingleFlight<>();
+
+    public AnalyticsServiceImpl(TransactionRepository txnRepo,
+                                @Value("${banking.analytics.max-days:366}") int maxDays,
+                                @Value("${banking.analytics.rollup-lag-seconds:30}") long lagSeconds,
+                                @Value("${banking.analytics.top-accounts-ttl-seconds:60}") long topAccountsTtlSeconds,
+                                @Value("${banking.analytics.target-ms:2000}") long targetMs) {
+        this.txnRepo = txnRepo;
+        this.maxDays = maxDays;
+        this.lag = Duration.ofSeconds(lagSeconds);
+        this.topAccountsTtl = Duration.ofSeconds(topAccountsTtlSeconds);
+        this.targetMs = targetMs;
+    }
+
+    @Override
+    public List<DailyTotal> getDailyTotals(LocalDate from, LocalDate to) {
+        return timed("daily totals", from, to, () -> dailyTotals(from, to, Instant.now()));
+    }
+
+    @Override
+    public List<TypeTotal> getTypeBreakdown(LocalDate from, LocalDate to) {
+        return timed("type breakdown", from, to, () -> typeBreakdown(from, to, Instant.now()));
+    }
+
+    @Override
+    public List<AccountVolume> getTopAccounts(LocalDate from, LocalDate to, int limit) {
+        if (limit < 1 || limit > MAX_TOP_ACCOUNTS) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_TOP_ACCOUNTS);
+        }
+        return timed("top accounts", from, to, () -> topAccounts(new Window(from, to, limit), Instant.now()));
+    }
+
+    // not cached: a full pass over the postings, for reconciliation rather than dashboards
+    @Override
+    public LedgerCheck checkLedger() {
+        long started = System.nanoTime();
+        List<PostingTotal> totals = txnRepo.postingTotals();
+        long unposted = txnRepo.countUnposted();
+        boolean balanced = totals.stream().allMatch(t -> t.getSum().signum() == 0);
+        long ms = (System.nanoTime() - started) / 1_000_000;
+        if (balanced) {
+            log.info("Service: Ledger balanced in {} currencies, {} unposted records, {} ms", totals.size(), unposted, ms);
+        } else {
+            totals.stream().filter(t -> t.getSum().signum() != 0)
+                    .forEach(t -> log.error("Service: Ledger out of balance: {} postings sum to {}", t.getCurrency(), t.getSum()));
+        }
+        return new LedgerCheck(balanced, totals, unposted);
+    }
+
+    List<DailyTotal> dailyTotals(LocalDate from, LocalDate to, Instant now) {
+        List<DailyTotal> days = new ArrayList<>();
+        totals(from, to, now).forEach((day, byType) -> days.add(new DailyTotal(day, toList(byType))));
+        return days;
+    }
+
+    List<TypeTotal> typeBreakdown(LocalDate from, LocalDate to, Instant now) {
+        Map<Key, Totals> byType = new TreeMap<>();
+        totals(from, to, now).values().forEach(day -> merge(byType, day));
+        return toList(byType);
+    }
+
+    List<AccountVolume> topAccounts(Window window, Instant now) {
+        validate(window.from(), window.to());
+        CachedTop cached = topAccounts.get(window);
+        if (cached != null && cached.expiresAt().isAfter(now)) return cached.accounts();
+
+        // identical windows requested together share one pipeline
+        return topAccountQueries.execute(window, () -> {
+            List<AccountVolume> top = txnRepo.topAccountsByVolume(start(window.from()), start(window.to().plusDays(1)), window.limit());
+            if (topAccounts.size() >= MAX_CACHED_WINDOWS) topAccounts.clear();
+            topAccounts.put(window, new CachedTop(top, now.plus(topAccountsTtl)));
+            return top;
+        });
+    }
+
+    // per day, type and currency for [from, to]: the rollup, plus the stretches it does not cover
+    // (before coveredFrom, past the watermark) read from MongoDB without holding the lock
+    private SortedMap<LocalDate, Map<Key, Totals>> totals(LocalDate from, LocalDate to, Instant now) {
+        validate(from, to);
+        Instant start = start(from);
+        Instant end = start(to.plusDays(1));
+        Instant sealed = now.minus(lag);
+
+        SortedMap<LocalDate, Map<Key, Totals>> result = new TreeMap<>();
+        Instant covered;
+        Instant mark;
+        synchronized (this) {
+            if (coveredFrom == null) {
+                coveredFrom = watermark = start.isBefore(sealed) ? start : sealed;
+            }
+            covered = coveredFrom;
+            mark = watermark;
+            rollup.subMap(from, true, to, true).forEach((day, byType) -> merge(result.computeIfAbsent(day, d -> new TreeMap<>()), byType));
+        }
+
+        List<DayTypeTotal> before = start.isBefore(covered) ? txnRepo.totalsByDayAndType(start, covered) : List.of();
+        List<DayTypeTotal> since = mark.isBefore(sealed) ? txnRepo.totalsByDayAndType(mark, sealed) : List.of();
+        Instant tail = sealed.isAfter(mark) ? sealed : mark;
+        Instant liveFrom = tail.isAfter(start) ? tail : start;
+        List<DayTypeTotal> live = liveFrom.isBefore(end) ? txnRepo.totalsByDayAndType(liveFrom, end) : List.of();
+
+        synchronized (this) {
+            extendRollup(covered, start, before, mark, sealed, since);
+        }
+        add(result, before, from, to);
+        add(result, since, from, to);
+        add(result, live, from, to);
+        return result;
+    }
+
+    // folds what a request read into the rollup, if the edge it read up to is still where it was
+    private void extendRollup(Instant covered, Instant start, List<DayTypeTotal> before,
+                              Instant mark, Instant sealed, List<DayTypeTotal> since) {
+        if (start.isBefore(covered) && coveredFrom.equals(covered)) {
+            add(rollup, before, LocalDate.MIN, LocalDate.MAX);
+            coveredFrom = start;
+        }
+        if (mark.isBefore(sealed) && watermark.equals(mark)) {
+            add(rollup, since, LocalDate.MIN, LocalDate.MAX);
+            watermark = sealed;
+        }
+        // older days can no longer be requested
+        Instant oldest = start(LocalDate.ofInstant(watermark, ZoneOffset.UTC).minusDays(maxDays));
+        if (coveredFrom.isBefore(oldest)) {
+            rollup.headMap(LocalDate.ofInstant(oldest, ZoneOffset.UTC)).clear();
+            coveredFrom = oldest;
+        }
+    }
+
+    private void validate(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new InvalidRequestException("Range must not exceed " + maxDays + " days");
+        }
+    }
+
+    private <T> T timed(String what, LocalDate from, LocalDate to, Supplier<T> query) {
+        long started = System.nanoTime();
+        T result = query.get();
+        long ms = (System.nanoTime() - started) / 1_000_000;
+        if (ms > targetMs) {
+            log.warn("Service: Analytics {} for {}..{} took {} ms (target {} ms)", what, from, to, ms, targetMs);
+        } else {
+            log.info("Service: Analytics {} for {}..{} in {} ms", what, from, to, ms);
+        }
+        return result;
+    }
+
+    private static Instant start(LocalDate day) {
+        return day.atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    // the rows for days in [from, to]
+    private static void add(Map<LocalDate, Map<Key, Totals>> into, List<DayTypeTotal> rows, LocalDate from, LocalDate to) {
+        for (DayTypeTotal row : rows) {
+            if (row.day().isBefore(from) || row.day().isAfter(to)) continue;
+            into.computeIfAbsent(row.day(), d -> new TreeMap<>())
+                    .computeIfAbsent(new Key(row.type(), row.currency()), k -> new Totals())
+                    .add(row.count(), row.amount());
+        }
+    }
+
+    private static void merge(Map<Key, Totals> into, Map<Key, Totals> from) {
+        from.forEach((key, t) -> into.computeIfAbsent(key, k -> new Totals()).add(t.count, t.amount));
+    }
+
+    private static List<TypeTotal> toList(Map<Key, Totals> byType) {
+        List<TypeTotal> list = new ArrayList<>();
+        byType.forEach((key, t) -> list.add(new TypeTotal(key.type(), key.currency(), t.count, t.amount)));
+        return list;
+    }
+
+    // amounts in different currencies are never added up
+    private record Key(String type, String currency) implements Comparable<Key> {
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::type).thenComparing(Key::currency);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final class Totals {
+        long count;
+        double amount;
+
+        void add(long count, double amount) {
+            this.count += count;
+            this.amount += amount;
+        }
+    }
+
+    record Window(LocalDate from, LocalDate to, int limit) {}
+
+    private record CachedTop(List<AccountVolume> accounts, Instant expiresAt) {}
+}
@@ -0,0 +1,224 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.exception.*;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.Hold;
+import com.bankingSystem.model.Posting;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.AccountRepository;
+import com.bankingSystem.service.BalanceNotifier;
+import com.bankingSystem.service.HoldService;
+import com.bankingSystem.service.TransactionScreen;
+import com.bankingSystem.service.TransactionWriter;
+import com.bankingSystem.util.IdGenerator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Authorisation holds: reserve now, capture (all or part) or void later. Every step is a single
+// atomic update of the account document, so placing and releasing a hold costs one write instead
+// of a withdrawal plus a compensating deposit, and only a capture writes a transaction record.
+// Holds nobody captures or voids are released by the expiry sweep, a batch of accounts at a time.
+@Service
+public class HoldServiceImpl implements HoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldServiceImpl.class);
+
+    private final AccountRepository accRepo;
+    private final AccountServiceImpl accounts;
+    private final TransactionWriter txnWriter;
+    private final BalanceNotifier notifier;
+
+    private final long defaultTtlSeconds;
+    private final long maxTtlSeconds;
+    private final int sweepBatchSize;
+    private final ScheduledExecutorService sweeper;
+    private volatile boolean indexesReady;
+
+    public HoldServiceImpl(AccountRepository accRepo, AccountServiceImpl accounts,
+                           TransactionWriter txnWriter, BalanceNotifier notifier,
+                           @Value("${banking.holds.default-ttl-seconds:604800}") long defaultTtlSeconds,
+                           @Value("${banking.holds.max-ttl-seconds:2592000}") long maxTtlSeconds,
+                           @Value("${banking.holds.sweep-seconds:30}") long sweepSeconds,
+                           @Value("${banking.holds.sweep-batch-size:500}") int sweepBatchSize) {
+        this.accRepo = accRepo;
+        this.accounts = accounts;
+        this.txnWriter = txnWriter;
+        this.notifier = notifier;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.sweepBatchSize = Math.max(1, sweepBatchSize);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "hold-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Hold placeHold(String accNo, Double amount, Long ttlSeconds) {
+
+        log.info("Service: Hold request: account='{}', amount={}", accNo, amount);
+
+        long ttl = ttlSeconds == null ? defaultTtlSeconds : ttlSeconds;
+        if (ttl <= 0 || ttl > maxTtlSeconds) {
+            throw new InvalidRequestException("Hold TTL must be between 1 and " + maxTtlSeconds + " seconds");
+        }
+        accounts.validateDebit(accNo, amount);
+
+        Instant now = Instant.now();
+        Hold hold = new Hold(IdGenerator.generateHoldId(), amount, now, now.plusSeconds(ttl));
+        if (accRepo.placeHold(accNo, hold).isEmpty()) {
+            accounts.unscreen(accNo, TransactionScreen.Direction.DEBIT, amount);
+            throw declined(accNo);
+        }
+        log.info("Service: Hold '{}' placed on account='{}' until {}", hold.getHoldId(), accNo, hold.getExpiresAt());
+        return hold;
+    }
+
+    // the conditional update does not say which condition failed - read the account to find out
+    private RuntimeException declined(String accNo) {
+        Account acc = accRepo.findByAccountNumber(accNo)
+                .orElseThrow(() -> new AccountNotFoundException("Account Not Found"));
+        if (acc.getStatus() != AccountStatus.ACTIVE) {
+            return new AccountStatusException("Account is " + acc.getStatus());
+        }
+        if (acc.isStriped()) {
+            return new InvalidRequestException("Holds are not supported on striped accounts");
+        }
+        log.error("Service: Insufficient available balance for hold on account='{}'", accNo);
+        return new InsufficientBalanceException("Insufficient balance");
+    }
+
+    // a capture missed: the hold went first (void, expiry, another capture) or the account may no
+    // longer be debited
+    private RuntimeException rejected(String accNo, String holdId) {
+        Account acc = accRepo.findByAccountNumber(accNo).orElse(null);
+        if (acc == null || acc.findHold(holdId).isEmpty()) return new HoldNotFoundException("Hold Not Found");
+        if (!acc.getStatus().allowsDebit()) return new AccountStatusException("Account is " + acc.getStatus());
+        return new AccountStatusException("Account is striped, void the hold instead");
+    }
+
+    @Override
+    public List<Hold> getHolds(String accNo) {
+        return accounts.getAccount(accNo).getHolds();
+    }
+
+    @Override
+    public Account capture(String accNo, String holdId, Double amount) {
+
+        log.info("Service: Capture request: account='{}', hold='{}', amount={}", accNo, holdId, amount);
+
+        Account acc = accounts.getAccount(accNo);
+        Hold hold = acc.findHold(holdId).orElseThrow(() -> new HoldNotFoundException("Hold Not Found"));
+        if (hold.isExpired(Instant.now())) {
+            throw new InvalidRequestException("Hold has expired");
+        }
+        if (!acc.getStatus().allowsDebit()) {
+            throw new AccountStatusException("Account is " + acc.getStatus());
+        }
+        if (acc.isStriped()) {
+            // the document balance a capture debits no longer counts; the hold can only be voided
+            throw new AccountStatusException("Account is striped, void the hold instead");
+        }
+        double amt = amount == null ? hold.getAmount() : amount;
+        if (amt <= 0 || amt > hold.getAmount()) {
+            throw new InvalidAmountException("Capture amount must be between 0 and the held amount");
+        }
+
+        // record first, like every money movement: if a void, expiry or another capture gets to
+        // the hold first, or the capture fails, the record is taken back
+        String txnId = IdGenerator.generateTransactionId();
+        Transaction txn = new Transaction(txnId, "CAPTURE", amt, "SUCCESS", accNo, null);
+        txn.setCurrency(acc.getCurrency());
+        txn.setPostings(Posting.move(accNo, Posting.EXTERNAL, amt, acc.getCurrency()));
+        txnWriter.write(txn);
+        Account updated;
+        try {
+            updated = accRepo.captureHold(accNo, holdId, hold.getAmount(), amt, txnId).orElse(null);
+        } catch (RuntimeException e) {
+            // the capture may have landed before the error
+            updated = accRepo.findByAccountNumber(accNo)
+                    .filter(a -> a.getTransactionIds().contains(txnId))
+                    .orElse(null);
+            if (updated == null) {
+                txnWriter.retract(txnId);
+                throw e;
+            }
+        }
+        if (updated == null) {
+            txnWriter.retract(txnId);
+            throw rejected(accNo, holdId);
+        }
+        notifier.publish(accNo, updated.getBalance(), txn);
+
+        log.info("Service: Hold '{}' captured {} of {} on account='{}'", holdId, amt, hold.getAmount(), accNo);
+        return updated;
+    }
+
+    @Override
+    public Account voidHold(String accNo, String holdId) {
+
+        log.info("Service: Void request: account='{}', hold='{}'", accNo, holdId);
+
+        Hold hold = findHold(accNo, holdId);
+        Account updated = accRepo.releaseHold(accNo, holdId, hold.getAmount())
+                .orElseThrow(() -> new HoldNotFoundException("Hold Not Found"));
+        log.info("Service: Hold '{}' voided on account='{}'", holdId, accNo);
+        return updated;
+    }
+
+    private Hold findHold(String accNo, String holdId) {
+        return accounts.getAccount(accNo).findHold(holdId)
+                .orElseThrow(() -> new HoldNotFoundException("Hold Not Found"));
+    }
+
+    // releases expired holds batch by batch; a hold captured or voided meanwhile is simply skipped
+    int releaseExpired(Instant now) {
+        if (!indexesReady) {
+            accRepo.ensureHoldIndexes();
+            indexesReady = true;
+        }
+        int released = 0;
+        while (true) {
+            List<Account> batch = accRepo.findWithExpiredHolds(now, sweepBatchSize);
+            int before = released;
+            for (Account acc : batch) {
+                for (Hold hold : acc.getHolds()) {
+                    if (hold.isExpired(now)
+                            && accRepo.releaseHold(acc.getAccountNumber(), hold.getHoldId(), hold.getAmount()).isPresent()) {
+                        released++;
+                    }
+                }
+            }
+            // a short batch was the last one; a batch that released nothing would be read again
+            if (batch.size() < sweepBatchSize || released == before) break;
+        }
+        if (released > 0) log.info("Service: released {} expired holds", released);
+        return released;
+    }
+
+    private void sweepSafely() {
+        try {
+            releaseExpired(Instant.now());
+        } catch (RuntimeException e) {
+            log.error("HoldServiceImpl: expiry sweep failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
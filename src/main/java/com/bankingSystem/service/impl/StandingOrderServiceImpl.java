@@ -0,0 +1,359 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.exception.*;
+import com.bankingSystem.model.StandingOrder;
+import com.bankingSystem.repository.StandingOrderRepository;
+import com.bankingSystem.service.StandingOrderService;
+import com.bankingSystem.util.IdGenerator;
+import com.bankingSystem.util.TokenBucket;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Runs standing orders. Every slice a loader leases the orders due within the next slice from
+// MongoDB in batches (one indexed range scan and one multi-update per batch) and queues them by
+// due time. A dispatcher releases them as they fall due, paced by a token bucket so a midnight
+// peak of orders is spread at a steady rate instead of hitting MongoDB at once. Outcomes are
+// written back in bulk.
+//
+// Each attempt moves money with fixed transaction ids (order, occurrence, attempt), so an attempt
+// that is re-run - after a crash, an infrastructure error or an expired lease - skips the steps it
+// already applied. A declined attempt retries with exponential backoff; after max-attempts the
+// occurrence is skipped and the order waits for its next one.
+@Service
+public class StandingOrderServiceImpl implements StandingOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingOrderServiceImpl.class);
+
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final StandingOrderRepository orders;
+    private final AccountServiceImpl accounts;
+
+    private final Duration slice;
+    private final Duration lease;
+    private final int batchSize;
+    private final int maxQueued;
+    private final int maxAttempts;
+    private final long backoffSeconds;
+    private final TokenBucket pace;
+    // lease owner id of this node
+    private final String node = "node-" + UUID.randomUUID();
+
+    private final DelayQueue<Due> queue = new DelayQueue<>();
+    // orders queued or running on this node, so a reload does not queue them twice
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final Queue<StandingOrder> outcomes = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder declined = new LongAdder();
+    private final LongAdder failedReversals = new LongAdder();
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService scheduler;
+    private final Thread dispatcher;
+    private volatile boolean indexesReady;
+
+    public StandingOrderServiceImpl(StandingOrderRepository orders, AccountServiceImpl accounts,
+                                    @Value("${banking.standing-orders.enabled:true}") boolean enabled,
+                                    @Value("${banking.standing-orders.slice-seconds:60}") long sliceSeconds,
+                                    @Value("${banking.standing-orders.batch-size:1000}") int batchSize,
+                                    @Value("${banking.standing-orders.max-queued:20000}") int maxQueued,
+                                    @Value("${banking.standing-orders.permits-per-second:300}") double permitsPerSecond,
+                                    @Value("${banking.standing-orders.workers:8}") int workerCount,
+                                    @Value("${banking.standing-orders.max-attempts:4}") int maxAttempts,
+                                    @Value("${banking.standing-orders.backoff-seconds:60}") long backoffSeconds,
+                                    @Value("${banking.standing-orders.flush-ms:500}") long flushMs) {
+        this.orders = orders;
+        this.accounts = accounts;
+        this.slice = Duration.ofSeconds(sliceSeconds);
+        // covers the wait in the queue plus a backlog; an order outliving it is re-run idempotently
+        this.lease = slice.multipliedBy(2).plusMinutes(5);
+        this.batchSize = batchSize;
+        this.maxQueued = maxQueued;
+        this.maxAttempts = maxAttempts;
+        this.backoffSeconds = backoffSeconds;
+        // small burst: the point is an even rate, not absorbing spikes
+        this.pace = new TokenBucket(permitsPerSecond, Math.max(1, (int) (permitsPerSecond / 10)));
+
+        // a full pool runs the order on the dispatcher thread, which stops it taking more
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount * 4), daemon("standing-order"), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.scheduler = Executors.newScheduledThreadPool(2, daemon("standing-order-loader"));
+        this.dispatcher = daemon("standing-order-dispatcher").newThread(this::dispatch);
+        if (enabled) {
+            long loadEvery = Math.max(1, sliceSeconds / 2);
+            scheduler.scheduleWithFixedDelay(this::loadSafely, loadEvery, loadEvery, TimeUnit.SECONDS);
+            scheduler.scheduleWithFixedDelay(this::flushSafely, flushMs, flushMs, TimeUnit.MILLISECONDS);
+            dispatcher.start();
+        }
+    }
+
+    @Override
+    public StandingOrder createOrder(String src, String dest, Double amt, StandingOrder.Frequency frequency, Instant firstRunAt) {
+
+        log.info("Service: Standing order request: from='{}' to='{}' amount={} frequency={}", src, dest, amt, frequency);
+
+        if (amt == null || amt <= 0) throw new InvalidAmountException("Invalid Amount");
+        if (frequency == null) throw new InvalidRequestException("Frequency is required");
+        if (src.equals(dest)) throw new InvalidAmountException("Source and Destination cannot be same");
+        accounts.getAccount(src);
+        accounts.getAccount(dest);
+
+        StandingOrder order = new StandingOrder(IdGenerator.generateStandingOrderId(), src, dest, amt, frequency,
+                firstRunAt == null ? Instant.now() : firstRunAt);
+        StandingOrder saved = orders.save(order);
+
+        log.info("Service: Standing order '{}' created, first run at {}", saved.getOrderId(), saved.getDueAt());
+        return saved;
+    }
+
+    @Override
+    public StandingOrder getOrder(String orderId) {
+        return orders.findByOrderId(orderId)
+                .orElseThrow(() -> new StandingOrderNotFoundException("Standing order not found"));
+    }
+
+    @Override
+    public StandingOrder cancelOrder(String orderId) {
+        StandingOrder order = getOrder(orderId);
+        if (order.getStatus() == StandingOrder.Status.CANCELLED) return order;
+
+        order.setStatus(StandingOrder.Status.CANCELLED);
+        log.info("Service: Standing order '{}' cancelled", orderId);
+        return orders.save(order);
+    }
+
+    // leases the orders due before now + slice, batch by batch, until the queue is full
+    int loadDue(Instant now) {
+        if (!indexesReady) {
+            orders.ensureIndexes();
+            indexesReady = true;
+        }
+        int loaded = 0;
+        while (true) {
+            int room = maxQueued - queued.size();
+            if (room <= 0) break;
+            int limit = Math.min(batchSize, room);
+            List<StandingOrder> claimed = orders.claimDue(now.plus(slice), limit, node, now.plus(lease), now);
+            for (StandingOrder o : claimed) {
+                if (queued.add(o.getId())) {
+                    queue.add(new Due(o));
+                    loaded++;
+                }
+            }
+            if (claimed.size() < limit) break;
+        }
+        if (loaded > 0) log.info("Service: Standing orders: {} loaded, {} queued", loaded, queued.size());
+        return loaded;
+    }
+
+    private void loadSafely() {
+        try {
+            loadDue(Instant.now());
+        } catch (RuntimeException e) {
+            log.error("Service: Standing order load failed, retrying next slice: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                StandingOrder order = queue.take().order();
+                while (!pace.tryAcquire()) {
+                    LockSupport.parkNanos(Math.max(pace.nanosUntilPermit(), 1_000));
+                }
+                workers.execute(() -> run(order));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void run(StandingOrder order) {
+        try {
+            StandingOrder outcome = execute(order, Instant.now());
+            if (outcome != null) outcomes.add(outcome);
+        } catch (RuntimeException e) {
+            // the lease runs out and the order is picked up again
+            log.error("Service: Standing order '{}' interrupted: {}", order.getOrderId(), e.getMessage());
+        } finally {
+            queued.remove(order.getId());
+        }
+    }
+
+    // runs the current occurrence of a leased order and returns it with its next schedule,
+    // or null if the order was cancelled after it was queued
+    StandingOrder execute(StandingOrder order, Instant now) {
+        Optional<StandingOrder> current = orders.findById(order.getId());
+        if (current.isEmpty() || current.get().getStatus() != StandingOrder.Status.ACTIVE) {
+            log.info("Service: Standing order '{}' no longer active, skipped", order.getOrderId());
+            return null;
+        }
+
+        String key = order.getOrderId() + "-" + order.getSequence() + "-" + order.getAttempts();
+        try {
+            transfer(order, key);
+            executed.increment();
+            order.setRuns(order.getRuns() + 1);
+            order.setLastRunAt(now);
+            order.setLastError(null);
+            order.advance(now);
+        } catch (InsufficientBalanceException | AccountNotFoundException | AccountStatusException
+                 | TransactionBlockedException | InvalidAmountException | InvalidAccountNumberException
+                 | InvalidRequestException e) {
+            decline(order, e, now);
+        } catch (ReversalFailedException e) {
+            // the source is debited and the money went nowhere: not something to retry quietly.
+            // The retry keeps the attempt, so it skips the debit and tries the credit (or the
+            // reversal) again under the same ids
+            failedReversals.increment();
+            log.error("Service: Standing order '{}' left account='{}' debited: {}",
+                    order.getOrderId(), order.getSourceAccount(), e.getMessage(), e);
+            order.setLastError(e.getMessage());
+            order.setDueAt(now.plusSeconds(backoffSeconds));
+        } catch (RuntimeException e) {
+            // failed part way: keep the attempt (and its ids) so the retry resumes rather than repeats
+            log.warn("Service: Standing order '{}' error, retrying: {}", order.getOrderId(), e.getMessage());
+            order.setLastError(e.getMessage());
+            order.setDueAt(now.plusSeconds(backoffSeconds));
+        }
+        return order;
+    }
+
+    private void transfer(StandingOrder order, String key) {
+        String src = order.getSourceAccount();
+        String dest = order.getDestinationAccount();
+        double amt = order.getAmount();
+
+        accounts.validateTransfer(src, dest, amt);
+        String currency;
+        try {
+            currency = accounts.applyDebit(src, amt, key + "-D").getCurrency();
+        } catch (RuntimeException e) {
+            accounts.unscreenTransfer(src, dest, amt);
+            throw e;
+        }
+        try {
+            accounts.applyCredit(dest, amt, currency, key + "-C", "DEPOSIT");
+        } catch (AccountNotFoundException | AccountStatusException | InvalidRequestException e) {
+            try {
+                accounts.applyCredit(src, amt, key + "-R", "REVERSAL");
+            } catch (RuntimeException reversal) {
+                throw new ReversalFailedException("credit to '" + dest + "' declined (" + e.getMessage()
+                        + ") and the reversal failed: " + reversal.getMessage(), reversal);
+            }
+            accounts.unscreenTransfer(src, dest, amt);
+            throw e;
+        }
+        accounts.recordTransfer(src, dest, amt, key + "-T");
+    }
+
+    private void decline(StandingOrder order, RuntimeException cause, Instant now) {
+        declined.increment();
+        order.setAttempts(order.getAttempts() + 1);
+        order.setLastError(cause.getMessage());
+        order.setLastRunAt(now);
+        if (order.getAttempts() >= maxAttempts) {
+            log.warn("Service: Standing order '{}' occurrence {} skipped after {} attempts: {}",
+                    order.getOrderId(), order.getSequence(), order.getAttempts(), cause.getMessage());
+            order.setSkipped(order.getSkipped() + 1);
+            order.advance(now);
+        } else {
+            order.setDueAt(now.plusSeconds(backoff(order.getAttempts())));
+            log.info("Service: Standing order '{}' declined ({}), retry at {}",
+                    order.getOrderId(), cause.getMessage(), order.getDueAt());
+        }
+    }
+
+    // base * 2^(attempt-1), capped, plus jitter so orders declined together do not retry together
+    long backoff(int attempt) {
+        long exp = backoffSeconds << Math.min(attempt - 1, 20);
+        long jitter = ThreadLocalRandom.current().nextLong(backoffSeconds / 2 + 1);
+        return Math.min(exp, MAX_BACKOFF_SECONDS) + jitter;
+    }
+
+    // writes finished outcomes back, one bulk write per batch
+    int flush() {
+        int written = 0;
+        List<StandingOrder> batch = new ArrayList<>(batchSize);
+        StandingOrder next;
+        while ((next = outcomes.poll()) != null) {
+            batch.add(next);
+            if (batch.size() == batchSize) {
+                written += orders.recordOutcomes(batch);
+                batch.clear();
+            }
+        }
+        written += orders.recordOutcomes(batch);
+        return written;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // unrecorded orders keep their lease until it expires, then run again with the same ids
+            log.error("Service: Standing order outcome write failed: {}", e.getMessage());
+        }
+    }
+
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    public long declinedCount() {
+        return declined.sum();
+    }
+
+    public long failedReversalCount() {
+        return failedReversals.sum();
+    }
+
+    public int queuedCount() {
+        return queued.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        dispatcher.interrupt();
+        workers.shutdown();
+    }
+
+    // a declined credit whose reversal also failed, leaving the source debited
+    static final class ReversalFailedException extends RuntimeException {
+        ReversalFailedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private record Due(StandingOrder order) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(Instant.now(), order.getDueAt()));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return order.getDueAt().compareTo(((Due) other).order.getDueAt());
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,220 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.exception.AccountNotFoundException;
+import com.bankingSystem.exception.AccountStatusException;
+import com.bankingSystem.exception.InsufficientBalanceException;
+import com.bankingSystem.exception.InvalidRequestException;
+import com.bankingSystem.exception.TransferNotFoundException;
+import com.bankingSystem.model.TransferSaga;
+import com.bankingSystem.model.TransferSaga.State;
+import com.bankingSystem.repository.TransferSagaRepository;
+import com.bankingSystem.service.TransferSagaService;
+import com.bankingSystem.util.IdGenerator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+// Asynchronous transfers: startTransfer validates, persists a PENDING saga and returns at once;
+// a worker pool then drives debit -> credit -> finalise, compensating the debit if the credit
+// cannot be applied. Business failures end the saga, infrastructure failures leave it in its
+// current state for the recovery sweep, which also resumes unfinished sagas after a restart.
+// A node leases a saga before running it and renews the lease with every step it records, so
+// the recovery sweeps of other nodes leave it alone until the lease runs out.
+@Service
+public class TransferSagaServiceImpl implements TransferSagaService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferSagaServiceImpl.class);
+
+    private static final Set<State> UNFINISHED = EnumSet.of(State.PENDING, State.DEBITED, State.CREDITED, State.COMPENSATING);
+
+    private final TransferSagaRepository sagaRepo;
+    private final AccountServiceImpl accounts;
+    private final Duration lease;
+    private final int recoveryBatchSize;
+    // lease owner id of this node
+    private final String node = "node-" + UUID.randomUUID();
+    private volatile boolean indexesReady;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService recovery;
+    // sagas queued or running on this node, so the recovery sweep does not submit them twice
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+    public TransferSagaServiceImpl(TransferSagaRepository sagaRepo, AccountServiceImpl accounts,
+                                   @Value("${banking.transfer.saga.workers:8}") int workerCount,
+                                   @Value("${banking.transfer.saga.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${banking.transfer.saga.recovery-seconds:30}") long recoverySeconds,
+                                   @Value("${banking.transfer.saga.lease-seconds:60}") long leaseSeconds,
+                                   @Value("${banking.transfer.saga.recovery-batch-size:500}") int recoveryBatchSize) {
+        this.sagaRepo = sagaRepo;
+        this.accounts = accounts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.recoveryBatchSize = recoveryBatchSize;
+
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemon("transfer-saga"));
+        this.recovery = Executors.newSingleThreadScheduledExecutor(daemon("transfer-saga-recovery"));
+        this.recovery.scheduleWithFixedDelay(this::recover, recoverySeconds, recoverySeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public TransferSaga startTransfer(String src, String dest, Double amt) {
+
+        log.info("Service: Async transfer request: from='{}' to='{}' amount={}", src, dest, amt);
+
+        accounts.validateTransfer(src, dest, amt);
+
+        TransferSaga saga = new TransferSaga(IdGenerator.generateTransferId(), src, dest, amt);
+        saga.setDebitTxnId(IdGenerator.generateTransactionId());
+        saga.setCreditTxnId(IdGenerator.generateTransactionId());
+        saga.setTransferTxnId(IdGenerator.generateTransactionId());
+        saga.setCompensationTxnId(IdGenerator.generateTransactionId());
+        TransferSaga saved = sagaRepo.save(saga);
+
+        log.info("Service: Transfer saga '{}' accepted", saved.getTransferId());
+        submit(saved.getTransferId());
+        return saved;
+    }
+
+    @Override
+    public TransferSaga getTransfer(String transferId) {
+        return sagaRepo.findByTransferId(transferId)
+                .orElseThrow(() -> new TransferNotFoundException("Transfer Not Found"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        recovery.execute(this::recover);
+    }
+
+    // pages through the unfinished sagas no node holds, until the queue is full
+    void recover() {
+        try {
+            if (!indexesReady) {
+                sagaRepo.ensureIndexes();
+                indexesReady = true;
+            }
+            String after = null;
+            while (true) {
+                List<TransferSaga> page = sagaRepo.findUnclaimed(UNFINISHED, after, recoveryBatchSize, Instant.now());
+                for (TransferSaga saga : page) {
+                    if (!submit(saga.getTransferId())) return;
+                }
+                if (page.size() < recoveryBatchSize) return;
+                after = page.get(page.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            log.error("Service: Transfer saga recovery failed: {}", e.getMessage());
+        }
+    }
+
+    // false if the queue is full
+    boolean submit(String transferId) {
+        if (!scheduled.add(transferId)) return true;
+        try {
+            workers.execute(() -> {
+                try {
+                    run(transferId);
+                } finally {
+                    scheduled.remove(transferId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // saga is persisted - the recovery sweep picks it up once the queue drains
+            scheduled.remove(transferId);
+            log.warn("Service: Transfer saga queue full, '{}' deferred to recovery", transferId);
+            return false;
+        }
+    }
+
+    void run(String transferId) {
+        try {
+            TransferSaga saga = sagaRepo.claim(transferId, node, Instant.now().plus(lease), Instant.now()).orElse(null);
+            if (saga == null) {
+                log.debug("Service: Transfer saga '{}' finished or held by another node", transferId);
+                return;
+            }
+            while (!saga.getState().isTerminal()) {
+                step(saga);
+                saga = sagaRepo.recordStep(saga, Instant.now().plus(lease)).orElse(null);
+                if (saga == null) {
+                    // the lease ran out and another node took over; it replays the step by its txn id
+                    log.warn("Service: Transfer saga '{}' lease lost, left to its new owner", transferId);
+                    return;
+                }
+            }
+            log.info("Service: Transfer saga '{}' finished in state {}", transferId, saga.getState());
+        } catch (RuntimeException e) {
+            log.error("Service: Transfer saga '{}' interrupted, will retry: {}", transferId, e.getMessage());
+        }
+    }
+
+    private void step(TransferSaga saga) {
+        String src = saga.getSourceAccount();
+        String dest = saga.getDestinationAccount();
+        double amt = saga.getAmount();
+
+        switch (saga.getState()) {
+            case PENDING -> {
+                try {
+                    saga.setCurrency(accounts.applyDebit(src, amt, saga.getDebitTxnId()).getCurrency());
+                    saga.setState(State.DEBITED);
+                } catch (InsufficientBalanceException | AccountNotFoundException | AccountStatusException e) {
+                    // nothing moved, so the attempt does not count towards the velocity window
+                    accounts.unscreenTransfer(src, dest, amt);
+                    fail(saga, State.FAILED, e);
+                }
+            }
+            case DEBITED -> {
+                try {
+                    accounts.applyCredit(dest, amt, saga.getCurrency(), saga.getCreditTxnId(), "DEPOSIT");
+                    saga.setState(State.CREDITED);
+                } catch (AccountNotFoundException | AccountStatusException | InvalidRequestException e) {
+                    fail(saga, State.COMPENSATING, e);
+                }
+            }
+            case CREDITED -> {
+                accounts.recordTransfer(src, dest, amt, saga.getTransferTxnId());
+                saga.setState(State.COMPLETED);
+            }
+            case COMPENSATING -> {
+                accounts.applyCredit(src, amt, saga.getCompensationTxnId(), "REVERSAL");
+                saga.setState(State.COMPENSATED);
+            }
+            default -> throw new IllegalStateException("No step for state " + saga.getState());
+        }
+    }
+
+    private void fail(TransferSaga saga, State next, RuntimeException cause) {
+        log.warn("Service: Transfer saga '{}' {} -> {}: {}", saga.getTransferId(), saga.getState(), next, cause.getMessage());
+        saga.setFailureReason(cause.getMessage());
+        saga.setState(next);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recovery.shutdownNow();
+        workers.shutdown();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,241 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.service.TransactionScreen;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Velocity rules over a sliding window, kept entirely in memory:
+//   debits  - more than max-debits operations or max-debit-amount in the window is blocked,
+//             reaching flag-ratio of either limit is flagged
+//   credits - more than max-credits operations in the window is flagged
+// Each account has a ring of one-second buckets updated with CAS only. Accounts idle for a
+// whole window are evicted by a background sweep, so memory is bounded by the active set, and
+// by max-accounts: each tracked account costs three rings of window-seconds longs (about 1.5 KB
+// for 60s), so the default of 100000 is roughly 150 MB. At the cap new accounts are not tracked;
+// their operations are flagged, and a sweep is queued to make room.
+@Component
+public class VelocityScreen implements TransactionScreen {
+
+    private static final Logger log = LoggerFactory.getLogger(VelocityScreen.class);
+
+    private final int windowSeconds;
+    private final long maxDebits;
+    private final long maxDebitCents;
+    private final long maxCredits;
+    private final double flagRatio;
+    private final int maxAccounts;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, AccountWindow> windows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+    private final AtomicBoolean sweepQueued = new AtomicBoolean();
+
+    @Autowired
+    public VelocityScreen(@Value("${banking.velocity.window-seconds:60}") int windowSeconds,
+                          @Value("${banking.velocity.max-debits:20}") long maxDebits,
+                          @Value("${banking.velocity.max-debit-amount:100000}") double maxDebitAmount,
+                          @Value("${banking.velocity.max-credits:100}") long maxCredits,
+                          @Value("${banking.velocity.flag-ratio:0.8}") double flagRatio,
+                          @Value("${banking.velocity.max-accounts:100000}") int maxAccounts) {
+        this(windowSeconds, maxDebits, maxDebitAmount, maxCredits, flagRatio, maxAccounts,
+                () -> TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()));
+    }
+
+    VelocityScreen(int windowSeconds, long maxDebits, double maxDebitAmount, long maxCredits,
+                   double flagRatio, int maxAccounts, LongSupplier clock) {
+        this.windowSeconds = windowSeconds;
+        this.maxDebits = maxDebits;
+        this.maxDebitCents = Math.round(maxDebitAmount * 100);
+        this.maxCredits = maxCredits;
+        this.flagRatio = flagRatio;
+        this.maxAccounts = maxAccounts;
+        this.clock = clock;
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "velocity-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleWithFixedDelay(this::evictIdle, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Decision screen(String accNo, Direction direction, double amount) {
+        long now = clock.getAsLong();
+        AccountWindow w = windows.get(accNo);
+        if (w == null) {
+            if (windows.size() >= maxAccounts) {
+                sweepSoon();
+                return Decision.FLAG;
+            }
+            w = windows.computeIfAbsent(accNo, k -> new AccountWindow(windowSeconds));
+        }
+        long cents = Math.round(amount * 100);
+
+        if (direction == Direction.CREDIT) {
+            long credits = w.credits.add(now, 1);
+            if (credits > maxCredits) {
+                log.warn("Velocity: account='{}' {} credits in {}s", accNo, credits, windowSeconds);
+                return Decision.FLAG;
+            }
+            return Decision.ALLOW;
+        }
+
+        // record first, then check, and take the attempt back if it went over: checking the sum
+        // before adding would let concurrent debits all pass the same check
+        long debits = w.debits.add(now, 1);
+        long debitCents = w.debitCents.add(now, cents);
+        if (debits > maxDebits || debitCents > maxDebitCents) {
+            w.debits.remove(now, 1);
+            w.debitCents.remove(now, cents);
+            log.warn("Velocity: blocking debit on account='{}' ({} debits, {} cents in {}s)",
+                    accNo, debits, debitCents, windowSeconds);
+            return Decision.BLOCK;
+        }
+
+        if (debits >= maxDebits * flagRatio || debitCents >= maxDebitCents * flagRatio) {
+            return Decision.FLAG;
+        }
+        return Decision.ALLOW;
+    }
+
+    @Override
+    public void release(String accNo, Direction direction, double amount) {
+        AccountWindow w = windows.get(accNo);
+        if (w == null) return;
+        long now = clock.getAsLong();
+        if (direction == Direction.CREDIT) {
+            w.credits.remove(now, 1);
+        } else {
+            w.debits.remove(now, 1);
+            w.debitCents.remove(now, Math.round(amount * 100));
+        }
+    }
+
+    // at most one extra sweep waiting, however many calls find the map full
+    private void sweepSoon() {
+        if (!sweepQueued.compareAndSet(false, true)) return;
+        log.warn("Velocity: tracking {} accounts, new accounts are flagged until idle ones are evicted", windows.size());
+        sweeper.execute(() -> {
+            try {
+                evictIdle();
+            } finally {
+                sweepQueued.set(false);
+            }
+        });
+    }
+
+    void evictIdle() {
+        long now = clock.getAsLong();
+        windows.values().removeIf(w -> w.idleSince(now));
+    }
+
+    int trackedAccounts() {
+        return windows.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private static final class AccountWindow {
+        final BucketRing debits;
+        final BucketRing debitCents;
+        final BucketRing credits;
+
+        AccountWindow(int seconds) {
+            debits = new BucketRing(seconds);
+            debitCents = new BucketRing(seconds);
+            credits = new BucketRing(seconds);
+        }
+
+        boolean idleSince(long now) {
+            return debits.idle(now) && credits.idle(now);
+        }
+    }
+
+    // Ring of per-second counters. Each slot packs the second it belongs to (high 24 bits)
+    // with its value (low 40 bits) into one long, so rolling a slot over to a new second
+    // and adding to it is a single CAS.
+    static final class BucketRing {
+        private static final int VALUE_BITS = 40;
+        private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+        private static final long EPOCH_MASK = (1L << (64 - VALUE_BITS)) - 1;
+
+        private final AtomicLongArray slots;
+        private final int size;
+
+        BucketRing(int size) {
+            this.size = size;
+            this.slots = new AtomicLongArray(size);
+        }
+
+        // adds delta to the current second's bucket and returns the window total
+        long add(long now, long delta) {
+            int i = Math.floorMod(now, size);
+            long epoch = now & EPOCH_MASK;
+            while (true) {
+                long cur = slots.get(i);
+                long value = (cur >>> VALUE_BITS) == epoch ? cur & VALUE_MASK : 0;
+                long next = (epoch << VALUE_BITS) | Math.min(VALUE_MASK, value + delta);
+                if (slots.compareAndSet(i, cur, next)) break;
+            }
+            return sum(now);
+        }
+
+        // takes up to delta back out of the window, newest second first, and never below zero;
+        // anything already aged out of the window is left alone
+        void remove(long now, long delta) {
+            for (int back = 0; back < size && delta > 0; back++) {
+                int i = Math.floorMod(now - back, size);
+                long epoch = (now - back) & EPOCH_MASK;
+                while (true) {
+                    long cur = slots.get(i);
+                    long value = cur & VALUE_MASK;
+                    if ((cur >>> VALUE_BITS) != epoch || value == 0) break;
+                    long taken = Math.min(value, delta);
+                    if (slots.compareAndSet(i, cur, (epoch << VALUE_BITS) | (value - taken))) {
+                        delta -= taken;
+                        break;
+                    }
+                }
+            }
+        }
+
+        long sum(long now) {
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                long cur = slots.get(i);
+                if (cur != 0 && age(now, cur >>> VALUE_BITS) < size) {
+                    total += cur & VALUE_MASK;
+                }
+            }
+            return total;
+        }
+
+        boolean idle(long now) {
+            for (int i = 0; i < size; i++) {
+                long cur = slots.get(i);
+                if (cur != 0 && age(now, cur >>> VALUE_BITS) < size) return false;
+            }
+            return true;
+        }
+
+        private static long age(long now, long epoch) {
+            return ((now & EPOCH_MASK) - epoch) & EPOCH_MASK;
+        }
+    }
+}
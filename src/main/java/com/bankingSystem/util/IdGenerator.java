@@ -1,18 +1,33 @@
 package com.bankingSystem.util;
 
-import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
+// Random parts come from ThreadLocalRandom: one shared Random makes every request CAS on one seed.
 public class IdGenerator {
 
-    private static final Random r = new Random();
-
     public static String generateAccountNumber(String name) {
         String initials = name.substring(0, 3).toUpperCase();
-        int digits = 1000 + r.nextInt(9000);
+        int digits = 1000 + ThreadLocalRandom.current().nextInt(9000);
         return initials + digits;
     }
 
+    // 128 random bits: six digits collided within a few thousand transactions, and the id is the
+    // idempotency marker for saga steps and the natural key of the journal
     public static String generateTransactionId() {
-        return "TXN-" + (100000 + r.nextInt(900000));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "TXN-" + new UUID(random.nextLong(), random.nextLong());
+    }
+
+    public static String generateTransferId() {
+        return "TRF-" + UUID.randomUUID();
+    }
+
+    public static String generateStandingOrderId() {
+        return "SO-" + UUID.randomUUID();
+    }
+
+    public static String generateHoldId() {
+        return "HLD-" + UUID.randomUUID();
     }
 }
@@ -0,0 +1,68 @@
+package com.bankingSystem.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Collapses concurrent identical lookups into one call: the first caller for a key runs the
+// loader, everyone arriving while it is in flight waits for and shares the same result.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        calls.increment();
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            mine.complete(loader.get());
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+        } finally {
+            // result is not cached: the next caller after completion starts a fresh load
+            inFlight.remove(key, mine);
+        }
+        return await(mine);
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getShared() {
+        return getCalls() - getExecutions();
+    }
+
+    // fraction of calls that were served by another caller's query
+    public double getCoalescingRatio() {
+        long total = getCalls();
+        return total == 0 ? 0.0 : (double) getShared() / total;
+    }
+}
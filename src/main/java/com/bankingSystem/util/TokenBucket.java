@@ -0,0 +1,50 @@
+package com.bankingSystem.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token bucket, implemented as GCRA: the whole state is one "theoretical arrival time"
+// updated with CAS, so acquiring a permit never blocks and never takes a lock.
+public class TokenBucket {
+
+    private final long intervalNanos;   // time to earn one token
+    private final long burstNanos;      // how far ahead of now the bucket may be spent
+    private final AtomicLong tat;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.tat = new AtomicLong(System.nanoTime());
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    boolean tryAcquire(long now) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    // nanos until the next permit is available (0 if one is available now)
+    public long nanosUntilPermit() {
+        long now = System.nanoTime();
+        return Math.max(0, tat.get() + intervalNanos - burstNanos - now);
+    }
+
+    // a bucket that has refilled completely carries no state and can be dropped
+    public boolean isIdle() {
+        return tat.get() <= System.nanoTime();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bankingSystem.config;
+
+import com.bankingSystem.BankingSystemApplication;
+import com.bankingSystem.controller.AnalyticsController;
+import com.bankingSystem.service.AccountArchiver;
+import com.bankingSystem.service.FxRateProvider;
+import com.bankingSystem.service.TransactionArchiver;
+import com.bankingSystem.service.impl.HoldServiceImpl;
+import com.bankingSystem.service.impl.StandingOrderServiceImpl;
+import com.bankingSystem.service.impl.TransferSagaServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackgroundJobsConfigTest {
+
+    @Test
+    void testFastStartStillStartsBackgroundJobs() {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .profiles("inmemory", "faststart")
+                .run("--server.port=0", "--banking.warmup.enabled=false", "--logging.level.com.bankingSystem=WARN")) {
+            ConfigurableListableBeanFactory beans = app.getBeanFactory();
+            // created means scheduled: each of them starts its scheduler in the constructor
+            for (Class<?> job : List.of(HoldServiceImpl.class, TransferSagaServiceImpl.class, StandingOrderServiceImpl.class,
+                    AccountArchiver.class, TransactionArchiver.class, FxRateProvider.class)) {
+                String[] names = beans.getBeanNamesForType(job, true, false);
+                assertEquals(1, names.length, job.getSimpleName());
+                assertTrue(beans.containsSingleton(names[0]), job.getSimpleName() + " was not started");
+            }
+            // everything else is still lazy
+            assertFalse(beans.containsSingleton(beans.getBeanNamesForType(AnalyticsController.class, true, false)[0]));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bankingSystem.config;
+
+import com.bankingSystem.dto.ImportReport;
+import com.bankingSystem.service.AccountImportService;
+import com.bankingSystem.service.AccountImportService.Format;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImportCommandLineRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    private final AccountImportService importService = mock(AccountImportService.class);
+    private final ImportCommandLineRunner runner = new ImportCommandLineRunner(importService);
+
+    @Test
+    void testNothingWithoutImportFile() throws Exception {
+        runner.run(new DefaultApplicationArguments("--server.port=0"));
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void testImportsFileUnderGivenId() throws Exception {
+        Path file = Files.writeString(dir.resolve("customers.ndjson"), "{\"holderName\":\"John\"}\n");
+        ImportReport report = new ImportReport("legacy-1");
+        report.rowFailed(3, "Name is required");
+        when(importService.importAccounts(anyString(), any(), any())).thenReturn(report);
+
+        runner.run(new DefaultApplicationArguments("--import.file=" + file, "--import.id=legacy-1"));
+
+        verify(importService).importAccounts(eq("legacy-1"), any(), eq(Format.NDJSON));
+    }
+
+    @Test
+    void testIdDefaultsToContentHash() throws Exception {
+        Path file = Files.writeString(dir.resolve("customers.csv"), "John\n");
+        when(importService.importAccounts(anyString(), any(), any())).thenReturn(new ImportReport("x"));
+
+        runner.run(new DefaultApplicationArguments("--import.file=" + file));
+
+        verify(importService).importAccounts(startsWith("sha256-"), any(), eq(Format.CSV));
+    }
+}
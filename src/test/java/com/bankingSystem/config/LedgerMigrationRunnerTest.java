@@ -0,0 +1,25 @@
+package com.bankingSystem.config;
+
+import com.bankingSystem.service.LedgerMigration;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import static org.mockito.Mockito.*;
+
+class LedgerMigrationRunnerTest {
+
+    private final LedgerMigration migration = mock(LedgerMigration.class);
+    private final LedgerMigrationRunner runner = new LedgerMigrationRunner(migration);
+
+    @Test
+    void testNothingWithoutOption() {
+        runner.run(new DefaultApplicationArguments("--server.port=0"));
+        verifyNoInteractions(migration);
+    }
+
+    @Test
+    void testMigratesWhenAsked() {
+        runner.run(new DefaultApplicationArguments("--spring.main.web-application-type=none", "--migrate.ledger"));
+        verify(migration).migrate();
+    }
+}
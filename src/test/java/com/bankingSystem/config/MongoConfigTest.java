@@ -0,0 +1,78 @@
+package com.bankingSystem.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoConfigTest {
+
+    private final MongoConfig config = new MongoConfig();
+    private final MongoTuningProperties props = new MongoTuningProperties();
+
+    private MongoAction insertInto(String collection) {
+        return new MongoAction(WriteConcern.ACKNOWLEDGED, MongoActionOperation.INSERT, collection,
+                Object.class, new Document(), new Document());
+    }
+
+    @Test
+    void testJournalUsesMajorityByDefault() {
+        WriteConcernResolver resolver = config.writeConcernResolver(props);
+
+        assertEquals("majority", resolver.resolve(insertInto("transactions")).getWString());
+        assertEquals("majority", resolver.resolve(insertInto("transactions_202401")).getWString());
+    }
+
+    @Test
+    void testJournalWriteConcernIsSeparatelyConfigurable() {
+        props.getWriteConcern().setJournal("w2");
+        WriteConcernResolver resolver = config.writeConcernResolver(props);
+
+        assertEquals(2, resolver.resolve(insertInto("transactions_202401")).getW());
+        assertEquals("majority", resolver.resolve(insertInto("accounts")).getWString());
+    }
+
+    @Test
+    void testMoneyMovementsUseMajority() {
+        WriteConcernResolver resolver = config.writeConcernResolver(props);
+
+        WriteConcern wc = resolver.resolve(insertInto("accounts"));
+        assertEquals("majority", wc.getWString());
+        assertEquals(5000, wc.getWTimeout(TimeUnit.MILLISECONDS).intValue());
+        assertEquals("majority", resolver.resolve(insertInto("transfer_sagas")).getWString());
+    }
+
+    @Test
+    void testUnknownWriteConcernIsRejected() {
+        props.getWriteConcern().setMoney("sometimes");
+        assertThrows(IllegalArgumentException.class, () -> config.writeConcernResolver(props));
+    }
+
+    @Test
+    void testPoolSettingsAreApplied() {
+        props.getPool().setMaxSize(42);
+        props.getPool().setMaxWaitTime(Duration.ofMillis(750));
+
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        config.mongoPoolCustomizer(props).customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertEquals(42, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(750, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertTrue(settings.getCommandListeners().stream().anyMatch(l -> l instanceof SlowCommandListener));
+    }
+
+    @Test
+    void testHistoryReadPreference() {
+        assertEquals(ReadPreference.secondaryPreferred(), props.historyReadPreference());
+    }
+}
@@ -0,0 +1,71 @@
+package com.bankingSystem.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SlowCommandListenerTest {
+
+    private final SlowCommandListener listener = new SlowCommandListener(Duration.ofMillis(100));
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SlowCommandListener.class);
+    private final ListAppender<ILoggingEvent> logged = new ListAppender<>();
+
+    @BeforeEach
+    void setup() {
+        logged.start();
+        logger.addAppender(logged);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(logged);
+    }
+
+    private static CommandSucceededEvent succeeded(String command, long millis) {
+        CommandSucceededEvent event = mock(CommandSucceededEvent.class);
+        when(event.getCommandName()).thenReturn(command);
+        when(event.getDatabaseName()).thenReturn("bank");
+        when(event.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(TimeUnit.MILLISECONDS.toNanos(millis));
+        return event;
+    }
+
+    private List<String> messages() {
+        return logged.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    @Test
+    void testOnlyCommandsAtOrOverTheThresholdAreLogged() {
+        listener.commandSucceeded(succeeded("find", 99));
+        listener.commandSucceeded(succeeded("update", 100));
+        listener.commandSucceeded(succeeded("aggregate", 250));
+
+        assertEquals(List.of("Mongo: slow update on 'bank' took 100ms", "Mongo: slow aggregate on 'bank' took 250ms"),
+                messages());
+    }
+
+    @Test
+    void testFailuresAreAlwaysLogged() {
+        CommandFailedEvent event = mock(CommandFailedEvent.class);
+        when(event.getCommandName()).thenReturn("insert");
+        when(event.getElapsedTime(TimeUnit.MILLISECONDS)).thenReturn(3L);
+        when(event.getThrowable()).thenReturn(new MongoTimeoutException("no primary"));
+
+        listener.commandFailed(event);
+
+        assertEquals(List.of("Mongo: insert failed after 3ms: no primary"), messages());
+    }
+}
@@ -0,0 +1,102 @@
+package com.bankingSystem.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoClientSettings;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TracingConfigTest {
+
+    private final TracingConfig config = new TracingConfig();
+    private final Tracer tracer = mock(Tracer.class, RETURNS_DEEP_STUBS);
+    private final ObservationPredicate predicate = config.skipInsideUnsampledTraces(tracer);
+
+    @TempDir
+    Path dir;
+
+    private void currentSpanSampled(Boolean sampled) {
+        Span span = mock(Span.class, RETURNS_DEEP_STUBS);
+        when(span.context().sampled()).thenReturn(sampled);
+        when(tracer.currentSpan()).thenReturn(span);
+    }
+
+    private boolean observed(String name) {
+        return predicate.test(name, new Observation.Context());
+    }
+
+    @Test
+    void testInnerObservationsSkippedInsideUnsampledTrace() {
+        currentSpanSampled(false);
+
+        assertFalse(observed("banking.service"));
+        assertFalse(observed(TracingConfig.MONGO_COMMAND));
+        assertTrue(observed("http.server.requests"));
+    }
+
+    @Test
+    void testInnerObservationsKeptInsideSampledTrace() {
+        currentSpanSampled(true);
+        assertTrue(observed("banking.service"));
+    }
+
+    @Test
+    void testObservationWithoutParentIsLeftToTheSampler() {
+        when(tracer.currentSpan()).thenReturn(null);
+        assertTrue(observed("banking.service"));
+        assertTrue(observed(TracingConfig.MONGO_COMMAND));
+    }
+
+    @Test
+    void testMongoCommandsAreObserved() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        config.mongoObservationCustomizer(ObservationRegistry.create()).customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertTrue(settings.getCommandListeners().stream().anyMatch(l -> l instanceof MongoObservationCommandListener));
+        assertNotNull(settings.getContextProvider());
+    }
+
+    @Test
+    void testExporterWritesOneLinePerSpan() throws Exception {
+        Path file = dir.resolve("traces/spans.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file);
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+        var otel = provider.get("test");
+
+        var parent = otel.spanBuilder("transfer").startSpan();
+        try (Scope ignored = parent.makeCurrent()) {
+            otel.spanBuilder("update").setAttribute("collection", "accounts").startSpan().end();
+        }
+        parent.end();
+        provider.shutdown();
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode child = mapper.readTree(lines.get(0));
+        JsonNode root = mapper.readTree(lines.get(1));
+        assertEquals("update", child.get("name").asText());
+        assertEquals(root.get("spanId").asText(), child.get("parentSpanId").asText());
+        assertEquals(root.get("traceId").asText(), child.get("traceId").asText());
+        assertEquals("accounts", child.get("attributes").get("collection").asText());
+        assertFalse(root.has("parentSpanId"));
+    }
+}
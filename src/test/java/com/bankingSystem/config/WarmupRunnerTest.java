@@ -0,0 +1,129 @@
+package com.bankingSystem.config;
+
+import com.bankingSystem.exception.AccountNotFoundException;
+import com.bankingSystem.exception.InvalidAccountNumberException;
+import com.bankingSystem.exception.InvalidAmountException;
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.service.AccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WarmupRunnerTest {
+
+    private final AccountService service = mock(AccountService.class);
+    private final ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+    private final List<Integer> exits = new ArrayList<>();
+    private WarmupRunner runner;
+
+    @BeforeEach
+    void setup() {
+        runner = new WarmupRunner(service, new ObjectMapper().registerModule(new JavaTimeModule()), context);
+        runner.exit = exits::add;
+        ReflectionTestUtils.setField(runner, "iterations", 5);
+        ReflectionTestUtils.setField(runner, "budgetMillis", 5000L);
+
+        when(service.deposit(eq("bad"), anyDouble())).thenThrow(new InvalidAccountNumberException("bad"));
+        when(service.withdraw(anyString(), eq(-1.0))).thenThrow(new InvalidAmountException("bad"));
+        doThrow(new InvalidAmountException("same")).when(service).transfer(eq(WarmupRunner.PROBE_ACCOUNT), anyString(), anyDouble());
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        runner.run(null);
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void testRunsHotPaths() {
+        ReflectionTestUtils.setField(runner, "enabled", true);
+        when(service.getAccount(WarmupRunner.PROBE_ACCOUNT)).thenThrow(new AccountNotFoundException("none"));
+
+        runner.run(null);
+
+        verify(service, times(5)).getAccount(WarmupRunner.PROBE_ACCOUNT);
+        verify(service, times(5)).getTransactions(WarmupRunner.PROBE_ACCOUNT);
+        verify(service, times(5)).deposit("bad", 1.0);
+    }
+
+    @Test
+    void testStopsTouchingDbAfterFailure() {
+        ReflectionTestUtils.setField(runner, "enabled", true);
+        when(service.getAccount(WarmupRunner.PROBE_ACCOUNT)).thenThrow(new IllegalStateException("timeout"));
+
+        runner.run(null);
+
+        verify(service, times(1)).getAccount(WarmupRunner.PROBE_ACCOUNT);
+        verify(service, never()).getTransactions(anyString());
+        verify(service, times(5)).withdraw(WarmupRunner.PROBE_ACCOUNT, -1.0);
+    }
+
+    @Test
+    void testTrainingRunMovesMoneyAndExits() {
+        ReflectionTestUtils.setField(runner, "enabled", true);
+        ReflectionTestUtils.setField(runner, "training", true);
+        when(service.createAccount("Warmup A")).thenReturn(new Account("WAR0001", "Warmup A"));
+        when(service.createAccount("Warmup B")).thenReturn(new Account("WAR0002", "Warmup B"));
+        when(service.getAccount("WAR0001")).thenReturn(new Account("WAR0001", "Warmup A"));
+        Transaction txn = new Transaction("TXN1", "DEPOSIT", 2.0, "SUCCESS", "WAR0001", null);
+        when(service.getTransactionPage("WAR0001", null, 20)).thenReturn(new HistoryPage(List.of(txn), null));
+
+        runner.run(null);
+
+        verify(service, times(5)).deposit("WAR0001", 2.0);
+        verify(service, times(5)).withdraw("WAR0001", 1.0);
+        verify(service, times(5)).transfer("WAR0001", "WAR0002", 1.0);
+        verify(service, times(5)).transfer("WAR0002", "WAR0001", 1.0);
+        verify(context).close();
+        assertEquals(List.of(0), exits);
+    }
+
+    @Test
+    void testTrainingRunWithoutDatabaseStillExits() {
+        ReflectionTestUtils.setField(runner, "enabled", true);
+        ReflectionTestUtils.setField(runner, "training", true);
+        when(service.createAccount(anyString())).thenThrow(new IllegalStateException("timeout"));
+        when(service.getAccount(WarmupRunner.PROBE_ACCOUNT)).thenThrow(new IllegalStateException("timeout"));
+
+        runner.run(null);
+
+        verify(service, never()).deposit(startsWith("WAR"), anyDouble());
+        verify(service, times(5)).deposit("bad", 1.0);
+        assertEquals(List.of(0), exits);
+    }
+
+    @Test
+    void testTrainingWritesStopAfterFailure() {
+        ReflectionTestUtils.setField(runner, "enabled", true);
+        ReflectionTestUtils.setField(runner, "training", true);
+        when(service.createAccount(anyString())).thenReturn(new Account("WAR0001", "Warmup"));
+        when(service.deposit("WAR0001", 2.0)).thenThrow(new IllegalStateException("write failed"));
+
+        runner.run(null);
+
+        verify(service, times(1)).deposit("WAR0001", 2.0);
+        assertEquals(List.of(0), exits);
+    }
+
+    @Test
+    void testServingRunDoesNotExit() {
+        ReflectionTestUtils.setField(runner, "enabled", true);
+
+        runner.run(null);
+
+        verify(service, never()).createAccount(anyString());
+        assertTrue(exits.isEmpty());
+    }
+}
@@ -1,21 +1,40 @@
 package com.bankingSystem.controller;
 
+import com.bankingSystem.dto.AccountSummary;
 import com.bankingSystem.dto.AmountRequest;
 import com.bankingSystem.dto.CreateAccountRequest;
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.dto.MultiAccountView;
+import com.bankingSystem.dto.StatusRequest;
 import com.bankingSystem.dto.TransferRequest;
 import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.ArchivedAccount;
 import com.bankingSystem.model.Transaction;
 import com.bankingSystem.service.AccountService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class AccountControllerTest {
 
@@ -33,7 +52,7 @@ class AccountControllerTest {
     @Test
     void testCreate() {
         Account acc = new Account("ACC001", "John");
-        when(service.createAccount("John")).thenReturn(acc);
+        when(service.createAccount("John", null)).thenReturn(acc);
 
         CreateAccountRequest req = new CreateAccountRequest();
         req.setHolderName("John");
@@ -44,6 +63,24 @@ class AccountControllerTest {
         assertEquals("John", res.getBody().getHolderName());
     }
 
+    @Test
+    void testCreateInCurrency() throws Exception {
+        Account acc = new Account("ACC001", "John");
+        acc.setCurrency("EUR");
+        when(service.createAccount("John", "EUR")).thenReturn(acc);
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mvc.perform(post("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"holderName\": \"John\", \"currency\": \"EUR\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(content().json("{\"currency\": \"EUR\"}"));
+        // not an ISO code: rejected before the service is called
+        mvc.perform(post("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"holderName\": \"John\", \"currency\": \"euro\"}"))
+                .andExpect(status().isBadRequest());
+        verify(service, times(1)).createAccount(anyString(), anyString());
+    }
+
     @Test
     void testGet() {
         Account acc = new Account("ACC001", "John");
@@ -100,6 +137,17 @@ class AccountControllerTest {
         assertEquals("Transfer Successful", res.getBody());
     }
 
+    @Test
+    void testGetMany() throws Exception {
+        when(service.getAccounts(List.of("ACC0001", "ACC0002"), 10)).thenReturn(new MultiAccountView(List.of(), List.of("ACC0002")));
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mvc.perform(get("/api/accounts").param("ids", "ACC0001,ACC0002"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"accounts\": [], \"notFound\": [\"ACC0002\"]}"));
+        verify(service).getAccounts(List.of("ACC0001", "ACC0002"), 10);
+    }
+
     @Test
     void testGetTransactions() {
         Transaction t = new Transaction("TXN1", "DEPOSIT", 200.0, "SUCCESS", "A1", null);
@@ -111,4 +159,132 @@ class AccountControllerTest {
         assertEquals(200, res.getStatusCodeValue());
         assertEquals(1, res.getBody().size());
     }
+
+    @Test
+    void testGetTransactionsInRange() throws Exception {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-02-01T00:00:00Z");
+        Transaction t = new Transaction("TXN1", "DEPOSIT", 200.0, "SUCCESS", "A1", null);
+        when(service.getTransactions("A1", from, to)).thenReturn(List.of(t));
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mvc.perform(get("/api/accounts/A1/transactions").param("from", from.toString()).param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"transactionId\": \"TXN1\"}]"));
+        verify(service).getTransactions("A1", from, to);
+    }
+
+    @Test
+    void testGetTransactionPage() throws Exception {
+        Transaction t = new Transaction("TXN1", "DEPOSIT", 200.0, "SUCCESS", "A1", null);
+        when(service.getTransactionPage("A1", "c1", 1)).thenReturn(new HistoryPage(List.of(t), "c2"));
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mvc.perform(get("/api/accounts/A1/transactions").param("limit", "1").param("cursor", "c1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"items\": [{\"transactionId\": \"TXN1\"}], \"nextCursor\": \"c2\"}"));
+        verify(service).getTransactionPage("A1", "c1", 1);
+    }
+
+    @Test
+    void testGetSummary() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(100.0);
+        acc.getTransactionIds().add("TXN-1");
+        when(service.getAccount("ACC0001")).thenReturn(acc);
+
+        ResponseEntity<AccountSummary> res = controller.getSummary("ACC0001");
+
+        assertEquals(200, res.getStatusCodeValue());
+        assertEquals("ACC0001", res.getBody().getAccountNumber());
+        assertEquals(100.0, res.getBody().getBalance());
+    }
+
+    @Test
+    void testCborContentNegotiation() throws Exception {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(100.0);
+        when(service.getAccount("ACC0001")).thenReturn(acc);
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        MvcResult result = mvc.perform(get("/api/accounts/ACC0001")
+                        .param("view", "summary")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("ACC0001", body.get("accountNumber").asText());
+        assertFalse(body.has("transactionIds"));
+    }
+
+    @Test
+    void testDepositAndWithdrawSummaries() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(150.0);
+        acc.getTransactionIds().add("TXN-1");
+        when(service.deposit("ACC0001", 50.0)).thenReturn(acc);
+        when(service.withdraw("ACC0001", 50.0)).thenReturn(acc);
+
+        AmountRequest req = new AmountRequest();
+        req.setAmount(50.0);
+
+        ResponseEntity<AccountSummary> deposited = controller.depositSummary("ACC0001", req);
+        ResponseEntity<AccountSummary> withdrawn = controller.withdrawSummary("ACC0001", req);
+
+        assertEquals(200, deposited.getStatusCodeValue());
+        assertEquals(150.0, deposited.getBody().getBalance());
+        assertEquals("ACC0001", withdrawn.getBody().getAccountNumber());
+        verify(service).deposit("ACC0001", 50.0);
+        verify(service).withdraw("ACC0001", 50.0);
+    }
+
+    @Test
+    void testEnableStriping() throws Exception {
+        Account acc = new Account("ACC0001", "John");
+        acc.setStripeCount(4);
+        when(service.enableStriping("ACC0001", 4)).thenReturn(acc);
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mvc.perform(put("/api/accounts/ACC0001/stripes").param("count", "4"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"accountNumber\": \"ACC0001\", \"stripeCount\": 4}"));
+        verify(service).enableStriping("ACC0001", 4);
+    }
+
+    @Test
+    void testChangeStatus() {
+        Account acc = new Account("ACC001", "John");
+        acc.setStatus(AccountStatus.FROZEN);
+        when(service.changeStatus("ACC001", AccountStatus.FROZEN)).thenReturn(acc);
+
+        StatusRequest req = new StatusRequest();
+        req.setStatus(AccountStatus.FROZEN);
+
+        ResponseEntity<Account> res = controller.changeStatus("ACC001", req);
+
+        assertEquals(200, res.getStatusCodeValue());
+        assertEquals(AccountStatus.FROZEN, res.getBody().getStatus());
+    }
+
+    @Test
+    void testGetArchived() {
+        Account acc = new Account("ACC001", "John");
+        acc.setStatus(AccountStatus.CLOSED);
+        when(service.getArchivedAccount("ACC001")).thenReturn(new ArchivedAccount(acc));
+
+        ResponseEntity<ArchivedAccount> res = controller.getArchived("ACC001");
+
+        assertEquals(200, res.getStatusCodeValue());
+        assertEquals("ACC001", res.getBody().getAccountNumber());
+    }
+
+    @Test
+    void testDeleteClosesAccount() {
+        ResponseEntity<Void> res = controller.delete("ACC001");
+
+        assertEquals(204, res.getStatusCodeValue());
+        verify(service).deleteAccount("ACC001");
+    }
 }
@@ -0,0 +1,56 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.BalanceEvent;
+import com.bankingSystem.exception.AccountNotFoundException;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.service.AccountService;
+import com.bankingSystem.service.BalanceNotifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountEventsControllerTest {
+
+    @Mock
+    private AccountService service;
+
+    @Mock
+    private BalanceNotifier notifier;
+
+    @InjectMocks
+    private AccountEventsController controller;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testSubscribesWithCurrentBalance() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(120.0);
+        SseEmitter emitter = new SseEmitter();
+        when(service.getAccount("ACC0001")).thenReturn(acc);
+        when(notifier.subscribe(eq("ACC0001"), any(BalanceEvent.class))).thenReturn(emitter);
+
+        assertSame(emitter, controller.events("ACC0001"));
+
+        ArgumentCaptor<BalanceEvent> snapshot = ArgumentCaptor.forClass(BalanceEvent.class);
+        verify(notifier).subscribe(eq("ACC0001"), snapshot.capture());
+        assertEquals(120.0, snapshot.getValue().getBalance());
+        assertNull(snapshot.getValue().getTransactionId());
+    }
+
+    @Test
+    void testUnknownAccountIsNotSubscribed() {
+        when(service.getAccount("ACC0009")).thenThrow(new AccountNotFoundException("Account Not Found"));
+
+        assertThrows(AccountNotFoundException.class, () -> controller.events("ACC0009"));
+        verifyNoInteractions(notifier);
+    }
+}
@@ -0,0 +1,77 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.ImportReport;
+import com.bankingSystem.exception.InvalidRequestException;
+import com.bankingSystem.service.AccountImportService;
+import com.bankingSystem.service.AccountImportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountImportControllerTest {
+
+    @Mock
+    private AccountImportService importService;
+
+    @InjectMocks
+    private AccountImportController controller;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(importService.importAccounts(anyString(), any(), any())).thenAnswer(inv -> new ImportReport(inv.getArgument(0)));
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExplicitImportIdAndFormat() throws Exception {
+        ResponseEntity<ImportReport> res = controller.importAccounts(file("customers.csv", "John\n"), "legacy-1", Format.NDJSON);
+
+        assertEquals(200, res.getStatusCode().value());
+        verify(importService).importAccounts(eq("legacy-1"), any(), eq(Format.NDJSON));
+    }
+
+    @Test
+    void testImportIdDefaultsToContentHash() throws Exception {
+        controller.importAccounts(file("customers.csv", "John\n"), null, null);
+        controller.importAccounts(file("customers.csv", "Anna\n"), null, null);
+        controller.importAccounts(file("renamed.ndjson", "John\n"), null, null);
+
+        ArgumentCaptor<String> ids = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Format> formats = ArgumentCaptor.forClass(Format.class);
+        verify(importService, times(3)).importAccounts(ids.capture(), any(), formats.capture());
+        // same name, different content: different checkpoints; same content: the same one
+        assertNotEquals(ids.getAllValues().get(0), ids.getAllValues().get(1));
+        assertEquals(ids.getAllValues().get(0), ids.getAllValues().get(2));
+        assertTrue(ids.getAllValues().get(0).startsWith("sha256-"));
+        assertEquals(Format.CSV, formats.getAllValues().get(0));
+        assertEquals(Format.NDJSON, formats.getAllValues().get(2));
+    }
+
+    @Test
+    void testEmptyFileRejected() {
+        assertThrows(InvalidRequestException.class, () -> controller.importAccounts(file("empty.csv", ""), null, null));
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void testContentIdAndFormatOf() throws Exception {
+        assertEquals("sha256-e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                AccountImportController.contentId(new ByteArrayInputStream(new byte[0])));
+        assertEquals(Format.NDJSON, AccountImportController.formatOf("a.JSONL"));
+        assertEquals(Format.NDJSON, AccountImportController.formatOf("a.json"));
+        assertEquals(Format.CSV, AccountImportController.formatOf("a.txt"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.DailyTotal;
+import com.bankingSystem.dto.LedgerCheck;
+import com.bankingSystem.dto.PostingTotal;
+import com.bankingSystem.dto.TypeTotal;
+import com.bankingSystem.service.AnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsControllerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 5, 29);
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @InjectMocks
+    private AnalyticsController controller;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testDaily() {
+        List<DailyTotal> days = List.of(new DailyTotal(FROM, List.of(new TypeTotal("DEPOSIT", "USD", 1, 10.0))));
+        when(analyticsService.getDailyTotals(FROM, TO)).thenReturn(days);
+
+        ResponseEntity<List<DailyTotal>> res = controller.daily(FROM, TO);
+
+        assertEquals(200, res.getStatusCode().value());
+        assertEquals(days, res.getBody());
+    }
+
+    @Test
+    void testDefaultsToLast30Days() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        controller.types(null, null);
+
+        verify(analyticsService).getTypeBreakdown(today.minusDays(29), today);
+    }
+
+    @Test
+    void testTopAccounts() {
+        List<AccountVolume> top = List.of(new AccountVolume("ACC0001", "USD", 2, 500.0));
+        when(analyticsService.getTopAccounts(FROM, TO, 5)).thenReturn(top);
+
+        ResponseEntity<List<AccountVolume>> res = controller.topAccounts(FROM, TO, 5);
+
+        assertEquals(200, res.getStatusCode().value());
+        assertEquals("ACC0001", res.getBody().get(0).getAccountNumber());
+    }
+
+    @Test
+    void testLedger() {
+        LedgerCheck check = new LedgerCheck(true, List.of(new PostingTotal("USD", 4, BigDecimal.ZERO)), 0);
+        when(analyticsService.checkLedger()).thenReturn(check);
+
+        ResponseEntity<LedgerCheck> res = controller.ledger();
+
+        assertEquals(200, res.getStatusCode().value());
+        assertTrue(res.getBody().isBalanced());
+    }
+}
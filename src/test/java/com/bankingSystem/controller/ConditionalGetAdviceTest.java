@@ -0,0 +1,159 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.ArchivedAccount;
+import com.bankingSystem.model.Hold;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.service.AccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ConditionalGetAdviceTest {
+
+    private final AccountService service = mock(AccountService.class);
+    private MockMvc mvc;
+    private Account account;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(new AccountController(service))
+                .setControllerAdvice(new ConditionalGetAdvice())
+                .build();
+        account = new Account("ACC0001", "Alice");
+        account.setBalance(100.0);
+        when(service.getAccount("ACC0001")).thenReturn(account);
+    }
+
+    @Test
+    void testMatchingETagGets304WithoutBody() throws Exception {
+        MvcResult first = mvc.perform(get("/api/accounts/ACC0001"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        MvcResult second = mvc.perform(get("/api/accounts/ACC0001").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andReturn();
+        assertEquals(0, second.getResponse().getContentLength());
+    }
+
+    @Test
+    void testChangedAccountGetsNewETag() throws Exception {
+        String etag = mvc.perform(get("/api/accounts/ACC0001")).andReturn().getResponse().getHeader("ETag");
+
+        account.setBalance(150.0);
+        account.getTransactionIds().add("TXN-1");
+
+        mvc.perform(get("/api/accounts/ACC0001").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(150.0));
+    }
+
+    @Test
+    void testHoldsChangeTheETag() throws Exception {
+        String etag = mvc.perform(get("/api/accounts/ACC0001")).andReturn().getResponse().getHeader("ETag");
+
+        account.getHolds().add(new Hold("HLD-1", 40.0, Instant.now(), Instant.now().plusSeconds(60)));
+        account.setHeldAmount(40.0);
+        String held = mvc.perform(get("/api/accounts/ACC0001").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.heldAmount").value(40.0))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // same held amount, different hold
+        account.getHolds().set(0, new Hold("HLD-2", 40.0, Instant.now(), Instant.now().plusSeconds(60)));
+        mvc.perform(get("/api/accounts/ACC0001").header("If-None-Match", held))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testHistoryIsConditionalToo() throws Exception {
+        Transaction t = new Transaction("TXN-1", "DEPOSIT", 10.0, "SUCCESS", null, "ACC0001");
+        t.setId("1");
+        when(service.getTransactions("ACC0001")).thenReturn(List.of(t));
+
+        String etag = mvc.perform(get("/api/accounts/ACC0001/transactions")).andReturn().getResponse().getHeader("ETag");
+        mvc.perform(get("/api/accounts/ACC0001/transactions").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testHistoryPageAndSummaryAreConditional() throws Exception {
+        Transaction t = new Transaction("TXN-1", "DEPOSIT", 10.0, "SUCCESS", null, "ACC0001");
+        t.setId("1");
+        when(service.getTransactionPage("ACC0001", null, 1)).thenReturn(new HistoryPage(List.of(t), "next"));
+
+        String page = mvc.perform(get("/api/accounts/ACC0001/transactions").param("limit", "1"))
+                .andReturn().getResponse().getHeader("ETag");
+        mvc.perform(get("/api/accounts/ACC0001/transactions").param("limit", "1").header("If-None-Match", page))
+                .andExpect(status().isNotModified());
+
+        String summary = mvc.perform(get("/api/accounts/ACC0001").param("view", "summary"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(summary);
+        // same account, different representation
+        assertNotEquals(ConditionalGetAdvice.etagOf(account), summary);
+        assertNotEquals(page, ConditionalGetAdvice.etagOf(new HistoryPage(List.of(t), null)));
+    }
+
+    @Test
+    void testOtherBodiesAreNotTagged() throws Exception {
+        when(service.getArchivedAccount("ACC0001")).thenReturn(new ArchivedAccount());
+
+        mvc.perform(get("/api/accounts/ACC0001/archive"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+        assertNull(ConditionalGetAdvice.etagOf(List.of("not a transaction")));
+    }
+
+    @Test
+    void testMalformedIfNoneMatchGetsFullResponse() throws Exception {
+        mvc.perform(get("/api/accounts/ACC0001").header("If-None-Match", "\"unterminated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("ACC0001"));
+    }
+
+    @Test
+    void testWritesAreNotTagged() throws Exception {
+        when(service.deposit("ACC0001", 10.0)).thenReturn(account);
+
+        mvc.perform(put("/api/accounts/ACC0001/deposit").contentType("application/json").content("{\"amount\": 10}"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void testWatermarkHistory() throws Exception {
+        Instant since = Instant.parse("2024-01-01T00:00:00Z");
+        when(service.getTransactionsSince("ACC0001", since)).thenReturn(List.of());
+
+        mvc.perform(get("/api/accounts/ACC0001/transactions").param("since", since.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+        verify(service).getTransactionsSince("ACC0001", since);
+    }
+
+    @Test
+    void testETagMatching() {
+        String etag = ConditionalGetAdvice.etagOf(account);
+        assertTrue(ConditionalGetAdvice.matches(List.of(etag), etag));
+        assertTrue(ConditionalGetAdvice.matches(List.of(etag.substring(2)), etag));
+        assertTrue(ConditionalGetAdvice.matches(List.of("*"), etag));
+        assertFalse(ConditionalGetAdvice.matches(List.of("W/\"other\""), etag));
+    }
+}
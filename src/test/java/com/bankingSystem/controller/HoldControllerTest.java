@@ -0,0 +1,79 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.AmountRequest;
+import com.bankingSystem.dto.HoldRequest;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Hold;
+import com.bankingSystem.service.HoldService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HoldControllerTest {
+
+    @Mock
+    private HoldService holdService;
+
+    @InjectMocks
+    private HoldController controller;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testPlace() {
+        Hold hold = new Hold("HLD-1", 40.0, Instant.now(), Instant.now().plusSeconds(60));
+        when(holdService.placeHold("ACC0001", 40.0, null)).thenReturn(hold);
+
+        HoldRequest req = new HoldRequest();
+        req.setAmount(40.0);
+        ResponseEntity<Hold> res = controller.place("ACC0001", req);
+
+        assertEquals(201, res.getStatusCode().value());
+        assertEquals("/api/accounts/ACC0001/holds/HLD-1", res.getHeaders().getLocation().toString());
+    }
+
+    @Test
+    void testPlaceWithTtl() {
+        Hold hold = new Hold("HLD-2", 40.0, Instant.now(), Instant.now().plusSeconds(300));
+        when(holdService.placeHold("ACC0001", 40.0, 300L)).thenReturn(hold);
+
+        HoldRequest req = new HoldRequest();
+        req.setAmount(40.0);
+        req.setTtlSeconds(300L);
+        ResponseEntity<Hold> res = controller.place("ACC0001", req);
+
+        assertEquals(201, res.getStatusCode().value());
+        assertEquals("HLD-2", res.getBody().getHoldId());
+        verify(holdService).placeHold("ACC0001", 40.0, 300L);
+    }
+
+    @Test
+    void testCaptureFullAndPartial() {
+        Account acc = new Account("ACC0001", "John");
+        when(holdService.capture(eq("ACC0001"), eq("HLD-1"), any())).thenReturn(acc);
+
+        assertEquals(200, controller.capture("ACC0001", "HLD-1", null).getStatusCode().value());
+        verify(holdService).capture("ACC0001", "HLD-1", null);
+
+        AmountRequest req = new AmountRequest();
+        req.setAmount(25.0);
+        controller.capture("ACC0001", "HLD-1", req);
+        verify(holdService).capture("ACC0001", "HLD-1", 25.0);
+    }
+
+    @Test
+    void testVoid() {
+        when(holdService.voidHold("ACC0001", "HLD-1")).thenReturn(new Account("ACC0001", "John"));
+
+        assertEquals(200, controller.voidHold("ACC0001", "HLD-1").getStatusCode().value());
+    }
+}
@@ -0,0 +1,74 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.StandingOrderRequest;
+import com.bankingSystem.model.StandingOrder;
+import com.bankingSystem.service.StandingOrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StandingOrderControllerTest {
+
+    private static final Instant FIRST = Instant.parse("2024-06-01T09:00:00Z");
+
+    @Mock
+    private StandingOrderService orderService;
+
+    @InjectMocks
+    private StandingOrderController controller;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private StandingOrder order() {
+        return new StandingOrder("SO-1", "A1", "A2", 100.0, StandingOrder.Frequency.MONTHLY, FIRST);
+    }
+
+    @Test
+    void testCreate() {
+        when(orderService.createOrder("A1", "A2", 100.0, StandingOrder.Frequency.MONTHLY, FIRST)).thenReturn(order());
+
+        StandingOrderRequest req = new StandingOrderRequest();
+        req.setSourceAccount("A1");
+        req.setDestinationAccount("A2");
+        req.setAmount(100.0);
+        req.setFrequency(StandingOrder.Frequency.MONTHLY);
+        req.setFirstRunAt(FIRST);
+
+        ResponseEntity<StandingOrder> res = controller.create(req);
+
+        assertEquals(201, res.getStatusCode().value());
+        assertEquals("/api/standing-orders/SO-1", res.getHeaders().getLocation().toString());
+        assertEquals(FIRST, res.getBody().getDueAt());
+    }
+
+    @Test
+    void testGet() {
+        when(orderService.getOrder("SO-1")).thenReturn(order());
+
+        ResponseEntity<StandingOrder> res = controller.get("SO-1");
+
+        assertEquals(200, res.getStatusCode().value());
+        assertEquals("SO-1", res.getBody().getOrderId());
+    }
+
+    @Test
+    void testCancel() {
+        StandingOrder cancelled = order();
+        cancelled.setStatus(StandingOrder.Status.CANCELLED);
+        when(orderService.cancelOrder("SO-1")).thenReturn(cancelled);
+
+        ResponseEntity<StandingOrder> res = controller.cancel("SO-1");
+
+        assertEquals(200, res.getStatusCode().value());
+        assertEquals(StandingOrder.Status.CANCELLED, res.getBody().getStatus());
+    }
+}
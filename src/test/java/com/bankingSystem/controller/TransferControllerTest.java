@@ -0,0 +1,55 @@
+package com.bankingSystem.controller;
+
+import com.bankingSystem.dto.TransferRequest;
+import com.bankingSystem.model.TransferSaga;
+import com.bankingSystem.service.TransferSagaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransferControllerTest {
+
+    @Mock
+    private TransferSagaService sagaService;
+
+    @InjectMocks
+    private TransferController controller;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testTransferAsync() {
+        TransferSaga saga = new TransferSaga("TRF-1", "A1", "A2", 100.0);
+        when(sagaService.startTransfer("A1", "A2", 100.0)).thenReturn(saga);
+
+        TransferRequest req = new TransferRequest();
+        req.setSourceAccount("A1");
+        req.setDestinationAccount("A2");
+        req.setAmount(100.0);
+
+        ResponseEntity<TransferSaga> res = controller.transferAsync(req);
+
+        assertEquals(202, res.getStatusCode().value());
+        assertEquals("/api/transfers/TRF-1", res.getHeaders().getLocation().toString());
+        assertEquals(TransferSaga.State.PENDING, res.getBody().getState());
+    }
+
+    @Test
+    void testStatus() {
+        TransferSaga saga = new TransferSaga("TRF-1", "A1", "A2", 100.0);
+        saga.setState(TransferSaga.State.COMPLETED);
+        when(sagaService.getTransfer("TRF-1")).thenReturn(saga);
+
+        ResponseEntity<TransferSaga> res = controller.status("TRF-1");
+
+        assertEquals(200, res.getStatusCode().value());
+        assertEquals(TransferSaga.State.COMPLETED, res.getBody().getState());
+    }
+}
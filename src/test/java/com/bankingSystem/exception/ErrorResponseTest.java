@@ -0,0 +1,42 @@
+package com.bankingSystem.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorResponseTest {
+
+    @Test
+    void testConstructorFillsAllFields() {
+        Instant at = Instant.parse("2024-06-01T10:00:00Z");
+        ErrorResponse response = new ErrorResponse(at, 404, "Not Found", "Account not found", "/api/accounts/ACC0001");
+
+        assertEquals(at, response.getTimestamp());
+        assertEquals(404, response.getStatus());
+        assertEquals("Not Found", response.getError());
+        assertEquals("Account not found", response.getMessage());
+        assertEquals("/api/accounts/ACC0001", response.getPath());
+    }
+
+    @Test
+    void testDefaultsToNowAndSettersReplaceFields() {
+        Instant before = Instant.now();
+        ErrorResponse response = new ErrorResponse();
+        assertFalse(response.getTimestamp().isBefore(before));
+
+        Instant at = Instant.parse("2024-06-01T10:00:00Z");
+        response.setTimestamp(at);
+        response.setStatus(400);
+        response.setError("Bad Request");
+        response.setMessage("Invalid amount");
+        response.setPath("/api/accounts/ACC0001/deposit");
+
+        assertEquals(at, response.getTimestamp());
+        assertEquals(400, response.getStatus());
+        assertEquals("Bad Request", response.getError());
+        assertEquals("Invalid amount", response.getMessage());
+        assertEquals("/api/accounts/ACC0001/deposit", response.getPath());
+    }
+}
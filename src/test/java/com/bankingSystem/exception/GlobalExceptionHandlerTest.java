@@ -48,5 +48,31 @@ class GlobalExceptionHandlerTest {
         assertEquals("Invalid Format", response.getBody());
     }
 
+    @Test
+    void testTransactionBlockedHandling() {
+        TransactionBlockedException ex = new TransactionBlockedException("Blocked");
+        ResponseEntity<String> response = handler.blocked(ex);
+
+        assertEquals(403, response.getStatusCode().value());
+        assertEquals("Blocked", response.getBody());
+    }
+
+    @Test
+    void testTooManyRequestsHandling() {
+        TooManyRequestsException ex = new TooManyRequestsException("Slow down", 3);
+        ResponseEntity<String> response = handler.tooManyRequests(ex);
 
+        assertEquals(429, response.getStatusCode().value());
+        assertEquals("3", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Slow down", response.getBody());
+    }
+
+    @Test
+    void testAccountStatusHandling() {
+        AccountStatusException ex = new AccountStatusException("Account is FROZEN");
+        ResponseEntity<String> response = handler.accountStatus(ex);
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals("Account is FROZEN", response.getBody());
+    }
 }
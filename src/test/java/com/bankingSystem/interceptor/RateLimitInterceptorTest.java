@@ -0,0 +1,172 @@
+package com.bankingSystem.interceptor;
+
+import com.bankingSystem.exception.TooManyRequestsException;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private MockHttpServletRequest request(String client, String accNo, String priority) {
+        return request("PUT", "deposit", client, accNo, priority);
+    }
+
+    // as the handler mapping leaves it: path variables and the matched pattern
+    private MockHttpServletRequest request(String method, String action, String client, String accNo, String priority) {
+        MockHttpServletRequest req = new MockHttpServletRequest(method, "/api/accounts/" + accNo + "/" + action);
+        req.setRemoteAddr(client);
+        if (priority != null) req.addHeader(RateLimitInterceptor.PRIORITY_HEADER, priority);
+        req.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("accNo", accNo));
+        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/accounts/{accNo}/" + action);
+        return req;
+    }
+
+    @Test
+    void testClientLimit() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimiter(1, 2, 100), new RateLimiter(100, 100, 100), new LoadShedder(10, 10, 1000, 1000));
+
+        assertTrue(interceptor.preHandle(request("10.0.0.1", "ACC0001", null), response, null));
+        assertTrue(interceptor.preHandle(request("10.0.0.1", "ACC0002", null), response, null));
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("10.0.0.1", "ACC0003", null), response, null));
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+
+        // other clients are unaffected
+        assertTrue(interceptor.preHandle(request("10.0.0.2", "ACC0004", null), response, null));
+    }
+
+    @Test
+    void testClientIdHeaderDoesNotBuyANewBucket() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimiter(1, 1, 100), new RateLimiter(100, 100, 100), new LoadShedder(10, 10, 1000, 1000));
+
+        assertTrue(interceptor.preHandle(request("10.0.0.1", "ACC0001", null), response, null));
+        MockHttpServletRequest renamed = request("10.0.0.1", "ACC0002", null);
+        renamed.addHeader("X-Client-Id", "someone-else");
+        assertThrows(TooManyRequestsException.class, () -> interceptor.preHandle(renamed, response, null));
+    }
+
+    @Test
+    void testAccountLimitAppliesToDebitsOnly() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimiter(100, 100, 100), new RateLimiter(1, 1, 100), new LoadShedder(100, 100, 1000, 1000));
+
+        assertTrue(interceptor.preHandle(request("PUT", "withdraw", "a", "ACC0001", null), response, null));
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("POST", "holds", "b", "ACC0001", null), response, null));
+
+        // credits and reads on the same account are not held back by its debit bucket
+        for (int i = 0; i < 5; i++) {
+            assertTrue(interceptor.preHandle(request("PUT", "deposit", "c", "ACC0001", null), response, null));
+            assertTrue(interceptor.preHandle(request("GET", "transactions", "c", "ACC0001", null), response, null));
+        }
+    }
+
+    @Test
+    void testPriorityDerivedFromEndpoint() {
+        LoadShedder shedder = new LoadShedder(1, 10, 1000, 1000);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimiter(100, 100, 100), new RateLimiter(100, 100, 100), shedder);
+
+        assertTrue(interceptor.preHandle(request("GET", "transactions", "a", "ACC0001", null), response, null));
+
+        // the low priority slot is taken: reads are shed, writes still go through
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("GET", "transactions", "b", "ACC0002", null), response, null));
+        assertTrue(interceptor.preHandle(request("PUT", "withdraw", "b", "ACC0002", null), response, null));
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("PUT", "deposit", "b", "ACC0002", "low"), response, null));
+        // a caller cannot raise its own priority
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("GET", "transactions", "b", "ACC0002", "high"), response, null));
+
+        MockHttpServletRequest upload = new MockHttpServletRequest("POST", "/api/accounts/import");
+        upload.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/accounts/import");
+        assertThrows(TooManyRequestsException.class, () -> interceptor.preHandle(upload, response, null));
+    }
+
+    @Test
+    void testLowPriorityShedFirst() {
+        LoadShedder shedder = new LoadShedder(1, 2, 1000, 1000);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimiter(100, 100, 100), new RateLimiter(100, 100, 100), shedder);
+
+        MockHttpServletRequest first = request("a", "ACC0001", "low");
+        assertTrue(interceptor.preHandle(first, response, null));
+
+        // one request in flight: low priority is over its limit, high priority still admitted
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("b", "ACC0002", "low"), response, null));
+        assertTrue(interceptor.preHandle(request("c", "ACC0003", null), response, null));
+
+        interceptor.afterCompletion(first, response, null, null);
+        assertEquals(1, shedder.getInFlight());
+    }
+
+    @Test
+    void testStreamingResponseReleasesAdmission() {
+        LoadShedder shedder = new LoadShedder(10, 10, 1000, 1000);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimiter(100, 100, 100), new RateLimiter(100, 100, 100), shedder);
+
+        MockHttpServletRequest sse = request("a", "ACC0001", null);
+        assertTrue(interceptor.preHandle(sse, response, null));
+        interceptor.afterConcurrentHandlingStarted(sse, response, null);
+        assertEquals(0, shedder.getInFlight());
+
+        // the async dispatch that closes the stream is neither limited nor counted twice
+        sse.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(sse, response, null));
+        interceptor.afterCompletion(sse, response, null, null);
+        assertEquals(0, shedder.getInFlight());
+    }
+
+    @Test
+    void testLowPriorityShedOnLatency() {
+        LoadShedder shedder = new LoadShedder(10, 10, 1, 60_000);
+        for (int i = 0; i < 50; i++) {
+            shedder.tryAdmit(LoadShedder.Priority.HIGH);
+            shedder.complete(50_000_000L);   // 50ms
+        }
+
+        assertFalse(shedder.tryAdmit(LoadShedder.Priority.LOW));
+        assertTrue(shedder.tryAdmit(LoadShedder.Priority.HIGH));
+    }
+
+    @Test
+    void testLatencyDecaysWhileNothingCompletes() throws InterruptedException {
+        LoadShedder shedder = new LoadShedder(10, 10, 1, 10);
+        for (int i = 0; i < 50; i++) {
+            shedder.tryAdmit(LoadShedder.Priority.HIGH);
+            shedder.complete(50_000_000L);   // 50ms
+        }
+        assertFalse(shedder.tryAdmit(LoadShedder.Priority.LOW));
+
+        // 20 half-lives without a completed request: well under the 1ms threshold
+        Thread.sleep(200);
+        assertEquals(0, shedder.getLatencyMillis());
+        assertTrue(shedder.tryAdmit(LoadShedder.Priority.LOW));
+    }
+
+    @Test
+    void testIdleBucketsEvicted() {
+        RateLimiter limiter = new RateLimiter(1_000_000, 1, 100);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertEquals(2, limiter.size());
+
+        long until = System.nanoTime() + 1_000_000;
+        while (System.nanoTime() < until) Thread.onSpinWait();
+        limiter.evictIdle();
+        assertEquals(0, limiter.size());
+    }
+}
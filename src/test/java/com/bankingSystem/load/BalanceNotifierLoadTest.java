@@ -0,0 +1,85 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.dto.BalanceEvent;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.service.BalanceNotifier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Registry-level fan-out benchmark (mvn -Pload test): 100k subscribers on one node, without the
+// sockets, which an in-JVM test cannot open at that scale. Measures retained heap per subscriber
+// and how long one publish round to every subscriber takes to be fully delivered.
+@Tag("load")
+class BalanceNotifierLoadTest {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("load.subscribers", 100_000);
+    private static final int ACCOUNTS = 10_000;
+
+    static class CountingEmitter extends SseEmitter {
+        static final LongAdder delivered = new LongAdder();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            delivered.increment();
+        }
+    }
+
+    private static long usedHeap(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @Test
+    void fanOutTo100kSubscribers() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        // 4 dispatchers, no heartbeat, the production send deadline
+        BalanceNotifier notifier = new BalanceNotifier(SUBSCRIBERS, 16, 4, 30, 0, 5000);
+
+        long before = usedHeap(memory);
+        List<SseEmitter> emitters = new ArrayList<>(SUBSCRIBERS);
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            String accNo = String.format("ACC%05d", i % ACCOUNTS);
+            emitters.add(notifier.subscribe(accNo, BalanceEvent.of(accNo, 0.0, null), new CountingEmitter()));
+        }
+        awaitDelivered(SUBSCRIBERS);
+        long after = usedHeap(memory);
+        assertEquals(SUBSCRIBERS, notifier.subscriberCount());
+
+        long start = System.nanoTime();
+        for (int a = 0; a < ACCOUNTS; a++) {
+            String accNo = String.format("ACC%05d", a);
+            notifier.publish(accNo, 1.0, new Transaction("TXN-" + a, "DEPOSIT", 1.0, "SUCCESS", null, accNo));
+        }
+        awaitDelivered(2L * SUBSCRIBERS);
+        long fanOutNanos = System.nanoTime() - start;
+
+        System.out.printf("events: %d subscribers, ~%d bytes/subscriber, %d events delivered in %d ms, %d evictions%n",
+                SUBSCRIBERS, (after - before) / SUBSCRIBERS, SUBSCRIBERS,
+                TimeUnit.NANOSECONDS.toMillis(fanOutNanos), notifier.evictionCount());
+        assertEquals(0, notifier.evictionCount());
+
+        notifier.shutdown();
+        assertEquals(SUBSCRIBERS, emitters.size());
+    }
+
+    private static void awaitDelivered(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (CountingEmitter.delivered.sum() < expected) {
+            assertTrue(System.nanoTime() < deadline, "only " + CountingEmitter.delivered.sum() + " of " + expected + " delivered");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.repository.AccountRepository;
+import com.bankingSystem.service.AccountService;
+import com.bankingSystem.service.FxRateProvider;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Cost of the FX stage (mvn -Pload test): the raw conversion against the cached rate table, and
+// same-currency vs cross-currency transfers through the service on the in-memory profile. The
+// conversion has to stay a rounding error next to the transfer it is part of.
+// Tunables: load.fx.conversions, load.fx.transfers.
+@Tag("load")
+@ActiveProfiles("inmemory")
+@SpringBootTest(properties = {
+        "banking.velocity.max-debits=100000000",
+        "banking.velocity.max-credits=100000000",
+        "banking.velocity.max-debit-amount=1000000000000",
+        "logging.level.com.bankingSystem=WARN"
+})
+class FxConversionLoadTest {
+
+    private static final int CONVERSIONS = Integer.getInteger("load.fx.conversions", 2_000_000);
+    private static final int TRANSFERS = Integer.getInteger("load.fx.transfers", 2_000);
+
+    @Autowired
+    FxRateProvider fx;
+
+    @Autowired
+    AccountService service;
+
+    @Autowired
+    AccountRepository accRepo;
+
+    @Test
+    void conversionAddsNegligibleLatency() {
+        double sink = 0;
+        for (int i = 0; i < CONVERSIONS / 10; i++) sink += fx.convert(i % 1000 + 0.37, "GBP", "JPY").amount();
+        long start = System.nanoTime();
+        for (int i = 0; i < CONVERSIONS; i++) sink += fx.convert(i % 1000 + 0.37, "GBP", "JPY").amount();
+        double convertNanos = (System.nanoTime() - start) / (double) CONVERSIONS;
+
+        account("USD0001", "USD");
+        account("USD0002", "USD");
+        account("EUR0001", "EUR");
+        double same = p50Micros("USD0001", "USD0002");
+        double cross = p50Micros("USD0001", "EUR0001");
+
+        System.out.printf("fx: convert %.0f ns/op, transfer p50 same-currency %.1f us, cross-currency %.1f us (sink %.0f)%n",
+                convertNanos, same, cross, sink);
+        // one conversion per transfer: well under 1% of a transfer
+        assertTrue(convertNanos / 1000 < same / 100, "conversion " + convertNanos + " ns vs transfer " + same + " us");
+    }
+
+    private void account(String accNo, String currency) {
+        Account acc = new Account(accNo, "Load");
+        acc.setCurrency(currency);
+        acc.setBalance(1_000_000_000.0);
+        accRepo.save(acc);
+    }
+
+    private double p50Micros(String src, String dest) {
+        for (int i = 0; i < TRANSFERS / 10; i++) service.transfer(src, dest, 1.0);
+        long[] nanos = new long[TRANSFERS];
+        for (int i = 0; i < TRANSFERS; i++) {
+            long t = System.nanoTime();
+            service.transfer(src, dest, 1.0);
+            nanos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(nanos);
+        return nanos[TRANSFERS / 2] / 1000.0;
+    }
+}
@@ -0,0 +1,98 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.BankingSystemApplication;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.repository.AccountRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Group-commit window sweep (mvn -Pload test): the same deposit/transfer mix against a fresh
+// in-memory application per window, 0 being one insert per record. A longer window saves insert
+// round trips (throughput) and costs each caller up to the window in latency. Tunables: load.users,
+// load.seconds, load.accounts, load.group-commit.windows (ms, comma separated), load.latency-micros
+// (simulated round trip, e.g. a majority write).
+@Tag("load")
+class GroupCommitLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 200);
+    private static final String WINDOWS = System.getProperty("load.group-commit.windows", "0,1,2,5");
+    private static final long LATENCY_MICROS = Long.getLong("load.latency-micros", 300);
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @Test
+    void windowTradesLatencyForThroughput() throws Exception {
+        List<String> rows = new ArrayList<>();
+        double unbatched = 0;
+        double best = 0;
+        for (long window : Arrays.stream(WINDOWS.split(",")).mapToLong(w -> Long.parseLong(w.trim())).toArray()) {
+            LatencyReport report = run(window);
+            if (window == 0) unbatched = report.throughput();
+            best = Math.max(best, report.throughput());
+            rows.addAll(report.rows().subList(1, report.rows().size()));
+        }
+
+        rows.forEach(System.out::println);
+        System.out.printf(Locale.ROOT, "group commit: %.0f req/s unbatched, %.0f req/s best window%n", unbatched, best);
+        assertTrue(best >= unbatched, "no window did better than one insert per record");
+    }
+
+    private LatencyReport run(long windowMs) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .profiles("inmemory")
+                // as arguments: properties() would only be defaults, below application.properties
+                .run("--server.port=0",
+                        "--banking.txn.group-commit.window-ms=" + windowMs,
+                        "--banking.inmemory.latency-micros=" + LATENCY_MICROS,
+                        "--banking.ratelimit.enabled=false",
+                        "--banking.shed.max-in-flight=100000",
+                        "--banking.shed.low-priority.max-in-flight=100000",
+                        "--banking.velocity.max-debits=100000000",
+                        "--banking.velocity.max-credits=100000000",
+                        "--banking.velocity.max-debit-amount=1000000000000",
+                        "--banking.standing-orders.enabled=false",
+                        "--logging.level.com.bankingSystem=WARN")) {
+            String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/api/accounts";
+            AccountRepository accRepo = app.getBean(AccountRepository.class);
+            List<String> accounts = new ArrayList<>();
+            for (int i = 0; i < ACCOUNTS; i++) {
+                Account acc = new Account(String.format("GRP%04d", i), "Load");
+                acc.setBalance(1_000_000_000.0);
+                accRepo.save(acc);
+                accounts.add(acc.getAccountNumber());
+            }
+
+            LoadDriver driver = new LoadDriver(accounts);
+            List<LoadDriver.Operation> mix = List.of(
+                    new LoadDriver.Operation("deposit", 70, p -> HttpRequest.newBuilder(URI.create(base + "/" + p.account() + "/deposit"))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\": 10}")).build()),
+                    new LoadDriver.Operation("transfer", 30, p -> HttpRequest.newBuilder(URI.create(base + "/transfer"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"sourceAccount\": \"" + p.account()
+                                    + "\", \"destinationAccount\": \"" + p.other() + "\", \"amount\": 1}")).build()));
+            // unmeasured, so the first window does not pay for the JIT on its own
+            driver.run("warmup", mix, USERS, Duration.ofSeconds(5));
+            LatencyReport report = driver.run("group-commit-" + windowMs + "ms", mix, USERS, DURATION);
+            Path file = report.write(REPORT_DIR);
+            System.out.println("Report written to " + file.toAbsolutePath());
+            assertEquals(0, report.errors(), report.errors() + " of " + report.requests() + " requests failed");
+            return report;
+        }
+    }
+}
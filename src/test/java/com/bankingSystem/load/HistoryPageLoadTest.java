@@ -0,0 +1,160 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.TransactionIndexInitializer;
+import com.bankingSystem.repository.TransactionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// First history page, merged per-side scans against the single $or query (mvn -Pload test
+// -Dload.mongodb-uri=...): the same accounts and page size read through findHistoryPage and
+// through one find with $or on both sides, sorted newest first and limited. A tenth of the accounts
+// hold most of the rows, which is where the $or plan has the most to sort. Query plans only mean
+// something on a real server, so this is skipped when none answers. The test drops and reseeds the
+// database named in the URI. Tunables: load.threads, load.seconds, load.accounts,
+// load.history.rows, load.history.page, load.mongodb-uri.
+@Tag("load")
+@EnabledIf("com.bankingSystem.load.LoadMongo#reachable")
+@SpringBootTest(properties = {
+        "spring.data.mongodb.uri=${load.mongodb-uri:" + LoadMongo.DEFAULT_URI + "}",
+        "banking.txn.partitioning.enabled=false",
+        "banking.mongo.history-read-preference=primary",
+        "logging.level.com.bankingSystem=WARN"
+})
+class HistoryPageLoadTest {
+
+    private static final int THREADS = Integer.getInteger("load.threads", 16);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 1_000);
+    private static final long ROWS = Long.getLong("load.history.rows", 1_000_000);
+    private static final int PAGE = Integer.getInteger("load.history.page", 20);
+    private static final int BATCH = 10_000;
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @Autowired
+    MongoTemplate mongo;
+
+    @Autowired
+    TransactionRepository txnRepo;
+
+    @Autowired
+    TransactionIndexInitializer indexes;
+
+    @Test
+    void mergedScansAgainstOrQuery() throws Exception {
+        List<String> accounts = seed();
+
+        BiFunction<String, Integer, Integer> reader = (accNo, limit) -> txnRepo.findHistoryPage(accNo, null, limit).getItems().size();
+        BiFunction<String, Integer, Integer> or = (accNo, limit) -> mongo.find(Query.query(new Criteria().orOperator(
+                        where("sourceAccount").is(accNo), where("destinationAccount").is(accNo)))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "id"))
+                .limit(limit), Transaction.class).size();
+
+        // unmeasured, so neither variant pays for the JIT or a cold cache on its own
+        run(accounts, reader, new LatencyReport("warmup"), Duration.ofSeconds(5));
+        run(accounts, or, new LatencyReport("warmup"), Duration.ofSeconds(5));
+        LatencyReport merged = measure(accounts, "history-page-merged", reader);
+        LatencyReport single = measure(accounts, "history-page-or", or);
+
+        System.out.printf(Locale.ROOT, "history page: p99 %.2f ms merged scans, %.2f ms $or (p50 %.2f / %.2f ms)%n",
+                merged.percentileNanos("page", 99) / 1e6, single.percentileNanos("page", 99) / 1e6,
+                merged.percentileNanos("page", 50) / 1e6, single.percentileNanos("page", 50) / 1e6);
+    }
+
+    private List<String> seed() throws Exception {
+        mongo.getDb().drop();
+        List<String> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) accounts.add(String.format("PAG%04d", i));
+
+        // 80% of the rows touch the hot tenth, timestamps over the last year
+        long start = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hot = Math.max(1, ACCOUNTS / 10);
+        long spanSeconds = TimeUnit.DAYS.toSeconds(365);
+        Instant now = Instant.now();
+        List<Transaction> batch = new ArrayList<>(BATCH);
+        for (long n = 0; n < ROWS; n++) {
+            String a = accounts.get(random.nextInt(100) < 80 ? random.nextInt(hot) : random.nextInt(ACCOUNTS));
+            String b = accounts.get(random.nextInt(ACCOUNTS));
+            Transaction t = switch (random.nextInt(3)) {
+                case 0 -> new Transaction("TXN-P" + n, "DEPOSIT", 10.0, "SUCCESS", null, a);
+                case 1 -> new Transaction("TXN-P" + n, "WITHDRAW", 10.0, "SUCCESS", a, null);
+                default -> new Transaction("TXN-P" + n, "TRANSFER", 10.0, "SUCCESS", a, b);
+            };
+            t.setTimestamp(now.minusSeconds(random.nextLong(spanSeconds)));
+            batch.add(t);
+            if (batch.size() == BATCH) {
+                txnRepo.append(batch);
+                batch = new ArrayList<>(BATCH);
+            }
+        }
+        if (!batch.isEmpty()) txnRepo.append(batch);
+
+        // the indexes the application builds at startup: two per-side ones, timestamp, transactionId
+        indexes.initialize();
+        while (mongo.indexOps(Transaction.class).getIndexInfo().size() < 5) Thread.sleep(500);
+        System.out.printf("history page: seeded %d rows for %d accounts in %d s%n", ROWS, ACCOUNTS,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        return accounts;
+    }
+
+    private LatencyReport measure(List<String> accounts, String scenario, BiFunction<String, Integer, Integer> page)
+            throws Exception {
+        LatencyReport report = new LatencyReport(scenario);
+        run(accounts, page, report, DURATION);
+        Path file = report.write(REPORT_DIR);
+        report.rows().forEach(System.out::println);
+        System.out.println("Report written to " + file.toAbsolutePath());
+        assertEquals(0, report.errors(), report.errors() + " of " + report.requests() + " pages failed");
+        return report;
+    }
+
+    // THREADS callers reading first pages of hot and cold accounts alike until the duration is up
+    private static void run(List<String> accounts, BiFunction<String, Integer, Integer> page, LatencyReport report,
+                            Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    String accNo = accounts.get(random.nextInt(accounts.size()));
+                    long sent = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = page.apply(accNo, PAGE) <= PAGE;
+                    } catch (RuntimeException e) {
+                        ok = false;
+                    }
+                    report.record("page", System.nanoTime() - sent, ok, 0);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+        report.finish(System.nanoTime() - start, 0);
+    }
+}
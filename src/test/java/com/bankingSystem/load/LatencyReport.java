@@ -0,0 +1,91 @@
+package com.bankingSystem.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Collects per-operation latencies from all virtual users and renders them as a table / CSV.
+class LatencyReport {
+
+    private final String scenario;
+    private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> bytes = new ConcurrentHashMap<>();
+    private long elapsedNanos;
+    private long cpuNanos;
+
+    LatencyReport(String scenario) {
+        this.scenario = scenario;
+    }
+
+    void record(String operation, long nanos, boolean ok, long responseBytes) {
+        samples.computeIfAbsent(operation, k -> new ConcurrentLinkedQueue<>()).add(nanos);
+        bytes.computeIfAbsent(operation, k -> new LongAdder()).add(responseBytes);
+        LongAdder errorCount = errors.computeIfAbsent(operation, k -> new LongAdder());
+        if (!ok) errorCount.increment();
+    }
+
+    void finish(long elapsedNanos, long cpuNanos) {
+        this.elapsedNanos = elapsedNanos;
+        this.cpuNanos = cpuNanos;
+    }
+
+    long requests() {
+        return samples.values().stream().mapToLong(Collection::size).sum();
+    }
+
+    long errors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    double throughput() {
+        return requests() / (elapsedNanos / 1e9);
+    }
+
+    long responseBytes() {
+        return bytes.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    double cpuMicrosPerRequest() {
+        return cpuNanos / 1e3 / Math.max(1, requests());
+    }
+
+    long percentileNanos(String operation, int p) {
+        return percentile(samples.get(operation).stream().mapToLong(Long::longValue).sorted().toArray(), p);
+    }
+
+    List<String> rows() {
+        List<String> rows = new ArrayList<>();
+        rows.add("scenario,operation,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms,bytes_per_req,cpu_us_per_req");
+        for (String op : new TreeSet<>(samples.keySet())) {
+            long[] sorted = samples.get(op).stream().mapToLong(Long::longValue).sorted().toArray();
+            rows.add(String.format(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%d,%.0f",
+                    scenario, op, sorted.length, errors.get(op).sum(), sorted.length / (elapsedNanos / 1e9),
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 90)),
+                    millis(percentile(sorted, 99)), millis(sorted[sorted.length - 1]),
+                    bytes.get(op).sum() / sorted.length, cpuMicrosPerRequest()));
+        }
+        return rows;
+    }
+
+    Path write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve(scenario + ".csv");
+        Files.write(file, rows());
+        return file;
+    }
+
+    static long percentile(long[] sorted, int p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
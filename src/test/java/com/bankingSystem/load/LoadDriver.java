@@ -0,0 +1,97 @@
+package com.bankingSystem.load;
+
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// Closed-model load generator: each virtual user picks a weighted operation, sends it, records
+// the latency and immediately goes again until the duration is up.
+class LoadDriver {
+
+    // one kind of request in a scenario mix; build() turns a random account pair into a request,
+    // onResponse() sees every response (e.g. to remember an ETag for the next poll)
+    record Operation(String name, int weight, Function<Pick, HttpRequest> build,
+                     BiConsumer<HttpRequest, HttpResponse<byte[]>> onResponse) {
+
+        Operation(String name, int weight, Function<Pick, HttpRequest> build) {
+            this(name, weight, build, (request, response) -> {});
+        }
+    }
+
+    record Pick(String account, String other, ThreadLocalRandom random) {}
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final List<String> accounts;
+
+    LoadDriver(List<String> accounts) {
+        this.accounts = accounts;
+    }
+
+    HttpResponse<String> send(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new IllegalStateException("Request " + request.uri() + " failed", e);
+        }
+    }
+
+    LatencyReport run(String scenario, List<Operation> mix, int users, Duration duration) throws InterruptedException {
+        LatencyReport report = new LatencyReport(scenario);
+        int totalWeight = mix.stream().mapToInt(Operation::weight).sum();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        long cpuStart = processCpuNanos();
+        long start = System.nanoTime();
+        for (int u = 0; u < users; u++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Operation op = pick(mix, random.nextInt(totalWeight));
+                    HttpRequest request = op.build().apply(pick(random));
+                    long sent = System.nanoTime();
+                    boolean ok;
+                    long bytes = 0;
+                    try {
+                        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        ok = response.statusCode() < 400;
+                        bytes = response.body().length;
+                        op.onResponse().accept(request, response);
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    report.record(op.name(), System.nanoTime() - sent, ok, bytes);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+        report.finish(System.nanoTime() - start, processCpuNanos() - cpuStart);
+        return report;
+    }
+
+    // client and server share the JVM, so this is the CPU of both sides together
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    private Pick pick(ThreadLocalRandom random) {
+        int a = random.nextInt(accounts.size());
+        int b = (a + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+        return new Pick(accounts.get(a), accounts.get(b), random);
+    }
+
+    private static Operation pick(List<Operation> mix, int ticket) {
+        for (Operation op : mix) {
+            ticket -= op.weight();
+            if (ticket < 0) return op;
+        }
+        throw new IllegalStateException("empty mix");
+    }
+}
@@ -0,0 +1,32 @@
+package com.bankingSystem.load;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+
+import java.util.concurrent.TimeUnit;
+
+// Load tests for features that only exist in MongoDB (striping, partitions) run against the server
+// at load.mongodb-uri and are skipped through @EnabledIf when none answers.
+final class LoadMongo {
+
+    static final String DEFAULT_URI = "mongodb://localhost:27017/banking-load";
+
+    private LoadMongo() {
+    }
+
+    static boolean reachable() {
+        ConnectionString uri = new ConnectionString(System.getProperty("load.mongodb-uri", DEFAULT_URI));
+        try (MongoClient client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(uri)
+                .applyToClusterSettings(c -> c.serverSelectionTimeout(2, TimeUnit.SECONDS))
+                .build())) {
+            client.getDatabase("admin").runCommand(new Document("ping", 1));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
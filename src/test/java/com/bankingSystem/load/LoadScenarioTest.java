@@ -0,0 +1,167 @@
+package com.bankingSystem.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Offline load scenarios against the in-memory profile: mvn -Pload test
+// Tunables (system properties): load.users, load.seconds, load.accounts.
+// Reports are written to target/load-reports/<scenario>.csv.
+@Tag("load")
+@ActiveProfiles("inmemory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.ratelimit.enabled=false",
+        "banking.shed.max-in-flight=100000",
+        "banking.shed.low-priority.max-in-flight=100000",
+        "banking.velocity.max-debits=100000000",
+        "banking.velocity.max-credits=100000000",
+        "banking.velocity.max-debit-amount=1000000000000",
+        "logging.level.com.bankingSystem=WARN"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoadScenarioTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 200);
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ObjectMapper mapper;
+
+    private LoadDriver driver;
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts" + path))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest put(String path, String json) {
+        return request(path).PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path).POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private LoadDriver.Operation deposit(int weight) {
+        return new LoadDriver.Operation("deposit", weight,
+                p -> put("/" + p.account() + "/deposit", "{\"amount\": " + (1 + p.random().nextInt(100)) + "}"));
+    }
+
+    private LoadDriver.Operation withdraw(int weight) {
+        return new LoadDriver.Operation("withdraw", weight,
+                p -> put("/" + p.account() + "/withdraw", "{\"amount\": " + (1 + p.random().nextInt(100)) + "}"));
+    }
+
+    private LoadDriver.Operation transfer(int weight) {
+        return new LoadDriver.Operation("transfer", weight, p -> post("/transfer",
+                "{\"sourceAccount\": \"" + p.account() + "\", \"destinationAccount\": \"" + p.other()
+                        + "\", \"amount\": " + (1 + p.random().nextInt(100)) + "}"));
+    }
+
+    private LoadDriver.Operation getAccount(int weight) {
+        return new LoadDriver.Operation("get-account", weight, p -> get("/" + p.account()));
+    }
+
+    private LoadDriver.Operation history(int weight) {
+        return new LoadDriver.Operation("history", weight, p -> get("/" + p.account() + "/transactions"));
+    }
+
+    private LoadDriver.Operation historyPage(int weight) {
+        return new LoadDriver.Operation("history-page", weight, p -> get("/" + p.account() + "/transactions?limit=20"));
+    }
+
+    // polls with If-None-Match, remembering the last ETag per URL
+    private LoadDriver.Operation poll(String name, int weight, String suffix, Map<URI, String> etags) {
+        return new LoadDriver.Operation(name, weight, p -> {
+            HttpRequest.Builder b = request("/" + p.account() + suffix).GET();
+            String etag = etags.get(b.build().uri());
+            if (etag != null) b.header("If-None-Match", etag);
+            return b.build();
+        }, (request, response) -> response.headers().firstValue("ETag").ifPresent(tag -> etags.put(request.uri(), tag)));
+    }
+
+    @BeforeAll
+    void seedAccounts() throws Exception {
+        driver = new LoadDriver(List.of());
+        List<String> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            HttpResponse<String> created = driver.send(post("", "{\"holderName\": \"Load User " + i + "\"}"));
+            assertEquals(201, created.statusCode(), created.body());
+            String accNo = mapper.readTree(created.body()).get("accountNumber").asText();
+            assertEquals(200, driver.send(put("/" + accNo + "/deposit", "{\"amount\": 1000000}")).statusCode());
+            accounts.add(accNo);
+        }
+        driver = new LoadDriver(accounts);
+    }
+
+    private LatencyReport runScenario(String name, List<LoadDriver.Operation> mix) throws Exception {
+        LatencyReport report = driver.run(name, mix, USERS, DURATION);
+        Path file = report.write(REPORT_DIR);
+        report.rows().forEach(System.out::println);
+        System.out.println("Report written to " + file.toAbsolutePath());
+
+        assertTrue(report.requests() > 0, "no requests completed");
+        assertTrue(report.errors() <= report.requests() / 100,
+                report.errors() + " of " + report.requests() + " requests failed");
+        return report;
+    }
+
+    @Test
+    void depositHeavy() throws Exception {
+        runScenario("deposit-heavy", List.of(deposit(70), withdraw(15), getAccount(15)));
+    }
+
+    @Test
+    void transferHeavy() throws Exception {
+        runScenario("transfer-heavy", List.of(transfer(70), deposit(10), getAccount(20)));
+    }
+
+    // mobile-style polling of account + history, unconditional vs. with If-None-Match
+    @Test
+    void pollingWithETags() throws Exception {
+        LatencyReport plain = runScenario("polling-plain", List.of(getAccount(50), history(50)));
+        Map<URI, String> etags = new ConcurrentHashMap<>();
+        LatencyReport conditional = runScenario("polling-conditional", List.of(
+                poll("get-account", 50, "", etags), poll("history", 50, "/transactions", etags)));
+
+        double plainBytes = plain.responseBytes() / (double) plain.requests();
+        double conditionalBytes = conditional.responseBytes() / (double) conditional.requests();
+        System.out.printf(Locale.ROOT, "polling: %.0f -> %.0f bytes/request, %.0f -> %.0f cpu us/request%n",
+                plainBytes, conditionalBytes, plain.cpuMicrosPerRequest(), conditional.cpuMicrosPerRequest());
+        assertTrue(conditionalBytes < plainBytes);
+    }
+
+    @Test
+    void historyHeavy() throws Exception {
+        runScenario("history-heavy", List.of(historyPage(50), history(20), deposit(20), transfer(10)));
+    }
+}
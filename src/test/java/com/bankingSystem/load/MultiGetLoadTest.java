@@ -0,0 +1,94 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.repository.AccountRepository;
+import com.bankingSystem.service.AccountService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// One customer view of load.multiget.accounts accounts (mvn -Pload test): the multi-get endpoint
+// against the N single-account calls it replaces, with and without their history pages, on the
+// in-memory profile's simulated round trip. Tunables: load.multiget.accounts, load.multiget.rounds.
+@Tag("load")
+@ActiveProfiles("inmemory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.ratelimit.enabled=false",
+        "banking.velocity.max-credits=100000000",
+        "logging.level.com.bankingSystem=WARN"
+})
+class MultiGetLoadTest {
+
+    private static final int ACCOUNTS = Integer.getInteger("load.multiget.accounts", 200);
+    private static final int ROUNDS = Integer.getInteger("load.multiget.rounds", 10);
+    private static final int RECENT = 10;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    AccountRepository accRepo;
+
+    @Autowired
+    AccountService service;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void oneCallBeatsSequentialCalls() {
+        List<String> accNos = IntStream.range(0, ACCOUNTS).mapToObj(i -> String.format("MGT%04d", i)).toList();
+        for (String accNo : accNos) {
+            accRepo.save(new Account(accNo, "Load"));
+            for (int d = 0; d < 3; d++) service.deposit(accNo, 10.0);
+        }
+        String ids = String.join(",", accNos);
+
+        double multi = p50Millis(() -> get("?ids=" + ids + "&recent=" + RECENT));
+        double accounts = p50Millis(() -> accNos.forEach(a -> get("/" + a)));
+        double withHistory = p50Millis(() -> accNos.forEach(a -> {
+            get("/" + a);
+            get("/" + a + "/transactions?limit=" + RECENT);
+        }));
+
+        System.out.printf("multi-get: %d accounts p50 %.1f ms in one call; sequential %.1f ms (accounts only), %.1f ms (with history)%n",
+                ACCOUNTS, multi, accounts, withHistory);
+        assertTrue(multi < accounts, "multi-get " + multi + " ms vs " + accounts + " ms sequential");
+    }
+
+    private void get(String path) {
+        try {
+            HttpResponse<String> res = client.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts" + path)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, res.statusCode(), res.body());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double p50Millis(Runnable view) {
+        view.run();
+        long[] nanos = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long t = System.nanoTime();
+            view.run();
+            nanos[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(nanos);
+        return nanos[ROUNDS / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.BankingSystemApplication;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.repository.AccountRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Overload (mvn -Pload test): more users than request threads, deposits (high priority) mixed
+// with history reads (low priority), against a fresh in-memory application with shedding off and
+// then on. Shed reads are answered with a quick 429, which frees threads for the deposits; the
+// report compares the deposits' p99 in both runs. Tunables: load.users, load.seconds,
+// load.accounts, load.latency-micros, load.overload.threads (Tomcat request threads),
+// load.overload.low-in-flight and load.overload.max-in-flight (the shedder's limits).
+@Tag("load")
+class OverloadLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 128);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 200);
+    private static final long LATENCY_MICROS = Long.getLong("load.latency-micros", 1000);
+    private static final int THREADS = Integer.getInteger("load.overload.threads", 32);
+    private static final int LOW_IN_FLIGHT = Integer.getInteger("load.overload.low-in-flight", 8);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.overload.max-in-flight", 28);
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @Test
+    void sheddingKeepsDepositTailDown() throws Exception {
+        LatencyReport open = run("overload-unshed", 100_000, 100_000);
+        LatencyReport shed = run("overload-shed", LOW_IN_FLIGHT, MAX_IN_FLIGHT);
+
+        long before = open.percentileNanos("deposit", 99);
+        long after = shed.percentileNanos("deposit", 99);
+        System.out.printf(Locale.ROOT, "overload: deposit p99 %.2f ms without shedding, %.2f ms with reads shed at %d in flight%n",
+                before / 1e6, after / 1e6, LOW_IN_FLIGHT);
+        assertTrue(after < before, "shedding reads did not lower the deposits' p99");
+    }
+
+    private LatencyReport run(String scenario, int lowInFlight, int maxInFlight) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .profiles("inmemory")
+                // as arguments: properties() would only be defaults, below application.properties
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + THREADS,
+                        "--banking.inmemory.latency-micros=" + LATENCY_MICROS,
+                        "--banking.ratelimit.client.permits-per-second=1000000",
+                        "--banking.ratelimit.client.burst=1000000",
+                        "--banking.ratelimit.account.permits-per-second=1000000",
+                        "--banking.ratelimit.account.burst=1000000",
+                        "--banking.shed.low-priority.max-in-flight=" + lowInFlight,
+                        "--banking.shed.max-in-flight=" + maxInFlight,
+                        "--banking.velocity.max-debits=100000000",
+                        "--banking.velocity.max-credits=100000000",
+                        "--banking.velocity.max-debit-amount=1000000000000",
+                        "--banking.standing-orders.enabled=false",
+                        "--logging.level.com.bankingSystem=ERROR")) {
+            String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/api/accounts";
+            AccountRepository accRepo = app.getBean(AccountRepository.class);
+            List<String> accounts = new ArrayList<>();
+            for (int i = 0; i < ACCOUNTS; i++) {
+                Account acc = new Account(String.format("OVL%04d", i), "Load");
+                acc.setBalance(1_000_000_000.0);
+                accRepo.save(acc);
+                accounts.add(acc.getAccountNumber());
+            }
+
+            // shed reads come back as 429 and count as errors; a shed deposit is a failure of the test
+            LongAdder depositsShed = new LongAdder();
+            LoadDriver driver = new LoadDriver(accounts);
+            List<LoadDriver.Operation> mix = List.of(
+                    new LoadDriver.Operation("deposit", 30, p -> HttpRequest.newBuilder(URI.create(base + "/" + p.account() + "/deposit"))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\": 10}")).build(),
+                            (req, res) -> { if (res.statusCode() == 429) depositsShed.increment(); }),
+                    new LoadDriver.Operation("history", 70, p -> HttpRequest.newBuilder(
+                            URI.create(base + "/" + p.account() + "/transactions?limit=50")).GET().build()));
+            // unmeasured, so the first run does not pay for the JIT on its own
+            driver.run("warmup", mix, USERS, Duration.ofSeconds(5));
+            depositsShed.reset();
+            LatencyReport report = driver.run(scenario, mix, USERS, DURATION);
+            Path file = report.write(REPORT_DIR);
+            report.rows().forEach(System.out::println);
+            System.out.println("Report written to " + file.toAbsolutePath());
+            System.out.printf(Locale.ROOT, "%s: %d of %d requests shed or failed, deposit p99 %d ms%n", scenario, report.errors(),
+                    report.requests(), TimeUnit.NANOSECONDS.toMillis(report.percentileNanos("deposit", 99)));
+            assertEquals(0, depositsShed.sum(), depositsShed.sum() + " deposits were shed");
+            return report;
+        }
+    }
+}
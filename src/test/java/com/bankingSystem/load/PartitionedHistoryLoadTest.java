@@ -0,0 +1,150 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.AccountRepository;
+import com.bankingSystem.repository.TransactionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// History latency over monthly partitions (mvn -Pload test -Dload.mongodb-uri=...): seeds
+// load.history.rows records spread over two years of partitions, then measures a recent month,
+// a whole year and the first history page, and finally a range in months moved to the archive
+// tier. The target is 100M rows (-Dload.history.rows=100000000 on a dedicated server); the default
+// seeds 1M so a run fits a laptop. Partitions live in MongoDB, so this is skipped when no server
+// answers. The test drops and reseeds the database named in the URI. Tunables: load.users,
+// load.seconds, load.accounts, load.history.rows, load.mongodb-uri.
+@Tag("load")
+@EnabledIf("com.bankingSystem.load.LoadMongo#reachable")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.data.mongodb.uri=${load.mongodb-uri:" + LoadMongo.DEFAULT_URI + "}",
+        "banking.txn.partitioning.enabled=true",
+        "banking.txn.partitioning.hot-months=3",
+        "banking.txn.partitioning.archive-dir=target/load-archive",
+        "banking.ratelimit.enabled=false",
+        "banking.shed.max-in-flight=100000",
+        "banking.shed.low-priority.max-in-flight=100000",
+        "logging.level.com.bankingSystem=WARN"
+})
+class PartitionedHistoryLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int ACCOUNTS = Math.min(10_000, Integer.getInteger("load.accounts", 5_000));
+    private static final long ROWS = Long.getLong("load.history.rows", 1_000_000);
+    private static final int MONTHS = 24;
+    private static final int BATCH = 10_000;
+    private static final Path ARCHIVE_DIR = Path.of("target", "load-archive");
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    MongoTemplate mongo;
+
+    @Autowired
+    AccountRepository accRepo;
+
+    @Autowired
+    TransactionRepository txnRepo;
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts" + path)).GET().build();
+    }
+
+    // from..to as days back from now
+    private LoadDriver.Operation range(String name, int fromDaysBack, int toDaysBack) {
+        return new LoadDriver.Operation(name, 1, p -> {
+            Instant now = Instant.now();
+            return get("/" + p.account() + "/transactions?from=" + now.minus(fromDaysBack, ChronoUnit.DAYS)
+                    + "&to=" + now.minus(toDaysBack, ChronoUnit.DAYS));
+        });
+    }
+
+    @Test
+    void historyLatencyOverPartitions() throws Exception {
+        List<String> accounts = seed();
+        LoadDriver driver = new LoadDriver(accounts);
+
+        measure(driver, "history-month", range("range-month", 30, 0));
+        measure(driver, "history-year", range("range-year", 365, 0));
+        measure(driver, "history-page", new LoadDriver.Operation("page", 1,
+                p -> get("/" + p.account() + "/transactions?limit=20")));
+
+        // the older year leaves MongoDB for the compressed files; reads of it go to the archive tier
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(12);
+        long start = System.nanoTime();
+        int archived = txnRepo.archivePartitionsBefore(cutoff);
+        System.out.printf("history: archived %d partitions in %d s%n", archived,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        assertTrue(archived > 0, "nothing was archived");
+        measure(driver, "history-archived", range("range-archived", 30 * (MONTHS - 2), 30 * 14));
+    }
+
+    private List<String> seed() throws Exception {
+        mongo.getDb().drop();
+        FileSystemUtils.deleteRecursively(ARCHIVE_DIR);
+
+        List<Account> opened = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) opened.add(new Account(String.format("HIS%04d", i), "Load"));
+        accRepo.saveAll(opened);
+        List<String> accounts = opened.stream().map(Account::getAccountNumber).toList();
+
+        // deposits, withdrawals and transfers at random times over the last MONTHS months
+        long start = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long spanSeconds = TimeUnit.DAYS.toSeconds(30L * MONTHS);
+        Instant now = Instant.now();
+        List<Transaction> batch = new ArrayList<>(BATCH);
+        for (long n = 0; n < ROWS; n++) {
+            String a = accounts.get(random.nextInt(ACCOUNTS));
+            String b = accounts.get(random.nextInt(ACCOUNTS));
+            Transaction t = switch (random.nextInt(3)) {
+                case 0 -> new Transaction("TXN-H" + n, "DEPOSIT", 10.0, "SUCCESS", null, a);
+                case 1 -> new Transaction("TXN-H" + n, "WITHDRAW", 10.0, "SUCCESS", a, null);
+                default -> new Transaction("TXN-H" + n, "TRANSFER", 10.0, "SUCCESS", a, b);
+            };
+            t.setTimestamp(now.minusSeconds(random.nextLong(spanSeconds)));
+            batch.add(t);
+            if (batch.size() == BATCH) {
+                txnRepo.append(batch);
+                batch = new ArrayList<>(BATCH);
+            }
+        }
+        if (!batch.isEmpty()) txnRepo.append(batch);
+        System.out.printf("history: seeded %d rows over %d months for %d accounts in %d s%n", ROWS, MONTHS, ACCOUNTS,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        return accounts;
+    }
+
+    private void measure(LoadDriver driver, String scenario, LoadDriver.Operation op) throws Exception {
+        LatencyReport report = driver.run(scenario, List.of(op), USERS, DURATION);
+        Path file = report.write(REPORT_DIR);
+        report.rows().forEach(System.out::println);
+        System.out.println("Report written to " + file.toAbsolutePath());
+        assertEquals(0, report.errors(), report.errors() + " of " + report.requests() + " requests failed");
+    }
+}
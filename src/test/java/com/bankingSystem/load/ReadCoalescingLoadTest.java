@@ -0,0 +1,108 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.repository.AccountRepository;
+import com.bankingSystem.service.ReadCoalescer;
+import com.bankingSystem.util.SingleFlight;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Market-open reads (mvn -Pload test): GET /api/accounts/{accNo} with the account drawn from a
+// Zipfian distribution, so a few corporate accounts take most of the traffic, then uniformly as
+// the control. Without coalescing every call is a query; the report compares the calls per second
+// with the queries per second that reached the repository. Tunables: load.users, load.seconds,
+// load.accounts, load.zipf.exponent.
+@Tag("load")
+@ActiveProfiles("inmemory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.ratelimit.enabled=false",
+        "banking.shed.max-in-flight=100000",
+        "banking.shed.low-priority.max-in-flight=100000",
+        "logging.level.com.bankingSystem=WARN"
+})
+class ReadCoalescingLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 1000);
+    private static final double EXPONENT = Double.parseDouble(System.getProperty("load.zipf.exponent", "1.1"));
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    AccountRepository accRepo;
+
+    @Autowired
+    ReadCoalescer reads;
+
+    @Test
+    void skewedReadsShareQueries() throws Exception {
+        List<String> accounts = IntStream.range(0, ACCOUNTS).mapToObj(i -> String.format("HOT%04d", i)).toList();
+        accounts.forEach(accNo -> accRepo.save(new Account(accNo, "Load")));
+        LoadDriver driver = new LoadDriver(accounts);
+
+        // cumulative weights of rank^-s, the first accounts being the hottest
+        double[] cumulative = new double[ACCOUNTS];
+        double sum = 0;
+        for (int rank = 0; rank < ACCOUNTS; rank++) {
+            sum += Math.pow(rank + 1, -EXPONENT);
+            cumulative[rank] = sum;
+        }
+        double total = sum;
+
+        Rates zipf = measure(driver, "reads-zipf", random -> {
+            int i = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            return accounts.get(Math.min(i < 0 ? -i - 1 : i, ACCOUNTS - 1));
+        });
+        Rates uniform = measure(driver, "reads-uniform", random -> accounts.get(random.nextInt(ACCOUNTS)));
+
+        System.out.printf(Locale.ROOT, "coalescing: zipf s=%.1f %.0f calls/s -> %.0f queries/s (ratio %.2f); uniform %.0f calls/s -> %.0f queries/s (ratio %.2f)%n",
+                EXPONENT, zipf.calls, zipf.queries, 1 - zipf.queries / zipf.calls,
+                uniform.calls, uniform.queries, 1 - uniform.queries / uniform.calls);
+        assertTrue(zipf.queries < zipf.calls, "skewed reads were not coalesced");
+        assertTrue(1 - zipf.queries / zipf.calls > 1 - uniform.queries / uniform.calls,
+                "skewed reads should share more queries than uniform ones");
+    }
+
+    private record Rates(double calls, double queries) {}
+
+    private interface AccountPicker {
+        String pick(ThreadLocalRandom random);
+    }
+
+    private Rates measure(LoadDriver driver, String scenario, AccountPicker picker) throws Exception {
+        SingleFlight<String, Account> flight = reads.getAccountReads();
+        long calls = flight.getCalls();
+        long queries = flight.getExecutions();
+
+        LatencyReport report = driver.run(scenario, List.of(new LoadDriver.Operation("get-account", 1, p ->
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts/" + picker.pick(p.random())))
+                        .GET().build())), USERS, DURATION);
+        Path file = report.write(REPORT_DIR);
+        report.rows().forEach(System.out::println);
+        System.out.println("Report written to " + file.toAbsolutePath());
+        assertEquals(0, report.errors(), report.errors() + " of " + report.requests() + " requests failed");
+
+        double seconds = report.requests() / report.throughput();
+        return new Rates((flight.getCalls() - calls) / seconds, (flight.getExecutions() - queries) / seconds);
+    }
+}
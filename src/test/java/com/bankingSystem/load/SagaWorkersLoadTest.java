@@ -0,0 +1,120 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.BankingSystemApplication;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.repository.AccountRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Saga worker sweep (mvn -Pload test): asynchronous transfers against a fresh in-memory application
+// per worker count. Each virtual user posts a transfer and polls its status until the saga has
+// finished, so the reported latency is accept-to-completed and the throughput is completed sagas
+// per second. Tunables: load.users, load.seconds, load.accounts, load.saga.workers (comma
+// separated), load.latency-micros (simulated round trip).
+@Tag("load")
+class SagaWorkersLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 200);
+    private static final String WORKERS = System.getProperty("load.saga.workers", "1,2,4,8");
+    private static final long LATENCY_MICROS = Long.getLong("load.latency-micros", 300);
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @Test
+    void throughputScalesWithWorkers() throws Exception {
+        List<String> rows = new ArrayList<>();
+        double single = 0;
+        double best = 0;
+        for (int workers : Arrays.stream(WORKERS.split(",")).mapToInt(w -> Integer.parseInt(w.trim())).toArray()) {
+            LatencyReport report = run(workers);
+            if (workers == 1) single = report.throughput();
+            best = Math.max(best, report.throughput());
+            rows.addAll(report.rows().subList(1, report.rows().size()));
+        }
+
+        rows.forEach(System.out::println);
+        System.out.printf(Locale.ROOT, "saga workers: %.0f sagas/s with one worker, %.0f sagas/s best%n", single, best);
+        assertTrue(best > single, "more workers did not complete more sagas");
+    }
+
+    private LatencyReport run(int workers) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(BankingSystemApplication.class)
+                .profiles("inmemory")
+                // as arguments: properties() would only be defaults, below application.properties
+                .run("--server.port=0",
+                        "--banking.transfer.saga.workers=" + workers,
+                        "--banking.inmemory.latency-micros=" + LATENCY_MICROS,
+                        "--banking.ratelimit.enabled=false",
+                        "--banking.shed.max-in-flight=100000",
+                        "--banking.shed.low-priority.max-in-flight=100000",
+                        "--banking.velocity.max-debits=100000000",
+                        "--banking.velocity.max-credits=100000000",
+                        "--banking.velocity.max-debit-amount=1000000000000",
+                        "--banking.standing-orders.enabled=false",
+                        "--logging.level.com.bankingSystem=WARN")) {
+            String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/api";
+            AccountRepository accRepo = app.getBean(AccountRepository.class);
+            List<String> accounts = new ArrayList<>();
+            for (int i = 0; i < ACCOUNTS; i++) {
+                Account acc = new Account(String.format("SAG%04d", i), "Load");
+                acc.setBalance(1_000_000_000.0);
+                accRepo.save(acc);
+                accounts.add(acc.getAccountNumber());
+            }
+
+            LoadDriver driver = new LoadDriver(accounts);
+            List<LoadDriver.Operation> mix = List.of(new LoadDriver.Operation("transfer-async", 1,
+                    p -> HttpRequest.newBuilder(URI.create(base + "/accounts/transfer?async=true"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"sourceAccount\": \"" + p.account()
+                                    + "\", \"destinationAccount\": \"" + p.other() + "\", \"amount\": 1}")).build(),
+                    (request, accepted) -> awaitCompleted(driver, base, accepted)));
+            // unmeasured, so the first worker count does not pay for the JIT on its own
+            driver.run("warmup", mix, USERS, Duration.ofSeconds(5));
+            LatencyReport report = driver.run("saga-workers-" + workers, mix, USERS, DURATION);
+            Path file = report.write(REPORT_DIR);
+            System.out.println("Report written to " + file.toAbsolutePath());
+            assertEquals(0, report.errors(), report.errors() + " of " + report.requests() + " sagas failed");
+            return report;
+        }
+    }
+
+    // polls the Location of an accepted transfer until its saga completes; anything else fails the call
+    private static void awaitCompleted(LoadDriver driver, String base, HttpResponse<byte[]> accepted) {
+        if (accepted.statusCode() != 202) throw new IllegalStateException("not accepted: " + accepted.statusCode());
+        String location = accepted.headers().firstValue("Location").orElseThrow();
+        HttpRequest poll = HttpRequest.newBuilder(URI.create(base + location.substring("/api".length()))).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            String body = driver.send(poll).body();
+            if (body.contains("\"state\":\"COMPLETED\"")) return;
+            if (body.contains("\"state\":\"FAILED\"") || body.contains("\"state\":\"COMPENSATED\"")) {
+                throw new IllegalStateException("saga did not complete: " + body);
+            }
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalStateException("saga still running after 30s: " + location);
+    }
+}
@@ -0,0 +1,97 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.StandingOrder;
+import com.bankingSystem.repository.AccountRepository;
+import com.bankingSystem.repository.StandingOrderRepository;
+import com.bankingSystem.service.impl.StandingOrderServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Standing-order engine against the in-memory profile (mvn -Pload test): every order falls due
+// at the same instant, the worst case for a midnight run. Checks that they are all executed and
+// that the token bucket keeps the execution rate flat at the configured pace instead of letting
+// the spike through. Tunables: load.orders, load.rate (orders/second).
+@Tag("load")
+@ActiveProfiles("inmemory")
+@SpringBootTest(properties = {
+        "banking.standing-orders.slice-seconds=2",
+        "banking.standing-orders.permits-per-second=${load.rate:1000}",
+        "banking.standing-orders.flush-ms=200",
+        "banking.velocity.max-debits=100000000",
+        "banking.velocity.max-credits=100000000",
+        "banking.velocity.max-debit-amount=1000000000000",
+        "logging.level.com.bankingSystem=WARN"
+})
+class StandingOrderLoadTest {
+
+    private static final int ORDERS = Integer.getInteger("load.orders", 10_000);
+    private static final int RATE = Integer.getInteger("load.rate", 1000);
+    private static final int ACCOUNTS = 200;
+
+    @Autowired
+    AccountRepository accRepo;
+
+    @Autowired
+    StandingOrderRepository orderRepo;
+
+    @Autowired
+    StandingOrderServiceImpl engine;
+
+    @Test
+    void midnightPeakIsSpreadAtConfiguredRate() throws Exception {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account acc = new Account(String.format("ACC%04d", i), "Load " + i);
+            acc.setBalance(1_000_000_000.0);
+            accRepo.save(acc);
+        }
+        Instant midnight = Instant.now().plusSeconds(3);
+        List<StandingOrder> batch = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            batch.add(new StandingOrder("SO-LOAD-" + i, String.format("ACC%04d", i % ACCOUNTS),
+                    String.format("ACC%04d", (i + 1) % ACCOUNTS), 1.0, StandingOrder.Frequency.DAILY, midnight));
+        }
+        orderRepo.saveAll(batch);
+
+        // executions per second, sampled every 100 ms
+        List<Long> perSecond = new ArrayList<>();
+        long[] window = new long[10];
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10 + 3L * ORDERS / RATE);
+        long previous = 0, first = -1, tick = 0;
+        while (engine.executedCount() < ORDERS) {
+            assertTrue(System.nanoTime() < deadline, "only " + engine.executedCount() + " of " + ORDERS + " executed");
+            Thread.sleep(100);
+            long done = engine.executedCount();
+            window[(int) (tick++ % window.length)] = done - previous;
+            previous = done;
+            if (done > 0 && first < 0) first = System.nanoTime();
+            if (first >= 0 && tick >= window.length) perSecond.add(Arrays.stream(window).sum());
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - first);
+        long peak = perSecond.stream().mapToLong(Long::longValue).max().orElse(0);
+
+        System.out.printf("standing orders: %d executed in %d ms (%.0f/hour), peak %d/s at pace %d/s, %d declined%n",
+                ORDERS, elapsedMs, ORDERS * 3_600_000.0 / Math.max(1, elapsedMs), peak, RATE, engine.declinedCount());
+        assertEquals(0, engine.declinedCount());
+        // pace plus the bucket's burst (a tenth of a second) and sampling slack
+        assertTrue(peak <= RATE * 1.25, "peak " + peak + "/s exceeds pace " + RATE + "/s");
+
+        // outcomes are written back and every order moves to its next day
+        Thread.sleep(500);
+        StandingOrder one = orderRepo.findByOrderId("SO-LOAD-0").orElseThrow();
+        assertEquals(1, one.getRuns());
+        assertEquals(midnight.plusSeconds(86400), one.getDueAt());
+    }
+}
@@ -0,0 +1,109 @@
+package com.bankingSystem.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// One hot account, single document against striped (mvn -Pload test -Dload.mongodb-uri=...):
+// deposit-heavy traffic from every virtual user on the same account. Striping lives in MongoDB
+// (the in-memory profile has no stripes), so this runs against a real server and is skipped when
+// none answers. Checks the final balance against the operations that succeeded. Tunables:
+// load.users, load.seconds, load.stripes, load.mongodb-uri.
+@Tag("load")
+@EnabledIf("com.bankingSystem.load.LoadMongo#reachable")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.data.mongodb.uri=${load.mongodb-uri:" + LoadMongo.DEFAULT_URI + "}",
+        "banking.ratelimit.enabled=false",
+        "banking.shed.max-in-flight=100000",
+        "banking.shed.low-priority.max-in-flight=100000",
+        "banking.velocity.max-debits=100000000",
+        "banking.velocity.max-credits=100000000",
+        "banking.velocity.max-debit-amount=1000000000000",
+        "logging.level.com.bankingSystem=WARN"
+})
+class StripingLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int STRIPES = Integer.getInteger("load.stripes", 8);
+    private static final double OPENING = 1_000_000;
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ObjectMapper mapper;
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts" + path))
+                .header("Content-Type", "application/json");
+    }
+
+    @Test
+    void stripedHotAccountTakesMoreDeposits() throws Exception {
+        LoadDriver setup = new LoadDriver(List.of());
+        String single = open(setup);
+        String striped = open(setup);
+        HttpResponse<String> marked = setup.send(request("/" + striped + "/stripes?count=" + STRIPES)
+                .PUT(HttpRequest.BodyPublishers.noBody()).build());
+        assertEquals(200, marked.statusCode(), marked.body());
+
+        LatencyReport plain = run(setup, "hot-account-single", single);
+        LatencyReport split = run(setup, "hot-account-striped-" + STRIPES, striped);
+
+        System.out.printf(Locale.ROOT, "striping: one hot account %.0f req/s single document, %.0f req/s over %d stripes%n",
+                plain.throughput(), split.throughput(), STRIPES);
+    }
+
+    private String open(LoadDriver setup) throws Exception {
+        HttpResponse<String> created = setup.send(request("").POST(HttpRequest.BodyPublishers.ofString(
+                "{\"holderName\": \"Hot Account\"}")).build());
+        assertEquals(201, created.statusCode(), created.body());
+        String accNo = mapper.readTree(created.body()).get("accountNumber").asText();
+        assertEquals(200, setup.send(request("/" + accNo + "/deposit").PUT(HttpRequest.BodyPublishers.ofString(
+                "{\"amount\": " + OPENING + "}")).build()).statusCode());
+        return accNo;
+    }
+
+    // every user on the same account: 90% deposits, 10% withdrawals of 1
+    private LatencyReport run(LoadDriver setup, String scenario, String accNo) throws Exception {
+        LongAdder deposited = new LongAdder();
+        LongAdder withdrawn = new LongAdder();
+        LoadDriver driver = new LoadDriver(List.of(accNo, accNo));
+        LatencyReport report = driver.run(scenario, List.of(
+                new LoadDriver.Operation("deposit", 90, p -> request("/" + accNo + "/deposit")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\": 1}")).build(),
+                        (req, res) -> { if (res.statusCode() == 200) deposited.increment(); }),
+                new LoadDriver.Operation("withdraw", 10, p -> request("/" + accNo + "/withdraw")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\": 1}")).build(),
+                        (req, res) -> { if (res.statusCode() == 200) withdrawn.increment(); })),
+                USERS, DURATION);
+        Path file = report.write(REPORT_DIR);
+        report.rows().forEach(System.out::println);
+        System.out.println("Report written to " + file.toAbsolutePath());
+        assertEquals(0, report.errors(), report.errors() + " of " + report.requests() + " requests failed");
+
+        // the striped balance may be served from the cached aggregate for a moment
+        Thread.sleep(500);
+        HttpResponse<String> account = setup.send(request("/" + accNo).GET().build());
+        assertEquals(OPENING + deposited.sum() - withdrawn.sum(),
+                mapper.readTree(account.body()).get("balance").asDouble(), 1e-6);
+        return report;
+    }
+}
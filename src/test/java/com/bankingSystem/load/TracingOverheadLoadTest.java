@@ -0,0 +1,197 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.repository.AccountRepository;
+import com.bankingSystem.service.AccountService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Cost of tracing (mvn -Pload test): a service call through the @Observed proxy inside an unsampled
+// and a sampled trace, against the same call on the bare bean. Simulated repository latency is switched off so
+// the difference is the tracing itself. Also checks one traced transfer produces the request ->
+// controller -> service span chain in the export file.
+// Tunables: load.tracing.calls (per round), load.tracing.rounds.
+@Tag("load")
+@ActiveProfiles("inmemory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.inmemory.latency-micros=0",
+        "banking.inmemory.jitter-micros=0",
+        "banking.ratelimit.enabled=false",
+        "banking.tracing.export-file=target/load-reports/spans.jsonl",
+        "logging.level.com.bankingSystem=WARN"
+})
+class TracingOverheadLoadTest {
+
+    private static final int CALLS = Integer.getInteger("load.tracing.calls", 20_000);
+    private static final int ROUNDS = Integer.getInteger("load.tracing.rounds", 10);
+    private static final Path SPANS = Path.of("target", "load-reports", "spans.jsonl");
+
+    // stands in for management.tracing.sampling.probability 0 / 1 without restarting the context
+    static volatile boolean sampling;
+
+    @TestConfiguration
+    static class SwitchableSampler {
+        @Bean
+        Sampler sampler() {
+            return new Sampler() {
+                @Override
+                public SamplingResult shouldSample(Context parent, String traceId, String name, SpanKind kind,
+                                                   Attributes attributes, List<LinkData> links) {
+                    return sampling ? SamplingResult.recordAndSample() : SamplingResult.drop();
+                }
+
+                @Override
+                public String getDescription() {
+                    return "switchable";
+                }
+            };
+        }
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    AccountService service;
+
+    @Autowired
+    AccountRepository accRepo;
+
+    @Autowired
+    SdkTracerProvider tracerProvider;
+
+    @Autowired
+    ObservationRegistry registry;
+
+    @Autowired
+    MeterRegistry meters;
+
+    // the exporter appends; start each run with a fresh file (the context is created after this)
+    @BeforeAll
+    static void clearSpans() throws IOException {
+        Files.deleteIfExists(SPANS);
+    }
+
+    @Test
+    void tracingOffCostsLittle() {
+        Account acc = new Account("TRC0001", "Load");
+        acc.setBalance(1_000.0);
+        accRepo.save(acc);
+        AccountService bare = AopTestUtils.getUltimateTargetObject(service);
+        assertNotSame(bare, service);
+
+        long timedBefore = serviceCallsTimed();
+
+        // alternating rounds, best of each: a single pass is at the mercy of GC and JIT timing
+        double bareNanos = Double.MAX_VALUE, offNanos = Double.MAX_VALUE, onNanos = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            sampling = false;
+            bareNanos = Math.min(bareNanos, nanosPerCall(bare));
+            offNanos = Math.min(offNanos, nanosPerCall(service));
+            sampling = true;
+            onNanos = Math.min(onNanos, nanosPerCall(service));
+        }
+        sampling = false;
+
+        System.out.printf("tracing: getAccount %.0f ns bare, +%.0f ns sampling off, +%.0f ns sampling on%n",
+                bareNanos, offNanos - bareNanos, onNanos - bareNanos);
+        // inside an unsampled trace the service observation is skipped outright: only the sampled
+        // rounds reach the timer, and what is left of the cost is the proxy and the sampling check
+        assertEquals((long) ROUNDS * CALLS, serviceCallsTimed() - timedBefore);
+        assertTrue(offNanos - bareNanos < (onNanos - bareNanos) / 4,
+                "tracing off adds " + (offNanos - bareNanos) + " ns, on adds " + (onNanos - bareNanos) + " ns");
+    }
+
+    @Test
+    void transferIsTracedThroughEveryLayer() throws Exception {
+        for (String accNo : List.of("TRC0002", "TRC0003")) {
+            Account acc = new Account(accNo, "Load");
+            acc.setBalance(1_000.0);
+            accRepo.save(acc);
+        }
+
+        sampling = true;
+        HttpResponse<String> res = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts/transfer"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"sourceAccount\": \"TRC0002\", \"destinationAccount\": \"TRC0003\", \"amount\": 10}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        sampling = false;
+        assertEquals(200, res.statusCode());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> spans = new ArrayList<>();
+        try (Stream<String> lines = Files.lines(SPANS)) {
+            for (String line : lines.filter(l -> !l.contains("\"getAccount\"")).toList()) spans.add(mapper.readTree(line));
+        }
+        JsonNode service = spans.stream()
+                .filter(s -> s.get("name").asText().equals("account-service-impl#transfer"))
+                .reduce((first, second) -> second).orElseThrow();
+        Map<String, JsonNode> trace = spans.stream()
+                .filter(s -> s.get("traceId").equals(service.get("traceId")))
+                .collect(Collectors.toMap(s -> s.get("spanId").asText(), Function.identity()));
+
+        JsonNode controller = trace.get(service.get("parentSpanId").asText());
+        assertEquals("account-controller#transfer", controller.get("name").asText());
+        JsonNode request = trace.get(controller.get("parentSpanId").asText());
+        assertEquals("SERVER", request.get("kind").asText());
+        assertFalse(request.has("parentSpanId"));
+    }
+
+    private long serviceCallsTimed() {
+        return meters.find("banking.service").timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    // the calls run inside one root observation, as they would inside a request
+    private double nanosPerCall(AccountService target) {
+        Observation root = Observation.start("load.tracing", registry);
+        try (Observation.Scope ignored = root.openScope()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < CALLS; i++) target.getAccount("TRC0001");
+            return (System.nanoTime() - start) / (double) CALLS;
+        } finally {
+            root.stop();
+        }
+    }
+}
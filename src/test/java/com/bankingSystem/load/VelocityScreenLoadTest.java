@@ -0,0 +1,87 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.service.TransactionScreen.Decision;
+import com.bankingSystem.service.TransactionScreen.Direction;
+import com.bankingSystem.service.impl.VelocityScreen;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Overhead of the velocity screening stage (mvn -Pload test): concurrent screen() calls, as the
+// money-movement pipeline makes them before writing anything, over a large account population with
+// a hot tenth taking most of the traffic. The stage runs on the request thread, so its p99 is what
+// every deposit, withdrawal and transfer pays; the budget is 50us. Request counts and rates in the
+// report are of the timed sample, one call in 16. Tunables: load.threads, load.seconds, load.accounts.
+@Tag("load")
+class VelocityScreenLoadTest {
+
+    private static final int THREADS = Integer.getInteger("load.threads", 2 * Runtime.getRuntime().availableProcessors());
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 100_000);
+    private static final int SAMPLE = 16;
+    private static final long P99_BUDGET_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @Test
+    void screeningStaysUnder50MicrosP99() throws Exception {
+        // production window and flag ratio, limits high enough that the allow path is measured
+        VelocityScreen screen = new VelocityScreen(60, 100_000_000, 1e12, 100_000_000, 0.8, 1_000_000);
+        String[] accounts = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) accounts[i] = String.format("VEL%06d", i);
+
+        // unmeasured, so the JIT has compiled screen() before samples are taken
+        run(screen, accounts, new LatencyReport("warmup"), Duration.ofSeconds(5));
+        LatencyReport report = new LatencyReport("velocity-screen");
+        run(screen, accounts, report, DURATION);
+        screen.shutdown();
+
+        Path file = report.write(REPORT_DIR);
+        report.rows().forEach(System.out::println);
+        System.out.println("Report written to " + file.toAbsolutePath());
+        for (String op : new String[]{"credit", "debit"}) {
+            long p99 = report.percentileNanos(op, 99);
+            System.out.printf("velocity: %s p99 %d ns (budget %d ns)%n", op, p99, P99_BUDGET_NANOS);
+            assertTrue(p99 <= P99_BUDGET_NANOS, op + " screening p99 is " + p99 + " ns");
+        }
+    }
+
+    private static void run(VelocityScreen screen, String[] accounts, LatencyReport report, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        int hot = Math.max(1, accounts.length / 10);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    // 80% of the traffic on the hot tenth
+                    String accNo = accounts[random.nextInt(100) < 80 ? random.nextInt(hot) : random.nextInt(accounts.length)];
+                    Direction direction = random.nextBoolean() ? Direction.CREDIT : Direction.DEBIT;
+                    double amount = 1 + random.nextInt(500);
+                    // one call in SAMPLE is timed: recording every one would fill the heap with samples
+                    boolean timed = random.nextInt(SAMPLE) == 0;
+                    long sent = timed ? System.nanoTime() : 0;
+                    Decision decision = screen.screen(accNo, direction, amount);
+                    // one operation in a hundred fails after screening and hands its attempt back
+                    if (random.nextInt(100) == 0) screen.release(accNo, direction, amount);
+                    if (timed) {
+                        report.record(direction == Direction.CREDIT ? "credit" : "debit", System.nanoTime() - sent,
+                                decision != Decision.BLOCK, 0);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+        report.finish(System.nanoTime() - start, 0);
+    }
+}
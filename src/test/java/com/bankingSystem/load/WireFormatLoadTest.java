@@ -0,0 +1,117 @@
+package com.bankingSystem.load;
+
+import com.bankingSystem.dto.AccountSummary;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.repository.AccountRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Serialisation benchmark for the account API (mvn -Pload test): bytes and encoding time per
+// response for JSON and CBOR, full Account and the slim summary view. Encoding is timed on the
+// message converters the application negotiates with; the same four variants are then served over
+// HTTP for end-to-end latency and CPU per request. Tunables: load.users, load.seconds,
+// load.accounts, load.wire.txn-ids (transactionIds per account).
+@Tag("load")
+@ActiveProfiles("inmemory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "banking.ratelimit.enabled=false",
+        "banking.shed.max-in-flight=100000",
+        "banking.shed.low-priority.max-in-flight=100000",
+        "logging.level.com.bankingSystem=WARN"
+})
+class WireFormatLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 20));
+    private static final int ACCOUNTS = Integer.getInteger("load.accounts", 200);
+    private static final int TXN_IDS = Integer.getInteger("load.wire.txn-ids", 200);
+    private static final int ENCODES = 20_000;
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    AccountRepository accRepo;
+
+    @Autowired
+    RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    void compactFormatsShrinkResponses() throws Exception {
+        List<String> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account acc = new Account(String.format("WIR%04d", i), "Load User " + i);
+            acc.setBalance(1_000_000.0);
+            for (int t = 0; t < TXN_IDS; t++) acc.getTransactionIds().add(String.format("TXN-%04d-%06d", i, t));
+            accRepo.save(acc);
+            accounts.add(acc.getAccountNumber());
+        }
+        Account sample = accRepo.findByAccountNumber(accounts.get(0)).orElseThrow();
+
+        Map<String, long[]> encoded = new LinkedHashMap<>();
+        encoded.put("json", encode(sample, MediaType.APPLICATION_JSON));
+        encoded.put("cbor", encode(sample, MediaType.APPLICATION_CBOR));
+        encoded.put("json-summary", encode(AccountSummary.from(sample), MediaType.APPLICATION_JSON));
+        encoded.put("cbor-summary", encode(AccountSummary.from(sample), MediaType.APPLICATION_CBOR));
+        encoded.forEach((variant, e) -> System.out.printf(Locale.ROOT,
+                "wire format: %-12s %6d bytes, %6d ns to encode%n", variant, e[0], e[1]));
+
+        LoadDriver driver = new LoadDriver(accounts);
+        // unmeasured, so the first variant does not pay for warming up the HTTP path on its own
+        driver.run("warmup", List.of(new LoadDriver.Operation("get-account", 1, p ->
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts/" + p.account())).GET().build())),
+                USERS, Duration.ofSeconds(5));
+        for (String variant : encoded.keySet()) {
+            String query = variant.endsWith("-summary") ? "?view=summary" : "";
+            String accept = variant.startsWith("cbor") ? MediaType.APPLICATION_CBOR_VALUE : MediaType.APPLICATION_JSON_VALUE;
+            LatencyReport report = driver.run("wire-" + variant, List.of(new LoadDriver.Operation("get-account", 1, p ->
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts/" + p.account() + query))
+                            .header("Accept", accept).GET().build())), USERS, DURATION);
+            Path file = report.write(REPORT_DIR);
+            report.rows().forEach(System.out::println);
+            System.out.println("Report written to " + file.toAbsolutePath());
+            assertEquals(0, report.errors(), report.errors() + " of " + report.requests() + " requests failed");
+        }
+
+        assertTrue(encoded.get("cbor")[0] < encoded.get("json")[0], "CBOR is not smaller than JSON");
+        assertTrue(encoded.get("json-summary")[0] < encoded.get("json")[0], "summary is not smaller than the full account");
+    }
+
+    // {bytes, best ns of five rounds} with the converter the application would pick for the type
+    private long[] encode(Object body, MediaType type) throws Exception {
+        AbstractJackson2HttpMessageConverter converter = handlerAdapter.getMessageConverters().stream()
+                .filter(c -> c instanceof AbstractJackson2HttpMessageConverter && c.canWrite(body.getClass(), type))
+                .map(c -> (AbstractJackson2HttpMessageConverter) c)
+                .findFirst().orElseThrow();
+        int bytes = converter.getObjectMapper().writeValueAsBytes(body).length;
+        for (int i = 0; i < ENCODES; i++) converter.getObjectMapper().writeValueAsBytes(body);
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ENCODES; i++) converter.getObjectMapper().writeValueAsBytes(body);
+            best = Math.min(best, (System.nanoTime() - start) / ENCODES);
+        }
+        return new long[]{bytes, best};
+    }
+}
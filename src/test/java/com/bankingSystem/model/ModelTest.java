@@ -3,6 +3,7 @@ package com.bankingSystem.model;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -49,4 +50,113 @@ class ModelTest {
         assertEquals(newTime, t.getTimestamp());
 
     }
+
+    @Test
+    void testStandingOrderAdvanceKeepsMonthlyAnchor() {
+        Instant first = Instant.parse("2024-01-31T09:00:00Z");
+        StandingOrder order = new StandingOrder("SO-1", "A1", "A2", 50.0, StandingOrder.Frequency.MONTHLY, first);
+
+        order.setAttempts(2);
+        order.advance(first);
+        assertEquals(Instant.parse("2024-02-29T09:00:00Z"), order.getOccurrence());
+        assertEquals(order.getOccurrence(), order.getDueAt());
+        assertEquals(0, order.getAttempts());
+
+        // clamped in February, back to the 31st in March
+        order.advance(order.getOccurrence());
+        assertEquals(Instant.parse("2024-03-31T09:00:00Z"), order.getOccurrence());
+        assertEquals(2, order.getSequence());
+    }
+
+    @Test
+    void testStandingOrderAdvanceSkipsMissedOccurrences() {
+        Instant first = Instant.parse("2024-01-01T00:00:00Z");
+        StandingOrder order = new StandingOrder("SO-1", "A1", "A2", 50.0, StandingOrder.Frequency.DAILY, first);
+
+        order.advance(Instant.parse("2024-01-05T12:00:00Z"));
+
+        assertEquals(Instant.parse("2024-01-06T00:00:00Z"), order.getDueAt());
+        assertEquals(5, order.getSequence());
+    }
+
+    @Test
+    void testAccountStatusTransitions() {
+        assertTrue(AccountStatus.ACTIVE.canMoveTo(AccountStatus.FROZEN));
+        assertTrue(AccountStatus.FROZEN.canMoveTo(AccountStatus.ACTIVE));
+        assertTrue(AccountStatus.FROZEN.canMoveTo(AccountStatus.CLOSED));
+        assertTrue(AccountStatus.CLOSED.canMoveTo(AccountStatus.ARCHIVED));
+        assertFalse(AccountStatus.CLOSED.canMoveTo(AccountStatus.ACTIVE));
+        assertFalse(AccountStatus.ACTIVE.canMoveTo(AccountStatus.ARCHIVED));
+
+        assertTrue(AccountStatus.FROZEN.allowsCredit());
+        assertFalse(AccountStatus.FROZEN.allowsDebit());
+        assertFalse(AccountStatus.CLOSED.allowsCredit());
+    }
+
+    @Test
+    void testAccountWithoutStatusIsActive() {
+        Account acc = new Account();
+        assertEquals(AccountStatus.ACTIVE, acc.getStatus());
+    }
+
+    @Test
+    void testArchivedAccountSummary() {
+        Account acc = new Account("ACC0001", "John");
+        ArchivedAccount archived = new ArchivedAccount(acc);
+
+        Transaction dep = new Transaction("T1", "DEPOSIT", 100.0, "SUCCESS", null, "ACC0001");
+        dep.setTimestamp(Instant.parse("2024-01-02T00:00:00Z"));
+        Transaction wd = new Transaction("T2", "WITHDRAW", 40.0, "SUCCESS", "ACC0001", null);
+        wd.setTimestamp(Instant.parse("2024-01-01T00:00:00Z"));
+        archived.include(dep);
+        archived.include(wd);
+
+        assertEquals(AccountStatus.ARCHIVED, archived.getStatus());
+        assertEquals(2, archived.getTransactionCount());
+        assertEquals(100.0, archived.getTotalCredits());
+        assertEquals(40.0, archived.getTotalDebits());
+        assertEquals(wd.getTimestamp(), archived.getFirstTransactionAt());
+        assertEquals(dep.getTimestamp(), archived.getLastTransactionAt());
+    }
+
+    @Test
+    void testPostingsBalancePerCurrency() {
+        assertTrue(Posting.balanced(Posting.move("A1", "A2", 0.1, "USD")));
+        // 0.1 + 0.2 out, 0.3 in: not zero in binary floating point, zero as decimals
+        assertTrue(Posting.balanced(List.of(new Posting("A1", -0.1, "USD"), new Posting("A1", -0.2, "USD"),
+                new Posting("A2", 0.3, "USD"))));
+        assertTrue(Posting.balanced(Posting.convert("A1", 100.0, "USD", "A2", 80.0, "EUR")));
+        // equal totals in different currencies do not cancel out
+        assertFalse(Posting.balanced(List.of(new Posting("A1", -100.0, "USD"), new Posting("A2", 100.0, "EUR"))));
+    }
+
+    @Test
+    void testAmountForTransferEntryAndLegacyRecords() {
+        Transaction entry = new Transaction("T1", "TRANSFER", 100.0, "SUCCESS", "A1", "A2");
+        entry.setPostings(Posting.convert("A1", 100.0, "USD", "A2", 80.0, "EUR"));
+        assertEquals(-100.0, entry.amountFor("A1"));
+        assertEquals(80.0, entry.amountFor("A2"));
+        assertNull(entry.amountFor("A3"));
+
+        // written before the ledger: signed by type, the two-sided TRANSFER was a memo
+        assertEquals(-40.0, new Transaction("T2", "WITHDRAW", 40.0, "SUCCESS", "A1", null).amountFor("A1"));
+        assertEquals(40.0, new Transaction("T3", "DEPOSIT", 40.0, "SUCCESS", null, "A1").amountFor("A1"));
+        assertNull(new Transaction("T4", "TRANSFER", 40.0, "SUCCESS", "A1", "A2").amountFor("A1"));
+    }
+
+    @Test
+    void testArchivedAccountSummaryCountsOwnSideOfTransfers() {
+        ArchivedAccount archived = new ArchivedAccount(new Account("ACC0001", "John"));
+
+        Transaction in = new Transaction("T1", "TRANSFER", 50.0, "SUCCESS", "ACC0002", "ACC0001");
+        in.setPostings(Posting.convert("ACC0002", 50.0, "EUR", "ACC0001", 62.5, "USD"));
+        Transaction memo = new Transaction("T2", "TRANSFER", 10.0, "SUCCESS", "ACC0001", "ACC0002");
+        memo.setPostings(List.of());
+        archived.include(in);
+        archived.include(memo);
+
+        assertEquals(1, archived.getTransactionCount());
+        assertEquals(62.5, archived.getTotalCredits());
+        assertEquals(0.0, archived.getTotalDebits());
+    }
 }
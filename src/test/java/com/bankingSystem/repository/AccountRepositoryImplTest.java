@@ -0,0 +1,273 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.ArchivedAccount;
+import com.bankingSystem.model.Hold;
+import com.bankingSystem.model.Transaction;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountRepositoryImplTest {
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final AccountRepositoryImpl repo = new AccountRepositoryImpl(mongo, false, 2);
+
+    private Transaction txn(String id, String type, double amount, String src, String dest, String timestamp) {
+        Transaction t = new Transaction(id, type, amount, "SUCCESS", src, dest);
+        t.setId(id);
+        t.setTimestamp(Instant.parse(timestamp));
+        return t;
+    }
+
+    // the filter rendered the way MongoTemplate renders it before sending
+    private static String mapped(Query query) {
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        QueryMapper mapper = new QueryMapper(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context));
+        return mapper.getMappedObject(query.getQueryObject(), context.getPersistentEntity(Account.class)).toJson();
+    }
+
+    @Test
+    void testSingleAccountQueryLeavesTransfersAlone() {
+        String json = AccountRepositoryImpl.singleAccount("ACC0001").getQueryObject().toJson();
+
+        assertTrue(json.contains("\"sourceAccount\": \"ACC0001\", \"destinationAccount\": null"));
+        assertTrue(json.contains("\"destinationAccount\": \"ACC0001\", \"sourceAccount\": null"));
+    }
+
+    // the account as the seal returns it: ARCHIVED, with the ids of the entries that applied
+    private Account sealed(String accNo, String... txnIds) {
+        Account acc = new Account(accNo, "John");
+        acc.setStatus(AccountStatus.ARCHIVED);
+        acc.getTransactionIds().addAll(List.of(txnIds));
+        return acc;
+    }
+
+    @Test
+    void testArchiveSummarisesMovesAndRemoves() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setStatus(AccountStatus.CLOSED);
+        Transaction dep = txn("T1", "DEPOSIT", 100.0, null, "ACC0001", "2024-01-01T00:00:00Z");
+        Transaction wd = txn("T2", "WITHDRAW", 100.0, "ACC0001", null, "2024-02-01T00:00:00Z");
+
+        when(mongo.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Account.class)))
+                .thenReturn(sealed("ACC0001", "T1", "T2"));
+        when(mongo.findOne(any(Query.class), eq(ArchivedAccount.class))).thenReturn(null);
+        when(mongo.stream(any(Query.class), eq(Transaction.class), eq("transactions"))).thenReturn(Stream.of(dep, wd));
+        when(mongo.insert(any(ArchivedAccount.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(mongo.save(any(ArchivedAccount.class))).thenAnswer(inv -> inv.getArgument(0));
+        // one full chunk of two, then nothing left
+        when(mongo.find(any(Query.class), eq(Transaction.class), eq("transactions"))).thenReturn(List.of(dep, wd), List.of());
+        when(mongo.bulkOps(any(BulkOperations.BulkMode.class), eq(Transaction.class), eq("archived_transactions"))).thenReturn(bulk);
+
+        ArchivedAccount archived = repo.archive(acc);
+
+        assertEquals(2, archived.getTransactionCount());
+        assertEquals(100.0, archived.getTotalCredits());
+        assertEquals(100.0, archived.getTotalDebits());
+        assertEquals(Instant.parse("2024-02-01T00:00:00Z"), archived.getLastTransactionAt());
+        assertNotNull(archived.getArchivedAt());
+        verify(bulk, times(2)).replaceOne(any(Query.class), any(Transaction.class), any());
+        verify(bulk).execute();
+        verify(mongo).remove(any(Query.class), eq("transactions"));
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongo).remove(removed.capture(), eq(Account.class));
+        assertEquals("ARCHIVED", removed.getValue().getQueryObject().get("status"));
+    }
+
+    @Test
+    void testArchiveSealsOnlyAnEmptyClosedAccount() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setStatus(AccountStatus.CLOSED);
+        when(mongo.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Account.class)))
+                .thenReturn(sealed("ACC0001"));
+        when(mongo.findOne(any(Query.class), eq(ArchivedAccount.class))).thenReturn(new ArchivedAccount(acc));
+        when(mongo.find(any(Query.class), eq(Transaction.class), eq("transactions"))).thenReturn(List.of());
+        when(mongo.save(any(ArchivedAccount.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        repo.archive(acc);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Account.class));
+        String filter = mapped(query.getValue());
+        assertTrue(filter.contains("{\"status\": {\"$in\": [\"CLOSED\"]}}"));
+        assertTrue(filter.contains("{\"holds.0\": {\"$exists\": false}}"));
+        assertTrue(filter.contains("{\"balance\": 0.0}"));
+        assertEquals("ARCHIVED", update.getValue().getUpdateObject().get("$set", Document.class).get("status"));
+    }
+
+    @Test
+    void testArchiveAbortsWhenTheClosedAccountChanged() {
+        // e.g. a reversal credited it after it was loaded: the seal matches nothing
+        Account acc = new Account("ACC0001", "John");
+        acc.setStatus(AccountStatus.CLOSED);
+
+        assertThrows(IllegalStateException.class, () -> repo.archive(acc));
+
+        verify(mongo, never()).insert(any(ArchivedAccount.class));
+        verify(mongo, never()).remove(any(Query.class), anyString());
+        verify(mongo, never()).remove(any(Query.class), eq(Account.class));
+    }
+
+    @Test
+    void testArchiveSummarisesOnlyAppliedEntries() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setStatus(AccountStatus.CLOSED);
+        Transaction dep = txn("T1", "DEPOSIT", 100.0, null, "ACC0001", "2024-01-01T00:00:00Z");
+        // written, then rejected by the seal and about to be retracted
+        Transaction late = txn("T9", "REVERSAL", 5.0, null, "ACC0001", "2024-03-01T00:00:00Z");
+
+        when(mongo.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Account.class)))
+                .thenReturn(sealed("ACC0001", "T1"));
+        when(mongo.stream(any(Query.class), eq(Transaction.class), eq("transactions"))).thenReturn(Stream.of(dep, late));
+        when(mongo.insert(any(ArchivedAccount.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(mongo.save(any(ArchivedAccount.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(mongo.find(any(Query.class), eq(Transaction.class), eq("transactions"))).thenReturn(List.of());
+
+        ArchivedAccount archived = repo.archive(acc);
+
+        assertEquals(1, archived.getTransactionCount());
+        assertEquals(100.0, archived.getTotalCredits());
+    }
+
+    @Test
+    void testRerunKeepsExistingSummary() {
+        // a run that stopped after sealing: the account is found ARCHIVED and not sealed again
+        Account acc = sealed("ACC0001");
+        ArchivedAccount existing = new ArchivedAccount(acc);
+
+        when(mongo.findOne(any(Query.class), eq(Account.class))).thenReturn(acc);
+        when(mongo.findOne(any(Query.class), eq(ArchivedAccount.class))).thenReturn(existing);
+        when(mongo.find(any(Query.class), eq(Transaction.class), eq("transactions"))).thenReturn(List.of());
+        when(mongo.save(existing)).thenReturn(existing);
+
+        assertSame(existing, repo.archive(acc));
+        verify(mongo, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Account.class));
+        verify(mongo, never()).insert(any(ArchivedAccount.class));
+        verify(mongo, never()).stream(any(Query.class), eq(Transaction.class), anyString());
+    }
+
+    @Test
+    void testPlaceHoldIsOneConditionalUpdate() {
+        Hold hold = new Hold("HLD-1", 25.0, Instant.now(), Instant.now().plusSeconds(60));
+
+        repo.placeHold("ACC0001", hold);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Account.class));
+        String filter = mapped(query.getValue());
+        assertTrue(filter.contains("{\"$gte\": [{\"$subtract\": [\"$balance\", {\"$ifNull\": [\"$heldAmount\", 0]}]}, 25.0]}"));
+        assertTrue(filter.contains("{\"status\": {\"$in\": [\"ACTIVE\", null]}}"));
+        org.bson.Document change = update.getValue().getUpdateObject();
+        assertEquals(25.0, change.get("$inc", org.bson.Document.class).get("heldAmount"));
+        assertSame(hold, change.get("$push", org.bson.Document.class).get("holds"));
+    }
+
+    @Test
+    void testCaptureMatchesOnHoldId() {
+        repo.captureHold("ACC0001", "HLD-1", 40.0, 25.0, "TXN-1");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Account.class));
+        String criteria = query.getValue().getQueryObject().toJson();
+        assertTrue(criteria.contains("\"holds.holdId\": \"HLD-1\""));
+        assertTrue(criteria.contains("\"ACTIVE\""));
+        assertTrue(criteria.contains("stripeCount"));
+        String change = update.getValue().getUpdateObject().toJson();
+        assertTrue(change.contains("\"heldAmount\": -40.0"));
+        assertTrue(change.contains("\"balance\": -25.0"));
+        assertTrue(change.contains("$pull"));
+    }
+
+    @Test
+    void testApplyChangeDebitIsConditionalOnAvailableBalance() {
+        repo.applyChange("ACC0001", -25.0, "TXN-1", AccountStatus.DEBITABLE);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Account.class));
+        String filter = mapped(query.getValue());
+        assertTrue(filter.contains("{\"transactionIds\": {\"$ne\": \"TXN-1\"}}"));
+        assertTrue(filter.contains("{\"stripeCount\": {\"$not\": {\"$gt\": 1}}}"));
+        // documents written before the status field existed count as ACTIVE
+        assertTrue(filter.contains("{\"status\": {\"$in\": [\"ACTIVE\", null]}}"));
+        assertTrue(filter.contains("{\"$gte\": [{\"$subtract\": [\"$balance\", {\"$ifNull\": [\"$heldAmount\", 0]}]}, 25.0]}"));
+        String change = update.getValue().getUpdateObject().toJson();
+        assertTrue(change.contains("\"balance\": -25.0"));
+        assertTrue(change.contains("\"$push\": {\"transactionIds\": \"TXN-1\"}"));
+    }
+
+    @Test
+    void testApplyChangeCreditOnlyIncrements() {
+        repo.applyChange("ACC0001", 25.0, null, null);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Account.class));
+        assertFalse(mapped(query.getValue()).contains("$expr"));
+        assertEquals("{\"$inc\": {\"balance\": 25.0}}", update.getValue().getUpdateObject().toJson());
+    }
+
+    @Test
+    void testCloseIsConditionalOnEmptyAccount() {
+        Instant closedAt = Instant.parse("2026-01-01T00:00:00Z");
+        repo.changeStatus("ACC0001", AccountStatus.ACTIVE, AccountStatus.CLOSED, closedAt);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Account.class));
+        String filter = mapped(query.getValue());
+        assertTrue(filter.contains("{\"holds.0\": {\"$exists\": false}}"));
+        assertTrue(filter.contains("{\"balance\": 0.0}"));
+        assertTrue(filter.contains("{\"status\": {\"$in\": [\"ACTIVE\", null]}}"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(Map.of("status", "CLOSED", "closedAt", closedAt), set);
+    }
+
+    @Test
+    void testFreezeOnlySetsStatus() {
+        repo.changeStatus("ACC0001", AccountStatus.ACTIVE, AccountStatus.FROZEN, null);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Account.class));
+        assertFalse(mapped(query.getValue()).contains("holds.0"));
+        assertEquals("{\"$set\": {\"status\": \"FROZEN\"}}", update.getValue().getUpdateObject().toJson());
+    }
+
+    @Test
+    void testUpdateHolderNameOnlySetsName() {
+        repo.updateHolderName("ACC0001", "Bob");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Account.class));
+        assertTrue(mapped(query.getValue()).contains("\"status\": {\"$ne\": \"CLOSED\"}"));
+        assertEquals("{\"$set\": {\"holderName\": \"Bob\"}}", update.getValue().getUpdateObject().toJson());
+    }
+}
@@ -0,0 +1,282 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.Hold;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryAccountRepositoryTest {
+
+    private final InMemoryAccountRepository repo =
+            new InMemoryAccountRepository(new ObjectMapper().findAndRegisterModules(), 0, 0);
+
+    @Test
+    void testSaveAssignsIdAndFindsByAccountNumber() {
+        Account saved = repo.save(new Account("ACC0001", "Alice"));
+
+        assertNotNull(saved.getId());
+        assertTrue(repo.existsByAccountNumber("ACC0001"));
+        Account found = repo.findByAccountNumber("ACC0001").orElseThrow();
+        assertEquals(saved.getId(), found.getId());
+        assertEquals("Alice", found.getHolderName());
+        assertEquals(saved.getCreatedAt(), found.getCreatedAt());
+    }
+
+    @Test
+    void testFindByAccountNumberInSkipsMissing() {
+        repo.save(new Account("ACC0001", "Alice"));
+        repo.save(new Account("ACC0002", "Bob"));
+
+        List<Account> found = repo.findByAccountNumberIn(List.of("ACC0002", "ACC0009", "ACC0001"));
+
+        assertEquals(List.of("ACC0002", "ACC0001"), found.stream().map(Account::getAccountNumber).toList());
+    }
+
+    @Test
+    void testReturnedDocumentsAreCopies() {
+        repo.save(new Account("ACC0001", "Alice"));
+
+        Account a = repo.findByAccountNumber("ACC0001").orElseThrow();
+        a.setBalance(500.0);
+        a.getTransactionIds().add("TXN1");
+
+        Account b = repo.findByAccountNumber("ACC0001").orElseThrow();
+        assertEquals(0.0, b.getBalance());
+        assertTrue(b.getTransactionIds().isEmpty());
+        assertNotSame(a, b);
+    }
+
+    @Test
+    void testDeleteRemovesAccountNumber() {
+        Account saved = repo.save(new Account("ACC0001", "Alice"));
+        repo.delete(saved);
+
+        assertFalse(repo.existsByAccountNumber("ACC0001"));
+        assertTrue(repo.findByAccountNumber("ACC0001").isEmpty());
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    void testConcurrentSaves() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String accNo = String.format("ACC%04d", i);
+            futures.add(pool.submit(() -> repo.save(new Account(accNo, "Holder"))));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1000, repo.count());
+        assertTrue(repo.existsByAccountNumber("ACC0999"));
+    }
+
+    @Test
+    void testSimulatedLatency() {
+        InMemoryAccountRepository slow = new InMemoryAccountRepository(new ObjectMapper().findAndRegisterModules(), 5_000, 0);
+        long start = System.nanoTime();
+        slow.existsByAccountNumber("ACC0001");
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void testHoldsReserveAvailableBalanceAtomically() throws Exception {
+        Account acc = new Account("ACC0001", "Alice");
+        acc.setBalance(100.0);
+        repo.save(acc);
+
+        // 50 concurrent holds of 10 against a balance of 100: exactly 10 succeed
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Hold hold = new Hold("HLD-" + i, 10.0, Instant.now(), Instant.now().plusSeconds(60));
+            results.add(pool.submit(() -> repo.placeHold("ACC0001", hold).isPresent()));
+        }
+        int placed = 0;
+        for (Future<Boolean> f : results) if (f.get()) placed++;
+        pool.shutdown();
+
+        assertEquals(10, placed);
+        Account held = repo.findByAccountNumber("ACC0001").orElseThrow();
+        assertEquals(100.0, held.getHeldAmount());
+        assertEquals(0.0, held.getAvailableBalance());
+        assertEquals(100.0, held.getBalance());
+    }
+
+    @Test
+    void testApplyChangeAddsUpConcurrentChanges() throws Exception {
+        Account acc = new Account("ACC0001", "Alice");
+        acc.setBalance(100.0);
+        repo.save(acc);
+
+        // 50 deposits of 10 and 50 withdrawals of 10, each a read-modify-write of the same document
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            double delta = i % 2 == 0 ? 10.0 : -10.0;
+            String txnId = "TXN-" + i;
+            results.add(pool.submit(() -> repo.applyChange("ACC0001", delta, txnId, null).isPresent()));
+        }
+        for (Future<Boolean> f : results) assertTrue(f.get());
+        pool.shutdown();
+
+        Account updated = repo.findByAccountNumber("ACC0001").orElseThrow();
+        assertEquals(100.0, updated.getBalance());
+        assertEquals(100, updated.getTransactionIds().size());
+    }
+
+    @Test
+    void testApplyChangeRejectsUncoveredDebitAndReplays() {
+        Account acc = new Account("ACC0001", "Alice");
+        acc.setBalance(100.0);
+        acc.setHeldAmount(30.0);
+        repo.save(acc);
+
+        assertTrue(repo.applyChange("ACC0001", -80.0, "TXN-1", null).isEmpty());
+        assertEquals(30.0, repo.applyChange("ACC0001", -70.0, "TXN-2", null).orElseThrow().getBalance());
+        // the same step again changes nothing
+        assertTrue(repo.applyChange("ACC0001", 10.0, "TXN-2", null).isEmpty());
+        assertTrue(repo.applyChange("ACC0009", 10.0, "TXN-3", null).isEmpty());
+    }
+
+    @Test
+    void testMarkedStripedAccountTakesNoMoreBalanceUpdates() {
+        Account acc = new Account("ACC0001", "Alice");
+        acc.setBalance(100.0);
+        repo.save(acc);
+
+        assertEquals(100.0, repo.markStriped("ACC0001", 4).orElseThrow().getBalance());
+        assertTrue(repo.markStriped("ACC0001", 4).isEmpty());
+        // the marked balance is final: it moves into the stripes as it is
+        assertTrue(repo.applyChange("ACC0001", 10.0, "TXN-1", null).isEmpty());
+        assertEquals(100.0, repo.findByAccountNumber("ACC0001").orElseThrow().getBalance());
+    }
+
+    @Test
+    void testStatusChangeKeepsConcurrentBalanceAndHolds() {
+        Account acc = new Account("ACC0001", "Alice");
+        acc.setBalance(100.0);
+        repo.save(acc);
+        repo.placeHold("ACC0001", new Hold("HLD-1", 40.0, Instant.now(), Instant.now().plusSeconds(60)));
+        repo.applyChange("ACC0001", 10.0, "TXN-1", null);
+
+        Account frozen = repo.changeStatus("ACC0001", AccountStatus.ACTIVE, AccountStatus.FROZEN, null).orElseThrow();
+        assertEquals(AccountStatus.FROZEN, frozen.getStatus());
+        assertEquals(110.0, frozen.getBalance());
+        assertEquals(40.0, frozen.getHeldAmount());
+        // frozen takes credits but not debits
+        assertTrue(repo.applyChange("ACC0001", -10.0, "TXN-2", AccountStatus.DEBITABLE).isEmpty());
+        assertTrue(repo.applyChange("ACC0001", 10.0, "TXN-3", AccountStatus.CREDITABLE).isPresent());
+        // the status moved on since it was read
+        assertTrue(repo.changeStatus("ACC0001", AccountStatus.ACTIVE, AccountStatus.FROZEN, null).isEmpty());
+
+        Account renamed = repo.updateHolderName("ACC0001", "Bob").orElseThrow();
+        assertEquals("Bob", renamed.getHolderName());
+        assertEquals(120.0, renamed.getBalance());
+        assertEquals(1, renamed.getHolds().size());
+    }
+
+    @Test
+    void testCloseOnlyWhenEmpty() {
+        Account acc = new Account("ACC0001", "Alice");
+        acc.setBalance(10.0);
+        repo.save(acc);
+        Instant now = Instant.now();
+
+        assertTrue(repo.changeStatus("ACC0001", AccountStatus.ACTIVE, AccountStatus.CLOSED, now).isEmpty());
+        repo.applyChange("ACC0001", -10.0, "TXN-1", null);
+        repo.placeHold("ACC0001", new Hold("HLD-1", 0.0, now, now.plusSeconds(60)));
+        assertTrue(repo.changeStatus("ACC0001", AccountStatus.ACTIVE, AccountStatus.CLOSED, now).isEmpty());
+        repo.releaseHold("ACC0001", "HLD-1", 0.0);
+
+        Account closed = repo.changeStatus("ACC0001", AccountStatus.ACTIVE, AccountStatus.CLOSED, now).orElseThrow();
+        assertEquals(now, closed.getClosedAt());
+        assertTrue(repo.updateHolderName("ACC0001", "Bob").isEmpty());
+    }
+
+    @Test
+    void testCaptureAndReleaseAreExclusive() {
+        Account acc = new Account("ACC0001", "Alice");
+        acc.setBalance(100.0);
+        repo.save(acc);
+        repo.placeHold("ACC0001", new Hold("HLD-1", 40.0, Instant.now(), Instant.now().plusSeconds(60)));
+
+        Account captured = repo.captureHold("ACC0001", "HLD-1", 40.0, 25.0, "TXN-1").orElseThrow();
+
+        assertEquals(75.0, captured.getBalance());
+        assertEquals(0.0, captured.getHeldAmount());
+        assertTrue(captured.getHolds().isEmpty());
+        assertTrue(captured.getTransactionIds().contains("TXN-1"));
+        assertTrue(repo.releaseHold("ACC0001", "HLD-1", 40.0).isEmpty());
+        assertTrue(repo.captureHold("ACC0001", "HLD-1", 40.0, 25.0, "TXN-2").isEmpty());
+    }
+
+    @Test
+    void testCaptureOnlyWhileDebitableAndUnstriped() {
+        Account acc = new Account("ACC0001", "Alice");
+        acc.setBalance(100.0);
+        repo.save(acc);
+        repo.placeHold("ACC0001", new Hold("HLD-1", 40.0, Instant.now(), Instant.now().plusSeconds(60)));
+        // striping waits for the hold to go
+        assertTrue(repo.markStriped("ACC0001", 4).isEmpty());
+
+        repo.changeStatus("ACC0001", AccountStatus.ACTIVE, AccountStatus.FROZEN, null);
+        assertTrue(repo.captureHold("ACC0001", "HLD-1", 40.0, 25.0, "TXN-1").isEmpty());
+        repo.changeStatus("ACC0001", AccountStatus.FROZEN, AccountStatus.ACTIVE, null);
+        Account striped = repo.findByAccountNumber("ACC0001").orElseThrow();
+        striped.setStripeCount(4);
+        repo.save(striped);
+        assertTrue(repo.captureHold("ACC0001", "HLD-1", 40.0, 25.0, "TXN-1").isEmpty());
+
+        Account after = repo.findByAccountNumber("ACC0001").orElseThrow();
+        assertEquals(100.0, after.getBalance());
+        assertEquals(1, after.getHolds().size());
+    }
+
+    @Test
+    void testFindWithExpiredHolds() {
+        Instant now = Instant.now();
+        Account a = new Account("ACC0001", "Alice");
+        a.setBalance(100.0);
+        repo.save(a);
+        Account b = new Account("ACC0002", "Bob");
+        b.setBalance(100.0);
+        repo.save(b);
+        repo.placeHold("ACC0001", new Hold("HLD-1", 10.0, now.minusSeconds(120), now.minusSeconds(60)));
+        repo.placeHold("ACC0002", new Hold("HLD-2", 10.0, now, now.plusSeconds(60)));
+
+        List<Account> expired = repo.findWithExpiredHolds(now, 10);
+
+        assertEquals(1, expired.size());
+        assertEquals("ACC0001", expired.get(0).getAccountNumber());
+    }
+
+    @Test
+    void testArchiveLeavesAClosedAccountThatGotMoneyBack() {
+        Account a = new Account("ACC0001", "Alice");
+        a.setStatus(AccountStatus.CLOSED);
+        repo.save(a);
+        // a reversal after the close, the archiver still holds the empty copy
+        repo.applyChange("ACC0001", 10.0, "TXN-R", AccountStatus.REVERSIBLE);
+
+        assertThrows(IllegalStateException.class, () -> repo.archive(a));
+        assertEquals(AccountStatus.CLOSED, repo.findByAccountNumber("ACC0001").orElseThrow().getStatus());
+        assertFalse(repo.existsArchived("ACC0001"));
+
+        repo.applyChange("ACC0001", -10.0, "TXN-R2", AccountStatus.REVERSIBLE);
+        assertEquals(0.0, repo.archive(a).getClosingBalance());
+        assertFalse(repo.existsByAccountNumber("ACC0001"));
+    }
+}
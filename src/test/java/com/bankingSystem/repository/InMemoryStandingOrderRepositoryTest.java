@@ -0,0 +1,82 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.StandingOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryStandingOrderRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    private final InMemoryStandingOrderRepository repo =
+            new InMemoryStandingOrderRepository(new ObjectMapper().findAndRegisterModules(), 0, 0);
+
+    private StandingOrder order(String id, Instant firstRunAt) {
+        return repo.save(new StandingOrder(id, "SRC1234", "DST5678", 10.0, StandingOrder.Frequency.DAILY, firstRunAt));
+    }
+
+    @Test
+    void testClaimDueReturnsEarliestUnleasedActiveOrders() {
+        order("SO-3", NOW.plusSeconds(30));
+        order("SO-1", NOW.minusSeconds(60));
+        order("SO-2", NOW);
+        order("SO-LATER", NOW.plusSeconds(3600));
+        StandingOrder cancelled = order("SO-X", NOW);
+        cancelled.setStatus(StandingOrder.Status.CANCELLED);
+        repo.save(cancelled);
+
+        List<StandingOrder> first = repo.claimDue(NOW.plusSeconds(60), 2, "node-a", NOW.plusSeconds(600), NOW);
+        List<StandingOrder> second = repo.claimDue(NOW.plusSeconds(60), 10, "node-b", NOW.plusSeconds(600), NOW);
+
+        assertEquals(List.of("SO-1", "SO-2"), first.stream().map(StandingOrder::getOrderId).toList());
+        assertEquals("node-a", first.get(0).getLeaseOwner());
+        assertEquals(List.of("SO-3"), second.stream().map(StandingOrder::getOrderId).toList());
+    }
+
+    @Test
+    void testExpiredLeaseCanBeClaimedAgain() {
+        order("SO-1", NOW);
+        repo.claimDue(NOW, 10, "node-a", NOW.plusSeconds(60), NOW);
+
+        assertTrue(repo.claimDue(NOW, 10, "node-b", NOW.plusSeconds(60), NOW.plusSeconds(30)).isEmpty());
+        assertEquals(1, repo.claimDue(NOW, 10, "node-b", NOW.plusSeconds(600), NOW.plusSeconds(61)).size());
+    }
+
+    @Test
+    void testRecordOutcomesReleasesLeaseAndKeepsCancellation() {
+        order("SO-1", NOW);
+        order("SO-2", NOW);
+        List<StandingOrder> claimed = repo.claimDue(NOW, 10, "node-a", NOW.plusSeconds(600), NOW);
+
+        // cancelled while running: the outcome must not revive it
+        StandingOrder stored = repo.findByOrderId("SO-2").orElseThrow();
+        stored.setStatus(StandingOrder.Status.CANCELLED);
+        repo.save(stored);
+
+        claimed.forEach(o -> o.advance(NOW));
+        assertEquals(2, repo.recordOutcomes(claimed));
+
+        StandingOrder one = repo.findByOrderId("SO-1").orElseThrow();
+        assertNull(one.getLeaseOwner());
+        assertEquals(1, one.getSequence());
+        assertEquals(NOW.plusSeconds(86400), one.getDueAt());
+        assertEquals(StandingOrder.Status.CANCELLED, repo.findByOrderId("SO-2").orElseThrow().getStatus());
+    }
+
+    @Test
+    void testRecordOutcomesSkipsOrdersLeasedElsewhere() {
+        order("SO-1", NOW);
+        List<StandingOrder> stale = repo.claimDue(NOW, 10, "node-a", NOW.plusSeconds(60), NOW);
+        repo.claimDue(NOW, 10, "node-b", NOW.plusSeconds(600), NOW.plusSeconds(61));
+
+        stale.get(0).advance(NOW);
+
+        assertEquals(0, repo.recordOutcomes(stale));
+        assertEquals("node-b", repo.findByOrderId("SO-1").orElseThrow().getLeaseOwner());
+    }
+}
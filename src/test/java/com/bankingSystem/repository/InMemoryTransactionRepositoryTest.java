@@ -0,0 +1,97 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.dto.PostingTotal;
+import com.bankingSystem.model.Posting;
+import com.bankingSystem.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTransactionRepositoryTest {
+
+    private final InMemoryTransactionRepository repo =
+            new InMemoryTransactionRepository(new ObjectMapper().findAndRegisterModules(), 0, 0);
+
+    private Transaction txn(String txnId, String src, String dest, long second) {
+        Transaction t = new Transaction(txnId, "TRANSFER", 1.0, "SUCCESS", src, dest);
+        t.setTimestamp(Instant.ofEpochSecond(second));
+        return t;
+    }
+
+    @Test
+    void testHistoryCoversBothSides() {
+        repo.saveAll(List.of(txn("T1", "A", "B", 10), txn("T2", "B", "A", 20), txn("T3", "B", "C", 30)));
+
+        List<String> ids = repo.findBySourceAccountOrDestinationAccount("A", "A").stream()
+                .map(Transaction::getTransactionId).sorted().toList();
+
+        assertEquals(List.of("T1", "T2"), ids);
+        assertTrue(repo.existsByTransactionId("T3"));
+        assertFalse(repo.existsByTransactionId("T4"));
+    }
+
+    @Test
+    void testFindHistoryInRangeOldestFirst() {
+        repo.append(List.of(txn("T2", "A", "B", 20), txn("T1", "A", "B", 10), txn("T3", "A", "B", 30)));
+
+        List<Transaction> history = repo.findHistory("A", Instant.ofEpochSecond(10), Instant.ofEpochSecond(30));
+
+        assertEquals(List.of("T1", "T2"), history.stream().map(Transaction::getTransactionId).toList());
+    }
+
+    @Test
+    void testHistoryPagesFollowTheCursor() {
+        for (int i = 1; i <= 5; i++) {
+            repo.save(i % 2 == 0 ? txn("T" + i, "A", "X", i) : txn("T" + i, "X", "A", i));
+        }
+
+        HistoryPage first = repo.findHistoryPage("A", null, 3);
+        HistoryPage second = repo.findHistoryPage("A", first.getNextCursor(), 3);
+
+        assertEquals(List.of("T5", "T4", "T3"), first.getItems().stream().map(Transaction::getTransactionId).toList());
+        assertEquals(List.of("T2", "T1"), second.getItems().stream().map(Transaction::getTransactionId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testAnalyticsAggregateTheRange() {
+        Transaction deposit = new Transaction("T4", "DEPOSIT", 5.0, "SUCCESS", null, "A");
+        deposit.setTimestamp(Instant.ofEpochSecond(40));
+        repo.saveAll(List.of(txn("T1", "A", "B", 10), txn("T2", "B", "A", 20), txn("T3", "B", "C", 30), deposit,
+                txn("T5", "A", "C", 86_400)));
+
+        List<TransactionAnalytics.DayTypeTotal> totals =
+                repo.totalsByDayAndType(Instant.EPOCH, Instant.ofEpochSecond(86_400));
+        assertEquals(List.of(
+                new TransactionAnalytics.DayTypeTotal(LocalDate.EPOCH, "DEPOSIT", "USD", 1, 5.0),
+                new TransactionAnalytics.DayTypeTotal(LocalDate.EPOCH, "TRANSFER", "USD", 3, 3.0)), totals);
+
+        List<AccountVolume> top = repo.topAccountsByVolume(Instant.EPOCH, Instant.ofEpochSecond(86_400), 2);
+        assertEquals(List.of("A", "B"), top.stream().map(AccountVolume::getAccountNumber).toList());
+        assertEquals(3, top.get(0).getCount());
+    }
+
+    @Test
+    void testPostingTotalsAndUnposted() {
+        Transaction deposit = txn("T1", "A", null, 10);
+        deposit.setPostings(Posting.move(Posting.EXTERNAL, "A", 0.1, "USD"));
+        Transaction transfer = txn("T2", "A", "B", 20);
+        transfer.setPostings(Posting.convert("A", 0.2, "USD", "B", 0.16, "EUR"));
+        repo.saveAll(List.of(deposit, transfer, txn("T3", "A", "B", 30)));
+
+        List<PostingTotal> totals = repo.postingTotals();
+
+        assertEquals(List.of("EUR", "USD"), totals.stream().map(PostingTotal::getCurrency).toList());
+        assertEquals(2, totals.get(0).getPostings());
+        assertEquals(4, totals.get(1).getPostings());
+        assertTrue(totals.stream().allMatch(t -> t.getSum().signum() == 0));
+        assertEquals(1, repo.countUnposted());
+    }
+}
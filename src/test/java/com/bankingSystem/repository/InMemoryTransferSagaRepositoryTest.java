@@ -0,0 +1,132 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.TransferSaga;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTransferSagaRepositoryTest {
+
+    private final InMemoryTransferSagaRepository repo =
+            new InMemoryTransferSagaRepository(new ObjectMapper().findAndRegisterModules(), 0, 0);
+
+    private TransferSaga saga(String transferId, TransferSaga.State state) {
+        TransferSaga saga = new TransferSaga(transferId, "SRC1234", "DST5678", 10.0);
+        saga.setState(state);
+        return repo.save(saga);
+    }
+
+    private static List<String> transferIds(List<TransferSaga> sagas) {
+        return sagas.stream().map(TransferSaga::getTransferId).sorted().toList();
+    }
+
+    @Test
+    void testFindByTransferIdReturnsLatestState() {
+        TransferSaga saga = saga("TRF-1", TransferSaga.State.PENDING);
+        saga.setState(TransferSaga.State.DEBITED);
+        saga.setDebitTxnId("TXN-D");
+        repo.save(saga);
+
+        TransferSaga found = repo.findByTransferId("TRF-1").orElseThrow();
+        assertEquals(saga.getId(), found.getId());
+        assertEquals(TransferSaga.State.DEBITED, found.getState());
+        assertEquals("TXN-D", found.getDebitTxnId());
+        assertNotSame(saga, found);
+        assertTrue(repo.findByTransferId("TRF-9").isEmpty());
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    void testFindByStateInReturnsUnfinishedSagas() {
+        saga("TRF-1", TransferSaga.State.PENDING);
+        saga("TRF-2", TransferSaga.State.COMPENSATING);
+        saga("TRF-3", TransferSaga.State.COMPLETED);
+        saga("TRF-4", TransferSaga.State.FAILED);
+
+        List<TransferSaga> unfinished = repo.findByStateIn(
+                Set.of(TransferSaga.State.PENDING, TransferSaga.State.DEBITED, TransferSaga.State.COMPENSATING));
+
+        assertEquals(List.of("TRF-1", "TRF-2"), transferIds(unfinished));
+        assertTrue(repo.findByStateIn(Set.of()).isEmpty());
+    }
+
+    @Test
+    void testClaimIsExclusiveUntilTheLeaseRunsOut() {
+        saga("TRF-1", TransferSaga.State.PENDING);
+        saga("TRF-2", TransferSaga.State.COMPLETED);
+        Instant now = Instant.now();
+
+        TransferSaga claimed = repo.claim("TRF-1", "node-a", now.plusSeconds(60), now).orElseThrow();
+        assertEquals("node-a", claimed.getLeaseOwner());
+        assertTrue(repo.claim("TRF-1", "node-b", now.plusSeconds(60), now).isEmpty());
+        assertTrue(repo.claim("TRF-1", "node-a", now.plusSeconds(60), now).isPresent());
+        assertTrue(repo.claim("TRF-2", "node-a", now.plusSeconds(60), now).isEmpty());
+        assertTrue(repo.findUnclaimed(Set.of(TransferSaga.State.PENDING), null, 10, now).isEmpty());
+
+        // expired: another node may take it, and the first one can no longer record steps
+        Instant later = now.plusSeconds(61);
+        assertEquals(List.of("TRF-1"), transferIds(repo.findUnclaimed(Set.of(TransferSaga.State.PENDING), null, 10, later)));
+        TransferSaga taken = repo.claim("TRF-1", "node-b", later.plusSeconds(60), later).orElseThrow();
+        claimed.setState(TransferSaga.State.DEBITED);
+        assertTrue(repo.recordStep(claimed, later.plusSeconds(60)).isEmpty());
+
+        taken.setState(TransferSaga.State.FAILED);
+        TransferSaga finished = repo.recordStep(taken, later.plusSeconds(60)).orElseThrow();
+        assertNull(finished.getLeaseOwner());
+        assertEquals(TransferSaga.State.FAILED, repo.findByTransferId("TRF-1").orElseThrow().getState());
+    }
+
+    @Test
+    void testFindUnclaimedPagesInIdOrder() {
+        for (int i = 1; i <= 5; i++) saga("TRF-" + i, TransferSaga.State.PENDING);
+        Set<TransferSaga.State> pending = Set.of(TransferSaga.State.PENDING);
+
+        List<TransferSaga> first = repo.findUnclaimed(pending, null, 3, Instant.now());
+        List<TransferSaga> second = repo.findUnclaimed(pending, first.get(2).getId(), 3, Instant.now());
+
+        assertEquals(List.of("TRF-1", "TRF-2", "TRF-3"), transferIds(first));
+        assertEquals(List.of("TRF-4", "TRF-5"), transferIds(second));
+    }
+
+    @Test
+    void testSaveAllFindAllAndDeleteAll() {
+        List<TransferSaga> saved = repo.saveAll(List.of(
+                new TransferSaga("TRF-1", "SRC1234", "DST5678", 10.0),
+                new TransferSaga("TRF-2", "SRC1234", "DST5678", 20.0),
+                new TransferSaga("TRF-3", "SRC1234", "DST5678", 30.0)));
+
+        assertTrue(saved.stream().allMatch(s -> s.getId() != null));
+        assertEquals(List.of("TRF-1", "TRF-2", "TRF-3"), transferIds(repo.findAll()));
+        assertTrue(repo.existsById(saved.get(0).getId()));
+        assertEquals(20.0, repo.findById(saved.get(1).getId()).orElseThrow().getAmount());
+        assertEquals(List.of("TRF-1", "TRF-3"),
+                transferIds(repo.findAllById(List.of(saved.get(0).getId(), "missing", saved.get(2).getId()))));
+
+        repo.deleteAllById(List.of(saved.get(0).getId()));
+        assertFalse(repo.existsById(saved.get(0).getId()));
+        assertTrue(repo.findByTransferId("TRF-1").isEmpty());
+
+        repo.deleteAll(List.of(saved.get(1)));
+        assertEquals(List.of("TRF-3"), transferIds(repo.findAll()));
+
+        repo.deleteById(saved.get(2).getId());
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    void testDeleteAllClearsTransferIds() {
+        saga("TRF-1", TransferSaga.State.PENDING);
+        saga("TRF-2", TransferSaga.State.DEBITED);
+
+        repo.deleteAll();
+
+        assertEquals(0, repo.count());
+        assertTrue(repo.findByTransferId("TRF-2").isEmpty());
+        assertTrue(repo.findByStateIn(Set.of(TransferSaga.State.PENDING, TransferSaga.State.DEBITED)).isEmpty());
+    }
+}
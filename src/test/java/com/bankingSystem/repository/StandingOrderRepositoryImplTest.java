@@ -0,0 +1,223 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.StandingOrder;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// The queries are run against a list of orders by a small evaluator for the operators they use
+// ($and, $or, $in, $lt, $lte, equality), so the tests check what the filters select rather than
+// how they are spelled.
+class StandingOrderRepositoryImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+    private static final Instant LEASE = NOW.plusSeconds(600);
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private final StandingOrderRepositoryImpl repo = new StandingOrderRepositoryImpl(mongo);
+    private final List<StandingOrder> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        when(mongo.find(any(Query.class), eq(StandingOrder.class))).thenAnswer(inv -> select(inv.getArgument(0)));
+        when(mongo.updateMulti(any(Query.class), any(Update.class), eq(StandingOrder.class))).thenAnswer(inv -> {
+            Document set = (Document) ((Update) inv.getArgument(1)).getUpdateObject().get("$set");
+            for (StandingOrder o : select(inv.getArgument(0))) {
+                o.setLeaseOwner(set.getString("leaseOwner"));
+                o.setLeaseUntil((Instant) set.get("leaseUntil"));
+            }
+            return null;
+        });
+    }
+
+    private StandingOrder order(String id, Instant dueAt) {
+        StandingOrder o = new StandingOrder(id, "SRC1234", "DST5678", 10.0, StandingOrder.Frequency.DAILY, dueAt);
+        ReflectionTestUtils.setField(o, "id", id);
+        stored.add(o);
+        return o;
+    }
+
+    private List<StandingOrder> select(Query query) {
+        List<StandingOrder> hits = new ArrayList<>(stored.stream().filter(o -> matches(query.getQueryObject(), o)).toList());
+        if (query.getSortObject().containsKey("dueAt")) hits.sort(Comparator.comparing(StandingOrder::getDueAt));
+        return query.getLimit() > 0 ? hits.subList(0, Math.min(query.getLimit(), hits.size())) : hits;
+    }
+
+    private static boolean matches(Document filter, StandingOrder o) {
+        for (Map.Entry<String, Object> e : filter.entrySet()) {
+            boolean ok = switch (e.getKey()) {
+                case "$and" -> ((List<?>) e.getValue()).stream().allMatch(d -> matches((Document) d, o));
+                case "$or" -> ((List<?>) e.getValue()).stream().anyMatch(d -> matches((Document) d, o));
+                default -> matchesField(field(o, e.getKey()), e.getValue());
+            };
+            if (!ok) return false;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean matchesField(Object actual, Object condition) {
+        if (!(condition instanceof Document ops)) return Objects.equals(actual, condition);
+        for (Map.Entry<String, Object> op : ops.entrySet()) {
+            boolean ok = switch (op.getKey()) {
+                case "$in" -> ((Collection<?>) op.getValue()).contains(actual);
+                case "$lt" -> actual != null && ((Comparable<Object>) actual).compareTo(op.getValue()) < 0;
+                case "$lte" -> actual != null && ((Comparable<Object>) actual).compareTo(op.getValue()) <= 0;
+                default -> throw new IllegalArgumentException("Operator not evaluated: " + op.getKey());
+            };
+            if (!ok) return false;
+        }
+        return true;
+    }
+
+    private static Object field(StandingOrder o, String name) {
+        return switch (name) {
+            case "_id" -> o.getId();
+            case "status" -> o.getStatus();
+            case "dueAt" -> o.getDueAt();
+            case "leaseOwner" -> o.getLeaseOwner();
+            case "leaseUntil" -> o.getLeaseUntil();
+            default -> throw new IllegalArgumentException("Field not evaluated: " + name);
+        };
+    }
+
+    private static List<String> ids(List<StandingOrder> orders) {
+        return orders.stream().map(StandingOrder::getOrderId).toList();
+    }
+
+    @Test
+    void testClaimDueTakesActiveUnleasedOrdersEarliestFirst() {
+        order("SO-1", NOW.minusSeconds(3600));
+        // lease from a node that died: expired, so claimable again
+        StandingOrder expired = order("SO-2", NOW.minusSeconds(7200));
+        expired.setLeaseOwner("node-b");
+        expired.setLeaseUntil(NOW.minusSeconds(60));
+        StandingOrder held = order("SO-3", NOW.minusSeconds(10800));
+        held.setLeaseOwner("node-b");
+        held.setLeaseUntil(NOW.plusSeconds(60));
+        order("SO-4", NOW.plusSeconds(120));
+        order("SO-5", NOW.minusSeconds(60)).setStatus(StandingOrder.Status.CANCELLED);
+        order("SO-6", NOW.minusSeconds(1800));
+
+        List<StandingOrder> claimed = repo.claimDue(NOW.plusSeconds(60), 2, "node-a", LEASE, NOW);
+
+        assertEquals(List.of("SO-2", "SO-1"), ids(claimed));
+        claimed.forEach(o -> {
+            assertEquals("node-a", o.getLeaseOwner());
+            assertEquals(LEASE, o.getLeaseUntil());
+        });
+        assertEquals("node-b", held.getLeaseOwner());
+        // past the batch limit: left for the next batch
+        assertNull(stored.get(5).getLeaseOwner());
+        assertEquals(List.of("SO-6"), ids(repo.claimDue(NOW.plusSeconds(60), 2, "node-a", LEASE, NOW)));
+    }
+
+    @Test
+    void testClaimDueSkipsOrdersAnotherNodeLeasedMeanwhile() {
+        StandingOrder raced = order("SO-1", NOW.minusSeconds(3600));
+        order("SO-2", NOW.minusSeconds(1800));
+        // node-b leases SO-1 between this node's scan and its claim
+        Document[] scanned = new Document[1];
+        when(mongo.find(any(Query.class), eq(StandingOrder.class))).thenAnswer(inv -> {
+            Query q = inv.getArgument(0);
+            if (scanned[0] == null) {
+                scanned[0] = q.getQueryObject();
+                List<StandingOrder> due = select(q);
+                raced.setLeaseOwner("node-b");
+                raced.setLeaseUntil(NOW.plusSeconds(600));
+                return due;
+            }
+            return select(q);
+        });
+
+        List<StandingOrder> claimed = repo.claimDue(NOW, 10, "node-a", LEASE, NOW);
+
+        assertEquals(List.of("SO-2"), ids(claimed));
+        assertEquals("node-b", raced.getLeaseOwner());
+    }
+
+    @Test
+    void testClaimDueWithNothingDueWritesNothing() {
+        order("SO-1", NOW.plusSeconds(3600));
+
+        assertTrue(repo.claimDue(NOW, 10, "node-a", LEASE, NOW).isEmpty());
+        verify(mongo, never()).updateMulti(any(Query.class), any(Update.class), eq(StandingOrder.class));
+    }
+
+    @Test
+    void testRecordOutcomesOnlyUnderTheSameLease() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, StandingOrder.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(result);
+        // one of the two was taken over by another node after its lease ran out
+        when(result.getModifiedCount()).thenReturn(1);
+        StandingOrder mine = order("SO-1", NOW);
+        mine.setLeaseOwner("node-a");
+        StandingOrder lost = order("SO-2", NOW);
+        lost.setLeaseOwner("node-a");
+
+        assertEquals(1, repo.recordOutcomes(List.of(mine, lost)));
+
+        ArgumentCaptor<Query> filters = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(2)).updateOne(filters.capture(), any(Update.class));
+        lost.setLeaseOwner("node-b");
+        assertTrue(matches(filters.getAllValues().get(0).getQueryObject(), mine));
+        assertFalse(matches(filters.getAllValues().get(1).getQueryObject(), lost));
+    }
+
+    @Test
+    void testRecordOutcomesWithNothingToWrite() {
+        assertEquals(0, repo.recordOutcomes(List.of()));
+        verify(mongo, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(StandingOrder.class));
+    }
+
+    @Test
+    void testOutcomeReleasesLeaseButLeavesStatus() {
+        StandingOrder o = order("SO-1", NOW);
+        o.setAttempts(2);
+        o.setLastError("Insufficient balance");
+
+        Document update = StandingOrderRepositoryImpl.outcome(o).getUpdateObject();
+        Document set = (Document) update.get("$set");
+
+        assertEquals(2, set.get("attempts"));
+        assertEquals("Insufficient balance", set.get("lastError"));
+        // a cancel that lands while the order runs must survive the write-back
+        assertFalse(set.containsKey("status"));
+        assertTrue(((Document) update.get("$unset")).keySet().containsAll(List.of("leaseOwner", "leaseUntil")));
+    }
+
+    @Test
+    void testEnsureIndexesOnStatusThenDueAt() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongo.indexOps(StandingOrderRepositoryImpl.COLLECTION)).thenReturn(indexOps);
+
+        repo.ensureIndexes();
+
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps).ensureIndex(index.capture());
+        assertEquals(List.of("status", "dueAt"), new ArrayList<>(index.getValue().getIndexKeys().keySet()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.config.MongoTuningProperties;
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.PostingTotal;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionAnalyticsImplTest {
+
+    private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2024-02-01T00:00:00Z");
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+
+    private TransactionAnalyticsImpl analytics(boolean partitioned) {
+        return new TransactionAnalyticsImpl(mongo, partitioned, 30000, new MongoTuningProperties());
+    }
+
+    private static List<Document> stages(Aggregation aggregation) {
+        return aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+
+    private ArgumentCaptor<Aggregation> returning(Document... rows) {
+        ArgumentCaptor<Aggregation> captor = ArgumentCaptor.forClass(Aggregation.class);
+        when(mongo.aggregate(captor.capture(), eq("transactions"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(rows), new Document()));
+        return captor;
+    }
+
+    @Test
+    void testPipelineStartsWithRangeMatchAndMaySpillToDisk() {
+        Aggregation pipeline = analytics(false).pipeline(FROM, TO);
+
+        Document match = stages(pipeline).get(0).get("$match", Document.class);
+        Document range = match.get("timestamp", Document.class);
+        assertEquals(FROM, range.get("$gte"));
+        assertEquals(TO, range.get("$lt"));
+        assertTrue(pipeline.getOptions().isAllowDiskUse());
+        verify(mongo, never()).getCollectionNames();
+    }
+
+    @Test
+    void testPartitionedPipelineUnionsOnlyOverlappingMonths() {
+        when(mongo.getCollectionNames()).thenReturn(Set.of("transactions", "transactions_202312",
+                "transactions_202401", "transactions_202402", "accounts"));
+
+        List<Document> stages = stages(analytics(true).pipeline(FROM, TO));
+
+        List<Object> unions = stages.stream().filter(s -> s.containsKey("$unionWith"))
+                .map(s -> s.get("$unionWith", Document.class).get("coll")).toList();
+        assertEquals(List.of("transactions_202401"), unions);
+    }
+
+    @Test
+    void testTotalsByDayAndType() {
+        ArgumentCaptor<Aggregation> captor = returning(
+                new Document("_id", new Document("day", "2024-01-02").append("type", "DEPOSIT").append("currency", "USD")).append("count", 3).append("amount", 150.0),
+                new Document("_id", new Document("day", "2024-01-02").append("type", "DEPOSIT").append("currency", "EUR")).append("count", 1).append("amount", 40.0),
+                new Document("_id", new Document("day", "2024-01-03").append("type", "WITHDRAW").append("currency", "USD")).append("count", 1).append("amount", 20));
+
+        List<TransactionAnalytics.DayTypeTotal> totals = analytics(false).totalsByDayAndType(FROM, TO);
+
+        assertEquals(List.of(
+                new TransactionAnalytics.DayTypeTotal(LocalDate.of(2024, 1, 2), "DEPOSIT", "USD", 3, 150.0),
+                new TransactionAnalytics.DayTypeTotal(LocalDate.of(2024, 1, 2), "DEPOSIT", "EUR", 1, 40.0),
+                new TransactionAnalytics.DayTypeTotal(LocalDate.of(2024, 1, 3), "WITHDRAW", "USD", 1, 20.0)), totals);
+        List<Document> stages = stages(captor.getValue());
+        // amounts are never summed across currencies; records without one are in the default currency
+        Document group = stages.get(2).get("$group", Document.class);
+        assertEquals(new Document("day", "$day").append("type", "$type").append("currency", "$currency"), group.get("_id"));
+        assertEquals(new Document("$ifNull", List.of("$currency", "USD")),
+                stages.get(1).get("$project", Document.class).get("currency"));
+    }
+
+    @Test
+    void testTopAccountsCountsBothSides() {
+        ArgumentCaptor<Aggregation> captor = returning(
+                new Document("_id", new Document("accounts", "ACC0001").append("currency", "EUR")).append("count", 2L).append("amount", 500.0));
+
+        List<AccountVolume> top = analytics(false).topAccountsByVolume(FROM, TO, 5);
+
+        assertEquals(1, top.size());
+        assertEquals("ACC0001", top.get(0).getAccountNumber());
+        assertEquals("EUR", top.get(0).getCurrency());
+        assertEquals(2, top.get(0).getCount());
+        List<Document> stages = stages(captor.getValue());
+        assertEquals(new Document("accounts", "$accounts").append("currency", "$currency"),
+                stages.get(4).get("$group", Document.class).get("_id"));
+        assertEquals(List.of("$sourceAccount", "$destinationAccount"),
+                stages.get(1).get("$project", Document.class).get("accounts"));
+        assertEquals("$accounts", stages.get(2).get("$unwind"));
+        assertEquals(5L, stages.get(stages.size() - 1).get("$limit"));
+    }
+
+    @Test
+    void testPostingTotalsSumDecimalsOverEveryPartition() {
+        when(mongo.getCollectionNames()).thenReturn(Set.of("transactions", "transactions_202001", "accounts"));
+        ArgumentCaptor<Aggregation> pipeline = returning(
+                new Document("_id", "USD").append("postings", 4).append("sum", new Decimal128(BigDecimal.ZERO)));
+
+        List<PostingTotal> totals = analytics(true).postingTotals();
+
+        assertEquals("USD", totals.get(0).getCurrency());
+        assertEquals(4, totals.get(0).getPostings());
+        assertEquals(0, totals.get(0).getSum().signum());
+        String json = stages(pipeline.getValue()).toString();
+        // no timestamp range: old months count as much as new ones
+        assertFalse(json.contains("timestamp"));
+        assertTrue(json.contains("transactions_202001"));
+        assertTrue(json.contains("$toDecimal"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.config.MongoTuningProperties;
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.exception.InvalidRequestException;
+import com.bankingSystem.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionHistoryReaderImplTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path archiveDir;
+
+    private Transaction txn(String id, String src, String dest, long second) {
+        Transaction t = new Transaction("TXN-" + id, "TRANSFER", 1.0, "SUCCESS", src, dest);
+        t.setId(id);
+        t.setTimestamp(Instant.ofEpochSecond(second));
+        return t;
+    }
+
+    private List<String> ids(HistoryPage page) {
+        return page.getItems().stream().map(Transaction::getId).toList();
+    }
+
+    @Test
+    void testMergesSidesNewestFirst() {
+        Stream<Transaction> out = Stream.of(txn("e", "A", "X", 50), txn("c", "A", "X", 30), txn("a", "A", "X", 10));
+        Stream<Transaction> in = Stream.of(txn("d", "X", "A", 40), txn("b", "X", "A", 20));
+
+        HistoryPage page = TransactionHistoryReaderImpl.merge(List.of(out, in), 10);
+
+        assertEquals(List.of("e", "d", "c", "b", "a"), ids(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testRecordOnBothSidesIsReturnedOnce() {
+        Transaction self = txn("s", "A", "A", 20);
+        HistoryPage page = TransactionHistoryReaderImpl.merge(
+                List.of(Stream.of(self, txn("a", "A", "X", 10)), Stream.of(self)), 10);
+
+        assertEquals(List.of("s", "a"), ids(page));
+    }
+
+    @Test
+    void testStopsPullingOnceThePageIsFull() {
+        AtomicInteger pulled = new AtomicInteger();
+        Stream<Transaction> out = Stream.iterate(1000L, s -> s - 1).limit(1000)
+                .map(s -> txn("o" + s, "A", "X", s)).peek(t -> pulled.incrementAndGet());
+
+        HistoryPage page = TransactionHistoryReaderImpl.merge(List.of(out, Stream.empty()), 3);
+
+        assertEquals(3, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        assertTrue(pulled.get() <= 4, "pulled " + pulled.get());
+    }
+
+    @Test
+    void testTimestampTiesAreBrokenById() {
+        HistoryPage page = TransactionHistoryReaderImpl.merge(
+                List.of(Stream.of(txn("b", "A", "X", 10)), Stream.of(txn("c", "X", "A", 10), txn("a", "X", "A", 10))), 10);
+
+        assertEquals(List.of("c", "b", "a"), ids(page));
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        var cursor = TransactionHistoryReaderImpl.Cursor.of(txn("65f0c0ffee", "A", "X", 42));
+        assertEquals(cursor, TransactionHistoryReaderImpl.Cursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void testGarbageCursorIsRejected() {
+        assertThrows(InvalidRequestException.class, () -> TransactionHistoryReaderImpl.Cursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void testOneScanPerSideAndPartition() {
+        MongoTemplate mongo = mock(MongoTemplate.class);
+        when(mongo.getCollectionNames()).thenReturn(Set.of("transactions", "transactions_202401", "accounts"));
+        when(mongo.stream(any(Query.class), eq(Transaction.class), anyString())).thenAnswer(inv -> Stream.empty());
+
+        new TransactionHistoryReaderImpl(mongo, mapper, true, archiveDir.toString(), new MongoTuningProperties())
+                .findHistoryPage("A", null, 10);
+
+        verify(mongo, times(2)).stream(any(Query.class), eq(Transaction.class), eq("transactions"));
+        verify(mongo, times(2)).stream(any(Query.class), eq(Transaction.class), eq("transactions_202401"));
+        verify(mongo, never()).stream(any(Query.class), eq(Transaction.class), eq("accounts"));
+    }
+
+    private void archive(String month, Transaction... txns) throws IOException {
+        Path file = archiveDir.resolve("transactions_" + month + TransactionRepositoryImpl.ARCHIVE_SUFFIX);
+        try (Writer out = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)) {
+            for (Transaction t : txns) out.write(mapper.writeValueAsString(t) + "\n");
+        }
+    }
+
+    @Test
+    void testArchivedMonthsAreReadOnlyOnceTheMergeReachesThem() {
+        AtomicInteger reads = new AtomicInteger();
+        // January 2024 archived; everything live is newer
+        var january = new TransactionHistoryReaderImpl.ArchivedMonth(Instant.parse("2024-02-01T00:00:00Z"), () -> {
+            reads.incrementAndGet();
+            return List.of(txn("j2", "A", "X", Instant.parse("2024-01-20T00:00:00Z").getEpochSecond()),
+                    txn("j1", "X", "A", Instant.parse("2024-01-10T00:00:00Z").getEpochSecond()));
+        });
+        long march = Instant.parse("2024-03-05T00:00:00Z").getEpochSecond();
+
+        HistoryPage full = TransactionHistoryReaderImpl.merge(
+                List.of(Stream.of(txn("m2", "A", "X", march + 1), txn("m1", "A", "X", march))), List.of(january), 2);
+        assertEquals(List.of("m2", "m1"), ids(full));
+        assertEquals(0, reads.get());
+        // there may be more: the cursor is handed out even though the archive was not read
+        assertNotNull(full.getNextCursor());
+
+        HistoryPage across = TransactionHistoryReaderImpl.merge(
+                List.of(Stream.of(txn("m2", "A", "X", march + 1), txn("m1", "A", "X", march))), List.of(january), 10);
+        assertEquals(List.of("m2", "m1", "j2", "j1"), ids(across));
+        assertNull(across.getNextCursor());
+    }
+
+    @Test
+    void testHistoryPagesContinueIntoTheArchive() throws IOException {
+        long jan = Instant.parse("2024-01-10T00:00:00Z").getEpochSecond();
+        long feb = Instant.parse("2024-02-10T00:00:00Z").getEpochSecond();
+        archive("202401", txn("a1", "A", "X", jan), txn("a2", "X", "A", jan + 1), txn("o1", "X", "Y", jan + 2));
+        archive("202402", txn("b1", "A", "X", feb));
+        MongoTemplate mongo = mock(MongoTemplate.class);
+        when(mongo.getCollectionNames()).thenReturn(Set.of("transactions", "transactions_202403"));
+        long mar = Instant.parse("2024-03-10T00:00:00Z").getEpochSecond();
+        // one live record, in March; past it (a query with a cursor) the live collections are empty
+        when(mongo.stream(any(Query.class), eq(Transaction.class), anyString())).thenAnswer(inv ->
+                "transactions_202403".equals(inv.getArgument(2))
+                        && inv.getArgument(0, Query.class).getQueryObject().containsKey("sourceAccount")
+                        ? Stream.of(txn("c1", "A", "X", mar)) : Stream.empty());
+        TransactionHistoryReaderImpl reader =
+                new TransactionHistoryReaderImpl(mongo, mapper, true, archiveDir.toString(), new MongoTuningProperties());
+
+        HistoryPage first = reader.findHistoryPage("A", null, 2);
+        assertEquals(List.of("c1", "b1"), ids(first));
+
+        HistoryPage second = reader.findHistoryPage("A", first.getNextCursor(), 2);
+        // other accounts' records in the same file are left out
+        assertEquals(List.of("a2", "a1"), ids(second));
+        assertNull(second.getNextCursor());
+    }
+}
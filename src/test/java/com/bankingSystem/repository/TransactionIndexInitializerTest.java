@@ -0,0 +1,49 @@
+package com.bankingSystem.repository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransactionIndexInitializerTest {
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private final IndexOperations indexOps = mock(IndexOperations.class);
+    private final TransactionIndexInitializer initializer = new TransactionIndexInitializer(mongo);
+
+    @Test
+    void testBuildsIndexesOffTheCallingThread() {
+        when(mongo.indexOps(TransactionRepositoryImpl.BASE_COLLECTION)).thenReturn(indexOps);
+
+        initializer.initialize();
+
+        // one per history side, the analytics timestamp index, then the unique transactionId index
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, timeout(5000).times(4)).ensureIndex(indexes.capture());
+        List<List<String>> keys = new ArrayList<>();
+        for (IndexDefinition index : indexes.getAllValues()) keys.add(new ArrayList<>(index.getIndexKeys().keySet()));
+        assertEquals(List.of(
+                List.of("sourceAccount", "timestamp", "_id"),
+                List.of("destinationAccount", "timestamp", "_id"),
+                List.of("timestamp"),
+                List.of("transactionId")), keys);
+        assertTrue(indexes.getAllValues().get(3).getIndexOptions().getBoolean("unique"));
+    }
+
+    @Test
+    void testUnreachableDatabaseIsLoggedNotThrown() {
+        when(mongo.indexOps(TransactionRepositoryImpl.BASE_COLLECTION)).thenReturn(indexOps);
+        when(indexOps.ensureIndex(any())).thenThrow(new IllegalStateException("timeout"));
+
+        assertDoesNotThrow(initializer::ensureIndexes);
+        verify(indexOps, times(1)).ensureIndex(any());
+    }
+}
@@ -0,0 +1,135 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.Posting;
+import com.bankingSystem.model.Transaction;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionMigrationStoreImplTest {
+
+    private static final String BASE = TransactionRepositoryImpl.BASE_COLLECTION;
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+
+    private TransactionMigrationStoreImpl store(boolean partitioned) {
+        // not in name order, and one collection that is not a partition
+        Set<String> names = new LinkedHashSet<>(List.of("transactions_202402", BASE, "accounts", "transactions_202401"));
+        when(mongo.getCollectionNames()).thenReturn(names);
+        return new TransactionMigrationStoreImpl(mongo, partitioned);
+    }
+
+    private static Transaction txn(String id) {
+        Transaction t = new Transaction(id, "DEPOSIT", 10.0, "SUCCESS", null, "ACC0001");
+        t.setId("id-" + id);
+        return t;
+    }
+
+    @Test
+    void testFindScansBaseThenPartitionsUpToLimit() {
+        TransactionMigrationStoreImpl store = store(true);
+        when(mongo.find(any(Query.class), eq(Transaction.class), eq(BASE))).thenReturn(List.of(txn("T1")));
+        when(mongo.find(any(Query.class), eq(Transaction.class), eq("transactions_202401"))).thenReturn(List.of(txn("T2"), txn("T3")));
+
+        List<Transaction> found = store.findUnposted("DEPOSIT", 3);
+
+        assertEquals(List.of("T1", "T2", "T3"), found.stream().map(Transaction::getTransactionId).toList());
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongo).find(queries.capture(), eq(Transaction.class), eq(BASE));
+        verify(mongo).find(queries.capture(), eq(Transaction.class), eq("transactions_202401"));
+        // the limit shrinks by what was found; full before the newest partition, so it is not read
+        assertEquals(3, queries.getAllValues().get(0).getLimit());
+        assertEquals(2, queries.getAllValues().get(1).getLimit());
+        verify(mongo, never()).find(any(Query.class), eq(Transaction.class), eq("transactions_202402"));
+        Document filter = queries.getAllValues().get(0).getQueryObject();
+        assertEquals(new Document("$exists", false), filter.get("postings"));
+        assertEquals("DEPOSIT", filter.get("type"));
+    }
+
+    @Test
+    void testUnpartitionedReadsOnlyTheBaseCollection() {
+        TransactionMigrationStoreImpl store = store(false);
+
+        assertTrue(store.findUnposted(null, 10).isEmpty());
+        assertTrue(store.findUnfinishedMerges(10).isEmpty());
+        assertTrue(store.findByTransactionIds(List.of("T1")).isEmpty());
+
+        verify(mongo, times(3)).find(any(Query.class), eq(Transaction.class), eq(BASE));
+        verify(mongo, never()).getCollectionNames();
+    }
+
+    @Test
+    void testQueriesSelectWhatTheMigrationNeeds() {
+        TransactionMigrationStoreImpl store = store(false);
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+
+        store.findUnposted(null, 10);
+        store.findUnfinishedMerges(10);
+        store.findByTransactionIds(List.of("T1", "T2"));
+
+        verify(mongo, times(3)).find(queries.capture(), eq(Transaction.class), eq(BASE));
+        assertFalse(queries.getAllValues().get(0).getQueryObject().containsKey("type"));
+        assertEquals(new Document("$exists", true), queries.getAllValues().get(1).getQueryObject().get("migratedFrom.0"));
+        assertEquals(new Document("$in", List.of("T1", "T2")), queries.getAllValues().get(2).getQueryObject().get("transactionId"));
+    }
+
+    @Test
+    void testUpdatePostingsStopsAtTheCollectionHoldingTheRecord() {
+        TransactionMigrationStoreImpl store = store(true);
+        when(mongo.updateFirst(any(Query.class), any(Update.class), eq(Transaction.class), anyString()))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        Transaction t = txn("T1");
+        t.setPostings(Posting.move(Posting.EXTERNAL, "ACC0001", 10.0, "USD"));
+
+        store.updatePostings(t);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).updateFirst(any(Query.class), update.capture(), eq(Transaction.class), eq(BASE));
+        verify(mongo).updateFirst(any(Query.class), any(Update.class), eq(Transaction.class), eq("transactions_202401"));
+        verify(mongo, never()).updateFirst(any(Query.class), any(Update.class), eq(Transaction.class), eq("transactions_202402"));
+        // a finished merge drops its marker
+        assertTrue(((Document) update.getValue().getUpdateObject().get("$unset")).containsKey("migratedFrom"));
+    }
+
+    @Test
+    void testUpdatePostingsKeepsMergeMarkerUntilDone() {
+        TransactionMigrationStoreImpl store = store(false);
+        when(mongo.updateFirst(any(Query.class), any(Update.class), eq(Transaction.class), anyString()))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        Transaction t = txn("T1");
+        t.setMigratedFrom(List.of("T0-OUT", "T0-IN"));
+
+        store.updatePostings(t);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).updateFirst(any(Query.class), update.capture(), eq(Transaction.class), eq(BASE));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(List.of("T0-OUT", "T0-IN"), set.get("migratedFrom"));
+    }
+
+    @Test
+    void testDeleteCountsAcrossCollections() {
+        TransactionMigrationStoreImpl store = store(true);
+        when(mongo.remove(any(Query.class), anyString()))
+                .thenReturn(DeleteResult.acknowledged(1))
+                .thenReturn(DeleteResult.acknowledged(0))
+                .thenReturn(DeleteResult.acknowledged(2));
+
+        assertEquals(3, store.deleteByTransactionIds(List.of("T1", "T2", "T3")));
+        verify(mongo, times(3)).remove(any(Query.class), anyString());
+    }
+}
@@ -0,0 +1,227 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.config.MongoTuningProperties;
+import com.bankingSystem.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransactionRepositoryImplTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    private TransactionRepositoryImpl repo(boolean partitioned) {
+        return new TransactionRepositoryImpl(mongo, mapper, partitioned, 3, archiveDir.toString(),
+                new MongoTuningProperties());
+    }
+
+    private Transaction txn(String id, String src, String dest, String timestamp) {
+        Transaction t = new Transaction(id, "TRANSFER", 10.0, "SUCCESS", src, dest);
+        t.setTimestamp(Instant.parse(timestamp));
+        return t;
+    }
+
+    @Test
+    void testPartitionNamesAreUtcMonths() {
+        assertEquals("transactions_202401", TransactionRepositoryImpl.partitionOf(Instant.parse("2024-01-31T23:59:59Z")));
+        assertEquals(YearMonth.of(2024, 1), TransactionRepositoryImpl.monthOf("transactions_202401"));
+        assertNull(TransactionRepositoryImpl.monthOf("transactions"));
+        assertNull(TransactionRepositoryImpl.monthOf("transfer_sagas"));
+    }
+
+    @Test
+    void testOverlapsIsHalfOpen() {
+        YearMonth jan = YearMonth.of(2024, 1);
+        assertTrue(TransactionRepositoryImpl.overlaps(jan, null, null));
+        assertTrue(TransactionRepositoryImpl.overlaps(jan, Instant.parse("2024-01-15T00:00:00Z"), null));
+        assertFalse(TransactionRepositoryImpl.overlaps(jan, Instant.parse("2024-02-01T00:00:00Z"), null));
+        assertFalse(TransactionRepositoryImpl.overlaps(jan, null, Instant.parse("2024-01-01T00:00:00Z")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAppendGroupsByMonth() {
+        when(mongo.indexOps(anyString())).thenReturn(mock(IndexOperations.class));
+
+        repo(true).append(List.of(
+                txn("T1", "A", "B", "2024-01-10T00:00:00Z"),
+                txn("T2", "A", "B", "2024-02-10T00:00:00Z"),
+                txn("T3", "A", "B", "2024-01-20T00:00:00Z")));
+
+        verify(mongo).insert((Collection<Transaction>) argThat(c -> ((Collection<?>) c).size() == 2), eq("transactions_202401"));
+        verify(mongo).insert((Collection<Transaction>) argThat(c -> ((Collection<?>) c).size() == 1), eq("transactions_202402"));
+    }
+
+    @Test
+    void testNewPartitionGetsUniqueTransactionIdIndex() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongo.indexOps("transactions_202401")).thenReturn(indexOps);
+
+        repo(true).append(List.of(txn("T1", "A", "B", "2024-01-10T00:00:00Z")));
+
+        verify(indexOps).ensureIndex(argThat(index -> index.getIndexKeys().containsKey("transactionId")
+                && index.getIndexOptions().getBoolean("unique")));
+    }
+
+    @Test
+    void testAppendWithoutPartitioningUsesBaseCollection() {
+        List<Transaction> txns = List.of(txn("T1", "A", "B", "2024-01-10T00:00:00Z"));
+        repo(false).append(txns);
+        verify(mongo).insert(txns, Transaction.class);
+    }
+
+    @Test
+    void testFullHistoryUsesConfiguredReadPreference() {
+        MongoTuningProperties tuning = new MongoTuningProperties();
+        tuning.setHistoryReadPreference("primary");
+        new TransactionRepositoryImpl(mongo, mapper, false, 3, archiveDir.toString(), tuning)
+                .findBySourceAccountOrDestinationAccount("A", "A");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongo).find(query.capture(), eq(Transaction.class), eq("transactions"));
+        assertEquals(ReadPreference.primary(), query.getValue().getReadPreference());
+    }
+
+    @Test
+    void testHistorySkipsPartitionsOutsideRange() {
+        when(mongo.getCollectionNames()).thenReturn(Set.of("transactions", "transactions_202401", "transactions_202403"));
+
+        repo(true).findHistory("A", Instant.parse("2024-03-01T00:00:00Z"), Instant.parse("2024-04-01T00:00:00Z"));
+
+        verify(mongo).find(any(Query.class), eq(Transaction.class), eq("transactions_202403"));
+        verify(mongo, never()).find(any(Query.class), eq(Transaction.class), eq("transactions_202401"));
+    }
+
+    @Test
+    void testArchivedPartitionIsStillReadable() {
+        String jan = "transactions_202401";
+        when(mongo.getCollectionNames()).thenReturn(Set.of(jan));
+        when(mongo.stream(any(Query.class), eq(Transaction.class), eq(jan))).thenReturn(Stream.of(
+                txn("T1", "A", "B", "2024-01-10T00:00:00Z"),
+                txn("T2", "C", "D", "2024-01-11T00:00:00Z")));
+        when(mongo.count(any(Query.class), eq(jan))).thenReturn(2L);
+
+        TransactionRepositoryImpl repo = repo(true);
+        assertEquals(1, repo.archivePartitionsBefore(YearMonth.of(2024, 2)));
+        assertTrue(Files.exists(archiveDir.resolve(jan + TransactionRepositoryImpl.ARCHIVE_SUFFIX)));
+        verify(mongo).dropCollection(jan);
+
+        when(mongo.getCollectionNames()).thenReturn(Set.of());
+        List<Transaction> history = repo.findHistory("A", Instant.parse("2024-01-01T00:00:00Z"), null);
+        assertEquals(1, history.size());
+        assertEquals("T1", history.get(0).getTransactionId());
+    }
+
+    @Test
+    void testHistoryWithoutRangeReadsHotMonthsOnly() throws Exception {
+        Files.writeString(archiveDir.resolve("transactions_202401" + TransactionRepositoryImpl.ARCHIVE_SUFFIX), "not gzip");
+
+        repo(true).findHistory("A", null, null);
+
+        // base plus the current and two previous months, addressed by name
+        ArgumentCaptor<String> collections = ArgumentCaptor.forClass(String.class);
+        verify(mongo, times(4)).find(any(Query.class), eq(Transaction.class), collections.capture());
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        assertEquals(List.of("transactions", partition(now), partition(now.minusMonths(1)), partition(now.minusMonths(2))),
+                collections.getAllValues());
+        verify(mongo, never()).getCollectionNames();
+    }
+
+    private static String partition(YearMonth month) {
+        return TransactionRepositoryImpl.partitionOf(month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+    }
+
+    @Test
+    void testExistsSearchesPartitionsNewestFirst() {
+        when(mongo.getCollectionNames()).thenReturn(Set.of("transactions", "transfer_sagas",
+                "transactions_202401", "transactions_202403", "transactions_202402"));
+        when(mongo.exists(any(Query.class), eq("transactions_202402"))).thenReturn(true);
+
+        assertTrue(repo(true).existsByTransactionId("T1"));
+
+        InOrder order = inOrder(mongo);
+        order.verify(mongo).exists(any(Query.class), eq("transactions"));
+        order.verify(mongo).exists(any(Query.class), eq("transactions_202403"));
+        order.verify(mongo).exists(any(Query.class), eq("transactions_202402"));
+        verify(mongo, never()).exists(any(Query.class), eq("transactions_202401"));
+        verify(mongo, never()).exists(any(Query.class), eq("transfer_sagas"));
+    }
+
+    @Test
+    void testExistsWithoutPartitioningReadsBaseOnly() {
+        assertFalse(repo(false).existsByTransactionId("T1"));
+        verify(mongo, never()).getCollectionNames();
+    }
+
+    @Test
+    void testArchivingAMonthAgainMergesWithItsFile() {
+        String jan = "transactions_202401";
+        when(mongo.getCollectionNames()).thenReturn(Set.of(jan));
+        when(mongo.stream(any(Query.class), eq(Transaction.class), eq(jan)))
+                .thenReturn(Stream.of(
+                        withId(txn("T1", "A", "B", "2024-01-10T00:00:00Z"), "1"),
+                        withId(txn("T2", "A", "B", "2024-01-11T00:00:00Z"), "2")))
+                // a late record, plus T2 again from a run that stopped before the drop
+                .thenReturn(Stream.of(
+                        withId(txn("T2", "A", "B", "2024-01-11T00:00:00Z"), "2"),
+                        withId(txn("T3", "A", "B", "2024-01-31T00:00:00Z"), "3")));
+        when(mongo.count(any(Query.class), eq(jan))).thenReturn(2L);
+
+        TransactionRepositoryImpl repo = repo(true);
+        assertEquals(1, repo.archivePartitionsBefore(YearMonth.of(2024, 2)));
+        assertEquals(1, repo.archivePartitionsBefore(YearMonth.of(2024, 2)));
+
+        when(mongo.getCollectionNames()).thenReturn(Set.of());
+        List<Transaction> history = repo.findHistory("A", Instant.parse("2024-01-01T00:00:00Z"), null);
+        assertEquals(List.of("T1", "T2", "T3"), history.stream().map(Transaction::getTransactionId).toList());
+    }
+
+    private static Transaction withId(Transaction t, String id) {
+        t.setId(id);
+        return t;
+    }
+
+    @Test
+    void testCountMismatchKeepsPartition() {
+        String jan = "transactions_202401";
+        when(mongo.getCollectionNames()).thenReturn(Set.of(jan));
+        when(mongo.stream(any(Query.class), eq(Transaction.class), eq(jan)))
+                .thenReturn(Stream.of(txn("T1", "A", "B", "2024-01-10T00:00:00Z")));
+        when(mongo.count(any(Query.class), eq(jan))).thenReturn(2L);
+
+        assertEquals(0, repo(true).archivePartitionsBefore(YearMonth.of(2024, 2)));
+        verify(mongo, never()).dropCollection(anyString());
+        assertFalse(Files.exists(archiveDir.resolve(jan + TransactionRepositoryImpl.ARCHIVE_SUFFIX)));
+    }
+
+    @Test
+    void testRecentPartitionsAreNotArchived() {
+        when(mongo.getCollectionNames()).thenReturn(Set.of("transactions_202402"));
+        assertEquals(0, repo(true).archivePartitionsBefore(YearMonth.of(2024, 2)));
+        verify(mongo, never()).stream(any(Query.class), any(), anyString());
+    }
+}
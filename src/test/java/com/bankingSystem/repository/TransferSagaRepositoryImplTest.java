@@ -0,0 +1,98 @@
+package com.bankingSystem.repository;
+
+import com.bankingSystem.model.TransferSaga;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransferSagaRepositoryImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+    private static final Instant LEASE = NOW.plusSeconds(60);
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private final TransferSagaRepositoryImpl repo = new TransferSagaRepositoryImpl(mongo);
+
+    @Test
+    void testEnsureIndexes() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongo.indexOps(TransferSaga.class)).thenReturn(indexOps);
+
+        repo.ensureIndexes();
+
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, times(2)).ensureIndex(indexes.capture());
+        assertEquals(Set.of("transferId"), indexes.getAllValues().get(0).getIndexKeys().keySet());
+        assertTrue(indexes.getAllValues().get(0).getIndexOptions().getBoolean("unique"));
+        assertEquals(List.of("state", "_id"), List.copyOf(indexes.getAllValues().get(1).getIndexKeys().keySet()));
+    }
+
+    @Test
+    void testFindUnclaimedPagesAfterTheLastId() {
+        repo.findUnclaimed(Set.of(TransferSaga.State.PENDING), "0001", 500, NOW);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongo).find(query.capture(), eq(TransferSaga.class));
+        // toString: toJson has no codec for the state enum, which the template maps to its name
+        String filter = query.getValue().getQueryObject().toString();
+        assertTrue(filter.contains("$gt=0001"), filter);
+        assertTrue(filter.contains("leaseUntil"), filter);
+        assertTrue(filter.contains("PENDING"), filter);
+        assertEquals(500, query.getValue().getLimit());
+        assertEquals(new Document("id", 1), query.getValue().getSortObject());
+    }
+
+    @Test
+    void testClaimTakesUnleasedOrOwnSagas() {
+        repo.claim("TRF-1", "node-a", LEASE, NOW);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(TransferSaga.class));
+        String filter = query.getValue().getQueryObject().toString();
+        assertTrue(filter.contains("transferId=TRF-1"), filter);
+        assertTrue(filter.contains("leaseOwner=node-a"), filter);
+        assertFalse(filter.contains("COMPLETED"), filter);
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals("node-a", set.get("leaseOwner"));
+        assertEquals(LEASE, set.get("leaseUntil"));
+    }
+
+    @Test
+    void testRecordStepIsConditionalOnTheLease() {
+        TransferSaga saga = new TransferSaga("TRF-1", "SRC1234", "DST5678", 10.0);
+        ReflectionTestUtils.setField(saga, "id", "0001");
+        saga.setLeaseOwner("node-a");
+        saga.setState(TransferSaga.State.DEBITED);
+
+        repo.recordStep(saga, LEASE);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongo).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(TransferSaga.class));
+        assertEquals("node-a", query.getValue().getQueryObject().get("leaseOwner"));
+
+        Document renewed = TransferSagaRepositoryImpl.step(saga, LEASE).getUpdateObject();
+        assertEquals(LEASE, renewed.get("$set", Document.class).get("leaseUntil"));
+        assertNull(renewed.get("$unset"));
+
+        saga.setState(TransferSaga.State.COMPLETED);
+        Document finished = TransferSagaRepositoryImpl.step(saga, LEASE).getUpdateObject();
+        assertEquals(TransferSaga.State.COMPLETED, finished.get("$set", Document.class).get("state"));
+        assertTrue(finished.get("$unset", Document.class).containsKey("leaseOwner"));
+    }
+}
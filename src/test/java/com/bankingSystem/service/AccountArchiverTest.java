@@ -0,0 +1,66 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountArchiverTest {
+
+    private final AccountRepository accRepo = mock(AccountRepository.class);
+    private final StripedBalanceStore stripes = mock(StripedBalanceStore.class);
+    private final AccountArchiver archiver = new AccountArchiver(accRepo, stripes, 30, 60, 2);
+
+    @AfterEach
+    void tearDown() {
+        archiver.shutdown();
+    }
+
+    @Test
+    void testArchivesAccountsClosedBeforeRetention() {
+        Instant now = Instant.parse("2024-06-30T00:00:00Z");
+        Account a = new Account("ACC0001", "John");
+        Account b = new Account("ACC0002", "Jane");
+        when(accRepo.findByStatusInAndClosedAtBefore(any(), any(), any())).thenReturn(List.of(a, b));
+
+        assertEquals(2, archiver.archiveClosedAccounts(now));
+
+        // ARCHIVED: sealed by a run that stopped before removing it
+        verify(accRepo).findByStatusInAndClosedAtBefore(List.of(AccountStatus.CLOSED, AccountStatus.ARCHIVED),
+                Instant.parse("2024-05-31T00:00:00Z"), Limit.of(2));
+        verify(accRepo).archive(a);
+        verify(accRepo).archive(b);
+    }
+
+    @Test
+    void testFailedAccountDoesNotStopBatch() {
+        Account a = new Account("ACC0001", "John");
+        Account b = new Account("ACC0002", "Jane");
+        when(accRepo.findByStatusInAndClosedAtBefore(any(), any(), any())).thenReturn(List.of(a, b));
+        when(accRepo.archive(a)).thenThrow(new RuntimeException("timeout"));
+
+        assertEquals(1, archiver.archiveClosedAccounts(Instant.now()));
+        verify(accRepo).archive(b);
+    }
+
+    @Test
+    void testSkipsStripedAccountWithMoneyOnItsStripes() {
+        Account a = new Account("ACC0001", "John");
+        a.setStatus(AccountStatus.CLOSED);
+        a.setStripeCount(4);
+        when(accRepo.findByStatusInAndClosedAtBefore(any(), any(), any())).thenReturn(List.of(a));
+        when(stripes.freshBalance("ACC0001")).thenReturn(5.0);
+
+        assertEquals(0, archiver.archiveClosedAccounts(Instant.now()));
+        verify(accRepo, never()).archive(any());
+    }
+}
@@ -1,7 +1,12 @@
 package com.bankingSystem.service;
 
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.dto.MultiAccountView;
 import com.bankingSystem.exception.*;
 import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.Hold;
+import com.bankingSystem.model.Posting;
 import com.bankingSystem.model.Transaction;
 import com.bankingSystem.repository.AccountRepository;
 import com.bankingSystem.repository.TransactionRepository;
@@ -9,7 +14,12 @@ import com.bankingSystem.service.impl.AccountServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,12 +33,61 @@ class AccountServiceImplTest {
     @Mock
     private TransactionRepository txnRepo;
 
-    @InjectMocks
+    @Spy
+    private ReadCoalescer reads = new ReadCoalescer();
+
+    @Mock
+    private TransactionScreen screen;
+
+    @Mock
+    private StripedBalanceStore stripes;
+
+    @Mock
+    private BalanceNotifier notifier;
+
+    private AccountStatusCache statusCache;
+
     private AccountServiceImpl service;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        statusCache = new AccountStatusCache(60);
+        // window 0 = no grouping, records go straight to txnRepo.save
+        service = new AccountServiceImpl(accRepo, txnRepo, reads, new TransactionWriter(txnRepo, 0, 1),
+                List.of(screen), stripes, notifier, statusCache, new FxRateProvider("classpath:fx-rates-test.properties", 0),
+                new ParallelHistoryReader(txnRepo, 2, 2), 5000);
+        when(screen.screen(anyString(), any(), anyDouble())).thenReturn(TransactionScreen.Decision.ALLOW);
+    }
+
+    // answers the conditional balance update on these fixtures the way the repositories do
+    private void applyChangesTo(Account... accs) {
+        when(accRepo.applyChange(anyString(), anyDouble(), any(), any())).thenAnswer(inv -> {
+            String accNo = inv.getArgument(0);
+            double delta = inv.getArgument(1);
+            String txnId = inv.getArgument(2);
+            Collection<AccountStatus> statuses = inv.getArgument(3);
+            for (Account acc : accs) {
+                if (!acc.getAccountNumber().equals(accNo)) continue;
+                if (statuses != null && !statuses.contains(acc.getStatus())) return Optional.empty();
+                if (txnId != null && acc.getTransactionIds().contains(txnId)) return Optional.empty();
+                if (delta < 0 && acc.getAvailableBalance() < -delta) return Optional.empty();
+                acc.setBalance(acc.getBalance() + delta);
+                if (txnId != null) acc.getTransactionIds().add(txnId);
+                return Optional.of(acc);
+            }
+            return Optional.empty();
+        });
+    }
+
+    // answers the conditional status change on this fixture the way the repositories do
+    private void changeStatusOf(Account acc) {
+        when(accRepo.changeStatus(eq(acc.getAccountNumber()), any(), any(), any())).thenAnswer(inv -> {
+            if (acc.getStatus() != inv.getArgument(1)) return Optional.empty();
+            acc.setStatus(inv.getArgument(2));
+            acc.setClosedAt(inv.getArgument(3));
+            return Optional.of(acc);
+        });
     }
 
 
@@ -49,6 +108,29 @@ class AccountServiceImplTest {
     }
 
 
+    @Test
+    void testCreateAccount_RedrawsTakenNumber() {
+        when(accRepo.existsByAccountNumber(anyString())).thenReturn(true, true, false);
+        when(accRepo.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Account result = service.createAccount("John");
+
+        assertTrue(result.getAccountNumber().startsWith("JOH"));
+        verify(accRepo, times(3)).existsByAccountNumber(anyString());
+    }
+
+
+    @Test
+    void testCreateAccount_GivesUpWhenEveryNumberIsTaken() {
+        when(accRepo.existsByAccountNumber(anyString())).thenReturn(false);
+        when(accRepo.existsArchived(anyString())).thenReturn(true);
+
+        assertThrows(InvalidRequestException.class, () -> service.createAccount("John"));
+        verify(accRepo, times(10)).existsArchived(anyString());
+        verify(accRepo, never()).save(any(Account.class));
+    }
+
+
     // UPDATE HOLDER NAME
 
     @Test
@@ -58,12 +140,28 @@ class AccountServiceImplTest {
         when(accRepo.findByAccountNumber("ACC0001"))
                 .thenReturn(Optional.of(acc));
 
-        when(accRepo.save(acc)).thenReturn(acc);
+        when(accRepo.updateHolderName("ACC0001", "NewName")).thenAnswer(inv -> {
+            acc.setHolderName("NewName");
+            return Optional.of(acc);
+        });
 
         Account updated = service.updateHolderName("ACC0001", "NewName");
 
         assertEquals("NewName", updated.getHolderName());
-        verify(accRepo, times(1)).save(acc);
+        // a targeted update, so a concurrent balance change or hold is not overwritten
+        verify(accRepo, never()).save(any(Account.class));
+    }
+
+    @Test
+    void testUpdateHolderName_ClosedAccount() {
+        Account acc = new Account("ACC0001", "OldName");
+        acc.setStatus(AccountStatus.CLOSED);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+        when(accRepo.updateHolderName("ACC0001", "NewName")).thenReturn(Optional.empty());
+
+        AccountStatusException ex = assertThrows(AccountStatusException.class,
+                () -> service.updateHolderName("ACC0001", "NewName"));
+        assertEquals("Account is CLOSED", ex.getMessage());
     }
 
     // -------------------------------------------------------------
@@ -75,12 +173,162 @@ class AccountServiceImplTest {
 
         when(accRepo.findByAccountNumber("ACC0001"))
                 .thenReturn(Optional.of(acc));
-
-        doNothing().when(accRepo).delete(acc);
+        changeStatusOf(acc);
 
         service.deleteAccount("ACC0001");
 
-        verify(accRepo, times(1)).delete(acc);
+        // soft delete: the account is closed, not removed
+        assertEquals(AccountStatus.CLOSED, acc.getStatus());
+        assertNotNull(acc.getClosedAt());
+        verify(accRepo).changeStatus(eq("ACC0001"), eq(AccountStatus.ACTIVE), eq(AccountStatus.CLOSED), any(Instant.class));
+        verify(accRepo, never()).delete(any(Account.class));
+    }
+
+    @Test
+    void testDeleteAccount_NonZeroBalance() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(10.0);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+
+        assertThrows(InvalidRequestException.class, () -> service.deleteAccount("ACC0001"));
+        verify(accRepo, never()).changeStatus(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testDeleteAccount_DepositArrivesAfterCheck() {
+        // checked with zero, but a deposit lands before the close: the conditional update misses
+        // and the reload sees the balance
+        Account empty = new Account("ACC0001", "John");
+        Account funded = new Account("ACC0001", "John");
+        funded.setBalance(10.0);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(empty), Optional.of(funded));
+        when(accRepo.changeStatus(eq("ACC0001"), any(), any(), any())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRequestException.class, () -> service.deleteAccount("ACC0001"));
+        verify(accRepo, times(1)).changeStatus(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testChangeStatus_GivesUpWhenAccountKeepsChanging() {
+        Account acc = new Account("ACC0001", "John");
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+        when(accRepo.changeStatus(eq("ACC0001"), any(), any(), any())).thenReturn(Optional.empty());
+
+        assertThrows(AccountStatusException.class, () -> service.changeStatus("ACC0001", AccountStatus.FROZEN));
+        verify(accRepo, times(3)).changeStatus("ACC0001", AccountStatus.ACTIVE, AccountStatus.FROZEN, null);
+    }
+
+    // -------------------------------------------------------------
+    // ACCOUNT STATUS
+    // -------------------------------------------------------------
+    @Test
+    void testChangeStatus_FreezeAndUnfreeze() {
+        Account acc = new Account("ACC0001", "John");
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+        changeStatusOf(acc);
+
+        service.changeStatus("ACC0001", AccountStatus.FROZEN);
+        assertEquals(AccountStatus.FROZEN, statusCache.restrictedStatus("ACC0001"));
+
+        service.changeStatus("ACC0001", AccountStatus.ACTIVE);
+        assertNull(statusCache.restrictedStatus("ACC0001"));
+        assertEquals(AccountStatus.ACTIVE, acc.getStatus());
+    }
+
+    @Test
+    void testChangeStatus_InvalidTransition() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setStatus(AccountStatus.CLOSED);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+
+        assertThrows(AccountStatusException.class, () -> service.changeStatus("ACC0001", AccountStatus.ACTIVE));
+        assertThrows(InvalidRequestException.class, () -> service.changeStatus("ACC0001", AccountStatus.ARCHIVED));
+    }
+
+    @Test
+    void testWithdraw_FrozenAccountRejected() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(100.0);
+        acc.setStatus(AccountStatus.FROZEN);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+
+        assertThrows(AccountStatusException.class, () -> service.withdraw("ACC0001", 10.0));
+        verify(accRepo, never()).applyChange(anyString(), anyDouble(), any(), any());
+        verify(txnRepo, never()).save(any(Transaction.class));
+        // the declined withdrawal does not use up the velocity window
+        verify(screen).release("ACC0001", TransactionScreen.Direction.DEBIT, 10.0);
+    }
+
+    @Test
+    void testDeposit_FrozenAccountAccepted() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setStatus(AccountStatus.FROZEN);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+        applyChangesTo(acc);
+
+        assertEquals(10.0, service.deposit("ACC0001", 10.0).getBalance());
+    }
+
+    @Test
+    void testDeposit_CachedClosedStatusSkipsRead() {
+        statusCache.record("ACC0001", AccountStatus.CLOSED);
+
+        assertThrows(AccountStatusException.class, () -> service.deposit("ACC0001", 10.0));
+        verify(accRepo, never()).findByAccountNumber(anyString());
+        verify(screen, never()).screen(anyString(), any(), anyDouble());
+    }
+
+    @Test
+    void testTransfer_ToClosedAccountRejected() {
+        Account src = new Account("ACC0001", "John");
+        src.setBalance(100.0);
+        Account dest = new Account("ACC0002", "Jane");
+        dest.setStatus(AccountStatus.CLOSED);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(src));
+        when(accRepo.findByAccountNumber("ACC0002")).thenReturn(Optional.of(dest));
+
+        assertThrows(AccountStatusException.class, () -> service.transfer("ACC0001", "ACC0002", 10.0));
+        assertEquals(100.0, src.getBalance());
+        verify(accRepo, never()).applyChange(anyString(), anyDouble(), any(), any());
+        verify(screen).release("ACC0001", TransactionScreen.Direction.DEBIT, 10.0);
+        verify(screen).release("ACC0002", TransactionScreen.Direction.CREDIT, 10.0);
+    }
+
+    @Test
+    void testTransfer_BlockedDestinationReleasesSource() {
+        when(screen.screen("ACC0002", TransactionScreen.Direction.CREDIT, 10.0)).thenReturn(TransactionScreen.Decision.BLOCK);
+
+        assertThrows(TransactionBlockedException.class, () -> service.transfer("ACC0001", "ACC0002", 10.0));
+        verify(screen).release("ACC0001", TransactionScreen.Direction.DEBIT, 10.0);
+        verify(screen, never()).release(eq("ACC0002"), any(), anyDouble());
+        verify(accRepo, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    void testWithdraw_ScreenWithoutStateIgnoresRelease() {
+        // stateless screens only implement screen(); release() is a no-op for them
+        List<String> screened = new ArrayList<>();
+        TransactionScreen stateless = (accNo, direction, amount) -> {
+            screened.add(accNo);
+            return TransactionScreen.Decision.ALLOW;
+        };
+        service = new AccountServiceImpl(accRepo, txnRepo, reads, new TransactionWriter(txnRepo, 0, 1),
+                List.of(stateless), stripes, notifier, statusCache, new FxRateProvider("classpath:fx-rates-test.properties", 0),
+                new ParallelHistoryReader(txnRepo, 2, 2), 5000);
+        Account acc = new Account("ACC0001", "John");
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+        applyChangesTo(acc);
+
+        assertThrows(InsufficientBalanceException.class, () -> service.withdraw("ACC0001", 10.0));
+        assertEquals(List.of("ACC0001"), screened);
+        assertEquals(0.0, acc.getBalance());
+    }
+
+    @Test
+    void testGetArchivedAccount_NotFound() {
+        when(accRepo.findArchived("ACC0001")).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> service.getArchivedAccount("ACC0001"));
     }
 
     // -------------------------------------------------------------
@@ -100,6 +348,24 @@ class AccountServiceImplTest {
         assertEquals("T1", list.get(0).getTransactionId());
     }
 
+    @Test
+    void testGetTransactionsSince_RereadsOverlapWindow() {
+        java.time.Instant mark = java.time.Instant.parse("2024-01-01T00:00:00Z");
+        java.time.Instant from = mark.minusSeconds(5);
+        Transaction atFrom = new Transaction("T0", "DEPOSIT", 10.0, "SUCCESS", null, "ACC0001");
+        atFrom.setTimestamp(from);
+        // stamped before the watermark but committed after the client's last poll
+        Transaction late = new Transaction("T1", "DEPOSIT", 100.0, "SUCCESS", null, "ACC0001");
+        late.setTimestamp(mark.minusSeconds(1));
+        Transaction after = new Transaction("T2", "DEPOSIT", 50.0, "SUCCESS", null, "ACC0001");
+        after.setTimestamp(mark.plusMillis(1));
+        when(txnRepo.findHistory("ACC0001", from, null)).thenReturn(java.util.List.of(atFrom, late, after, after));
+
+        var list = service.getTransactionsSince("ACC0001", mark);
+
+        assertEquals(java.util.List.of("T1", "T2"), list.stream().map(Transaction::getTransactionId).toList());
+    }
+
     // -------------------------------------------------------------
     // GET ACCOUNT SUCCESS
     // -------------------------------------------------------------
@@ -121,6 +387,59 @@ class AccountServiceImplTest {
                 () -> service.getAccount("123"));
     }
 
+    @Test
+    void testAccountNumberFormat() {
+        assertTrue(AccountServiceImpl.isAccountNumber("ASH1234"));
+        assertFalse(AccountServiceImpl.isAccountNumber(null));
+        assertFalse(AccountServiceImpl.isAccountNumber("ash1234"));
+        assertFalse(AccountServiceImpl.isAccountNumber("ASH123"));
+        assertFalse(AccountServiceImpl.isAccountNumber("ASH12345"));
+        assertFalse(AccountServiceImpl.isAccountNumber("AS11234"));
+        assertFalse(AccountServiceImpl.isAccountNumber("ASH12A4"));
+    }
+
+
+
+    // -------------------------------------------------------------
+    // MULTI-ACCOUNT VIEW
+    // -------------------------------------------------------------
+    @Test
+    void testGetAccounts() {
+        Account a = new Account("ACC0001", "John");
+        Account b = new Account("ACC0002", "Anna");
+        when(accRepo.findByAccountNumberIn(List.of("ACC0002", "ACC0009", "ACC0001"))).thenReturn(List.of(a, b));
+        Transaction t = new Transaction("TXN1", "DEPOSIT", 10.0, "SUCCESS", null, "ACC0001");
+        when(txnRepo.findHistoryPage(anyString(), isNull(), eq(5))).thenReturn(new HistoryPage(List.of(), null));
+        when(txnRepo.findHistoryPage("ACC0001", null, 5)).thenReturn(new HistoryPage(List.of(t), null));
+
+        MultiAccountView view = service.getAccounts(List.of("ACC0002", "ACC0009", "ACC0001", "ACC0002"), 5);
+
+        assertEquals(List.of("ACC0002", "ACC0001"),
+                view.getAccounts().stream().map(o -> o.getAccount().getAccountNumber()).toList());
+        assertEquals(List.of(t), view.getAccounts().get(1).getRecentTransactions());
+        assertEquals(List.of("ACC0009"), view.getNotFound());
+        verify(accRepo, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    void testGetAccountsWithoutHistory() {
+        when(accRepo.findByAccountNumberIn(anyList())).thenReturn(List.of(new Account("ACC0001", "John")));
+
+        MultiAccountView view = service.getAccounts(List.of("ACC0001"), 0);
+
+        assertTrue(view.getAccounts().get(0).getRecentTransactions().isEmpty());
+        verify(txnRepo, never()).findHistoryPage(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void testGetAccountsValidation() {
+        assertThrows(InvalidRequestException.class, () -> service.getAccounts(List.of(), 5));
+        List<String> tooMany = java.util.stream.IntStream.range(0, 201).mapToObj(i -> String.format("ACC%04d", i)).toList();
+        assertThrows(InvalidRequestException.class, () -> service.getAccounts(tooMany, 5));
+        assertThrows(InvalidRequestException.class, () -> service.getAccounts(List.of("ACC0001"), 501));
+        assertThrows(InvalidAccountNumberException.class, () -> service.getAccounts(List.of("ACC0001", "bad"), 5));
+        verify(accRepo, never()).findByAccountNumberIn(anyList());
+    }
 
 
     // -------------------------------------------------------------
@@ -145,12 +464,14 @@ class AccountServiceImplTest {
         when(accRepo.findByAccountNumber("TES1234"))
                 .thenReturn(Optional.of(acc));
 
-        when(accRepo.save(acc)).thenReturn(acc);
+        applyChangesTo(acc);
 
         Account updated = service.deposit("TES1234", 500.0);
 
         assertEquals(1500.0, updated.getBalance());
         verify(txnRepo, times(1)).save(any(Transaction.class));
+        verify(accRepo, never()).save(any(Account.class));
+        verify(notifier).publish(eq("TES1234"), eq(1500.0), any(Transaction.class));
     }
 
     @Test
@@ -183,6 +504,90 @@ class AccountServiceImplTest {
                 () -> service.withdraw("ACC0001", 500.0));
     }
 
+    @Test
+    void testWithdraw_HeldFundsUnavailable() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(100.0);
+        acc.setHeldAmount(80.0);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+
+        assertThrows(InsufficientBalanceException.class, () -> service.withdraw("ACC0001", 30.0));
+        verify(accRepo, never()).applyChange(anyString(), anyDouble(), any(), any());
+    }
+
+    @Test
+    void testWithdraw_LosesRaceForBalance() {
+        // loaded with 100, but a concurrent withdrawal took it before the update
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(100.0);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+        when(accRepo.applyChange(eq("ACC0001"), eq(-80.0), anyString(), any())).thenReturn(Optional.empty());
+
+        assertThrows(InsufficientBalanceException.class, () -> service.withdraw("ACC0001", 80.0));
+        // recorded first, then taken back
+        ArgumentCaptor<Transaction> txn = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnRepo).save(txn.capture());
+        verify(txnRepo).deleteByTransactionIds(List.of(txn.getValue().getTransactionId()));
+        verify(notifier, never()).publish(anyString(), anyDouble(), any());
+    }
+
+    @Test
+    void testWithdraw_RecordFailsBalanceUntouched() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(100.0);
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+        applyChangesTo(acc);
+        when(txnRepo.save(any(Transaction.class))).thenThrow(new IllegalStateException("insert failed"));
+
+        assertThrows(IllegalStateException.class, () -> service.withdraw("ACC0001", 80.0));
+        assertEquals(100.0, acc.getBalance());
+        verify(accRepo, never()).applyChange(anyString(), anyDouble(), any(), any());
+    }
+
+    @Test
+    void testDeposit_UpdateFailsTakesBackRecord() {
+        Account acc = new Account("ACC0001", "John");
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+        when(accRepo.applyChange(anyString(), anyDouble(), anyString(), any()))
+                .thenThrow(new IllegalStateException("timeout"));
+
+        assertThrows(IllegalStateException.class, () -> service.deposit("ACC0001", 80.0));
+        ArgumentCaptor<Transaction> txn = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnRepo).save(txn.capture());
+        verify(txnRepo).deleteByTransactionIds(List.of(txn.getValue().getTransactionId()));
+    }
+
+    @Test
+    void testDeposit_UpdateFailsAfterApplyingKeepsRecord() {
+        // the update landed but its reply was lost: the reload shows the id, so the deposit stands
+        Account acc = new Account("ACC0001", "John");
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+        when(accRepo.applyChange(anyString(), anyDouble(), anyString(), any())).thenAnswer(inv -> {
+            acc.setBalance(80.0);
+            acc.getTransactionIds().add(inv.getArgument(2));
+            throw new IllegalStateException("timeout");
+        });
+
+        assertEquals(80.0, service.deposit("ACC0001", 80.0).getBalance());
+        verify(txnRepo, never()).deleteByTransactionIds(anyCollection());
+    }
+
+    @Test
+    void testTransfer_RecordFailsMovesNothing() {
+        Account src = new Account("SRC1234", "John");
+        src.setBalance(1000.0);
+        Account dest = new Account("DST5678", "Ram");
+        when(accRepo.findByAccountNumber("SRC1234")).thenReturn(Optional.of(src));
+        when(accRepo.findByAccountNumber("DST5678")).thenReturn(Optional.of(dest));
+        applyChangesTo(src, dest);
+        when(txnRepo.save(any(Transaction.class))).thenThrow(new IllegalStateException("insert failed"));
+
+        assertThrows(IllegalStateException.class, () -> service.transfer("SRC1234", "DST5678", 200.0));
+        assertEquals(1000.0, src.getBalance());
+        assertEquals(0.0, dest.getBalance());
+        verify(accRepo, never()).applyChange(anyString(), anyDouble(), any(), any());
+    }
+
     @Test
     void testWithdraw_InvalidAccountNumber() {
         assertThrows(InvalidAccountNumberException.class,
@@ -212,15 +617,134 @@ class AccountServiceImplTest {
         when(accRepo.findByAccountNumber("SRC1234")).thenReturn(Optional.of(src));
         when(accRepo.findByAccountNumber("DST5678")).thenReturn(Optional.of(dest));
 
-        when(accRepo.save(any(Account.class))).thenReturn(src).thenReturn(dest);
+        applyChangesTo(src, dest);
 
         service.transfer("SRC1234", "DST5678", 200.0);
 
-        verify(txnRepo, times(3)).save(any(Transaction.class));  // withdraw + deposit + transfer
-        verify(accRepo, times(4)).save(any(Account.class));      // two saves each account
+        // one journal entry, referenced once from each account
+        ArgumentCaptor<Transaction> entry = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnRepo, times(1)).save(entry.capture());
+        verify(accRepo, times(2)).applyChange(anyString(), anyDouble(), anyString(), any());
+        verify(accRepo, never()).save(any(Account.class));
+        assertEquals(800.0, src.getBalance());
+        assertEquals(700.0, dest.getBalance());
+        assertEquals("TRANSFER", entry.getValue().getType());
+        assertTrue(Posting.balanced(entry.getValue().getPostings()));
+        assertEquals(-200.0, entry.getValue().amountFor("SRC1234"));
+        assertEquals(200.0, entry.getValue().amountFor("DST5678"));
+        assertEquals(List.of(entry.getValue().getTransactionId()), src.getTransactionIds());
+        assertEquals(List.of(entry.getValue().getTransactionId()), dest.getTransactionIds());
+    }
+
+
+
+    @Test
+    void testTransfer_CrossCurrencyConvertsCredit() {
+        Account src = new Account("SRC1234", "John");
+        src.setBalance(1000.0);
+        Account dest = new Account("DST5678", "Ram");
+        dest.setCurrency("EUR");
+
+        when(accRepo.findByAccountNumber("SRC1234")).thenReturn(Optional.of(src));
+        when(accRepo.findByAccountNumber("DST5678")).thenReturn(Optional.of(dest));
+        applyChangesTo(src, dest);
+
+        service.transfer("SRC1234", "DST5678", 100.01);
+
+        assertEquals(899.99, src.getBalance(), 1e-9);
+        // 100.01 * 0.8 = 80.008 -> 80.01 (half-even at 2 decimals)
+        assertEquals(80.01, dest.getBalance());
+        ArgumentCaptor<Transaction> txns = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnRepo, times(1)).save(txns.capture());
+        Transaction entry = txns.getValue();
+        assertEquals("USD", entry.getCurrency());
+        assertEquals(0, new java.math.BigDecimal("0.8").compareTo(entry.getFxRate()));
+        // balanced per currency through the FX account
+        assertTrue(Posting.balanced(entry.getPostings()));
+        assertEquals(-100.01, entry.amountFor("SRC1234"));
+        assertEquals(80.01, entry.amountFor("DST5678"));
+    }
+
+    @Test
+    void testTransfer_DestinationGoneGivesMoneyBack() {
+        Account src = new Account("SRC1234", "John");
+        src.setBalance(1000.0);
+        Account dest = new Account("DST5678", "Ram");
+        when(accRepo.findByAccountNumber("SRC1234")).thenReturn(Optional.of(src));
+        when(accRepo.findByAccountNumber("DST5678")).thenReturn(Optional.of(dest), Optional.empty());
+        // only the source answers: the destination was archived after it was loaded
+        applyChangesTo(src);
+
+        assertThrows(AccountNotFoundException.class, () -> service.transfer("SRC1234", "DST5678", 200.0));
+
+        assertEquals(1000.0, src.getBalance());
+        verify(accRepo).pullTransactionIds(eq("SRC1234"), anyCollection());
+        ArgumentCaptor<Transaction> entry = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnRepo).save(entry.capture());
+        verify(txnRepo).deleteByTransactionIds(List.of(entry.getValue().getTransactionId()));
     }
 
+    @Test
+    void testTransfer_DestinationClosedMeanwhileGivesMoneyBack() {
+        Account src = new Account("SRC1234", "John");
+        src.setBalance(1000.0);
+        // loaded while active, closed before the credit: the status condition on the update misses
+        Account loaded = new Account("DST5678", "Ram");
+        Account dest = new Account("DST5678", "Ram");
+        dest.setStatus(AccountStatus.CLOSED);
+        when(accRepo.findByAccountNumber("SRC1234")).thenReturn(Optional.of(src));
+        when(accRepo.findByAccountNumber("DST5678")).thenReturn(Optional.of(loaded), Optional.of(dest));
+        applyChangesTo(src, dest);
+
+        AccountStatusException ex = assertThrows(AccountStatusException.class,
+                () -> service.transfer("SRC1234", "DST5678", 200.0));
+
+        assertEquals("Account is CLOSED", ex.getMessage());
+        assertEquals(1000.0, src.getBalance());
+        assertEquals(0.0, dest.getBalance());
+        verify(txnRepo).deleteByTransactionIds(anyCollection());
+    }
 
+    @Test
+    void testTransfer_FailedRefundKeepsTheEntry() {
+        Account src = new Account("SRC1234", "John");
+        src.setBalance(1000.0);
+        Account dest = new Account("DST5678", "Ram");
+        when(accRepo.findByAccountNumber("SRC1234")).thenReturn(Optional.of(src));
+        when(accRepo.findByAccountNumber("DST5678")).thenReturn(Optional.of(dest), Optional.empty());
+        applyChangesTo(src);
+        // the refund (no txnId, no status condition) fails after the debit went through
+        when(accRepo.applyChange(eq("SRC1234"), eq(200.0), isNull(), isNull()))
+                .thenThrow(new IllegalStateException("primary stepped down"));
+
+        assertThrows(IllegalStateException.class, () -> service.transfer("SRC1234", "DST5678", 200.0));
+
+        // the source stays debited, so its entry must stay for reconciliation to find
+        assertEquals(800.0, src.getBalance());
+        verify(txnRepo).save(any(Transaction.class));
+        verify(txnRepo, never()).deleteByTransactionIds(anyCollection());
+    }
+
+    @Test
+    void testTransfer_UnsupportedCurrencyWritesNothing() {
+        Account src = new Account("SRC1234", "John");
+        src.setBalance(1000.0);
+        Account dest = new Account("DST5678", "Ram");
+        dest.setCurrency("CHF");
+
+        when(accRepo.findByAccountNumber("SRC1234")).thenReturn(Optional.of(src));
+        when(accRepo.findByAccountNumber("DST5678")).thenReturn(Optional.of(dest));
+
+        assertThrows(InvalidRequestException.class, () -> service.transfer("SRC1234", "DST5678", 10.0));
+        verify(accRepo, never()).save(any(Account.class));
+        verify(txnRepo, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void testCreateAccount_UnsupportedCurrency() {
+        assertThrows(InvalidRequestException.class, () -> service.createAccount("John", "XYZ"));
+        verify(accRepo, never()).save(any(Account.class));
+    }
 
     @Test
     void testTransfer_InvalidSourceAccount() {
@@ -245,4 +769,212 @@ class AccountServiceImplTest {
         assertThrows(InvalidAccountNumberException.class,
                 () -> service.getTransactions("AX1"));
     }
+
+    @Test
+    void testWithdraw_BlockedByScreen() {
+        when(screen.screen("ACC0001", TransactionScreen.Direction.DEBIT, 500.0))
+                .thenReturn(TransactionScreen.Decision.BLOCK);
+
+        assertThrows(TransactionBlockedException.class,
+                () -> service.withdraw("ACC0001", 500.0));
+        verifyNoInteractions(accRepo, txnRepo);
+    }
+
+    @Test
+    void testDeposit_FlaggedStillCommits() {
+        Account acc = new Account("TES1234", "TestUser");
+        acc.setBalance(1000.0);
+        when(screen.screen("TES1234", TransactionScreen.Direction.CREDIT, 500.0))
+                .thenReturn(TransactionScreen.Decision.FLAG);
+        when(accRepo.findByAccountNumber("TES1234")).thenReturn(Optional.of(acc));
+        applyChangesTo(acc);
+
+        assertEquals(1500.0, service.deposit("TES1234", 500.0).getBalance());
+    }
+
+    // -------------------------------------------------------------
+    // STRIPED ACCOUNTS
+    // -------------------------------------------------------------
+    private Account stripedAccount(String accNo) {
+        Account acc = new Account(accNo, "Settlement");
+        acc.setStripeCount(4);
+        when(accRepo.findByAccountNumber(accNo)).thenReturn(Optional.of(acc));
+        return acc;
+    }
+
+    @Test
+    void testEnableStriping() {
+        Account acc = new Account("SET1234", "Settlement");
+        acc.setBalance(300.0);
+        when(accRepo.findByAccountNumber("SET1234")).thenReturn(Optional.of(acc));
+        when(accRepo.markStriped("SET1234", 4)).thenAnswer(inv -> {
+            acc.setStripeCount(4);
+            return Optional.of(acc);
+        });
+        when(stripes.freshBalance("SET1234")).thenReturn(300.0);
+
+        Account updated = service.enableStriping("SET1234", 4);
+
+        // the balance moves into the stripes only once the document no longer takes updates
+        InOrder order = inOrder(stripes, accRepo);
+        order.verify(stripes).create("SET1234", 4);
+        order.verify(accRepo).markStriped("SET1234", 4);
+        order.verify(stripes).open("SET1234", 300.0);
+        verify(accRepo, never()).save(any(Account.class));
+        assertTrue(updated.isStriped());
+        assertEquals(300.0, updated.getBalance());
+    }
+
+    @Test
+    void testEnableStriping_DepositBeforeMarkIsCarriedOver() {
+        // loaded with 300, a deposit of 50 lands before the mark: the marked document says 350
+        Account loaded = new Account("SET1234", "Settlement");
+        loaded.setBalance(300.0);
+        Account marked = new Account("SET1234", "Settlement");
+        marked.setBalance(350.0);
+        marked.setStripeCount(4);
+        when(accRepo.findByAccountNumber("SET1234")).thenReturn(Optional.of(loaded));
+        when(accRepo.markStriped("SET1234", 4)).thenReturn(Optional.of(marked));
+
+        service.enableStriping("SET1234", 4);
+
+        verify(stripes).open("SET1234", 350.0);
+    }
+
+    @Test
+    void testEnableStriping_FinishesInterruptedRun() {
+        Account acc = stripedAccount("SET1234");
+        acc.setBalance(300.0);
+        when(stripes.open("SET1234", 300.0)).thenReturn(true, false);
+
+        service.enableStriping("SET1234", 4);
+        verify(accRepo, never()).markStriped(anyString(), anyInt());
+
+        assertThrows(InvalidRequestException.class, () -> service.enableStriping("SET1234", 4));
+    }
+
+    @Test
+    void testEnableStriping_RefusedWithOpenHolds() {
+        Account acc = new Account("SET1234", "Settlement");
+        acc.getHolds().add(new Hold("HLD-1", 40.0, Instant.now(), Instant.now().plusSeconds(60)));
+        when(accRepo.findByAccountNumber("SET1234")).thenReturn(Optional.of(acc));
+
+        assertThrows(InvalidRequestException.class, () -> service.enableStriping("SET1234", 4));
+        verify(accRepo, never()).markStriped(anyString(), anyInt());
+    }
+
+    @Test
+    void testEnableStriping_InvalidCount() {
+        assertThrows(InvalidRequestException.class, () -> service.enableStriping("SET1234", 1));
+    }
+
+    @Test
+    void testGetTransactionPage_LimitOutOfRange() {
+        assertThrows(InvalidRequestException.class, () -> service.getTransactionPage("ACC0001", null, 0));
+        assertThrows(InvalidRequestException.class, () -> service.getTransactionPage("ACC0001", null, 501));
+        verify(txnRepo, never()).findHistoryPage(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void testDeposit_StripedDoesNotSaveAccount() {
+        stripedAccount("SET1234");
+        when(stripes.freshBalance("SET1234")).thenReturn(1000.0);
+        when(stripes.credit("SET1234", 4, 50.0)).thenReturn(true);
+
+        Account updated = service.deposit("SET1234", 50.0);
+
+        verify(stripes).credit("SET1234", 4, 50.0);
+        verify(txnRepo).save(any(Transaction.class));
+        verify(accRepo, never()).save(any(Account.class));
+        verify(accRepo, never()).applyChange(anyString(), anyDouble(), any(), any());
+        assertEquals(1050.0, updated.getBalance());
+        // a fresh id cannot have been applied yet, so there is nothing to look up
+        verify(txnRepo, never()).existsByTransactionId(anyString());
+    }
+
+    @Test
+    void testDeposit_StripedMissingStripeTakesBackRecord() {
+        stripedAccount("SET1234");
+        when(stripes.credit("SET1234", 4, 50.0)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> service.deposit("SET1234", 50.0));
+        ArgumentCaptor<Transaction> txn = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnRepo).save(txn.capture());
+        verify(txnRepo).deleteByTransactionIds(List.of(txn.getValue().getTransactionId()));
+    }
+
+    @Test
+    void testWithdraw_StripedInsufficient() {
+        stripedAccount("SET1234");
+        when(stripes.freshBalance("SET1234")).thenReturn(10.0);
+        when(stripes.debit("SET1234", 50.0)).thenReturn(false);
+
+        assertThrows(InsufficientBalanceException.class, () -> service.withdraw("SET1234", 50.0));
+        ArgumentCaptor<Transaction> txn = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnRepo).save(txn.capture());
+        verify(txnRepo).deleteByTransactionIds(List.of(txn.getValue().getTransactionId()));
+    }
+
+    // the package-private saga step, as TransferSagaServiceImpl calls it
+    private void sagaDebit(String accNo, double amt, String txnId) {
+        ReflectionTestUtils.invokeMethod(service, "applyDebit", accNo, amt, txnId);
+    }
+
+    @Test
+    void testApplyDebit_StripedRecordsBeforeMovingStripes() {
+        stripedAccount("SET1234");
+        when(stripes.freshBalance("SET1234")).thenReturn(100.0);
+        when(stripes.debit("SET1234", 50.0)).thenReturn(true);
+
+        sagaDebit("SET1234", 50.0, "TXN-SAGA-D");
+
+        InOrder order = inOrder(txnRepo, stripes);
+        order.verify(txnRepo).existsByTransactionId("TXN-SAGA-D");
+        order.verify(txnRepo).save(any(Transaction.class));
+        order.verify(stripes).debit("SET1234", 50.0);
+    }
+
+    @Test
+    void testApplyDebit_StripedRetryAfterFailureDoesNotDebitTwice() {
+        // the stripes failed after the record was written: the record stays and marks the step done
+        stripedAccount("SET1234");
+        when(stripes.freshBalance("SET1234")).thenReturn(100.0);
+        when(stripes.debit("SET1234", 50.0)).thenThrow(new IllegalStateException("timeout"));
+
+        assertThrows(IllegalStateException.class, () -> sagaDebit("SET1234", 50.0, "TXN-SAGA-D"));
+        verify(txnRepo, never()).deleteByTransactionIds(anyCollection());
+
+        when(txnRepo.existsByTransactionId("TXN-SAGA-D")).thenReturn(true);
+        sagaDebit("SET1234", 50.0, "TXN-SAGA-D");
+        verify(stripes, times(1)).debit("SET1234", 50.0);
+    }
+
+    @Test
+    void testGetAccount_StripedSumsStripes() {
+        stripedAccount("SET1234");
+        when(stripes.balance("SET1234")).thenReturn(750.0);
+
+        assertEquals(750.0, service.getAccount("SET1234").getBalance());
+    }
+
+    @Test
+    void testTransfer_ToStripedAccount() {
+        Account src = new Account("SRC1234", "John");
+        src.setBalance(1000.0);
+        when(accRepo.findByAccountNumber("SRC1234")).thenReturn(Optional.of(src));
+        applyChangesTo(src);
+        stripedAccount("SET1234");
+        when(stripes.credit("SET1234", 4, 200.0)).thenReturn(true);
+
+        service.transfer("SRC1234", "SET1234", 200.0);
+
+        assertEquals(800.0, src.getBalance());
+        verify(stripes).credit("SET1234", 4, 200.0);
+        // debit and credit legs through TRANSIT, plus the memo without postings
+        ArgumentCaptor<Transaction> txns = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnRepo, times(3)).save(txns.capture());
+        txns.getAllValues().forEach(t -> assertTrue(Posting.balanced(t.getPostings())));
+        assertEquals(List.of(), txns.getAllValues().get(2).getPostings());
+        verify(txnRepo, never()).existsByTransactionId(anyString());
+    }
 }
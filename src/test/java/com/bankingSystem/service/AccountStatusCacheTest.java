@@ -0,0 +1,54 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.AccountStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountStatusCacheTest {
+
+    @Test
+    void testRestrictedStatusesAreCached() {
+        AccountStatusCache cache = new AccountStatusCache(60);
+
+        cache.record("ACC0001", AccountStatus.FROZEN);
+        cache.record("ACC0002", AccountStatus.CLOSED);
+
+        assertEquals(AccountStatus.FROZEN, cache.restrictedStatus("ACC0001"));
+        assertEquals(AccountStatus.CLOSED, cache.restrictedStatus("ACC0002"));
+        assertNull(cache.restrictedStatus("ACC0003"));
+    }
+
+    @Test
+    void testActiveClearsEntry() {
+        AccountStatusCache cache = new AccountStatusCache(60);
+
+        cache.record("ACC0001", AccountStatus.FROZEN);
+        cache.record("ACC0001", AccountStatus.ACTIVE);
+
+        assertNull(cache.restrictedStatus("ACC0001"));
+    }
+
+    @Test
+    void testEntriesExpire() {
+        AccountStatusCache cache = new AccountStatusCache(0);
+
+        cache.record("ACC0001", AccountStatus.FROZEN);
+
+        assertNull(cache.restrictedStatus("ACC0001"));
+    }
+
+    @Test
+    void testExpiredEntriesAreSweptOnceTheCacheGrows() {
+        AccountStatusCache cache = new AccountStatusCache(0);
+
+        // every entry is expired by the time the next one is recorded
+        for (int i = 0; i <= 10_000; i++) cache.record(String.format("ACC%05d", i), AccountStatus.FROZEN);
+
+        Map<?, ?> restricted = (Map<?, ?>) ReflectionTestUtils.getField(cache, "restricted");
+        assertTrue(restricted.size() < 10, "expired entries were kept: " + restricted.size());
+    }
+}
@@ -0,0 +1,157 @@
+package com.bankingSystem.service;
+
+import ch.qos.logback.classic.Level;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.InMemoryAccountRepository;
+import com.bankingSystem.repository.InMemoryTransactionRepository;
+import com.bankingSystem.service.impl.AccountServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Bytes the service itself allocates per deposit, withdrawal and transfer once the JIT has compiled
+// the path, read from the thread's allocation counter. The repositories hand out and keep the same
+// instances (no copies, no I/O, no locking), so what is counted is the service code: validation, the journal
+// entry and its postings, ids, timestamps and log call sites. Logging runs at WARN, as in the load
+// tests: the budgets cover the argument boxing at the call sites, not formatting log output.
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AllocationBudgetTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationBudgetTest.class);
+
+    // Well above what the path measured alone (deposit 560, withdraw 624, transfer 656 bytes). In
+    // the full suite, other tests' mock repositories pollute the call-site profiles and cost some
+    // inlining. The path used to allocate 3.2 KB per deposit, 6.3 KB per transfer.
+    private static final long DEPOSIT_BUDGET = 1_000;
+    private static final long WITHDRAW_BUDGET = 1_000;
+    private static final long TRANSFER_BUDGET = 1_200;
+
+    private static final int WARMUP = 50_000;
+    private static final int MEASURED = 20_000;
+    private static final int ROUNDS = 5;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final ch.qos.logback.classic.Logger appLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.bankingSystem");
+    private final ch.qos.logback.classic.Logger reportLogger = (ch.qos.logback.classic.Logger) log;
+    private Level previousLevel;
+
+    private Account source;
+    private Account destination;
+    private AccountServiceImpl service;
+
+    @BeforeAll
+    void setup() {
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM does not count allocated bytes per thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        previousLevel = appLogger.getLevel();
+        appLogger.setLevel(Level.WARN);
+        // the report itself stays visible
+        reportLogger.setLevel(Level.INFO);
+
+        source = new Account("SRC1234", "John");
+        destination = new Account("DST5678", "Ann");
+        reset();
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+        InMemoryAccountRepository accRepo = new InMemoryAccountRepository(mapper, 0, 0) {
+            @Override
+            public Optional<Account> findByAccountNumber(String accountNumber) {
+                return Optional.of(accountNumber.equals("SRC1234") ? source : destination);
+            }
+
+            @Override
+            public <S extends Account> S save(S entity) {
+                return entity;
+            }
+
+            @Override
+            public Optional<Account> applyChange(String accountNumber, double delta, String txnId,
+                                                 Collection<AccountStatus> statuses) {
+                Account acc = accountNumber.equals("SRC1234") ? source : destination;
+                acc.setBalance(acc.getBalance() + delta);
+                acc.getTransactionIds().add(txnId);
+                return Optional.of(acc);
+            }
+        };
+        InMemoryTransactionRepository txnRepo = new InMemoryTransactionRepository(mapper, 0, 0) {
+            @Override
+            public <S extends Transaction> S save(S entity) {
+                return entity;
+            }
+        };
+
+        service = new AccountServiceImpl(accRepo, txnRepo, new ReadCoalescer(), new TransactionWriter(txnRepo, 0, 1),
+                List.of(), new StripedBalanceStore(null, 200), new BalanceNotifier(10, 16, 1, 30, 0, 0),
+                new AccountStatusCache(5), new FxRateProvider("classpath:fx-rates-test.properties", 0),
+                new ParallelHistoryReader(txnRepo, 1, 1), 5000);
+    }
+
+    @AfterAll
+    void restoreLogging() {
+        appLogger.setLevel(previousLevel);
+        reportLogger.setLevel(null);
+    }
+
+    // the accounts keep every id they are given; clearing them keeps the documents the same size
+    private void reset() {
+        source.setBalance(1_000_000.0);
+        destination.setBalance(1_000_000.0);
+        source.getTransactionIds().clear();
+        destination.getTransactionIds().clear();
+    }
+
+    private long bytesPerCall(Runnable op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.run();
+            reset();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED; i++) {
+                op.run();
+                reset();
+            }
+            best = Math.min(best, (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED);
+        }
+        return best;
+    }
+
+    private void report(String op, long bytes, long budget) {
+        log.info(String.format("allocation: %s %d bytes/call (budget %d)", op, bytes, budget));
+        assertTrue(bytes <= budget, op + " allocates " + bytes + " bytes per call, budget is " + budget);
+    }
+
+    @Test
+    void testDepositStaysWithinBudget() {
+        report("deposit", bytesPerCall(() -> service.deposit("SRC1234", 10.0)), DEPOSIT_BUDGET);
+        assertEquals(1_000_010.0, service.deposit("SRC1234", 10.0).getBalance());
+    }
+
+    @Test
+    void testWithdrawStaysWithinBudget() {
+        report("withdraw", bytesPerCall(() -> service.withdraw("SRC1234", 10.0)), WITHDRAW_BUDGET);
+    }
+
+    @Test
+    void testTransferStaysWithinBudget() {
+        report("transfer", bytesPerCall(() -> service.transfer("SRC1234", "DST5678", 10.0)), TRANSFER_BUDGET);
+    }
+}
@@ -0,0 +1,224 @@
+package com.bankingSystem.service;
+
+import ch.qos.logback.classic.Level;
+import com.bankingSystem.dto.PostingTotal;
+import com.bankingSystem.exception.AccountStatusException;
+import com.bankingSystem.exception.InsufficientBalanceException;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.Hold;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.InMemoryAccountRepository;
+import com.bankingSystem.repository.InMemoryTransactionRepository;
+import com.bankingSystem.service.impl.AccountServiceImpl;
+import com.bankingSystem.service.impl.HoldServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Randomised concurrent deposits, withdrawals, transfers, holds (place, capture, void), freezes
+// and renames over a small pool of accounts, against the in-memory repositories with a simulated
+// round trip (so operations on one account overlap). Amounts are whole numbers, so the sums below
+// are exact in double arithmetic. After each run:
+// - money is conserved: the balances add up to opening + deposited - withdrawn - captured
+// - no balance or available balance is negative, and heldAmount is the sum of the open holds
+// - each balance equals the sum of the account's side of its journal entries, every entry is
+//   referenced once from each account it touches, and all postings sum to zero
+// Tunables (system properties): stress.threads (comma separated), stress.ops, stress.accounts.
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BalanceInvariantStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceInvariantStressTest.class);
+
+    private static final int[] THREADS = Arrays.stream(System.getProperty("stress.threads", "1,4,16").split(","))
+            .mapToInt(t -> Integer.parseInt(t.trim())).toArray();
+    private static final int OPS = Integer.getInteger("stress.ops", 2_000);
+    private static final int ACCOUNTS = Integer.getInteger("stress.accounts", 6);
+    private static final double OPENING = 500;
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final ch.qos.logback.classic.Logger appLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.bankingSystem");
+    private final ch.qos.logback.classic.Logger reportLogger = (ch.qos.logback.classic.Logger) log;
+    private Level previousLevel;
+
+    @BeforeAll
+    void quietLogs() {
+        previousLevel = appLogger.getLevel();
+        appLogger.setLevel(Level.OFF);
+        // the report itself stays visible
+        reportLogger.setLevel(Level.INFO);
+    }
+
+    @AfterAll
+    void restoreLogs() {
+        appLogger.setLevel(previousLevel);
+        reportLogger.setLevel(null);
+    }
+
+    private record Run(InMemoryAccountRepository accRepo, InMemoryTransactionRepository txnRepo,
+                       TransactionWriter writer, AccountServiceImpl service, HoldServiceImpl holds,
+                       List<String> accounts) {}
+
+    private Run newRun() {
+        InMemoryAccountRepository accRepo = new InMemoryAccountRepository(mapper, 50, 50);
+        InMemoryTransactionRepository txnRepo = new InMemoryTransactionRepository(mapper, 50, 50);
+        // group commit on, as in production
+        TransactionWriter writer = new TransactionWriter(txnRepo, 1, 64);
+        BalanceNotifier notifier = new BalanceNotifier(10, 16, 1, 30, 0, 0);
+        AccountServiceImpl service = new AccountServiceImpl(accRepo, txnRepo, new ReadCoalescer(), writer,
+                List.of(), new StripedBalanceStore(null, 200), notifier,
+                new AccountStatusCache(5), new FxRateProvider("classpath:fx-rates-test.properties", 0),
+                new ParallelHistoryReader(txnRepo, 1, 1), 5000);
+        HoldServiceImpl holds = new HoldServiceImpl(accRepo, service, writer, notifier, 3600, 86400, 3600, 100);
+
+        List<String> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String accNo = String.format("STR%04d", i);
+            accRepo.save(new Account(accNo, "Stress " + i));
+            service.deposit(accNo, OPENING);
+            accounts.add(accNo);
+        }
+        return new Run(accRepo, txnRepo, writer, service, holds, accounts);
+    }
+
+    @Test
+    void testBalancesStayConsistentUnderConcurrentMoneyMovement() throws Exception {
+        for (int threads : THREADS) {
+            Run run = newRun();
+            try {
+                stress(run, threads);
+            } finally {
+                run.holds().shutdown();
+                run.writer().shutdown();
+            }
+        }
+    }
+
+    private void stress(Run run, int threads) throws Exception {
+        AtomicLong deposited = new AtomicLong();
+        AtomicLong withdrawn = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        int perThread = OPS / threads;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = 31L * threads + t;
+            workers.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                // holds this worker placed and has not captured or voided yet: {accNo, holdId, amount}
+                List<String[]> open = new ArrayList<>();
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    String a = run.accounts().get(random.nextInt(ACCOUNTS));
+                    long amount = 1 + random.nextInt(100);
+                    try {
+                        switch (random.nextInt(10)) {
+                            case 0, 1 -> {
+                                run.service().deposit(a, (double) amount);
+                                deposited.addAndGet(amount);
+                            }
+                            case 2, 3 -> {
+                                run.service().withdraw(a, (double) amount);
+                                withdrawn.addAndGet(amount);
+                            }
+                            case 4, 5 -> {
+                                String b = run.accounts().get(random.nextInt(ACCOUNTS));
+                                if (b.equals(a)) b = run.accounts().get((run.accounts().indexOf(a) + 1) % ACCOUNTS);
+                                run.service().transfer(a, b, (double) amount);
+                            }
+                            case 6 -> {
+                                Hold hold = run.holds().placeHold(a, (double) amount, null);
+                                open.add(new String[]{a, hold.getHoldId(), String.valueOf(amount)});
+                            }
+                            case 7 -> {
+                                if (open.isEmpty()) break;
+                                String[] hold = open.remove(random.nextInt(open.size()));
+                                if (random.nextBoolean()) {
+                                    long held = Long.parseLong(hold[2]);
+                                    long captured = 1 + random.nextInt((int) held);
+                                    run.holds().capture(hold[0], hold[1], (double) captured);
+                                    withdrawn.addAndGet(captured);
+                                } else {
+                                    run.holds().voidHold(hold[0], hold[1]);
+                                }
+                            }
+                            case 8 -> {
+                                // frozen accounts still take credits, so money keeps arriving meanwhile
+                                run.service().changeStatus(a, AccountStatus.FROZEN);
+                                run.service().changeStatus(a, AccountStatus.ACTIVE);
+                            }
+                            default -> run.service().updateHolderName(a, "Stress " + a + " " + i);
+                        }
+                    } catch (InsufficientBalanceException | AccountStatusException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> w : workers) w.get();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        pool.shutdown();
+
+        int ops = perThread * threads;
+        log.info(String.format("stress: %2d threads, %d ops in %.2f s, %.0f ops/s, %d rejected for balance or status",
+                threads, ops, seconds, ops / seconds, rejected.get()));
+
+        assertInvariants(run, threads, OPENING * ACCOUNTS + deposited.get() - withdrawn.get());
+    }
+
+    private void assertInvariants(Run run, int threads, double expectedTotal) {
+        double total = 0;
+        for (String accNo : run.accounts()) {
+            Account acc = run.accRepo().findByAccountNumber(accNo).orElseThrow();
+            total += acc.getBalance();
+            assertTrue(acc.getBalance() >= 0, threads + " threads: " + accNo + " went negative: " + acc.getBalance());
+            assertTrue(acc.getAvailableBalance() >= 0, threads + " threads: " + accNo + " holds exceed the balance");
+            assertEquals(acc.getHolds().stream().mapToDouble(Hold::getAmount).sum(), acc.getHeldAmount(),
+                    threads + " threads: " + accNo + " heldAmount differs from its holds");
+            assertTrue(acc.getHolderName().startsWith("Stress "), threads + " threads: " + accNo + " lost its holder name");
+
+            List<Transaction> entries = run.txnRepo().findBySourceAccountOrDestinationAccount(accNo, accNo);
+            double fromLedger = 0;
+            Set<String> entryIds = new HashSet<>();
+            for (Transaction t : entries) {
+                Double change = t.amountFor(accNo);
+                if (change != null) fromLedger += change;
+                entryIds.add(t.getTransactionId());
+            }
+            assertEquals(fromLedger, acc.getBalance(), threads + " threads: " + accNo + " balance differs from its entries");
+            assertEquals(entryIds.size(), acc.getTransactionIds().size(), threads + " threads: " + accNo + " has duplicate ids");
+            assertEquals(entryIds, new HashSet<>(acc.getTransactionIds()), threads + " threads: " + accNo + " ids differ from its entries");
+        }
+        assertEquals(expectedTotal, total, threads + " threads: money was created or lost");
+
+        for (PostingTotal sum : run.txnRepo().postingTotals()) {
+            assertEquals(0, sum.getSum().signum(), threads + " threads: " + sum.getCurrency() + " postings do not balance");
+        }
+        assertEquals(0, run.txnRepo().countUnposted());
+    }
+}
@@ -0,0 +1,213 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.dto.BalanceEvent;
+import com.bankingSystem.exception.TooManyRequestsException;
+import com.bankingSystem.model.Posting;
+import com.bankingSystem.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceNotifierTest {
+
+    // records what would have gone over the wire
+    static class RecordingEmitter extends SseEmitter {
+        final List<SseEventBuilder> sent = new ArrayList<>();
+        volatile boolean completed;
+        boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) throw new IOException("Broken pipe");
+            sent.add(builder);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    // runs tasks only when told to, so tests decide when subscribers drain
+    static class ManualExecutor extends AbstractExecutorService {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        void runAll() {
+            while (!tasks.isEmpty()) tasks.remove(0).run();
+        }
+
+        @Override public void execute(Runnable command) { tasks.add(command); }
+        @Override public void shutdown() {}
+        @Override public List<Runnable> shutdownNow() { return List.of(); }
+        @Override public boolean isShutdown() { return false; }
+        @Override public boolean isTerminated() { return false; }
+        @Override public boolean awaitTermination(long timeout, TimeUnit unit) { return true; }
+    }
+
+    private final ManualExecutor executor = new ManualExecutor();
+
+    private BalanceEvent snapshot(String accNo) {
+        return BalanceEvent.of(accNo, 100.0, null);
+    }
+
+    private Transaction deposit(String accNo) {
+        return new Transaction("TXN-1", "DEPOSIT", 10.0, "SUCCESS", null, accNo);
+    }
+
+    @Test
+    void testEventShowsEachAccountItsOwnSide() {
+        Transaction transfer = new Transaction("TXN-T", "TRANSFER", 100.0, "SUCCESS", "ACC0001", "ACC0002");
+        transfer.setPostings(Posting.convert("ACC0001", 100.0, "USD", "ACC0002", 90.0, "EUR"));
+
+        BalanceEvent debited = BalanceEvent.of("ACC0001", 400.0, transfer);
+        BalanceEvent credited = BalanceEvent.of("ACC0002", 90.0, transfer);
+
+        assertEquals("ACC0001", debited.getAccountNumber());
+        assertEquals("TXN-T", debited.getTransactionId());
+        assertEquals("TRANSFER", debited.getType());
+        assertEquals(100.0, debited.getAmount());
+        assertEquals(90.0, credited.getAmount());
+        assertEquals(transfer.getTimestamp(), credited.getTimestamp());
+
+        // a pre-ledger memo has no side per account: the entry amount is shown
+        Transaction memo = new Transaction("TXN-M", "TRANSFER", 25.0, "SUCCESS", "ACC0001", "ACC0002");
+        assertEquals(25.0, BalanceEvent.of("ACC0002", 0.0, memo).getAmount());
+
+        BalanceEvent initial = snapshot("ACC0001");
+        assertNull(initial.getTransactionId());
+        assertNull(initial.getAmount());
+        assertNotNull(initial.getTimestamp());
+    }
+
+    @Test
+    void testSnapshotThenUpdates() {
+        BalanceNotifier notifier = new BalanceNotifier(10, 4, 1, executor);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        notifier.subscribe("ACC0001", snapshot("ACC0001"), emitter);
+        notifier.publish("ACC0001", 110.0, deposit("ACC0001"));
+        notifier.publish("ACC0002", 50.0, deposit("ACC0002"));
+        executor.runAll();
+
+        assertEquals(2, emitter.sent.size());
+        assertEquals(1, notifier.subscriberCount());
+    }
+
+    @Test
+    void testSlowConsumerIsEvicted() {
+        BalanceNotifier notifier = new BalanceNotifier(10, 2, 1, executor);
+        RecordingEmitter slow = new RecordingEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        notifier.subscribe("ACC0001", snapshot("ACC0001"), slow);
+
+        // snapshot + 1 fills the buffer of 2, the next event overflows it
+        notifier.publish("ACC0001", 110.0, deposit("ACC0001"));
+        notifier.publish("ACC0001", 120.0, deposit("ACC0001"));
+
+        // the publisher does not touch the stream, a send in progress would hold it up
+        assertFalse(slow.completed);
+        assertEquals(1, notifier.evictionCount());
+        assertEquals(0, notifier.subscriberCount());
+
+        notifier.subscribe("ACC0001", snapshot("ACC0001"), fast);
+        executor.runAll();
+        assertTrue(slow.completed);
+        assertEquals(1, fast.sent.size());
+        assertTrue(slow.sent.isEmpty());
+    }
+
+    @Test
+    void testBrokenConnectionIsRemoved() {
+        BalanceNotifier notifier = new BalanceNotifier(10, 4, 1, executor);
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.broken = true;
+
+        notifier.subscribe("ACC0001", snapshot("ACC0001"), emitter);
+        executor.runAll();
+
+        assertEquals(0, notifier.subscriberCount());
+    }
+
+    @Test
+    void testSubscriberLimit() {
+        BalanceNotifier notifier = new BalanceNotifier(1, 4, 1, executor);
+        notifier.subscribe("ACC0001", snapshot("ACC0001"), new RecordingEmitter());
+
+        assertThrows(TooManyRequestsException.class,
+                () -> notifier.subscribe("ACC0002", snapshot("ACC0002"), new RecordingEmitter()));
+        assertEquals(1, notifier.subscriberCount());
+    }
+
+    @Test
+    void testStalledSendIsEvictedAndDoesNotPinTheDispatchers() throws Exception {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+        BalanceNotifier notifier = new BalanceNotifier(10, 4, 1, 50, pool);
+        CountDownLatch unblock = new CountDownLatch(1);
+        CountDownLatch sending = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(builder);
+            }
+        };
+        try {
+            notifier.subscribe("ACC0001", snapshot("ACC0001"), stuck);
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+
+            notifier.sweepStalled();
+            assertEquals(1, notifier.evictionCount());
+            assertEquals(1, notifier.stalledSendCount());
+            assertEquals(0, notifier.subscriberCount());
+            assertEquals(2, pool.getCorePoolSize());
+
+            // the only configured dispatcher is stuck, the stand-in delivers
+            CountDownLatch delivered = new CountDownLatch(1);
+            notifier.subscribe("ACC0002", snapshot("ACC0002"), new RecordingEmitter() {
+                @Override
+                public void send(SseEventBuilder builder) {
+                    delivered.countDown();
+                }
+            });
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+
+            unblock.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((notifier.stalledSendCount() > 0 || !stuck.completed) && System.nanoTime() < deadline) Thread.sleep(10);
+            assertEquals(0, notifier.stalledSendCount());
+            assertTrue(stuck.completed);
+            assertEquals(1, pool.getCorePoolSize());
+        } finally {
+            unblock.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHeartbeatGoesThroughTheBuffer() {
+        BalanceNotifier notifier = new BalanceNotifier(10, 4, 1, executor);
+        RecordingEmitter emitter = new RecordingEmitter();
+        notifier.subscribe("ACC0001", snapshot("ACC0001"), emitter);
+
+        notifier.heartbeat();
+        executor.runAll();
+
+        assertEquals(2, emitter.sent.size());
+    }
+}
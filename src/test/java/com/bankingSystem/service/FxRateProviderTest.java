@@ -0,0 +1,92 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateProviderTest {
+
+    @TempDir
+    Path dir;
+
+    private FxRateProvider provider(String rates) throws Exception {
+        Path file = dir.resolve("rates.properties");
+        Files.writeString(file, rates);
+        return new FxRateProvider(file.toUri().toString(), 0);
+    }
+
+    @Test
+    void testSameCurrencyIsNotConverted() {
+        FxRateProvider fx = new FxRateProvider("classpath:fx-rates-test.properties", 0);
+
+        FxRateProvider.Conversion c = fx.convert(12.345, "EUR", "EUR");
+
+        assertEquals(12.345, c.amount());
+        assertFalse(c.converted());
+    }
+
+    @Test
+    void testCrossRateAndHalfEvenRounding() {
+        FxRateProvider fx = new FxRateProvider("classpath:fx-rates-test.properties", 0);
+
+        // EUR -> GBP = 0.75 / 0.8 = 0.9375; 10.02 * 0.9375 = 9.39375 -> 9.39
+        FxRateProvider.Conversion c = fx.convert(10.02, "EUR", "GBP");
+        assertEquals(0, new BigDecimal("0.9375").compareTo(c.rate()));
+        assertEquals(9.39, c.amount());
+
+        // exact halves go to the even neighbour: 0.045 -> 0.04, 0.055 -> 0.06
+        assertEquals(0.04, fx.convert(0.05625, "USD", "EUR").amount());
+        assertEquals(0.06, fx.convert(0.06875, "USD", "EUR").amount());
+        // JPY has no minor unit: 1.5 -> 2, 4.5 -> 4
+        assertEquals(2.0, fx.convert(0.01, "USD", "JPY").amount());
+        assertEquals(4.0, fx.convert(0.03, "USD", "JPY").amount());
+    }
+
+    @Test
+    void testConversionIsDeterministic() {
+        FxRateProvider fx = new FxRateProvider("classpath:fx-rates-test.properties", 0);
+
+        double first = fx.convert(1234.56, "JPY", "EUR").amount();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first, fx.convert(1234.56, "JPY", "EUR").amount());
+        }
+    }
+
+    @Test
+    void testUnknownCurrencyRejected() {
+        FxRateProvider fx = new FxRateProvider("classpath:fx-rates-test.properties", 0);
+
+        assertFalse(fx.supports("CHF"));
+        assertThrows(InvalidRequestException.class, () -> fx.convert(1.0, "USD", "CHF"));
+    }
+
+    @Test
+    void testRefreshSwapsTableAndKeepsOldOneOnBadInput() throws Exception {
+        FxRateProvider fx = provider("base=USD\nas-of=2024-01-01T00:00:00Z\nEUR=0.5\n");
+        assertEquals(5.0, fx.convert(10.0, "USD", "EUR").amount());
+
+        Files.writeString(dir.resolve("rates.properties"), "base=USD\nas-of=2024-01-02T00:00:00Z\nEUR=0.25\n");
+        assertTrue(fx.refresh());
+        assertEquals(2.5, fx.convert(10.0, "USD", "EUR").amount());
+        assertEquals(Instant.parse("2024-01-02T00:00:00Z"), fx.asOf());
+
+        Files.writeString(dir.resolve("rates.properties"), "base=USD\nEUR=-1\n");
+        assertFalse(fx.refresh());
+        assertEquals(2.5, fx.convert(10.0, "USD", "EUR").amount());
+    }
+
+    @Test
+    void testMissingSourceFallsBackToBaseCurrency() {
+        FxRateProvider fx = new FxRateProvider("file:" + dir.resolve("missing.properties"), 0);
+
+        assertTrue(fx.supports("USD"));
+        assertFalse(fx.supports("EUR"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.Posting;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.InMemoryAccountRepository;
+import com.bankingSystem.repository.InMemoryTransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerMigrationTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final InMemoryTransactionRepository txnRepo = new InMemoryTransactionRepository(mapper, 0, 0);
+    private final InMemoryAccountRepository accRepo = new InMemoryAccountRepository(mapper, 0, 0);
+    private final LedgerMigration migration = new LedgerMigration(txnRepo, accRepo, 2);
+
+    private Account account(String accNo, String currency, String... txnIds) {
+        Account acc = new Account(accNo, "Holder");
+        acc.setCurrency(currency);
+        acc.getTransactionIds().addAll(List.of(txnIds));
+        return accRepo.save(acc);
+    }
+
+    private Transaction legacy(String txnId, String type, double amount, String src, String dest, String currency) {
+        Transaction t = new Transaction(txnId, type, amount, "SUCCESS", src, dest);
+        t.setCurrency(currency);
+        return txnRepo.save(t);
+    }
+
+    private List<String> idsOf(String accNo) {
+        return accRepo.findByAccountNumber(accNo).orElseThrow().getTransactionIds();
+    }
+
+    private Transaction stored(String txnId) {
+        return txnRepo.findByTransactionIds(List.of(txnId)).stream().findFirst().orElse(null);
+    }
+
+    @Test
+    void testLegacyTransferTripleBecomesOneEntry() {
+        legacy("D0", "DEPOSIT", 500.0, "SRC1234", null, "USD");
+        legacy("W1", "WITHDRAW", 100.0, "SRC1234", null, "USD");
+        legacy("C1", "DEPOSIT", 100.0, "DST5678", null, "USD");
+        legacy("T1", "TRANSFER", 100.0, "SRC1234", "DST5678", "USD");
+        account("SRC1234", "USD", "D0", "W1", "T1");
+        account("DST5678", "USD", "C1", "T1");
+
+        LedgerMigration.Report report = migration.migrate();
+
+        assertEquals(new LedgerMigration.Report(1, 0, 1), report);
+        assertNull(stored("W1"));
+        assertNull(stored("C1"));
+        assertEquals(List.of("D0", "T1"), idsOf("SRC1234"));
+        assertEquals(List.of("T1"), idsOf("DST5678"));
+        Transaction entry = stored("T1");
+        assertEquals(-100.0, entry.amountFor("SRC1234"));
+        assertEquals(100.0, entry.amountFor("DST5678"));
+        assertNull(entry.getMigratedFrom());
+        assertEquals(500.0, stored("D0").amountFor("SRC1234"));
+        assertTrue(txnRepo.postingTotals().stream().allMatch(t -> t.getSum().signum() == 0));
+        assertEquals(0, txnRepo.countUnposted());
+    }
+
+    @Test
+    void testConvertedTransferKeepsCreditAmountAndRate() {
+        legacy("W1", "WITHDRAW", 100.0, "SRC1234", null, "USD");
+        Transaction credit = legacy("C1", "DEPOSIT", 80.0, "DST5678", null, "EUR");
+        credit.setFxRate(new BigDecimal("0.8"));
+        txnRepo.save(credit);
+        legacy("T1", "TRANSFER", 100.0, "SRC1234", "DST5678", "USD");
+        account("SRC1234", "USD", "W1", "T1");
+        account("DST5678", "EUR", "C1", "T1");
+
+        migration.migrate();
+
+        Transaction entry = stored("T1");
+        assertEquals(80.0, entry.amountFor("DST5678"));
+        assertEquals(0, new BigDecimal("0.8").compareTo(entry.getFxRate()));
+        assertTrue(Posting.balanced(entry.getPostings()));
+    }
+
+    @Test
+    void testUnmatchedTransferStaysMemoAndLegsArePostedAlone() {
+        // striped accounts kept no ids, so the legs cannot be paired with the memo
+        legacy("W1", "WITHDRAW", 100.0, "SRC1234", null, "USD");
+        legacy("C1", "DEPOSIT", 100.0, "SET1234", null, "USD");
+        legacy("T1", "TRANSFER", 100.0, "SRC1234", "SET1234", "USD");
+        account("SRC1234", "USD", "W1", "T1");
+        account("SET1234", "USD");
+
+        assertEquals(new LedgerMigration.Report(0, 1, 2), migration.migrate());
+
+        assertEquals(List.of(), stored("T1").getPostings());
+        assertEquals(-100.0, stored("W1").amountFor("SRC1234"));
+        assertEquals(100.0, stored("C1").amountFor("SET1234"));
+        assertEquals(List.of("W1", "T1"), idsOf("SRC1234"));
+    }
+
+    @Test
+    void testRerunFinishesInterruptedMergeAndChangesNothingElse() {
+        legacy("W1", "WITHDRAW", 100.0, "SRC1234", null, "USD");
+        legacy("C1", "DEPOSIT", 100.0, "DST5678", null, "USD");
+        account("SRC1234", "USD", "W1", "T1");
+        account("DST5678", "USD", "C1", "T1");
+        // stopped after the entry was written, before its legs were removed
+        Transaction entry = new Transaction("T1", "TRANSFER", 100.0, "SUCCESS", "SRC1234", "DST5678");
+        entry.setPostings(Posting.move("SRC1234", "DST5678", 100.0, "USD"));
+        entry.setMigratedFrom(List.of("W1", "C1"));
+        txnRepo.save(entry);
+
+        assertEquals(new LedgerMigration.Report(0, 0, 0), migration.migrate());
+        assertNull(stored("W1"));
+        assertEquals(List.of("T1"), idsOf("DST5678"));
+
+        List<Transaction> before = new ArrayList<>(txnRepo.findAll());
+        assertEquals(new LedgerMigration.Report(0, 0, 0), migration.migrate());
+        assertEquals(before.size(), txnRepo.count());
+    }
+}
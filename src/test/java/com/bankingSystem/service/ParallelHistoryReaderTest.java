@@ -0,0 +1,72 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.dto.HistoryPage;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ParallelHistoryReaderTest {
+
+    private final TransactionRepository txnRepo = mock(TransactionRepository.class);
+    private final ParallelHistoryReader reader = new ParallelHistoryReader(txnRepo, 8, 3);
+
+    @AfterEach
+    void tearDown() {
+        reader.shutdown();
+    }
+
+    private static List<String> accounts(int n) {
+        return IntStream.range(0, n).mapToObj(i -> String.format("ACC%04d", i)).toList();
+    }
+
+    @Test
+    void testResultsKeepRequestOrder() {
+        when(txnRepo.findHistoryPage(anyString(), isNull(), eq(2))).thenAnswer(inv -> {
+            String accNo = inv.getArgument(0);
+            return new HistoryPage(List.of(new Transaction("T-" + accNo, "DEPOSIT", 1.0, "SUCCESS", null, accNo)), null);
+        });
+
+        Map<String, List<Transaction>> latest = reader.latest(accounts(20), 2);
+
+        assertEquals(accounts(20), new ArrayList<>(latest.keySet()));
+        latest.forEach((accNo, txns) -> assertEquals("T-" + accNo, txns.get(0).getTransactionId()));
+    }
+
+    @Test
+    void testConcurrencyIsBoundedPerRequest() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(txnRepo.findHistoryPage(anyString(), isNull(), anyInt())).thenAnswer(inv -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return new HistoryPage(List.of(), null);
+        });
+
+        reader.latest(accounts(30), 10);
+
+        verify(txnRepo, times(30)).findHistoryPage(anyString(), isNull(), eq(10));
+        assertTrue(peak.get() <= 3, "peak " + peak.get());
+        assertTrue(peak.get() > 1, "queries did not overlap");
+    }
+
+    @Test
+    void testFailureReachesCaller() {
+        when(txnRepo.findHistoryPage(anyString(), isNull(), anyInt())).thenReturn(new HistoryPage(List.of(), null));
+        when(txnRepo.findHistoryPage(eq("ACC0007"), isNull(), anyInt())).thenThrow(new IllegalStateException("down"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> reader.latest(accounts(10), 1));
+        assertEquals("down", e.getMessage());
+    }
+}
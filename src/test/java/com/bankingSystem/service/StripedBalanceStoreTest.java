@@ -0,0 +1,164 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.BalanceStripe;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StripedBalanceStoreTest {
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private final IndexOperations indexOps = mock(IndexOperations.class);
+    private final StripedBalanceStore store = new StripedBalanceStore(mongo, 60_000);
+
+    @BeforeEach
+    void setUp() {
+        when(mongo.indexOps(BalanceStripe.class)).thenReturn(indexOps);
+    }
+
+    private BalanceStripe stripe(int slot, double balance) {
+        BalanceStripe s = new BalanceStripe();
+        ReflectionTestUtils.setField(s, "id", BalanceStripe.idOf("SET1234", slot));
+        ReflectionTestUtils.setField(s, "accountNumber", "SET1234");
+        ReflectionTestUtils.setField(s, "slot", slot);
+        ReflectionTestUtils.setField(s, "balance", balance);
+        return s;
+    }
+
+    @Test
+    void testCreateUpsertsEveryStripeEmpty() {
+        store.create("SET1234", 4);
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongo, times(4)).upsert(any(Query.class), updates.capture(), eq(BalanceStripe.class));
+        // only inserted values: a repeat leaves balances that already moved alone
+        updates.getAllValues().forEach(u -> assertEquals(Set.of("$setOnInsert"), u.getUpdateObject().keySet()));
+        assertEquals(false, ((Document) updates.getAllValues().get(0).getUpdateObject().get("$setOnInsert")).get("opened"));
+    }
+
+    @Test
+    void testOpenMovesBalanceIntoSlotZeroOnce() {
+        when(mongo.updateFirst(any(Query.class), any(Update.class), eq(BalanceStripe.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertTrue(store.open("SET1234", 300.0));
+        assertFalse(store.open("SET1234", 300.0));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongo, times(2)).updateFirst(query.capture(), update.capture(), eq(BalanceStripe.class));
+        assertEquals(false, query.getValue().getQueryObject().get("opened"));
+        assertEquals(300.0, ((Document) update.getValue().getUpdateObject().get("$inc")).get("balance"));
+    }
+
+    @Test
+    void testCreditIntoMissingStripeIsReported() {
+        when(mongo.updateFirst(any(Query.class), any(Update.class), eq(BalanceStripe.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertTrue(store.credit("SET1234", 4, 50.0));
+        assertFalse(store.credit("SET1234", 4, 50.0));
+    }
+
+    @Test
+    void testBalanceIsCachedSum() {
+        when(mongo.find(any(Query.class), eq(BalanceStripe.class)))
+                .thenReturn(List.of(stripe(0, 70.0), stripe(1, 30.0)));
+
+        assertEquals(100.0, store.balance("SET1234"));
+        assertEquals(100.0, store.balance("SET1234"));
+        verify(mongo, times(1)).find(any(Query.class), eq(BalanceStripe.class));
+    }
+
+    @Test
+    void testCreditAddsToCachedTotal() {
+        when(mongo.find(any(Query.class), eq(BalanceStripe.class)))
+                .thenReturn(List.of(stripe(0, 70.0), stripe(1, 30.0)));
+        when(mongo.updateFirst(any(Query.class), any(Update.class), eq(BalanceStripe.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertEquals(100.0, store.balance("SET1234"));
+        assertTrue(store.credit("SET1234", 2, 25.0));
+        assertFalse(store.credit("SET1234", 2, 40.0));
+        assertEquals(125.0, store.balance("SET1234"));
+        verify(mongo, times(1)).find(any(Query.class), eq(BalanceStripe.class));
+    }
+
+    @Test
+    void testStripesIndexedByAccountOnce() {
+        when(mongo.find(any(Query.class), eq(BalanceStripe.class))).thenReturn(List.of(stripe(0, 70.0)));
+
+        store.create("SET1234", 2);
+        store.freshBalance("SET1234");
+
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, times(1)).ensureIndex(index.capture());
+        assertEquals(new Document("accountNumber", 1).append("balance", -1), index.getValue().getIndexKeys());
+    }
+
+    @Test
+    void testDebitSpansStripes() {
+        when(mongo.find(any(Query.class), eq(BalanceStripe.class)))
+                .thenReturn(List.of(stripe(0, 70.0), stripe(1, 30.0)));
+        when(mongo.updateFirst(any(Query.class), any(Update.class), eq(BalanceStripe.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertTrue(store.debit("SET1234", 90.0));
+        verify(mongo, times(2)).updateFirst(any(Query.class), any(Update.class), eq(BalanceStripe.class));
+    }
+
+    @Test
+    void testUncoveredDebitIsPutBack() {
+        when(mongo.find(any(Query.class), eq(BalanceStripe.class)))
+                .thenReturn(List.of(stripe(0, 70.0), stripe(1, 30.0)))
+                .thenReturn(List.of(stripe(0, 0.0), stripe(1, 0.0)));
+        when(mongo.updateFirst(any(Query.class), any(Update.class), eq(BalanceStripe.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertFalse(store.debit("SET1234", 150.0));
+        // two takes and two refunds
+        verify(mongo, times(4)).updateFirst(any(Query.class), any(Update.class), eq(BalanceStripe.class));
+    }
+
+    @Test
+    void testStripeDocumentsMapBack() {
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+
+        BalanceStripe opened = converter.read(BalanceStripe.class, new Document("_id", "SET1234#0")
+                .append("accountNumber", "SET1234").append("slot", 0).append("balance", 25.0).append("opened", true));
+        // created before the hand-off was split: no opened field
+        BalanceStripe legacy = converter.read(BalanceStripe.class, new Document("_id", "SET1234#1")
+                .append("accountNumber", "SET1234").append("slot", 1).append("balance", 5.0));
+
+        assertEquals(BalanceStripe.idOf("SET1234", 0), opened.getId());
+        assertEquals("SET1234", opened.getAccountNumber());
+        assertEquals(0, opened.getSlot());
+        assertEquals(25.0, opened.getBalance());
+        assertTrue(opened.getOpened());
+        assertEquals(1, legacy.getSlot());
+        assertNull(legacy.getOpened());
+    }
+}
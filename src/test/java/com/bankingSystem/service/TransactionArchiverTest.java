@@ -0,0 +1,64 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransactionArchiverTest {
+
+    private final TransactionRepository txnRepo = mock(TransactionRepository.class);
+
+    @Test
+    void testArchivesMonthsBeforeTheHotWindow() {
+        when(txnRepo.archivePartitionsBefore(any())).thenReturn(2);
+        TransactionArchiver archiver = new TransactionArchiver(txnRepo, 3, 24);
+
+        assertEquals(2, archiver.archiveColdPartitions());
+        // the current month and the two before it stay in MongoDB
+        verify(txnRepo).archivePartitionsBefore(YearMonth.now(ZoneOffset.UTC).minusMonths(2));
+    }
+
+    @Test
+    void testKeepsAtLeastTheCurrentMonth() {
+        TransactionArchiver archiver = new TransactionArchiver(txnRepo, 0, 24);
+
+        archiver.archiveColdPartitions();
+
+        verify(txnRepo).archivePartitionsBefore(YearMonth.now(ZoneOffset.UTC));
+    }
+
+    @Test
+    void testSchedulesOnlyWhenPartitioned() {
+        TransactionArchiver plain = new TransactionArchiver(txnRepo, 3, 24);
+        assertNull(ReflectionTestUtils.getField(plain, "scheduler"));
+        plain.shutdown();
+
+        when(txnRepo.isPartitioned()).thenReturn(true);
+        TransactionArchiver partitioned = new TransactionArchiver(txnRepo, 3, 24);
+        ScheduledExecutorService scheduler = (ScheduledExecutorService) ReflectionTestUtils.getField(partitioned, "scheduler");
+        assertNotNull(scheduler);
+
+        partitioned.shutdown();
+        assertTrue(scheduler.isShutdown());
+    }
+
+    @Test
+    void testFailedRunIsRetriedNextTime() {
+        when(txnRepo.archivePartitionsBefore(any())).thenThrow(new IllegalStateException("timeout")).thenReturn(1);
+        TransactionArchiver archiver = new TransactionArchiver(txnRepo, 3, 24);
+
+        // the scheduled run logs the failure instead of cancelling the schedule
+        ReflectionTestUtils.invokeMethod(archiver, "runSafely");
+        ReflectionTestUtils.invokeMethod(archiver, "runSafely");
+
+        verify(txnRepo, times(2)).archivePartitionsBefore(any());
+    }
+}
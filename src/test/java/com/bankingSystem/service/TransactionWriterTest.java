@@ -0,0 +1,114 @@
+package com.bankingSystem.service;
+
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TransactionWriterTest {
+
+    private final TransactionRepository txnRepo = mock(TransactionRepository.class);
+
+    @Test
+    void testDirectSaveWhenWindowIsZero() {
+        TransactionWriter writer = new TransactionWriter(txnRepo, 0, 10);
+        Transaction t = new Transaction("T1", "DEPOSIT", 10.0, "SUCCESS", "ACC0001", null);
+        when(txnRepo.save(t)).thenReturn(t);
+
+        assertSame(t, writer.write(t));
+        verify(txnRepo).save(t);
+        verify(txnRepo, never()).saveAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConcurrentWritesAreGrouped() throws Exception {
+        TransactionWriter writer = new TransactionWriter(txnRepo, 50, 100);
+        int writers = 20;
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        List<Future<Transaction>> acks = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            Transaction t = new Transaction("T" + i, "DEPOSIT", 1.0, "SUCCESS", "ACC0001", null);
+            acks.add(pool.submit(() -> writer.write(t)));
+        }
+        for (Future<Transaction> ack : acks) {
+            assertNotNull(ack.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        writer.shutdown();
+
+        ArgumentCaptor<List<Transaction>> batches = ArgumentCaptor.forClass(List.class);
+        verify(txnRepo, atLeastOnce()).saveAll(batches.capture());
+        int written = batches.getAllValues().stream().mapToInt(List::size).sum();
+        assertEquals(writers, written);
+        assertTrue(batches.getAllValues().size() < writers);
+        verify(txnRepo, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void testBatchFailureIsReportedToCaller() {
+        TransactionWriter writer = new TransactionWriter(txnRepo, 1, 10);
+        when(txnRepo.saveAll(anyList())).thenThrow(new IllegalStateException("mongo down"));
+        when(txnRepo.save(any(Transaction.class))).thenThrow(new IllegalStateException("mongo down"));
+
+        Transaction t = new Transaction("T1", "DEPOSIT", 10.0, "SUCCESS", "ACC0001", null);
+        assertThrows(IllegalStateException.class, () -> writer.write(t));
+        writer.shutdown();
+    }
+
+    @Test
+    void testPartialBatchFailureFailsOnlyTheBadRecord() throws Exception {
+        TransactionWriter writer = new TransactionWriter(txnRepo, 50, 10);
+        Transaction stored = new Transaction("T1", "DEPOSIT", 10.0, "SUCCESS", "ACC0001", null);
+        Transaction bad = new Transaction("T2", "DEPOSIT", 10.0, "SUCCESS", "ACC0001", null);
+        Transaction after = new Transaction("T3", "DEPOSIT", 10.0, "SUCCESS", "ACC0001", null);
+        // the ordered insert stored T1, then stopped at T2
+        when(txnRepo.saveAll(anyList())).thenThrow(new IllegalStateException("duplicate key"));
+        when(txnRepo.existsByTransactionId("T1")).thenReturn(true);
+        when(txnRepo.save(bad)).thenThrow(new IllegalStateException("duplicate key"));
+        when(txnRepo.save(after)).thenReturn(after);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        Future<Transaction> first = pool.submit(() -> writer.write(stored));
+        Future<Transaction> second = pool.submit(() -> writer.write(bad));
+        Future<Transaction> third = pool.submit(() -> writer.write(after));
+
+        assertSame(stored, first.get(5, TimeUnit.SECONDS));
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertEquals("duplicate key", failed.getCause().getMessage());
+        assertSame(after, third.get(5, TimeUnit.SECONDS));
+        // T1 is not written twice
+        verify(txnRepo, never()).save(stored);
+        pool.shutdown();
+        writer.shutdown();
+    }
+
+    @Test
+    void testWritesRacingShutdownAllComplete() throws Exception {
+        TransactionWriter writer = new TransactionWriter(txnRepo, 1, 4);
+        when(txnRepo.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Transaction>> acks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Transaction t = new Transaction("T" + i, "DEPOSIT", 1.0, "SUCCESS", "ACC0001", null);
+            acks.add(pool.submit(() -> writer.write(t)));
+            if (i == 100) writer.shutdown();
+        }
+        // every caller gets its answer; none is left waiting on a flusher that has stopped
+        for (Future<Transaction> ack : acks) {
+            assertNotNull(ack.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,201 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.dto.ImportReport;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.ArchivedAccount;
+import com.bankingSystem.service.AccountImportService.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.MongoBulkWriteException;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountImportServiceImplTest {
+
+    @TempDir
+    Path checkpoints;
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final List<Account> inserted = new ArrayList<>();
+    private AccountImportServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        service = new AccountImportServiceImpl(mongo, new ObjectMapper(), 2, 2, 2, checkpoints.toString());
+        when(mongo.indexOps(Account.class)).thenReturn(mock(IndexOperations.class));
+        when(mongo.bulkOps(any(BulkOperations.BulkMode.class), eq(Account.class))).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenAnswer(inv -> {
+            synchronized (inserted) {
+                inserted.addAll((List<Account>) inv.getArgument(0));
+            }
+            return bulk;
+        });
+    }
+
+    private static ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCsvImportWithRowErrors() {
+        ImportReport report = service.importAccounts("csv-1",
+                input("holderName\nJohn Doe\n\"Smith, Anna\"\nAl\n12Bad\nMary\n"), Format.CSV);
+
+        assertEquals(5, report.getRowsRead());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(4L, 5L), report.getErrors().stream().map(ImportReport.RowError::line).toList());
+        assertEquals(3, inserted.size());
+        assertTrue(inserted.stream().anyMatch(a -> a.getHolderName().equals("Smith, Anna")));
+        assertTrue(inserted.stream().allMatch(a -> a.getAccountNumber().matches("^[A-Z]{3}[0-9]{4}$")));
+        assertEquals(6, report.getCheckpointLine());
+    }
+
+    @Test
+    void testNdjsonImport() {
+        ImportReport report = service.importAccounts("nd-1",
+                input("{\"holderName\":\"John\"}\n{broken\n{\"holderName\":\"Anna\"}\n"), Format.NDJSON);
+
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(2L, report.getErrors().get(0).line());
+    }
+
+    @Test
+    void testResumeFromCheckpoint() throws Exception {
+        Files.writeString(checkpoints.resolve("resume-1.checkpoint"), "2");
+
+        ImportReport report = service.importAccounts("resume-1", input("John\nAnna\nMary\n"), Format.CSV);
+
+        assertEquals(2, report.getSkipped());
+        assertEquals(1, report.getImported());
+        assertEquals("Mary", inserted.get(0).getHolderName());
+        assertEquals("1-3\n", Files.readString(checkpoints.resolve("resume-1.checkpoint")));
+    }
+
+    @Test
+    void testResumeSkipsBatchesCommittedOutOfOrder() throws Exception {
+        // lines 3-4 were committed, the batch of lines 1-2 before them was not
+        Files.writeString(checkpoints.resolve("gap-1.checkpoint"), "3-4\n");
+
+        ImportReport report = service.importAccounts("gap-1", input("John\nAnna\nMary\nPaul\nLisa\n"), Format.CSV);
+
+        assertEquals(2, report.getSkipped());
+        assertEquals(3, report.getImported());
+        assertEquals(java.util.Set.of("John", "Anna", "Lisa"),
+                inserted.stream().map(Account::getHolderName).collect(java.util.stream.Collectors.toSet()));
+        assertEquals(5, report.getCheckpointLine());
+        assertEquals("1-5\n", Files.readString(checkpoints.resolve("gap-1.checkpoint")));
+    }
+
+    @Test
+    void testCollidingNumbersAreRedrawn() {
+        // first lookup reports whatever was drawn as taken, second finds nothing
+        when(mongo.find(any(Query.class), eq(Account.class)))
+                .thenAnswer(inv -> List.of(new Account(firstDrawn(inv.getArgument(0)), "x")))
+                .thenReturn(List.of());
+
+        List<Account> accounts = service.allocate(List.of(new AccountImportServiceImpl.Row(1, "John")));
+
+        assertEquals(1, accounts.size());
+        verify(mongo, times(2)).find(any(Query.class), eq(Account.class));
+    }
+
+    @Test
+    void testArchivedNumbersAreRedrawn() {
+        when(mongo.find(any(Query.class), eq(Account.class))).thenReturn(List.of());
+        when(mongo.find(any(Query.class), eq(ArchivedAccount.class)))
+                .thenAnswer(inv -> List.of(archived(firstDrawn(inv.getArgument(0)))))
+                .thenReturn(List.of());
+
+        List<Account> accounts = service.allocate(List.of(new AccountImportServiceImpl.Row(1, "John")));
+
+        assertEquals(1, accounts.size());
+        verify(mongo, times(2)).find(any(Query.class), eq(ArchivedAccount.class));
+    }
+
+    @Test
+    void testDuplicateKeyRowsRetried() {
+        BulkWriteError dup = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1);
+        MongoBulkWriteException cause = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()), List.of(dup), null,
+                new ServerAddress(), java.util.Set.of());
+        when(bulk.execute())
+                .thenThrow(new BulkOperationException("dup", cause))
+                .thenReturn(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()));
+
+        ImportReport report = service.importAccounts("dup-1", input("John\nAnna\n"), Format.CSV);
+
+        assertEquals(2, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertEquals("Anna", inserted.get(inserted.size() - 1).getHolderName());
+    }
+
+    @Test
+    void testInfrastructureFailureKeepsCheckpoint() {
+        when(bulk.execute()).thenThrow(new IllegalStateException("mongo down"));
+
+        ImportReport report = service.importAccounts("down-1", input("John\nAnna\nMary\n"), Format.CSV);
+
+        assertEquals(0, report.getImported());
+        assertEquals(0, report.getCheckpointLine());
+        assertFalse(Files.exists(checkpoints.resolve("down-1.checkpoint")));
+    }
+
+    @Test
+    void testUnwritableCheckpointStopsTheImport() throws Exception {
+        // a file where the checkpoint directory should be
+        Path blocked = Files.createFile(checkpoints.resolve("blocked"));
+        service = new AccountImportServiceImpl(mongo, new ObjectMapper(), 2, 1, 2, blocked.toString());
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of()));
+
+        ImportReport report = service.importAccounts("blocked-1", input("John\nAnna\nMary\nJane\nPete\n"), Format.CSV);
+
+        // the first batch is in; nothing after it is imported without a checkpoint to resume from
+        assertEquals(List.of("John", "Anna"), inserted.stream().map(Account::getHolderName).toList());
+        assertEquals(1, report.getFailed());
+        assertTrue(report.getErrors().get(0).message().contains("checkpoint"));
+    }
+
+    @Test
+    void testValidateAndParse() {
+        assertNull(AccountImportServiceImpl.validate("John"));
+        assertNotNull(AccountImportServiceImpl.validate(" "));
+        assertNotNull(AccountImportServiceImpl.validate("A1B"));
+        assertEquals("He said \"hi\"", AccountImportServiceImpl.parseCsv("\"He said \"\"hi\"\"\",x"));
+        assertEquals("John", AccountImportServiceImpl.parseCsv("John,extra"));
+    }
+
+    private static ArchivedAccount archived(String accNo) {
+        return new ArchivedAccount(new Account(accNo, "x"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String firstDrawn(Query query) {
+        Object in = query.getQueryObject().get("accountNumber", org.bson.Document.class).get("$in");
+        return ((List<String>) in).get(0);
+    }
+}
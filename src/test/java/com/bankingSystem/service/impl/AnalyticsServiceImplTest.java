@@ -0,0 +1,221 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.dto.AccountVolume;
+import com.bankingSystem.dto.DailyTotal;
+import com.bankingSystem.dto.LedgerCheck;
+import com.bankingSystem.dto.PostingTotal;
+import com.bankingSystem.dto.TypeTotal;
+import com.bankingSystem.exception.InvalidRequestException;
+import com.bankingSystem.repository.TransactionAnalytics.DayTypeTotal;
+import com.bankingSystem.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsServiceImplTest {
+
+    private static final LocalDate JUN_1 = LocalDate.of(2024, 6, 1);
+    private static final LocalDate JUN_3 = LocalDate.of(2024, 6, 3);
+    private static final Instant START = Instant.parse("2024-06-01T00:00:00Z");
+    private static final Instant END = Instant.parse("2024-06-04T00:00:00Z");
+    private static final Instant NOW = Instant.parse("2024-06-03T12:00:00Z");
+    private static final Instant SEALED = NOW.minusSeconds(30);
+
+    private final TransactionRepository txnRepo = mock(TransactionRepository.class);
+    private AnalyticsServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        service = new AnalyticsServiceImpl(txnRepo, 366, 30, 60, 2000);
+        when(txnRepo.totalsByDayAndType(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void testRollupIsBuiltOnceThenExtendedIncrementally() {
+        when(txnRepo.totalsByDayAndType(START, SEALED)).thenReturn(List.of(
+                new DayTypeTotal(JUN_1, "DEPOSIT", "USD", 2, 200.0),
+                new DayTypeTotal(JUN_3, "DEPOSIT", "USD", 1, 50.0)));
+        // written in the last 30 seconds, read live
+        when(txnRepo.totalsByDayAndType(SEALED, END)).thenReturn(List.of(new DayTypeTotal(JUN_3, "DEPOSIT", "USD", 1, 10.0)));
+
+        List<DailyTotal> days = service.dailyTotals(JUN_1, JUN_3, NOW);
+
+        assertEquals(List.of(JUN_1, JUN_3), days.stream().map(DailyTotal::getDay).toList());
+        TypeTotal jun3 = days.get(1).getTypes().get(0);
+        assertEquals(2, jun3.getCount());
+        assertEquals(60.0, jun3.getAmount());
+
+        // a minute later only the new minute is aggregated into the rollup
+        Instant later = NOW.plusSeconds(60);
+        service.dailyTotals(JUN_1, JUN_3, later);
+
+        verify(txnRepo).totalsByDayAndType(START, SEALED);
+        verify(txnRepo).totalsByDayAndType(SEALED, later.minusSeconds(30));
+        verify(txnRepo).totalsByDayAndType(later.minusSeconds(30), END);
+    }
+
+    @Test
+    void testEarlierWindowBackfillsOnlyTheMissingStretch() {
+        service.dailyTotals(JUN_1, JUN_3, NOW);
+        service.dailyTotals(LocalDate.of(2024, 5, 1), JUN_3, NOW);
+
+        verify(txnRepo).totalsByDayAndType(Instant.parse("2024-05-01T00:00:00Z"), START);
+        verify(txnRepo, times(1)).totalsByDayAndType(START, SEALED);
+    }
+
+    @Test
+    void testRollupDaysOutsideTheWindowAreLeftOut() {
+        when(txnRepo.totalsByDayAndType(START, SEALED)).thenReturn(List.of(
+                new DayTypeTotal(JUN_1, "DEPOSIT", "USD", 2, 200.0),
+                new DayTypeTotal(JUN_3, "WITHDRAW", "USD", 1, 50.0)));
+        service.dailyTotals(JUN_1, JUN_3, NOW);
+
+        List<TypeTotal> types = service.typeBreakdown(JUN_3, JUN_3, NOW);
+
+        assertEquals(1, types.size());
+        assertEquals("WITHDRAW", types.get(0).getType());
+    }
+
+    @Test
+    void testTypeBreakdownSumsDays() {
+        when(txnRepo.totalsByDayAndType(START, SEALED)).thenReturn(List.of(
+                new DayTypeTotal(JUN_1, "DEPOSIT", "USD", 2, 200.0),
+                new DayTypeTotal(JUN_3, "DEPOSIT", "USD", 1, 50.0),
+                new DayTypeTotal(JUN_3, "TRANSFER", "USD", 4, 400.0)));
+
+        List<TypeTotal> types = service.typeBreakdown(JUN_1, JUN_3, NOW);
+
+        assertEquals(List.of("DEPOSIT", "TRANSFER"), types.stream().map(TypeTotal::getType).toList());
+        assertEquals(3, types.get(0).getCount());
+        assertEquals(250.0, types.get(0).getAmount());
+    }
+
+    @Test
+    void testCurrenciesAreKeptApart() {
+        when(txnRepo.totalsByDayAndType(START, SEALED)).thenReturn(List.of(
+                new DayTypeTotal(JUN_1, "DEPOSIT", "USD", 2, 200.0),
+                new DayTypeTotal(JUN_3, "DEPOSIT", "EUR", 1, 50.0)));
+
+        List<TypeTotal> types = service.typeBreakdown(JUN_1, JUN_3, NOW);
+
+        assertEquals(List.of("EUR", "USD"), types.stream().map(TypeTotal::getCurrency).toList());
+        assertEquals(50.0, types.get(0).getAmount());
+        assertEquals(200.0, types.get(1).getAmount());
+    }
+
+    @Test
+    void testAggregationDoesNotHoldUpOtherRequests() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<DayTypeTotal> rows = List.of(new DayTypeTotal(JUN_1, "DEPOSIT", "USD", 2, 200.0));
+        when(txnRepo.totalsByDayAndType(START, SEALED)).thenAnswer(inv -> {
+            if (entered.getCount() > 0) {
+                entered.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return rows;
+        });
+
+        CompletableFuture<List<TypeTotal>> slow = CompletableFuture.supplyAsync(() -> service.typeBreakdown(JUN_1, JUN_3, NOW));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        // answered while the first request is still waiting on MongoDB
+        assertEquals(200.0, service.typeBreakdown(JUN_1, JUN_3, NOW).get(0).getAmount());
+        release.countDown();
+        assertEquals(200.0, slow.get(5, TimeUnit.SECONDS).get(0).getAmount());
+
+        // both read the same stretch: it went into the rollup once
+        assertEquals(200.0, service.typeBreakdown(JUN_1, JUN_3, NOW).get(0).getAmount());
+        verify(txnRepo, times(2)).totalsByDayAndType(START, SEALED);
+    }
+
+    @Test
+    void testRangeIsValidated() {
+        assertThrows(InvalidRequestException.class, () -> service.getDailyTotals(JUN_3, JUN_1));
+        assertThrows(InvalidRequestException.class, () -> service.getTypeBreakdown(LocalDate.of(2023, 1, 1), JUN_3));
+        assertThrows(InvalidRequestException.class, () -> service.getTopAccounts(JUN_1, JUN_3, 0));
+        verifyNoInteractions(txnRepo);
+    }
+
+    @Test
+    void testPublicQueriesReadUpToNow() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate yesterday = today.minusDays(1);
+        // the first read seals yesterday into the rollup; later reads find nothing new
+        when(txnRepo.totalsByDayAndType(any(), any()))
+                .thenReturn(List.of(new DayTypeTotal(yesterday, "DEPOSIT", "USD", 2, 20.0)))
+                .thenReturn(List.of());
+        when(txnRepo.topAccountsByVolume(any(), any(), eq(5))).thenReturn(List.of());
+        // every query is over target, so each one logs a warning
+        AnalyticsServiceImpl slow = new AnalyticsServiceImpl(txnRepo, 366, 30, 60, -1);
+
+        List<DailyTotal> days = slow.getDailyTotals(yesterday, today);
+        List<TypeTotal> types = slow.getTypeBreakdown(yesterday, today);
+
+        assertEquals(List.of(yesterday), days.stream().map(DailyTotal::getDay).toList());
+        assertEquals(1, types.size());
+        assertEquals(2, types.get(0).getCount());
+        assertTrue(slow.getTopAccounts(yesterday, today, 5).isEmpty());
+        assertThrows(InvalidRequestException.class, () -> slow.getTopAccounts(yesterday, today, 101));
+    }
+
+    @Test
+    void testDaysPastTheMaximumRangeArePruned() {
+        AnalyticsServiceImpl shortRange = new AnalyticsServiceImpl(txnRepo, 2, 30, 60, 2000);
+        when(txnRepo.totalsByDayAndType(START, SEALED)).thenReturn(List.of(new DayTypeTotal(JUN_1, "DEPOSIT", "USD", 1, 10.0)));
+        shortRange.dailyTotals(JUN_1, JUN_1, NOW);
+
+        // a week later no request can reach back to June 1 together with today
+        Instant weekLater = NOW.plus(7, ChronoUnit.DAYS);
+        shortRange.dailyTotals(LocalDate.of(2024, 6, 9), LocalDate.of(2024, 6, 10), weekLater);
+
+        Instant jun8 = Instant.parse("2024-06-08T00:00:00Z");
+        assertEquals(jun8, ReflectionTestUtils.getField(shortRange, "coveredFrom"));
+        assertFalse(((Map<?, ?>) ReflectionTestUtils.getField(shortRange, "rollup")).containsKey(JUN_1));
+        // an old window on its own is still answered, read again from MongoDB
+        shortRange.dailyTotals(JUN_1, JUN_1, weekLater);
+        verify(txnRepo).totalsByDayAndType(START, jun8);
+    }
+
+    @Test
+    void testTopAccountsCachedPerWindow() {
+        List<AccountVolume> top = List.of(new AccountVolume("ACC0001", "USD", 3, 300.0));
+        when(txnRepo.topAccountsByVolume(START, END, 10)).thenReturn(top);
+        AnalyticsServiceImpl.Window window = new AnalyticsServiceImpl.Window(JUN_1, JUN_3, 10);
+
+        assertEquals(top, service.topAccounts(window, NOW));
+        assertEquals(top, service.topAccounts(window, NOW.plusSeconds(59)));
+        verify(txnRepo, times(1)).topAccountsByVolume(any(), any(), anyInt());
+
+        service.topAccounts(window, NOW.plusSeconds(61));
+        verify(txnRepo, times(2)).topAccountsByVolume(any(), any(), anyInt());
+    }
+
+    @Test
+    void testCheckLedgerFlagsAnyCurrencyNotSummingToZero() {
+        when(txnRepo.postingTotals()).thenReturn(List.of(
+                new PostingTotal("EUR", 2, new BigDecimal("0.00")),
+                new PostingTotal("USD", 6, new BigDecimal("0.01"))));
+        when(txnRepo.countUnposted()).thenReturn(3L);
+
+        LedgerCheck check = service.checkLedger();
+
+        assertFalse(check.isBalanced());
+        assertEquals(3, check.getUnposted());
+        assertEquals(2, check.getTotals().size());
+    }
+}
@@ -0,0 +1,206 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.exception.*;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.AccountStatus;
+import com.bankingSystem.model.Hold;
+import com.bankingSystem.model.Transaction;
+import com.bankingSystem.repository.AccountRepository;
+import com.bankingSystem.service.BalanceNotifier;
+import com.bankingSystem.service.TransactionScreen;
+import com.bankingSystem.service.TransactionWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HoldServiceImplTest {
+
+    private final AccountRepository accRepo = mock(AccountRepository.class);
+    private final AccountServiceImpl accounts = mock(AccountServiceImpl.class);
+    private final TransactionWriter txnWriter = mock(TransactionWriter.class);
+    private final BalanceNotifier notifier = mock(BalanceNotifier.class);
+    private HoldServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        service = new HoldServiceImpl(accRepo, accounts, txnWriter, notifier, 3600, 86400, 3600, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private Account accountWithHold(String holdId, double amount, Instant expiresAt) {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(100.0);
+        acc.getHolds().add(new Hold(holdId, amount, Instant.now(), expiresAt));
+        acc.setHeldAmount(amount);
+        when(accounts.getAccount("ACC0001")).thenReturn(acc);
+        return acc;
+    }
+
+    @Test
+    void testPlaceHold() {
+        when(accRepo.placeHold(eq("ACC0001"), any(Hold.class))).thenReturn(Optional.of(new Account("ACC0001", "John")));
+
+        Hold hold = service.placeHold("ACC0001", 40.0, 60L);
+
+        assertEquals(40.0, hold.getAmount());
+        assertTrue(hold.getHoldId().startsWith("HLD-"));
+        assertEquals(hold.getCreatedAt().plusSeconds(60), hold.getExpiresAt());
+        verify(accounts).validateDebit("ACC0001", 40.0);
+        verify(txnWriter, never()).write(any());
+    }
+
+    @Test
+    void testPlaceHoldDeclinedExplainsWhy() {
+        Account acc = new Account("ACC0001", "John");
+        acc.setBalance(10.0);
+        when(accRepo.placeHold(anyString(), any(Hold.class))).thenReturn(Optional.empty());
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(acc));
+
+        assertThrows(InsufficientBalanceException.class, () -> service.placeHold("ACC0001", 40.0, null));
+
+        acc.setStatus(AccountStatus.FROZEN);
+        assertThrows(AccountStatusException.class, () -> service.placeHold("ACC0001", 40.0, null));
+        // a declined hold does not count towards the velocity window
+        verify(accounts, times(2)).unscreen("ACC0001", TransactionScreen.Direction.DEBIT, 40.0);
+    }
+
+    @Test
+    void testPlaceHoldRejectsTtlOutOfRange() {
+        assertThrows(InvalidRequestException.class, () -> service.placeHold("ACC0001", 40.0, 0L));
+        assertThrows(InvalidRequestException.class, () -> service.placeHold("ACC0001", 40.0, 86401L));
+        verify(accRepo, never()).placeHold(anyString(), any());
+        verify(accounts, never()).validateDebit(anyString(), any());
+    }
+
+    @Test
+    void testPartialCaptureReleasesRest() {
+        accountWithHold("HLD-1", 40.0, Instant.now().plusSeconds(60));
+        Account after = new Account("ACC0001", "John");
+        after.setBalance(75.0);
+        when(accRepo.captureHold(eq("ACC0001"), eq("HLD-1"), eq(40.0), eq(25.0), anyString())).thenReturn(Optional.of(after));
+
+        service.capture("ACC0001", "HLD-1", 25.0);
+
+        ArgumentCaptor<Transaction> txn = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnWriter).write(txn.capture());
+        assertEquals("CAPTURE", txn.getValue().getType());
+        assertEquals(25.0, txn.getValue().getAmount());
+        verify(notifier).publish("ACC0001", 75.0, txn.getValue());
+    }
+
+    @Test
+    void testCaptureWithoutAmountTakesAll() {
+        accountWithHold("HLD-1", 40.0, Instant.now().plusSeconds(60));
+        when(accRepo.captureHold(anyString(), anyString(), anyDouble(), anyDouble(), anyString()))
+                .thenReturn(Optional.of(new Account("ACC0001", "John")));
+
+        service.capture("ACC0001", "HLD-1", null);
+
+        verify(accRepo).captureHold(eq("ACC0001"), eq("HLD-1"), eq(40.0), eq(40.0), anyString());
+    }
+
+    @Test
+    void testCaptureValidation() {
+        accountWithHold("HLD-1", 40.0, Instant.now().plusSeconds(60));
+
+        assertThrows(InvalidAmountException.class, () -> service.capture("ACC0001", "HLD-1", 40.01));
+        assertThrows(HoldNotFoundException.class, () -> service.capture("ACC0001", "HLD-X", 10.0));
+
+        accountWithHold("HLD-2", 40.0, Instant.now().minusSeconds(1));
+        assertThrows(InvalidRequestException.class, () -> service.capture("ACC0001", "HLD-2", 10.0));
+        verify(accRepo, never()).captureHold(anyString(), anyString(), anyDouble(), anyDouble(), anyString());
+    }
+
+    @Test
+    void testCaptureLosingRaceTakesBackItsRecord() {
+        accountWithHold("HLD-1", 40.0, Instant.now().plusSeconds(60));
+        when(accRepo.captureHold(anyString(), anyString(), anyDouble(), anyDouble(), anyString())).thenReturn(Optional.empty());
+
+        assertThrows(HoldNotFoundException.class, () -> service.capture("ACC0001", "HLD-1", 10.0));
+        ArgumentCaptor<Transaction> txn = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnWriter).write(txn.capture());
+        verify(txnWriter).retract(txn.getValue().getTransactionId());
+        verify(notifier, never()).publish(anyString(), anyDouble(), any());
+    }
+
+    @Test
+    void testCaptureRejectedWhileAccountCannotBeDebited() {
+        Account acc = accountWithHold("HLD-1", 40.0, Instant.now().plusSeconds(60));
+        acc.setStatus(AccountStatus.FROZEN);
+        assertThrows(AccountStatusException.class, () -> service.capture("ACC0001", "HLD-1", 10.0));
+
+        acc.setStatus(AccountStatus.ACTIVE);
+        acc.setStripeCount(4);
+        assertThrows(AccountStatusException.class, () -> service.capture("ACC0001", "HLD-1", 10.0));
+        verify(txnWriter, never()).write(any());
+        verify(accRepo, never()).captureHold(anyString(), anyString(), anyDouble(), anyDouble(), anyString());
+    }
+
+    @Test
+    void testCaptureFrozenMeanwhileTakesBackItsRecord() {
+        Account acc = accountWithHold("HLD-1", 40.0, Instant.now().plusSeconds(60));
+        Account frozen = new Account("ACC0001", "John");
+        frozen.getHolds().addAll(acc.getHolds());
+        frozen.setStatus(AccountStatus.FROZEN);
+        when(accRepo.captureHold(anyString(), anyString(), anyDouble(), anyDouble(), anyString())).thenReturn(Optional.empty());
+        when(accRepo.findByAccountNumber("ACC0001")).thenReturn(Optional.of(frozen));
+
+        assertThrows(AccountStatusException.class, () -> service.capture("ACC0001", "HLD-1", 10.0));
+        ArgumentCaptor<Transaction> txn = ArgumentCaptor.forClass(Transaction.class);
+        verify(txnWriter).write(txn.capture());
+        verify(txnWriter).retract(txn.getValue().getTransactionId());
+    }
+
+    @Test
+    void testCaptureNotRecordedIsNotApplied() {
+        accountWithHold("HLD-1", 40.0, Instant.now().plusSeconds(60));
+        when(txnWriter.write(any())).thenThrow(new IllegalStateException("insert failed"));
+
+        assertThrows(IllegalStateException.class, () -> service.capture("ACC0001", "HLD-1", 10.0));
+        verify(accRepo, never()).captureHold(anyString(), anyString(), anyDouble(), anyDouble(), anyString());
+    }
+
+    @Test
+    void testVoidReleasesHeldAmount() {
+        accountWithHold("HLD-1", 40.0, Instant.now().plusSeconds(60));
+        when(accRepo.releaseHold("ACC0001", "HLD-1", 40.0)).thenReturn(Optional.of(new Account("ACC0001", "John")));
+
+        service.voidHold("ACC0001", "HLD-1");
+
+        verify(accRepo).releaseHold("ACC0001", "HLD-1", 40.0);
+        verify(txnWriter, never()).write(any());
+    }
+
+    @Test
+    void testReleaseExpiredWorksThroughBatches() {
+        Instant now = Instant.now();
+        Account a = new Account("ACC0001", "A");
+        a.getHolds().add(new Hold("HLD-1", 10.0, now.minusSeconds(120), now.minusSeconds(60)));
+        a.getHolds().add(new Hold("HLD-2", 10.0, now, now.plusSeconds(60)));
+        Account b = new Account("ACC0002", "B");
+        b.getHolds().add(new Hold("HLD-3", 5.0, now.minusSeconds(120), now.minusSeconds(60)));
+        Account c = new Account("ACC0003", "C");
+        c.getHolds().add(new Hold("HLD-4", 5.0, now.minusSeconds(120), now.minusSeconds(60)));
+        when(accRepo.findWithExpiredHolds(now, 2)).thenReturn(List.of(a, b), List.of(c));
+        when(accRepo.releaseHold(anyString(), anyString(), anyDouble())).thenReturn(Optional.of(new Account()));
+
+        assertEquals(3, service.releaseExpired(now));
+
+        verify(accRepo).ensureHoldIndexes();
+        verify(accRepo, times(2)).findWithExpiredHolds(now, 2);
+        verify(accRepo, never()).releaseHold("ACC0001", "HLD-2", 10.0);
+    }
+}
@@ -0,0 +1,245 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.exception.AccountNotFoundException;
+import com.bankingSystem.exception.InsufficientBalanceException;
+import com.bankingSystem.exception.InvalidAmountException;
+import com.bankingSystem.exception.StandingOrderNotFoundException;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.StandingOrder;
+import com.bankingSystem.repository.StandingOrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.DelayQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StandingOrderServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    private final StandingOrderRepository orders = mock(StandingOrderRepository.class);
+    private final AccountServiceImpl accounts = mock(AccountServiceImpl.class);
+    private StandingOrderServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        // background loader and dispatcher off: the tests drive each stage directly
+        service = new StandingOrderServiceImpl(orders, accounts, false, 60, 2, 3, 1000, 1, 2, 10, 500);
+        when(orders.save(any(StandingOrder.class))).thenAnswer(returnsFirstArg());
+        when(accounts.applyDebit(anyString(), anyDouble(), anyString())).thenAnswer(inv -> new Account(inv.getArgument(0), "Holder"));
+        when(orders.recordOutcomes(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private StandingOrder order(String id) {
+        StandingOrder order = new StandingOrder(id, "SRC1234", "DST5678", 100.0, StandingOrder.Frequency.DAILY, NOW);
+        ReflectionTestUtils.setField(order, "id", id);
+        order.setLeaseOwner("node");
+        when(orders.findById(id)).thenReturn(Optional.of(order));
+        return order;
+    }
+
+    @Test
+    void testCreateOrderChecksAccounts() {
+        StandingOrder order = service.createOrder("SRC1234", "DST5678", 100.0, StandingOrder.Frequency.WEEKLY, NOW);
+
+        assertTrue(order.getOrderId().startsWith("SO-"));
+        assertEquals(StandingOrder.Status.ACTIVE, order.getStatus());
+        assertEquals(NOW, order.getDueAt());
+        verify(accounts).getAccount("SRC1234");
+        verify(accounts).getAccount("DST5678");
+    }
+
+    @Test
+    void testCreateOrderRejectsSameAccount() {
+        assertThrows(InvalidAmountException.class,
+                () -> service.createOrder("SRC1234", "SRC1234", 100.0, StandingOrder.Frequency.DAILY, NOW));
+        verify(orders, never()).save(any());
+    }
+
+    @Test
+    void testGetOrderNotFound() {
+        when(orders.findByOrderId("SO-X")).thenReturn(Optional.empty());
+        assertThrows(StandingOrderNotFoundException.class, () -> service.getOrder("SO-X"));
+    }
+
+    @Test
+    void testCancelOrder() {
+        StandingOrder order = order("SO-1");
+        when(orders.findByOrderId("SO-1")).thenReturn(Optional.of(order));
+
+        assertEquals(StandingOrder.Status.CANCELLED, service.cancelOrder("SO-1").getStatus());
+    }
+
+    @Test
+    void testExecuteMovesMoneyAndSchedulesNextOccurrence() {
+        StandingOrder order = order("SO-1");
+
+        StandingOrder outcome = service.execute(order, NOW);
+
+        InOrder steps = inOrder(accounts);
+        steps.verify(accounts).validateTransfer("SRC1234", "DST5678", 100.0);
+        steps.verify(accounts).applyDebit("SRC1234", 100.0, "SO-1-0-0-D");
+        steps.verify(accounts).applyCredit("DST5678", 100.0, "USD", "SO-1-0-0-C", "DEPOSIT");
+        steps.verify(accounts).recordTransfer("SRC1234", "DST5678", 100.0, "SO-1-0-0-T");
+        assertEquals(1, outcome.getRuns());
+        assertEquals(1, outcome.getSequence());
+        assertEquals(NOW.plusSeconds(86400), outcome.getDueAt());
+        assertEquals(1, service.executedCount());
+    }
+
+    @Test
+    void testDeclinedAttemptBacksOffWithNewIds() {
+        StandingOrder order = order("SO-1");
+        when(accounts.applyDebit(anyString(), anyDouble(), anyString()))
+                .thenThrow(new InsufficientBalanceException("Insufficient balance"));
+
+        service.execute(order, NOW);
+
+        assertEquals(1, order.getAttempts());
+        assertEquals(0, order.getSequence());
+        assertEquals("Insufficient balance", order.getLastError());
+        assertFalse(order.getDueAt().isBefore(NOW.plusSeconds(10)));
+        assertFalse(order.getDueAt().isAfter(NOW.plusSeconds(15)));
+        verify(accounts, never()).applyCredit(anyString(), anyDouble(), any(), anyString(), anyString());
+
+        service.execute(order, NOW.plusSeconds(15));
+        verify(accounts).applyDebit("SRC1234", 100.0, "SO-1-0-1-D");
+    }
+
+    @Test
+    void testLastAttemptSkipsOccurrence() {
+        StandingOrder order = order("SO-1");
+        order.setAttempts(1);
+        when(accounts.applyDebit(anyString(), anyDouble(), anyString()))
+                .thenThrow(new InsufficientBalanceException("Insufficient balance"));
+
+        service.execute(order, NOW);
+
+        assertEquals(1, order.getSkipped());
+        assertEquals(1, order.getSequence());
+        assertEquals(0, order.getAttempts());
+        assertEquals(NOW.plusSeconds(86400), order.getDueAt());
+    }
+
+    @Test
+    void testMissingDestinationIsReversed() {
+        StandingOrder order = order("SO-1");
+        when(accounts.applyCredit(eq("DST5678"), anyDouble(), any(), anyString(), anyString()))
+                .thenThrow(new AccountNotFoundException("Account not found"));
+
+        service.execute(order, NOW);
+
+        verify(accounts).applyCredit("SRC1234", 100.0, "SO-1-0-0-R", "REVERSAL");
+        verify(accounts, never()).recordTransfer(anyString(), anyString(), anyDouble(), anyString());
+        assertEquals(1, order.getAttempts());
+    }
+
+    @Test
+    void testFailedReversalIsSurfaced() {
+        StandingOrder order = order("SO-1");
+        when(accounts.applyCredit(eq("DST5678"), anyDouble(), any(), anyString(), anyString()))
+                .thenThrow(new AccountNotFoundException("Account not found"));
+        when(accounts.applyCredit("SRC1234", 100.0, "SO-1-0-0-R", "REVERSAL"))
+                .thenThrow(new RuntimeException("socket timeout"));
+
+        service.execute(order, NOW);
+
+        assertEquals(1, service.failedReversalCount());
+        assertEquals(0, service.declinedCount());
+        // same attempt, so the retry skips the debit and runs the reversal under the same id
+        assertEquals(0, order.getAttempts());
+        assertEquals(NOW.plusSeconds(10), order.getDueAt());
+        assertTrue(order.getLastError().contains("reversal failed: socket timeout"), order.getLastError());
+    }
+
+    @Test
+    void testInfrastructureErrorRetriesSameAttempt() {
+        StandingOrder order = order("SO-1");
+        doThrow(new RuntimeException("socket timeout"))
+                .when(accounts).recordTransfer(anyString(), anyString(), anyDouble(), anyString());
+
+        service.execute(order, NOW);
+
+        assertEquals(0, order.getAttempts());
+        assertEquals(NOW.plusSeconds(10), order.getDueAt());
+        assertEquals("socket timeout", order.getLastError());
+        assertEquals(0, service.failedReversalCount());
+    }
+
+    @Test
+    void testCancelledAfterQueueingIsNotExecuted() {
+        StandingOrder queued = order("SO-1");
+        StandingOrder stored = new StandingOrder("SO-1", "SRC1234", "DST5678", 100.0, StandingOrder.Frequency.DAILY, NOW);
+        stored.setStatus(StandingOrder.Status.CANCELLED);
+        when(orders.findById("SO-1")).thenReturn(Optional.of(stored));
+
+        assertNull(service.execute(queued, NOW));
+        verifyNoInteractions(accounts);
+    }
+
+    @Test
+    void testLoadDueClaimsBatchesUpToQueueLimit() {
+        List<StandingOrder> first = List.of(order("SO-1"), order("SO-2"));
+        List<StandingOrder> second = List.of(order("SO-3"));
+        when(orders.claimDue(any(), eq(2), anyString(), any(), any())).thenReturn(first);
+        when(orders.claimDue(any(), eq(1), anyString(), any(), any())).thenReturn(second);
+
+        assertEquals(3, service.loadDue(NOW));
+
+        verify(orders).ensureIndexes();
+        verify(orders).claimDue(eq(NOW.plusSeconds(60)), eq(2), anyString(), any(), eq(NOW));
+        verify(orders).claimDue(eq(NOW.plusSeconds(60)), eq(1), anyString(), any(), eq(NOW));
+        assertEquals(3, service.queuedCount());
+    }
+
+    @Test
+    void testQueuedOrdersWaitUntilDue() {
+        StandingOrder later = order("SO-LATER");
+        later.setDueAt(Instant.now().plusSeconds(3600));
+        StandingOrder due = order("SO-DUE");
+        StandingOrder overdue = order("SO-OVERDUE");
+        overdue.setDueAt(NOW.minusSeconds(3600));
+        when(orders.claimDue(any(), anyInt(), anyString(), any(), any())).thenReturn(List.of(later, due, overdue));
+        service.loadDue(NOW);
+
+        // the dispatcher's view: earliest first, nothing before its time
+        DelayQueue<?> queue = (DelayQueue<?>) ReflectionTestUtils.getField(service, "queue");
+        assertSame(overdue, ReflectionTestUtils.invokeMethod(queue.poll(), "order"));
+        assertSame(due, ReflectionTestUtils.invokeMethod(queue.poll(), "order"));
+        assertNull(queue.poll());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testFlushWritesOutcomesInBatches() {
+        List<StandingOrder> recorded = new ArrayList<>();
+        when(orders.recordOutcomes(anyList())).thenAnswer(inv -> {
+            List<StandingOrder> batch = inv.getArgument(0);
+            recorded.addAll(batch);
+            return batch.size();
+        });
+        for (int i = 0; i < 3; i++) service.run(order("SO-" + i));
+
+        assertEquals(3, service.flush());
+
+        assertEquals(3, recorded.size());
+        verify(orders, times(2)).recordOutcomes(anyList());
+        assertEquals(0, service.queuedCount());
+    }
+}
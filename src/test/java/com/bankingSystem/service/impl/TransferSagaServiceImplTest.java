@@ -0,0 +1,208 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.exception.AccountNotFoundException;
+import com.bankingSystem.exception.InsufficientBalanceException;
+import com.bankingSystem.exception.InvalidAmountException;
+import com.bankingSystem.exception.TransferNotFoundException;
+import com.bankingSystem.model.Account;
+import com.bankingSystem.model.TransferSaga;
+import com.bankingSystem.model.TransferSaga.State;
+import com.bankingSystem.repository.TransferSagaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TransferSagaServiceImplTest {
+
+    private final TransferSagaRepository sagaRepo = mock(TransferSagaRepository.class);
+    private final AccountServiceImpl accounts = mock(AccountServiceImpl.class);
+    private TransferSagaServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        service = new TransferSagaServiceImpl(sagaRepo, accounts, 1, 10, 3600, 60, 2);
+        when(sagaRepo.save(any(TransferSaga.class))).thenAnswer(returnsFirstArg());
+        when(sagaRepo.recordStep(any(TransferSaga.class), any())).thenAnswer(inv -> Optional.of(inv.getArgument(0)));
+        when(accounts.applyDebit(anyString(), anyDouble(), anyString())).thenAnswer(inv -> new Account(inv.getArgument(0), "Holder"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private TransferSaga saga(State state) {
+        TransferSaga saga = new TransferSaga("TRF-1", "SRC1234", "DST5678", 100.0);
+        saga.setDebitTxnId("TXN-1");
+        saga.setCreditTxnId("TXN-2");
+        saga.setTransferTxnId("TXN-3");
+        saga.setCompensationTxnId("TXN-4");
+        saga.setState(state);
+        when(sagaRepo.findByTransferId("TRF-1")).thenReturn(Optional.of(saga));
+        when(sagaRepo.claim(eq("TRF-1"), anyString(), any(), any())).thenReturn(Optional.of(saga));
+        return saga;
+    }
+
+    @Test
+    void testHappyPath() {
+        TransferSaga saga = saga(State.PENDING);
+
+        service.run("TRF-1");
+
+        assertEquals(State.COMPLETED, saga.getState());
+        InOrder order = inOrder(accounts);
+        order.verify(accounts).applyDebit("SRC1234", 100.0, "TXN-1");
+        order.verify(accounts).applyCredit("DST5678", 100.0, "USD", "TXN-2", "DEPOSIT");
+        order.verify(accounts).recordTransfer("SRC1234", "DST5678", 100.0, "TXN-3");
+        verify(sagaRepo, times(3)).recordStep(eq(saga), any());
+    }
+
+    @Test
+    void testInsufficientBalanceFails() {
+        TransferSaga saga = saga(State.PENDING);
+        when(accounts.applyDebit(anyString(), anyDouble(), anyString()))
+                .thenThrow(new InsufficientBalanceException("Insufficient balance"));
+
+        service.run("TRF-1");
+
+        assertEquals(State.FAILED, saga.getState());
+        assertEquals("Insufficient balance", saga.getFailureReason());
+        verify(accounts, never()).applyCredit(anyString(), anyDouble(), any(), anyString(), anyString());        verify(accounts).unscreenTransfer("SRC1234", "DST5678", 100.0);
+    }
+
+    @Test
+    void testMissingDestinationIsCompensated() {
+        TransferSaga saga = saga(State.PENDING);
+        when(accounts.applyCredit(eq("DST5678"), anyDouble(), any(), anyString(), anyString()))
+                .thenThrow(new AccountNotFoundException("Account Not Found"));
+
+        service.run("TRF-1");
+
+        assertEquals(State.COMPENSATED, saga.getState());
+        verify(accounts).applyCredit("SRC1234", 100.0, "TXN-4", "REVERSAL");
+        verify(accounts, never()).recordTransfer(anyString(), anyString(), anyDouble(), anyString());
+    }
+
+    @Test
+    void testInfrastructureFailureLeavesStateForRetry() {
+        TransferSaga saga = saga(State.DEBITED);
+        when(accounts.applyCredit(anyString(), anyDouble(), any(), anyString(), anyString()))
+                .thenThrow(new IllegalStateException("mongo timeout"));
+
+        service.run("TRF-1");
+
+        assertEquals(State.DEBITED, saga.getState());
+        verify(sagaRepo, never()).recordStep(any(), any());
+    }
+
+    @Test
+    void testResumeFromPersistedState() {
+        TransferSaga saga = saga(State.CREDITED);
+
+        service.run("TRF-1");
+
+        assertEquals(State.COMPLETED, saga.getState());
+        verify(accounts, never()).applyDebit(anyString(), anyDouble(), anyString());
+        verify(accounts).recordTransfer("SRC1234", "DST5678", 100.0, "TXN-3");
+    }
+
+    @Test
+    void testCreditIsConvertedFromCapturedCurrency() {
+        TransferSaga saga = saga(State.PENDING);
+        Account eur = new Account("SRC1234", "Holder");
+        eur.setCurrency("EUR");
+        when(accounts.applyDebit(anyString(), anyDouble(), anyString())).thenReturn(eur);
+
+        service.run("TRF-1");
+
+        assertEquals("EUR", saga.getCurrency());
+        verify(accounts).applyCredit("DST5678", 100.0, "EUR", "TXN-2", "DEPOSIT");
+    }
+
+    @Test
+    void testStartTransferPersistsPendingSaga() {
+        TransferSaga started = service.startTransfer("SRC1234", "DST5678", 100.0);
+
+        verify(accounts).validateTransfer("SRC1234", "DST5678", 100.0);
+        assertTrue(started.getTransferId().startsWith("TRF-"));
+        assertNotNull(started.getDebitTxnId());
+        assertNotEquals(started.getDebitTxnId(), started.getCompensationTxnId());
+    }
+
+    @Test
+    void testStartTransferRejectsInvalidRequest() {
+        doThrow(new InvalidAmountException("Invalid Amount"))
+                .when(accounts).validateTransfer("SRC1234", "DST5678", -1.0);
+
+        assertThrows(InvalidAmountException.class, () -> service.startTransfer("SRC1234", "DST5678", -1.0));
+        verify(sagaRepo, never()).save(any());
+    }
+
+    @Test
+    void testRecoverResubmitsUnfinished() {
+        TransferSaga saga = saga(State.PENDING);
+        when(sagaRepo.findUnclaimed(anyCollection(), isNull(), eq(2), any())).thenReturn(List.of(saga));
+
+        service.recover();
+
+        verify(accounts, timeout(2000)).recordTransfer("SRC1234", "DST5678", 100.0, "TXN-3");
+        verify(sagaRepo).ensureIndexes();
+    }
+
+    @Test
+    void testRecoverPagesThroughUnfinished() {
+        List<TransferSaga> first = List.of(stored("TRF-A", "01"), stored("TRF-B", "02"));
+        when(sagaRepo.findUnclaimed(anyCollection(), isNull(), eq(2), any())).thenReturn(first);
+        when(sagaRepo.findUnclaimed(anyCollection(), eq("02"), eq(2), any())).thenReturn(List.of(stored("TRF-C", "03")));
+
+        service.recover();
+
+        verify(sagaRepo, timeout(2000)).claim(eq("TRF-C"), anyString(), any(), any());
+        verify(sagaRepo, times(2)).findUnclaimed(anyCollection(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testSagaHeldElsewhereIsNotRun() {
+        saga(State.PENDING);
+        when(sagaRepo.claim(eq("TRF-1"), anyString(), any(), any())).thenReturn(Optional.empty());
+
+        service.run("TRF-1");
+
+        verifyNoInteractions(accounts);
+        verify(sagaRepo, never()).recordStep(any(), any());
+    }
+
+    @Test
+    void testLostLeaseStopsTheRun() {
+        saga(State.PENDING);
+        when(sagaRepo.recordStep(any(TransferSaga.class), any())).thenReturn(Optional.empty());
+
+        service.run("TRF-1");
+
+        // the new owner replays from DEBITED
+        verify(accounts).applyDebit("SRC1234", 100.0, "TXN-1");
+        verify(accounts, never()).applyCredit(anyString(), anyDouble(), any(), anyString(), anyString());
+    }
+
+    private static TransferSaga stored(String transferId, String id) {
+        TransferSaga saga = new TransferSaga(transferId, "SRC1234", "DST5678", 1.0);
+        ReflectionTestUtils.setField(saga, "id", id);
+        return saga;
+    }
+
+    @Test
+    void testGetTransferNotFound() {
+        when(sagaRepo.findByTransferId("TRF-X")).thenReturn(Optional.empty());
+        assertThrows(TransferNotFoundException.class, () -> service.getTransfer("TRF-X"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.bankingSystem.service.impl;
+
+import com.bankingSystem.service.TransactionScreen.Decision;
+import com.bankingSystem.service.TransactionScreen.Direction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VelocityScreenTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private VelocityScreen screen;
+
+    // window 10s, 5 debits / 1000.00 per window, flag at 80%, 3 credits
+    private VelocityScreen newScreen() {
+        screen = new VelocityScreen(10, 5, 1000.0, 3, 0.8, 1000, clock::get);
+        return screen;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (screen != null) screen.shutdown();
+    }
+
+    @Test
+    void testDebitCountLimit() {
+        VelocityScreen s = newScreen();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Decision.ALLOW, s.screen("ACC0001", Direction.DEBIT, 1.0));
+        }
+        assertEquals(Decision.FLAG, s.screen("ACC0001", Direction.DEBIT, 1.0));
+        assertEquals(Decision.FLAG, s.screen("ACC0001", Direction.DEBIT, 1.0));
+        assertEquals(Decision.BLOCK, s.screen("ACC0001", Direction.DEBIT, 1.0));
+
+        // other accounts have their own window
+        assertEquals(Decision.ALLOW, s.screen("ACC0002", Direction.DEBIT, 1.0));
+    }
+
+    @Test
+    void testDebitAmountLimit() {
+        VelocityScreen s = newScreen();
+
+        assertEquals(Decision.ALLOW, s.screen("ACC0001", Direction.DEBIT, 500.0));
+        assertEquals(Decision.BLOCK, s.screen("ACC0001", Direction.DEBIT, 600.0));
+        // the blocked attempt was not recorded
+        assertEquals(Decision.FLAG, s.screen("ACC0001", Direction.DEBIT, 400.0));
+    }
+
+    @Test
+    void testWindowSlides() {
+        VelocityScreen s = newScreen();
+
+        assertEquals(Decision.ALLOW, s.screen("ACC0001", Direction.DEBIT, 700.0));
+        assertEquals(Decision.BLOCK, s.screen("ACC0001", Direction.DEBIT, 400.0));
+
+        clock.addAndGet(10);
+        assertEquals(Decision.ALLOW, s.screen("ACC0001", Direction.DEBIT, 400.0));
+    }
+
+    @Test
+    void testCreditsOnlyFlagged() {
+        VelocityScreen s = newScreen();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Decision.ALLOW, s.screen("ACC0001", Direction.CREDIT, 1.0));
+        }
+        assertEquals(Decision.FLAG, s.screen("ACC0001", Direction.CREDIT, 1.0));
+    }
+
+    @Test
+    void testIdleAccountsEvicted() {
+        VelocityScreen s = newScreen();
+        s.screen("ACC0001", Direction.DEBIT, 1.0);
+        s.screen("ACC0002", Direction.CREDIT, 1.0);
+
+        s.evictIdle();
+        assertEquals(2, s.trackedAccounts());
+
+        clock.addAndGet(10);
+        s.evictIdle();
+        assertEquals(0, s.trackedAccounts());
+    }
+
+    @Test
+    void testNewAccountsFlaggedAtTheCap() throws Exception {
+        screen = new VelocityScreen(10, 5, 1000.0, 3, 0.8, 2, clock::get);
+        screen.screen("ACC0001", Direction.DEBIT, 1.0);
+        screen.screen("ACC0002", Direction.DEBIT, 1.0);
+
+        // not tracked, so not screened: flagged rather than let the map grow
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Decision.FLAG, screen.screen("ACC0003", Direction.DEBIT, 1.0));
+        }
+        assertEquals(2, screen.trackedAccounts());
+        assertEquals(Decision.ALLOW, screen.screen("ACC0001", Direction.DEBIT, 1.0));
+
+        // once the others go idle the queued sweep makes room
+        clock.addAndGet(10);
+        screen.screen("ACC0003", Direction.DEBIT, 1.0);
+        for (int i = 0; i < 100 && screen.trackedAccounts() > 0; i++) Thread.sleep(10);
+        assertEquals(Decision.ALLOW, screen.screen("ACC0003", Direction.DEBIT, 1.0));
+        assertEquals(1, screen.trackedAccounts());
+    }
+
+    @Test
+    void testConcurrentDebitsNeverAdmitMoreThanTheLimit() throws Exception {
+        VelocityScreen s = newScreen();
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        if (s.screen("ACC0001", Direction.DEBIT, 1.0) != Decision.BLOCK) admitted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> w : workers) w.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(5, admitted.get());
+    }
+
+    @Test
+    void testReleaseGivesTheAttemptBack() {
+        VelocityScreen s = newScreen();
+        for (int i = 0; i < 5; i++) s.screen("ACC0001", Direction.DEBIT, 100.0);
+        assertEquals(Decision.BLOCK, s.screen("ACC0001", Direction.DEBIT, 100.0));
+
+        // e.g. the last withdrawal was declined for balance: it no longer counts
+        clock.addAndGet(3);
+        s.release("ACC0001", Direction.DEBIT, 100.0);
+        assertEquals(Decision.FLAG, s.screen("ACC0001", Direction.DEBIT, 100.0));
+        assertEquals(Decision.BLOCK, s.screen("ACC0001", Direction.DEBIT, 100.0));
+
+        for (int i = 0; i < 4; i++) s.screen("ACC0001", Direction.CREDIT, 1.0);
+        for (int i = 0; i < 4; i++) s.release("ACC0001", Direction.CREDIT, 1.0);
+        assertEquals(Decision.ALLOW, s.screen("ACC0001", Direction.CREDIT, 1.0));
+
+        // nothing to give back for an account never screened, or below zero
+        s.release("ACC0009", Direction.DEBIT, 1.0);
+        for (int i = 0; i < 10; i++) s.release("ACC0002", Direction.DEBIT, 1.0);
+        assertEquals(Decision.ALLOW, s.screen("ACC0002", Direction.DEBIT, 1.0));
+    }
+
+    @Test
+    void testNegativeClock() {
+        // System.nanoTime() may be negative
+        clock.set(-1_003);
+        VelocityScreen s = newScreen();
+
+        for (int i = 0; i < 5; i++) s.screen("ACC0001", Direction.DEBIT, 1.0);
+        assertEquals(Decision.BLOCK, s.screen("ACC0001", Direction.DEBIT, 1.0));
+
+        clock.addAndGet(10);
+        assertEquals(Decision.ALLOW, s.screen("ACC0001", Direction.DEBIT, 1.0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.bankingSystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> flight.execute("ACC0001", () -> {
+                loads.incrementAndGet();
+                awaitQuietly(release);
+                return "value";
+            })));
+        }
+
+        // let every caller reach the in-flight load before it completes
+        while (flight.getCalls() < callers) Thread.sleep(5);
+        release.countDown();
+
+        for (Future<String> f : results) {
+            assertEquals("value", f.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(1, loads.get());
+        assertEquals(callers, flight.getCalls());
+        assertEquals(callers - 1, flight.getShared());
+        assertEquals((double) (callers - 1) / callers, flight.getCoalescingRatio());
+    }
+
+    @Test
+    void testSequentialCallsAreNotCached() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute("k", loads::incrementAndGet);
+        flight.execute("k", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0.0, flight.getCoalescingRatio());
+    }
+
+    @Test
+    void testFailureIsPropagatedAndNotRetained() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class,
+                () -> flight.execute("k", () -> { throw new IllegalStateException("boom"); }));
+
+        assertEquals("ok", flight.execute("k", () -> "ok"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}